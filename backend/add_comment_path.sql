@@ -0,0 +1,40 @@
+-- 댓글 구체화 경로(path) / 깊이(depth) / 하위 댓글 수(descendant_count) 추가
+-- 경로는 루트부터 자신까지의 id 를 12자리 16진수 + '/' 로 이어 붙인 값 (Comment.pathSegment 와 동일)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 컬럼 추가 (바이트 순서 비교를 위해 COLLATE "C")
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS path text COLLATE "C";
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS depth integer;
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS descendant_count integer DEFAULT 0;
+
+-- 2. 기존 댓글 경로/깊이 채우기
+WITH RECURSIVE tree AS (
+    SELECT id, lpad(to_hex(id), 12, '0') || '/' AS path, 1 AS depth
+    FROM comment
+    WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || lpad(to_hex(c.id), 12, '0') || '/', t.depth + 1
+    FROM comment c
+    JOIN tree t ON c.parent_id = t.id
+)
+UPDATE comment c
+SET path = tree.path, depth = tree.depth
+FROM tree
+WHERE c.id = tree.id;
+
+-- 3. 스레드 범위 스캔용 인덱스 (post_id, path)
+CREATE INDEX IF NOT EXISTS idx_comment_post_path ON comment(post_id, path);
+
+-- 4. 하위 댓글 수 채우기 (경로 범위 COUNT, 재귀 없음)
+UPDATE comment c
+SET descendant_count = (
+    SELECT COUNT(*)
+    FROM comment d
+    WHERE d.post_id = c.post_id
+      AND d.path > c.path
+      AND d.path < left(c.path, length(c.path) - 1) || '0'
+)
+WHERE c.path IS NOT NULL;
+
+-- 5. 결과 확인
+SELECT '댓글 구체화 경로 마이그레이션 완료!' as message;
@@ -0,0 +1,23 @@
+-- 반응 알림 묶기 컬럼 추가 ("A님 외 12명이 회원님의 게시글에 좋아요를 눌렀습니다.")
+-- PostgreSQL에서 직접 실행
+
+-- 1. 행위자 수 / 최근 행위자 / 묶기 기준 / 마지막으로 묶인 시간
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS actor_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS latest_actors TEXT;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS group_key VARCHAR(255);
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+-- 2. 기존 알림 채우기 (기존 알림은 묶지 않으므로 group_key 는 비워 둔다)
+UPDATE notification SET updated_at = created_at WHERE updated_at IS NULL;
+
+UPDATE notification n SET latest_actors = u.username
+FROM users u
+WHERE n.sender_id = u.id AND n.latest_actors IS NULL;
+
+-- 3. 묶을 알림 조회용 인덱스 (읽지 않은 알림만)
+CREATE INDEX IF NOT EXISTS idx_notification_group_unread
+    ON notification (recipient_id, group_key, id DESC)
+    WHERE status = 'UNREAD' AND group_key IS NOT NULL;
+
+-- 4. 결과 확인
+SELECT '알림 묶기 컬럼 추가 완료!' as message;
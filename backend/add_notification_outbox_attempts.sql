@@ -0,0 +1,13 @@
+-- 알림 아웃박스 처리 실패 기록 (처리할 수 없는 행 하나가 뒤의 행을 계속 막지 않도록)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 시도 횟수 / 마지막 오류 / 격리 시각 (재시도 횟수를 다 쓴 행은 dead_at 을 채우고 더 이상 가져가지 않음)
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS last_error TEXT;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS dead_at TIMESTAMP;
+
+-- 2. 격리된 행 확인용 (원인을 고친 뒤 dead_at = NULL, attempts = 0 으로 되돌리면 다시 발송, 필요 없으면 삭제)
+--    SELECT id, type, attempts, last_error, dead_at FROM notification_outbox WHERE dead_at IS NOT NULL ORDER BY id;
+
+-- 3. 결과 확인
+SELECT '알림 아웃박스 실패 기록 컬럼 추가 완료!' as message;
@@ -0,0 +1,26 @@
+-- 알림 모두 읽음 워터마크 추가 (모두 읽음은 알림 행 대신 notification_state 한 행만 갱신)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 워터마크 컬럼 (이 id 이하의 알림은 읽음, read_watermark_at 은 모두 읽음을 누른 시각)
+ALTER TABLE notification_state ADD COLUMN IF NOT EXISTS read_watermark BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notification_state ADD COLUMN IF NOT EXISTS read_watermark_at TIMESTAMP;
+
+-- 2. 기존 데이터: 가장 오래된 읽지 않은 알림 바로 앞까지 (모두 읽었으면 마지막 알림까지) 워터마크로
+--    워터마크 이하는 이미 모두 READ 이므로 읽음 상태는 그대로
+INSERT INTO notification_state (user_id, unread_count, version, read_watermark, read_watermark_at)
+SELECT recipient_id,
+       COUNT(*) FILTER (WHERE status = 'UNREAD'),
+       0,
+       COALESCE(MIN(id) FILTER (WHERE status = 'UNREAD') - 1, MAX(id)),
+       MAX(read_at)
+FROM notification
+GROUP BY recipient_id
+ON CONFLICT (user_id) DO UPDATE SET
+    read_watermark = GREATEST(notification_state.read_watermark, EXCLUDED.read_watermark),
+    read_watermark_at = COALESCE(notification_state.read_watermark_at, EXCLUDED.read_watermark_at);
+
+-- 3. 사용자별 마지막 알림 id / 워터마크 이후 범위 조회용 인덱스
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_id_desc ON notification (recipient_id, id DESC);
+
+-- 4. 결과 확인
+SELECT '알림 모두 읽음 워터마크 추가 완료!' as message;
@@ -0,0 +1,30 @@
+-- 게시글 댓글 수 컬럼 (활성 / 활성 최상위 / 전체) 추가 및 "댓글 많은 순" 정렬 인덱스
+-- 이후 값은 CommentService 가 원자적 UPDATE 로 유지하고 CommentCountReconciler 가 주기적으로 보정
+-- PostgreSQL에서 직접 실행
+
+-- 1. 컬럼 추가
+ALTER TABLE post ADD COLUMN IF NOT EXISTS comment_count integer DEFAULT 0;
+ALTER TABLE post ADD COLUMN IF NOT EXISTS top_level_comment_count integer DEFAULT 0;
+ALTER TABLE post ADD COLUMN IF NOT EXISTS total_comment_count integer DEFAULT 0;
+
+-- 2. 기존 게시글 댓글 수 채우기
+UPDATE post p
+SET comment_count = s.active_count,
+    top_level_comment_count = s.top_level_count,
+    total_comment_count = s.total_count
+FROM (
+    SELECT p2.id AS post_id,
+           COUNT(c.id) FILTER (WHERE c.status = 'ACTIVE') AS active_count,
+           COUNT(c.id) FILTER (WHERE c.status = 'ACTIVE' AND c.parent_id IS NULL) AS top_level_count,
+           COUNT(c.id) AS total_count
+    FROM post p2
+    LEFT JOIN comment c ON c.post_id = p2.id
+    GROUP BY p2.id
+) s
+WHERE p.id = s.post_id;
+
+-- 3. 댓글 많은 순 (comment_count DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_post_comment_count_id ON post(comment_count DESC, id DESC);
+
+-- 4. 결과 확인
+SELECT '게시글 댓글 수 컬럼 추가 완료!' as message;
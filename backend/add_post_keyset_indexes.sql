@@ -0,0 +1,17 @@
+-- 커서(키셋) 기반 게시글 페이징용 인덱스
+-- PostgreSQL에서 직접 실행
+
+-- 1. 최신순 (createdAt DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_post_created_at_id ON post(created_at DESC, id DESC);
+
+-- 2. 조회수순 (viewCount DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_post_view_count_id ON post(view_count DESC, id DESC);
+
+-- 3. 카테고리별 최신순
+CREATE INDEX IF NOT EXISTS idx_post_category_created_at_id ON post(category_id, created_at DESC, id DESC);
+
+-- 4. 태그 EXISTS 서브쿼리용 (post_tags 기본키가 없는 경우 대비)
+CREATE INDEX IF NOT EXISTS idx_post_tags_post_id_tag_id ON post_tags(post_id, tag_id);
+
+-- 5. 결과 확인
+SELECT '게시글 키셋 페이징 인덱스 생성 완료!' as message;
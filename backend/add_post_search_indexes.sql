@@ -0,0 +1,11 @@
+-- 고급 검색 조건별 인덱스
+-- PostgreSQL에서 직접 실행
+
+-- 1. 상태 조건 + 최신순 (status = ? ORDER BY created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_post_status_created_at_id ON post(status, created_at DESC, id DESC);
+
+-- 2. 작성자 조건 + 최신순 (author = ? ORDER BY created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_post_author_created_at_id ON post(author, created_at DESC, id DESC);
+
+-- 3. 결과 확인
+SELECT '게시글 검색 인덱스 생성 완료!' as message;
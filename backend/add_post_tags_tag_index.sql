@@ -0,0 +1,8 @@
+-- 태그별 게시글 수 집계용 인덱스
+-- PostgreSQL에서 직접 실행
+
+-- 1. 태그 기준 조회/집계 (post_tags(post_id, tag_id) 인덱스는 게시글 기준이라 tag_id 조건에 쓰이지 않음)
+CREATE INDEX IF NOT EXISTS idx_post_tags_tag_id_post_id ON post_tags(tag_id, post_id);
+
+-- 2. 결과 확인
+SELECT '태그별 게시글 수 인덱스 생성 완료!' as message;
@@ -0,0 +1,34 @@
+-- 반응 (게시글, 사용자) / (댓글, 사용자) 유니크 제약 및 좋아요/싫어요 수 보정
+-- INSERT ... ON CONFLICT (post_id, user_id) 가 동작하려면 유니크 인덱스가 필요하다
+-- PostgreSQL에서 직접 실행
+
+-- 1. 중복 게시글 반응 정리 (같은 게시글/사용자 중 가장 최근 행만 남김)
+DELETE FROM post_reactions a
+USING post_reactions b
+WHERE a.post_id = b.post_id
+  AND a.user_id = b.user_id
+  AND a.id < b.id;
+
+-- 2. 게시글 반응 유니크 인덱스
+CREATE UNIQUE INDEX IF NOT EXISTS uk_post_reactions_post_user ON post_reactions(post_id, user_id);
+
+-- 3. 댓글 반응 유니크 인덱스 (엔티티 제약이 생성되지 않은 기존 테이블 대비)
+DELETE FROM comment_reactions a
+USING comment_reactions b
+WHERE a.comment_id = b.comment_id
+  AND a.user_id = b.user_id
+  AND a.id < b.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_comment_reactions_comment_user ON comment_reactions(comment_id, user_id);
+
+-- 4. 동시 반응으로 어긋난 좋아요/싫어요 수를 반응 테이블 기준으로 재계산
+UPDATE post p SET
+    like_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.type = 'LIKE'),
+    dislike_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.type = 'DISLIKE');
+
+UPDATE comment c SET
+    like_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'LIKE'),
+    dislike_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'DISLIKE');
+
+-- 5. 결과 확인
+SELECT '반응 유니크 제약 및 카운터 보정 완료!' as message;
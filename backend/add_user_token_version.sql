@@ -0,0 +1,8 @@
+-- 사용자별 JWT 토큰 버전 컬럼 추가 (로그아웃/비활성화/역할 변경 시 증가해 기존 토큰 무효화)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 컬럼 추가 (기존 사용자는 0)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+-- 2. 결과 확인
+SELECT '사용자 토큰 버전 컬럼 추가 완료!' as message;
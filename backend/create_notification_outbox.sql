@@ -0,0 +1,27 @@
+-- 알림 아웃박스 테이블 생성 (발송 큐가 가득 찼거나, 저장 재시도를 다 썼거나, 종료 중일 때 알림 이벤트를 옮겨 두는 곳)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 아웃박스 테이블 (NotificationDispatcher 가 주기적으로 가져가 notification 으로 저장한 뒤 삭제)
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    recipient VARCHAR(20) NOT NULL,
+    recipient_id BIGINT,
+    sender_id BIGINT,
+    post_id BIGINT,
+    comment_id BIGINT,
+    reaction_type VARCHAR(20),
+    title VARCHAR(255),
+    content TEXT,
+    created_at TIMESTAMP NOT NULL,
+    spilled_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 2. 알림 타입 체크 제약조건에 게시글 반응(POST_LIKE) 추가 (배치 INSERT 가 제약조건 위반으로 실패하지 않도록)
+ALTER TABLE notification DROP CONSTRAINT IF EXISTS chk_notification_type;
+ALTER TABLE notification
+ADD CONSTRAINT chk_notification_type
+CHECK (type IN ('COMMENT', 'REPLY', 'LIKE', 'POST_LIKE', 'POST_UPDATE', 'SYSTEM'));
+
+-- 3. 결과 확인
+SELECT '알림 아웃박스 테이블 생성 완료!' as message;
@@ -0,0 +1,23 @@
+-- 사용자별 알림 상태 테이블 생성 (읽지 않은 알림 수를 COUNT 없이 유지)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 알림 상태 테이블 (알림 생성/읽음/삭제 시 같은 트랜잭션에서 증감, version 은 변경마다 증가)
+CREATE TABLE IF NOT EXISTS notification_state (
+    user_id BIGINT PRIMARY KEY,
+    unread_count INTEGER NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_notification_state_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- 2. 기존 알림으로 읽지 않은 알림 수 채우기
+INSERT INTO notification_state (user_id, unread_count, version)
+SELECT recipient_id, COUNT(*), 0
+FROM notification
+WHERE status = 'UNREAD'
+GROUP BY recipient_id
+ON CONFLICT (user_id) DO UPDATE SET
+    unread_count = EXCLUDED.unread_count,
+    version = notification_state.version + 1;
+
+-- 3. 결과 확인
+SELECT '알림 상태 테이블 생성 완료!' as message;
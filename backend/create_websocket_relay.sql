@@ -0,0 +1,14 @@
+-- WebSocket 인스턴스 간 중계용 테이블 생성 (NOTIFY 페이로드 한도 8000 바이트를 넘는 메시지 본문 보관)
+-- PostgreSQL에서 직접 실행
+
+-- 1. 중계 메시지 테이블 (1분이 지난 행은 각 인스턴스가 주기적으로 삭제, WAL 기록 불필요)
+CREATE UNLOGGED TABLE IF NOT EXISTS websocket_relay_message (
+    id BIGSERIAL PRIMARY KEY,
+    body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_websocket_relay_message_created_at ON websocket_relay_message(created_at);
+
+-- 2. 결과 확인
+SELECT 'WebSocket 중계 테이블 생성 완료!' as message;
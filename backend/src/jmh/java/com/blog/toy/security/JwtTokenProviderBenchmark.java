@@ -0,0 +1,90 @@
+package com.blog.toy.security;
+
+import com.blog.toy.domain.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// JWT 검증 비용 비교 (실행: ./gradlew jmh)
+// - legacy: 이전 방식 (호출마다 키/파서 생성, validateToken 후 getUsernameFromToken 으로 두 번 파싱)
+// - singleParse: 미리 만든 파서로 한 번만 파싱 (캐시 없음, 매번 다른 토큰으로 캐시 미스만 발생)
+// - cached: 같은 토큰 묶음을 반복 검증 (실제 요청처럼 한 사용자가 같은 토큰을 계속 보냄, 캐시 적중)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "mySecretKeyForBlogApplicationJWTTokenGenerationAndValidation2024";
+
+    // 반복 검증할 서로 다른 토큰 수 (동시 접속 사용자 수에 해당)
+    @Param({"1000"})
+    private int tokenCount;
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, 3_600_000, tokenCount * 2, new SimpleMeterRegistry());
+        // 캐시 크기 0: 매번 서명 검증 (한 번 파싱 + 키/파서 재사용 효과만 측정)
+        uncachedProvider = new JwtTokenProvider(SECRET, 3_600_000, 0, new SimpleMeterRegistry());
+        tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            User user = User.builder()
+                    .id((long) i + 1)
+                    .username("bench-user-" + i)
+                    .role(User.Role.USER)
+                    .tokenVersion(0)
+                    .build();
+            tokens[i] = cachingProvider.generateToken(user);
+        }
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String token = nextToken();
+        boolean valid;
+        try {
+            Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseSignedClaims(token);
+            valid = true;
+        } catch (Exception e) {
+            valid = false;
+        }
+        blackhole.consume(valid);
+        blackhole.consume(Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject());
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        blackhole.consume(uncachedProvider.parseClaims(nextToken()).getSubject());
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        blackhole.consume(cachingProvider.parseClaims(nextToken()).getSubject());
+    }
+}
@@ -55,6 +55,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/swagger-ui/index.html").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/posts/**", "/api/categories/**", "/api/tags/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/reactions/posts", "/api/reactions/comments").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/suggest").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/notifications/**").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/notifications/**").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/notifications/**").authenticated()
@@ -69,6 +71,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/comments/**").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/comments/**").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/comments/*/reaction").authenticated()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             );
 
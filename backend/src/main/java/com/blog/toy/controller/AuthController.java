@@ -1,21 +1,24 @@
 package com.blog.toy.controller;
 
+import com.blog.toy.domain.User;
 import com.blog.toy.dto.auth.AuthResponseDto;
 import com.blog.toy.dto.auth.LoginRequestDto;
 import com.blog.toy.dto.auth.SignupRequestDto;
 import com.blog.toy.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/auth")
-@Tag(name = "인증 관리", description = "로그인, 회원가입 API")
+@Tag(name = "인증 관리", description = "로그인, 회원가입, 토큰 무효화 API")
 public class AuthController {
 
     @Autowired
@@ -43,4 +46,56 @@ public class AuthController {
         AuthResponseDto response = authService.signup(signupRequest);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "내 토큰 무효화", description = "현재 사용자에게 발급된 모든 토큰을 무효화합니다. (모든 기기 로그아웃)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "무효화 성공"),
+        @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    @PostMapping("/revoke")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revokeMyTokens() {
+        authService.revokeMyTokens();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "사용자 토큰 무효화", description = "사용자에게 발급된 모든 토큰을 무효화합니다. (관리자 전용)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "무효화 성공"),
+        @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @PostMapping("/users/{userId}/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@Parameter(description = "사용자 ID") @PathVariable Long userId) {
+        authService.revokeTokens(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "사용자 활성/비활성", description = "사용자를 활성 또는 비활성 상태로 바꾸고 기존 토큰을 무효화합니다. (관리자 전용)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "변경 성공"),
+        @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @PutMapping("/users/{userId}/enabled")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> updateEnabled(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "활성 여부") @RequestParam boolean enabled) {
+        authService.updateEnabled(userId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "사용자 역할 변경", description = "사용자 역할을 바꾸고 기존 토큰을 무효화합니다. (관리자 전용)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "변경 성공"),
+        @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @PutMapping("/users/{userId}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> updateRole(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "역할 (USER, ADMIN)") @RequestParam User.Role role) {
+        authService.updateRole(userId, role);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -34,7 +34,7 @@ public class CommentController {
         @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음")
     })
     @GetMapping("/post/{postId}")
-    public ResponseEntity<PageResponseDto<CommentResponseDto>> getCommentsByPost(
+    public ResponseEntity<SliceResponseDto<CommentResponseDto>> getCommentsByPost(
             @Parameter(description = "게시글 ID", example = "1") 
             @PathVariable Long postId,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") 
@@ -44,15 +44,18 @@ public class CommentController {
             @Parameter(description = "정렬 기준 필드", example = "createdAt") 
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") 
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") 
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy(sortBy);
         pageRequestDto.setSortDirection(sortDirection);
+        pageRequestDto.setWithTotal(withTotal);
         
-        PageResponseDto<CommentResponseDto> response = commentService.getCommentsByPostIdWithPaging(postId, pageRequestDto);
+        SliceResponseDto<CommentResponseDto> response = commentService.getCommentsByPostIdWithPaging(postId, pageRequestDto);
         return ResponseEntity.ok(response);
     }
 
@@ -189,13 +192,45 @@ public class CommentController {
         return ResponseEntity.ok(replies);
     }
 
+    @Operation(summary = "게시글 댓글 스레드 조회 (커서)", description = "최상위 댓글을 작성 순으로 커서 페이징하여 조회합니다. 각 댓글의 descendantCount로 하위 댓글 수를 알 수 있습니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 커서")
+    })
+    @GetMapping("/post/{postId}/threads")
+    public ResponseEntity<CursorResponseDto<CommentResponseDto>> getThreads(
+            @Parameter(description = "게시글 ID", example = "1") 
+            @PathVariable Long postId,
+            @Parameter(description = "이전 응답의 nextCursor (처음이면 생략)") 
+            @RequestParam(required = false) String after,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "10") 
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(commentService.getThreads(postId, after, size));
+    }
+
+    @Operation(summary = "댓글 스레드 하위 댓글 더 보기 (커서)", description = "특정 댓글 아래의 모든 하위 댓글을 표시 순서대로 커서 페이징하여 조회합니다. depth로 들여쓰기 단계를 알 수 있습니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "댓글을 찾을 수 없음")
+    })
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<CursorResponseDto<CommentResponseDto>> getThreadReplies(
+            @Parameter(description = "댓글 ID", example = "1") 
+            @PathVariable Long commentId,
+            @Parameter(description = "이전 응답의 nextCursor (처음이면 생략)") 
+            @RequestParam(required = false) String after,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") 
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getThreadReplies(commentId, after, size));
+    }
+
     @Operation(summary = "사용자 댓글 조회", description = "특정 사용자의 댓글을 페이징하여 조회합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "조회 성공"),
         @ApiResponse(responseCode = "404", description = "사용자를 찾을 수 없음")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<PageResponseDto<CommentResponseDto>> getUserComments(
+    public ResponseEntity<SliceResponseDto<CommentResponseDto>> getUserComments(
             @Parameter(description = "사용자 ID", example = "1") 
             @PathVariable Long userId,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") 
@@ -205,15 +240,18 @@ public class CommentController {
             @Parameter(description = "정렬 기준 필드", example = "createdAt") 
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") 
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") 
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy(sortBy);
         pageRequestDto.setSortDirection(sortDirection);
+        pageRequestDto.setWithTotal(withTotal);
         
-        PageResponseDto<CommentResponseDto> response = commentService.getUserComments(userId, pageRequestDto);
+        SliceResponseDto<CommentResponseDto> response = commentService.getUserComments(userId, pageRequestDto);
         return ResponseEntity.ok(response);
     }
 
@@ -224,7 +262,7 @@ public class CommentController {
     })
     @GetMapping("/reported")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PageResponseDto<CommentResponseDto>> getReportedComments(
+    public ResponseEntity<SliceResponseDto<CommentResponseDto>> getReportedComments(
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10") 
@@ -232,15 +270,18 @@ public class CommentController {
             @Parameter(description = "정렬 기준 필드", example = "createdAt") 
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") 
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") 
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy(sortBy);
         pageRequestDto.setSortDirection(sortDirection);
+        pageRequestDto.setWithTotal(withTotal);
         
-        PageResponseDto<CommentResponseDto> response = commentService.getReportedComments(pageRequestDto);
+        SliceResponseDto<CommentResponseDto> response = commentService.getReportedComments(pageRequestDto);
         return ResponseEntity.ok(response);
     }
 
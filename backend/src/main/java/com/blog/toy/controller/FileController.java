@@ -1,6 +1,7 @@
 package com.blog.toy.controller;
 
 import com.blog.toy.dto.file.FileResponseDto;
+import com.blog.toy.security.CurrentUser;
 import com.blog.toy.service.FileService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,8 +15,6 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -32,6 +31,9 @@ public class FileController {
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Operation(summary = "단일 파일 업로드", description = "게시글에 단일 파일을 업로드합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "업로드 성공"),
@@ -45,8 +47,7 @@ public class FileController {
             @Parameter(description = "게시글 ID (선택사항)")
             @RequestParam(value = "postId", required = false) Long postId) throws IOException {
         
-        String username = getCurrentUsername();
-        FileResponseDto response = fileService.uploadFile(file, postId, username);
+        FileResponseDto response = fileService.uploadFile(file, postId, currentUser.require());
         return ResponseEntity.ok(response);
     }
 
@@ -63,8 +64,7 @@ public class FileController {
             @Parameter(description = "게시글 ID (선택사항)")
             @RequestParam(value = "postId", required = false) Long postId) throws IOException {
         
-        String username = getCurrentUsername();
-        List<FileResponseDto> response = fileService.uploadMultipleFiles(files, postId, username);
+        List<FileResponseDto> response = fileService.uploadMultipleFiles(files, postId, currentUser.require());
         return ResponseEntity.ok(response);
     }
 
@@ -105,8 +105,7 @@ public class FileController {
     })
     @GetMapping("/my-files")
     public ResponseEntity<List<FileResponseDto>> getMyFiles() {
-        String username = getCurrentUsername();
-        List<FileResponseDto> files = fileService.getFilesByUser(username);
+        List<FileResponseDto> files = fileService.getFilesByUser(currentUser.require());
         return ResponseEntity.ok(files);
     }
 
@@ -118,28 +117,19 @@ public class FileController {
     })
     @DeleteMapping("/{fileId}")
     public ResponseEntity<Void> deleteFile(@PathVariable Long fileId) throws IOException {
-        String username = getCurrentUsername();
-        fileService.deleteFile(fileId, username);
+        fileService.deleteFile(fileId, currentUser.require());
         return ResponseEntity.ok().build();
     }
 
     @Operation(summary = "게시글 파일 전체 삭제", description = "게시글의 모든 파일을 삭제합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "삭제 성공"),
+        @ApiResponse(responseCode = "403", description = "삭제 권한 없음"),
         @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음")
     })
     @DeleteMapping("/post/{postId}")
     public ResponseEntity<Void> deleteFilesByPost(@PathVariable Long postId) throws IOException {
-        fileService.deleteFilesByPost(postId);
+        fileService.deleteFilesByPost(postId, currentUser.require());
         return ResponseEntity.ok().build();
     }
-
-    private String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getName())) {
-            // 임시로 admin 사용자 반환 (테스트용)
-            return "admin";
-        }
-        return authentication.getName();
-    }
 }
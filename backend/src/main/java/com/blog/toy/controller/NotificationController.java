@@ -4,7 +4,7 @@ import com.blog.toy.domain.NotificationStatus;
 import com.blog.toy.domain.NotificationType;
 import com.blog.toy.dto.NotificationResponseDto;
 import com.blog.toy.dto.PageRequestDto;
-import com.blog.toy.dto.PageResponseDto;
+import com.blog.toy.dto.SliceResponseDto;
 import com.blog.toy.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,15 +27,15 @@ public class NotificationController {
 
     @GetMapping
     @Operation(summary = "알림 목록 조회", description = "페이징을 지원하는 알림 목록을 조회합니다.")
-    public ResponseEntity<PageResponseDto<NotificationResponseDto>> getNotifications(
+    public ResponseEntity<SliceResponseDto<NotificationResponseDto>> getNotifications(
             @ModelAttribute PageRequestDto pageRequestDto) {
-        PageResponseDto<NotificationResponseDto> notifications = notificationService.getUserNotifications(pageRequestDto);
+        SliceResponseDto<NotificationResponseDto> notifications = notificationService.getUserNotifications(pageRequestDto);
         return ResponseEntity.ok(notifications);
     }
 
     @GetMapping("/filter")
     @Operation(summary = "알림 필터링 조회", description = "타입, 상태, 날짜별로 알림을 필터링하여 조회합니다.")
-    public ResponseEntity<PageResponseDto<NotificationResponseDto>> getFilteredNotifications(
+    public ResponseEntity<SliceResponseDto<NotificationResponseDto>> getFilteredNotifications(
             @ModelAttribute PageRequestDto pageRequestDto,
             @Parameter(description = "알림 타입") @RequestParam(required = false) NotificationType type,
             @Parameter(description = "알림 상태") @RequestParam(required = false) NotificationStatus status,
@@ -43,7 +43,7 @@ public class NotificationController {
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startDate,
             @Parameter(description = "종료 날짜 (yyyy-MM-dd HH:mm:ss)") 
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endDate) {
-        PageResponseDto<NotificationResponseDto> notifications = notificationService.getFilteredNotifications(
+        SliceResponseDto<NotificationResponseDto> notifications = notificationService.getFilteredNotifications(
                 pageRequestDto, type, status, startDate, endDate);
         return ResponseEntity.ok(notifications);
     }
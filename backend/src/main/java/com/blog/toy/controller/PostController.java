@@ -1,13 +1,16 @@
 package com.blog.toy.controller;
 
 import com.blog.toy.domain.Post;
+import com.blog.toy.dto.CursorRequestDto;
+import com.blog.toy.dto.CursorResponseDto;
 import com.blog.toy.dto.PageRequestDto;
-import com.blog.toy.dto.PageResponseDto;
 import com.blog.toy.dto.PostReactionDto;
 import com.blog.toy.domain.ReactionType;
 import com.blog.toy.dto.PostRequestDto;
 import com.blog.toy.dto.PostResponseDto;
 import com.blog.toy.dto.SearchRequestDto;
+import com.blog.toy.dto.SliceResponseDto;
+import com.blog.toy.service.CommentCountReconciler;
 import com.blog.toy.service.PostService;
 import com.blog.toy.service.PostReactionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -36,22 +40,27 @@ public class PostController {
     @Autowired
     private PostReactionService postReactionService;
 
+    @Autowired
+    private CommentCountReconciler commentCountReconciler;
+
     @Operation(summary = "게시글 목록 조회 (페이징)", description = "페이징을 적용한 게시글 목록을 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 파라미터") })
     @GetMapping
-    public PageResponseDto<PostResponseDto> getAllPosts(
+    public SliceResponseDto<PostResponseDto> getAllPosts(
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "정렬 기준 필드", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection,
-            @Parameter(description = "카테고리명 (쉼표로 구분)", example = "JAVA,Spring Boot") @RequestParam(required = false) String categories) {
+            @Parameter(description = "카테고리명 (쉼표로 구분)", example = "JAVA,Spring Boot") @RequestParam(required = false) String categories,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy(sortBy);
         pageRequestDto.setSortDirection(sortDirection);
+        pageRequestDto.setWithTotal(withTotal);
 
         if (categories != null && !categories.trim().isEmpty()) {
             System.out.println("🔍 PostController - categories 파라미터: " + categories);
@@ -86,6 +95,48 @@ public class PostController {
         return postService.findAllWithPaging(pageRequestDto);
     }
 
+    @Operation(summary = "게시글 목록 조회 (커서)", description = "커서(키셋) 기반으로 게시글 목록을 조회합니다. 무한 스크롤에서 깊은 페이지도 첫 페이지와 같은 비용으로 조회됩니다.")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서") })
+    @GetMapping("/cursor")
+    public CursorResponseDto<PostResponseDto> getPostsWithCursor(
+            @Parameter(description = "다음 페이지 커서 (응답의 nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "이전 페이지 커서 (응답의 prevCursor)") @RequestParam(required = false) String before,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "정렬 기준 필드 (createdAt/viewCount, 내림차순)", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy) {
+
+        return postService.findAllWithCursor(createCursorRequest(after, before, size, sortBy));
+    }
+
+    @Operation(summary = "카테고리별 게시글 조회 (커서)", description = "특정 카테고리와 모든 하위 카테고리의 게시글을 커서 기반으로 조회합니다.")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+            @ApiResponse(responseCode = "404", description = "카테고리를 찾을 수 없음") })
+    @GetMapping("/category/{categoryId}/cursor")
+    public CursorResponseDto<PostResponseDto> getPostsByCategoryWithCursor(
+            @Parameter(description = "카테고리 ID", example = "1") @PathVariable Long categoryId,
+            @Parameter(description = "다음 페이지 커서 (응답의 nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "이전 페이지 커서 (응답의 prevCursor)") @RequestParam(required = false) String before,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "정렬 기준 필드 (createdAt/viewCount, 내림차순)", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy) {
+
+        return postService.findByCategoryWithCursor(categoryId, createCursorRequest(after, before, size, sortBy));
+    }
+
+    @Operation(summary = "태그별 게시글 조회 (커서)", description = "특정 태그들의 게시글을 커서 기반으로 조회합니다.")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서") })
+    @GetMapping("/tags/cursor")
+    public CursorResponseDto<PostResponseDto> getPostsByTagsWithCursor(
+            @Parameter(description = "태그명 목록", example = "spring,java") @RequestParam List<String> tagNames,
+            @Parameter(description = "다음 페이지 커서 (응답의 nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "이전 페이지 커서 (응답의 prevCursor)") @RequestParam(required = false) String before,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "정렬 기준 필드 (createdAt/viewCount, 내림차순)", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy) {
+
+        return postService.findByTagsWithCursor(tagNames, createCursorRequest(after, before, size, sortBy));
+    }
+
     @Operation(summary = "전체 게시글 조회 (페이징 없음)", description = "페이징 없이 모든 게시글을 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/all")
@@ -126,6 +177,14 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "게시글 댓글 수 보정", description = "comment 테이블을 다시 집계해 어긋난 게시글 댓글 수를 고칩니다. (관리자)")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "보정 완료 (보정된 게시글 수 반환)") })
+    @PostMapping("/comment-counts/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> reconcileCommentCounts() {
+        return ResponseEntity.ok(Map.of("repaired", commentCountReconciler.reconcile()));
+    }
+
     @Operation(summary = "게시글 삭제", description = "게시글을 삭제합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "204", description = "삭제 성공"),
             @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음") })
@@ -140,18 +199,20 @@ public class PostController {
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "검색 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 파라미터") })
     @GetMapping("/search")
-    public PageResponseDto<PostResponseDto> searchPosts(
+    public SliceResponseDto<PostResponseDto> searchPosts(
             @Parameter(description = "검색 키워드", example = "스프링", required = true) @RequestParam String keyword,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "정렬 기준 필드", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection) {
+            @Parameter(description = "정렬 방향 (asc/desc)", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy(sortBy);
         pageRequestDto.setSortDirection(sortDirection);
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.searchWithPaging(keyword, pageRequestDto);
     }
@@ -164,20 +225,22 @@ public class PostController {
         return postService.search(keyword);
     }
 
-    @Operation(summary = "카테고리별 게시글 조회", description = "특정 카테고리의 게시글을 페이징하여 조회합니다.")
+    @Operation(summary = "카테고리별 게시글 조회", description = "특정 카테고리와 모든 하위 카테고리의 게시글을 페이징하여 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공"),
             @ApiResponse(responseCode = "404", description = "카테고리를 찾을 수 없음") })
     @GetMapping("/category/{categoryId}")
-    public PageResponseDto<PostResponseDto> getPostsByCategory(
+    public SliceResponseDto<PostResponseDto> getPostsByCategory(
             @Parameter(description = "카테고리 ID", example = "1") @PathVariable Long categoryId,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("createdAt");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.findByCategory(categoryId, pageRequestDto);
     }
@@ -185,16 +248,18 @@ public class PostController {
     @Operation(summary = "태그별 게시글 조회", description = "특정 태그들의 게시글을 페이징하여 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/tags")
-    public PageResponseDto<PostResponseDto> getPostsByTags(
+    public SliceResponseDto<PostResponseDto> getPostsByTags(
             @Parameter(description = "태그명 목록", example = "spring,java") @RequestParam List<String> tagNames,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("createdAt");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.findByTags(tagNames, pageRequestDto);
     }
@@ -202,16 +267,18 @@ public class PostController {
     @Operation(summary = "상태별 게시글 조회", description = "특정 상태의 게시글을 페이징하여 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/status/{status}")
-    public PageResponseDto<PostResponseDto> getPostsByStatus(
+    public SliceResponseDto<PostResponseDto> getPostsByStatus(
             @Parameter(description = "게시글 상태", example = "PUBLISHED") @PathVariable Post.PostStatus status,
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("createdAt");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.findByStatus(status, pageRequestDto);
     }
@@ -222,38 +289,43 @@ public class PostController {
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "검색 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터") })
     @PostMapping("/advanced-search")
-    public PageResponseDto<PostResponseDto> advancedSearch(@Valid @RequestBody SearchRequestDto searchRequestDto) {
+    public SliceResponseDto<PostResponseDto> advancedSearch(@Valid @RequestBody SearchRequestDto searchRequestDto) {
         return postService.advancedSearch(searchRequestDto);
     }
 
-    @Operation(summary = "인기 게시글 조회", description = "조회수가 높은 게시글을 조회합니다 (최근 30일).")
+    @Operation(summary = "인기 게시글 조회", description = "조회/좋아요/댓글에 시간 감쇠를 적용한 인기 점수 순으로 게시글을 조회합니다 (카테고리별 조회 가능).")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/popular")
-    public PageResponseDto<PostResponseDto> getPopularPosts(
+    public SliceResponseDto<PostResponseDto> getPopularPosts(
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = "카테고리 ID (없으면 전체)", example = "1") @RequestParam(required = false) Long categoryId) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("viewCount");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
-        return postService.findPopularPosts(pageRequestDto);
+        return postService.findPopularPosts(pageRequestDto, categoryId);
     }
 
     @Operation(summary = "최근 게시글 조회", description = "최근 7일 내에 작성된 게시글을 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/recent")
-    public PageResponseDto<PostResponseDto> getRecentPosts(
+    public SliceResponseDto<PostResponseDto> getRecentPosts(
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("createdAt");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.findRecentPosts(pageRequestDto);
     }
@@ -261,15 +333,17 @@ public class PostController {
     @Operation(summary = "댓글 많은 순 게시글 조회", description = "댓글 수가 많은 순으로 게시글을 조회합니다.")
     @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공") })
     @GetMapping("/most-commented")
-    public PageResponseDto<PostResponseDto> getMostCommentedPosts(
+    public SliceResponseDto<PostResponseDto> getMostCommentedPosts(
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 개수 포함 여부 (false면 COUNT 쿼리 생략)", example = "true") @RequestParam(defaultValue = "true") boolean withTotal) {
 
         PageRequestDto pageRequestDto = new PageRequestDto();
         pageRequestDto.setPage(page);
         pageRequestDto.setSize(size);
         pageRequestDto.setSortBy("commentCount");
         pageRequestDto.setSortDirection("desc");
+        pageRequestDto.setWithTotal(withTotal);
 
         return postService.findPostsByCommentCount(pageRequestDto);
     }
@@ -287,4 +361,13 @@ public class PostController {
         PostResponseDto response = postService.reactToPost(reactionDto);
         return ResponseEntity.ok(response);
     }
+
+    private CursorRequestDto createCursorRequest(String after, String before, int size, String sortBy) {
+        CursorRequestDto cursorRequestDto = new CursorRequestDto();
+        cursorRequestDto.setAfter(after);
+        cursorRequestDto.setBefore(before);
+        cursorRequestDto.setSize(size);
+        cursorRequestDto.setSortBy(sortBy);
+        return cursorRequestDto;
+    }
 }
@@ -2,7 +2,9 @@ package com.blog.toy.controller;
 
 import com.blog.toy.domain.ReactionType;
 import com.blog.toy.dto.PostReactionDto;
+import com.blog.toy.dto.ReactionSummaryDto;
 import com.blog.toy.repository.PostReactionRepository;
+import com.blog.toy.service.CommentService;
 import com.blog.toy.service.PostReactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -104,6 +106,7 @@ public class PostReactionController {
 class UserReactionController {
 
     private final PostReactionService postReactionService;
+    private final CommentService commentService;
 
     @GetMapping("/my")
     @Operation(summary = "내 반응 목록", description = "현재 사용자가 추가한 모든 게시글 반응을 조회합니다.")
@@ -111,4 +114,18 @@ class UserReactionController {
         List<PostReactionDto> reactions = postReactionService.getUserReactions();
         return ResponseEntity.ok(reactions);
     }
+
+    @GetMapping("/posts")
+    @Operation(summary = "게시글 반응 일괄 조회", description = "여러 게시글의 좋아요/싫어요 수와 현재 사용자의 반응을 한 번에 조회합니다. (최대 100개)")
+    public ResponseEntity<List<ReactionSummaryDto>> getPostReactionSummaries(
+            @Parameter(description = "게시글 ID 목록 (예: ids=1,2,3)") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(postReactionService.getReactionSummaries(ids));
+    }
+
+    @GetMapping("/comments")
+    @Operation(summary = "댓글 반응 일괄 조회", description = "여러 댓글의 좋아요/싫어요 수와 현재 사용자의 반응을 한 번에 조회합니다. (최대 100개)")
+    public ResponseEntity<List<ReactionSummaryDto>> getCommentReactionSummaries(
+            @Parameter(description = "댓글 ID 목록 (예: ids=1,2,3)") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(commentService.getReactionSummaries(ids));
+    }
 }
@@ -0,0 +1,59 @@
+package com.blog.toy.controller;
+
+import com.blog.toy.dto.SuggestionDto;
+import com.blog.toy.search.SuggestionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@Tag(name = "자동완성", description = "태그/카테고리/게시글 제목 자동완성 API")
+public class SuggestionController {
+
+    private final SuggestionIndex suggestionIndex;
+
+    @Operation(summary = "자동완성", description = "입력한 접두어로 시작하는 태그, 카테고리, 발행된 게시글 제목을 종류별 인기 순으로 조회합니다. "
+            + "한글은 자모 단위로 비교하므로 입력 중인 글자(예: \"한그\")와 초성(예: \"ㅅㅍㄹ\")으로도 찾을 수 있습니다. 메모리 색인에서 응답합니다.")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "조회 성공 (색인 준비 전이면 빈 목록)") })
+    @GetMapping
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @Parameter(description = "검색어 (접두어)", example = "스프", required = true) @RequestParam String q,
+            @Parameter(description = "종류 (TAG, CATEGORY, POST 쉼표 구분, 없으면 전체)", example = "TAG,POST") @RequestParam(required = false) String types,
+            @Parameter(description = "종류별 최대 개수 (최대 " + SuggestionIndex.MAX_LIMIT + ")", example = "5") @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(q, parseTypes(types), limit));
+    }
+
+    private Set<SuggestionIndex.Type> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return EnumSet.allOf(SuggestionIndex.Type.class);
+        }
+        List<SuggestionIndex.Type> parsed = new ArrayList<>();
+        for (String type : types.split(",")) {
+            if (type.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(SuggestionIndex.Type.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("잘못된 자동완성 종류입니다: " + type.trim());
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(SuggestionIndex.Type.class) : EnumSet.copyOf(parsed);
+    }
+}
@@ -1,9 +1,11 @@
 package com.blog.toy.controller;
 
+import com.blog.toy.dto.tag.TagCloudDto;
 import com.blog.toy.dto.tag.TagRequestDto;
 import com.blog.toy.dto.tag.TagResponseDto;
 import com.blog.toy.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -45,6 +47,16 @@ public class TagController {
         return ResponseEntity.ok(tags);
     }
 
+    @Operation(summary = "태그 클라우드 조회", description = "게시글 수 상위 태그를 이름순으로 조회합니다. weight(0~1)와 level(1~5)은 게시글 수를 최소~최대 기준으로 정규화한 값입니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping("/cloud")
+    public ResponseEntity<List<TagCloudDto>> getTagCloud(
+            @Parameter(description = "최대 태그 수 (최대 200)", example = "50") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(tagService.getTagCloud(limit));
+    }
+
     @Operation(summary = "태그 상세 조회", description = "특정 태그의 상세 정보를 조회합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "조회 성공"),
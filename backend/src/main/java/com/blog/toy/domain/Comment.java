@@ -2,6 +2,7 @@ package com.blog.toy.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -9,7 +10,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+// 좋아요/하위 댓글 수는 UPDATE 문으로 직접 증감하므로 바뀐 컬럼만 갱신
 @Entity
+@DynamicUpdate
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -63,6 +66,20 @@ public class Comment {
     // 댓글 작성자 (기존 호환성을 위해 유지)
     private String author;
 
+    // 구체화 경로 - 루트부터 자신까지의 id 를 고정 폭 16진수로 이어 붙인 값 (예: "00000000002a/00000000003f/")
+    // 바이트 순서(COLLATE "C")로 정렬하면 스레드 표시 순서가 되고, 하위 트리는 경로 범위 한 번으로 조회된다
+    @Column(columnDefinition = "text COLLATE \"C\"")
+    private String path;
+
+    // 트리 깊이 (최상위 댓글 1)
+    private Integer depth;
+
+    // 하위 댓글 전체 수 (대댓글 작성 시 조상들에 +1)
+    private Integer descendantCount;
+
+    // 경로 한 단계 길이 (16진수 12자리 + 구분자)
+    public static final int PATH_SEGMENT_LENGTH = 13;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -76,6 +93,9 @@ public class Comment {
         if (dislikeCount == null) {
             dislikeCount = 0;
         }
+        if (descendantCount == null) {
+            descendantCount = 0;
+        }
     }
 
     @PreUpdate
@@ -119,6 +139,34 @@ public class Comment {
         }
     }
 
+    // id 가 발급된 뒤 부모 경로 아래로 경로/깊이 설정
+    public void assignPath() {
+        String parentPath = parent != null ? parent.getPath() : "";
+        this.path = parentPath + pathSegment(id);
+        this.depth = parent != null ? parent.getDepth() + 1 : 1;
+    }
+
+    // 경로에 포함된 조상 id 목록 (자신 제외, 루트부터)
+    public List<Long> ancestorIds() {
+        List<Long> ids = new ArrayList<>();
+        if (path == null) {
+            return ids;
+        }
+        for (int start = 0; start + PATH_SEGMENT_LENGTH < path.length(); start += PATH_SEGMENT_LENGTH) {
+            ids.add(Long.parseLong(path.substring(start, start + PATH_SEGMENT_LENGTH - 1), 16));
+        }
+        return ids;
+    }
+
+    // 하위 트리 경로 범위의 상한 (마지막 '/' 를 바로 다음 문자 '0' 으로 바꾼 값, 미포함)
+    public static String subtreeUpperBound(String path) {
+        return path.substring(0, path.length() - 1) + "0";
+    }
+
+    public static String pathSegment(Long id) {
+        return String.format("%012x/", id);
+    }
+
     // 댓글 상태 변경
     public void markAsDeleted() {
         this.status = CommentStatus.DELETED;
@@ -54,11 +54,28 @@ public class Notification {
     // 읽은 시간
     private LocalDateTime readAt;
 
+    // 묶인 반응 알림의 행위자 수 ("A님 외 12명", 묶이지 않은 알림은 1)
+    private Integer actorCount;
+
+    // 최근 행위자 사용자명 (최신 순, 최대 3명, 줄바꿈으로 구분)
+    @Column(columnDefinition = "TEXT")
+    private String latestActors;
+
+    // 묶기 기준 (타입:반응:대상, 묶지 않는 알림은 null)
+    private String groupKey;
+
     // 생성 시간
     private LocalDateTime createdAt;
 
+    // 마지막으로 묶인 시간 (묶기 시간 창 기준)
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (actorCount == null) {
+            actorCount = 1;
+        }
     }
 }
@@ -8,8 +8,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.DynamicUpdate;
 
+// 카운터 컬럼(조회수, 좋아요, 댓글 수)은 UPDATE 문으로 직접 증감하므로
+// 엔티티 수정 시에는 바뀐 컬럼만 갱신해 오래된 카운터 값으로 덮어쓰지 않도록 한다
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -52,6 +56,22 @@ public class Post {
     @Column(name = "dislike_count")
     private Integer dislikeCount = 0;
 
+    // 댓글 수 - CommentService 에서 원자적 UPDATE 로 유지하고 CommentCountReconciler 가 주기적으로 보정
+    // 활성 댓글 수 (목록 표시와 "댓글 많은 순" 정렬 기준)
+    @Column(name = "comment_count")
+    @Builder.Default
+    private Integer commentCount = 0;
+
+    // 활성 최상위 댓글 수
+    @Column(name = "top_level_comment_count")
+    @Builder.Default
+    private Integer topLevelCommentCount = 0;
+
+    // 삭제/신고 처리된 댓글까지 포함한 전체 댓글 수
+    @Column(name = "total_comment_count")
+    @Builder.Default
+    private Integer totalCommentCount = 0;
+
     // 카테고리와의 관계 (N:1)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
@@ -87,6 +107,15 @@ public class Post {
     @PrePersist
     public void prePersist() {
         this.createdAt = this.updatedAt = LocalDateTime.now();
+        if (this.commentCount == null) {
+            this.commentCount = 0;
+        }
+        if (this.topLevelCommentCount == null) {
+            this.topLevelCommentCount = 0;
+        }
+        if (this.totalCommentCount == null) {
+            this.totalCommentCount = 0;
+        }
     }
 
     // 게시글 수정 시에 수정일시를 현재 시간으로 업데이트하기 위한 메소드
@@ -95,11 +124,6 @@ public class Post {
         this.updatedAt = LocalDateTime.now();
     }
 
-    // 조회수 증가 메소드
-    public void incrementViewCount() {
-        this.viewCount = (this.viewCount == null) ? 1 : this.viewCount + 1;
-    }
-
     // 좋아요 수 증가 메소드
     public void incrementLikeCount() {
         this.likeCount = (this.likeCount == null) ? 1 : this.likeCount + 1;
@@ -51,9 +51,16 @@ public class User implements UserDetails {
     @Column(name = "is_enabled")
     private boolean enabled = true;
 
+    // 발급된 JWT 무효화용 버전 (토큰의 ver 클레임과 다르면 거부, 로그아웃/권한 변경/비활성화 시 증가)
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     @PrePersist
     public void prePersist() {
         this.createdAt = this.updatedAt = LocalDateTime.now();
+        if (this.tokenVersion == null) {
+            this.tokenVersion = 0;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,38 @@
+package com.blog.toy.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 댓글 스레드 페이징용 불투명 커서 (마지막으로 받은 댓글의 구체화 경로를 Base64로 인코딩)
+public final class CommentCursor {
+
+    private static final String PREFIX = "path|";
+
+    private CommentCursor() {
+    }
+
+    public static String encode(String path) {
+        String raw = PREFIX + path;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 "" (모든 경로보다 앞), 형식이 잘못되면 400
+    public static String decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return "";
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다.");
+            }
+            return raw.substring(PREFIX.length());
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다: " + cursor);
+        }
+    }
+}
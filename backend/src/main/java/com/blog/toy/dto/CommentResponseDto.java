@@ -26,6 +26,8 @@ public class CommentResponseDto {
     // 대댓글 관련
     private Long parentId;
     private List<CommentResponseDto> replies;
+    private Integer depth; // 트리 깊이 (최상위 댓글 1)
+    private Integer descendantCount; // 하위 댓글 전체 수 ("답글 N개 보기")
     
     // 사용자 반응 정보 (현재 사용자가 좋아요/싫어요를 눌렀는지)
     private Boolean isLiked;
@@ -0,0 +1,45 @@
+package com.blog.toy.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+@Setter
+public class CursorRequestDto {
+    private String after; // 이 커서 이후(다음) 게시글 조회
+    private String before; // 이 커서 이전(앞) 게시글 조회
+    private int size = 10; // 페이지 크기
+    private String sortBy = "createdAt"; // 정렬 기준 필드 (createdAt, viewCount) - 항상 내림차순
+
+    // 커서를 Spring Data 키셋 스크롤 위치로 변환
+    public ScrollPosition toScrollPosition() {
+        if (StringUtils.hasText(after) && StringUtils.hasText(before)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after와 before 커서는 동시에 사용할 수 없습니다.");
+        }
+        if (StringUtils.hasText(after)) {
+            return ScrollPosition.forward(PostCursor.decode(after, getSortKey()));
+        }
+        if (StringUtils.hasText(before)) {
+            return ScrollPosition.backward(PostCursor.decode(before, getSortKey()));
+        }
+        return ScrollPosition.keyset();
+    }
+
+    // 정렬 기준 + id (동일 값일 때 순서를 고정하기 위한 보조 키)
+    public Sort toSort() {
+        return Sort.by(Sort.Direction.DESC, getSortKey()).and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    public boolean isBackward() {
+        return StringUtils.hasText(before);
+    }
+
+    public String getSortKey() {
+        return PostCursor.VIEW_COUNT.equalsIgnoreCase(sortBy) ? PostCursor.VIEW_COUNT : PostCursor.CREATED_AT;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.toy.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CursorResponseDto<T> {
+    private List<T> content; // 실제 데이터
+    private int size; // 조회된 개수
+    private String nextCursor; // 다음 페이지 커서 (after 파라미터로 사용)
+    private String prevCursor; // 이전 페이지 커서 (before 파라미터로 사용)
+    private boolean hasNext; // 다음 페이지 존재 여부
+    private boolean hasPrevious; // 이전 페이지 존재 여부
+
+    public CursorResponseDto(List<T> content, String nextCursor, String prevCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.hasNext = nextCursor != null;
+        this.hasPrevious = prevCursor != null;
+    }
+}
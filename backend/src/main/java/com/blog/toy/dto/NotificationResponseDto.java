@@ -5,6 +5,7 @@ import com.blog.toy.domain.NotificationType;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter @Setter
 @NoArgsConstructor
@@ -24,4 +25,8 @@ public class NotificationResponseDto {
     private NotificationStatus status;
     private LocalDateTime readAt;
     private LocalDateTime createdAt;
+    // 묶인 반응 알림 ("A님 외 12명") - 행위자 수와 최근 행위자 (최신 순)
+    private Integer actorCount;
+    private List<String> latestActors;
+    private LocalDateTime updatedAt;
 }
@@ -13,6 +13,7 @@ public class PageRequestDto {
     private int size = 10; // 페이지 크기
     private String sortBy = "createdAt"; // 정렬 기준 필드
     private String sortDirection = "desc"; // 정렬 방향 (asc, desc)
+    private boolean withTotal = true; // 전체 개수 포함 여부 (false면 COUNT 쿼리 없이 Slice로 조회)
 
     public Pageable toPageable() {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
@@ -0,0 +1,47 @@
+package com.blog.toy.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 게시글 키셋 페이징용 불투명 커서 (정렬 기준 값 + id 를 Base64로 인코딩)
+// 예: "createdAt|2024-01-01T10:00:00.123456|42" -> "Y3JlYXRlZEF0fDIwMjQt..."
+public final class PostCursor {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String VIEW_COUNT = "viewCount";
+
+    private static final String SEPARATOR = "|";
+
+    private PostCursor() {
+    }
+
+    // 키셋 위치(정렬 키 -> 값)를 커서 문자열로 변환
+    public static String encode(String sortKey, Map<String, ?> keys) {
+        String raw = sortKey + SEPARATOR + keys.get(sortKey) + SEPARATOR + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서 문자열을 키셋 위치(정렬 키 -> 값)로 변환 (형식이 잘못되면 400)
+    public static Map<String, Object> decode(String cursor, String sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !parts[0].equals(sortKey)) {
+                throw new IllegalArgumentException("정렬 기준이 일치하지 않습니다.");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sortKey, VIEW_COUNT.equals(sortKey) ? (Object) Integer.valueOf(parts[1]) : LocalDateTime.parse(parts[1]));
+            keys.put("id", Long.valueOf(parts[2]));
+            return keys;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다: " + cursor);
+        }
+    }
+}
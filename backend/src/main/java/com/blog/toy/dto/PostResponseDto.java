@@ -24,6 +24,9 @@ public class PostResponseDto {
     private Integer viewCount;
     private Integer likeCount;
     private Integer dislikeCount;
+    private Integer commentCount; // 활성 댓글 수
+    private Integer topLevelCommentCount; // 활성 최상위 댓글 수
+    private Integer totalCommentCount; // 삭제/신고 포함 전체 댓글 수
     private CategoryResponseDto category;
     private List<TagResponseDto> tags;
     private List<FileResponseDto> files;
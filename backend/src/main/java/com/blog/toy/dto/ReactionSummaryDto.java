@@ -0,0 +1,19 @@
+package com.blog.toy.dto;
+
+import com.blog.toy.domain.ReactionType;
+import lombok.*;
+
+// 목록 화면용 반응 요약 (게시글/댓글 여러 건을 한 번에 조회)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactionSummaryDto {
+    private Long targetId; // 게시글 또는 댓글 ID
+    private long likeCount;
+    private long dislikeCount;
+    private ReactionType myReaction; // 현재 사용자의 반응 (없거나 비로그인이면 null)
+    private boolean userLiked;
+    private boolean userDisliked;
+}
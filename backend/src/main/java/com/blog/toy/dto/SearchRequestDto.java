@@ -6,7 +6,12 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -15,8 +20,14 @@ import java.util.List;
 public class SearchRequestDto {
     private String keyword;                    // 검색 키워드 (제목, 내용)
     private Long categoryId;                   // 카테고리 ID
+    private List<Long> categoryIds;            // 카테고리 ID 목록 (하나라도 일치, categoryId 와 함께 사용 가능)
     private List<String> tagNames;             // 태그 이름들
+    @Builder.Default
+    private String tagMatch = "any";           // 태그 일치 방식 (any: 하나라도, all: 모두)
     private Post.PostStatus status;            // 게시글 상태
+    private String author;                     // 작성자
+    private LocalDateTime createdFrom;         // 작성일 시작 (이상)
+    private LocalDateTime createdTo;           // 작성일 끝 (이하)
     @Builder.Default
     private String sortBy = "createdAt";       // 정렬 기준 (title, createdAt, viewCount, commentCount)
     @Builder.Default
@@ -25,4 +36,25 @@ public class SearchRequestDto {
     private Integer page = 0;                  // 페이지 번호 (0부터 시작)
     @Builder.Default
     private Integer size = 10;                 // 페이지 크기
+    @Builder.Default
+    private boolean withTotal = true;          // 전체 개수 포함 여부 (false면 COUNT 쿼리 생략)
+
+    // categoryId 와 categoryIds 를 합친 카테고리 조건 (없으면 null)
+    public List<Long> allCategoryIds() {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (categoryId != null) {
+            ids.add(categoryId);
+        }
+        if (categoryIds != null) {
+            categoryIds.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(ids::add);
+        }
+        return ids.isEmpty() ? null : new ArrayList<>(ids);
+    }
+
+    // 태그 모두 일치 여부
+    public boolean matchAllTags() {
+        return "all".equalsIgnoreCase(tagMatch);
+    }
 }
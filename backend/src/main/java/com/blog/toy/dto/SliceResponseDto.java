@@ -0,0 +1,30 @@
+package com.blog.toy.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+// 전체 개수(COUNT) 없이 다음 페이지 존재 여부만 제공하는 페이징 응답 (withTotal=false)
+@Getter
+@Setter
+public class SliceResponseDto<T> {
+    private List<T> content; // 실제 데이터
+    private int pageNumber; // 현재 페이지 번호
+    private int pageSize; // 페이지 크기
+    private boolean hasNext; // 다음 페이지 존재 여부
+    private boolean hasPrevious; // 이전 페이지 존재 여부
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long approximateTotal; // 캐시된 대략적인 전체 요소 수 (없으면 생략)
+
+    public SliceResponseDto(Slice<T> slice) {
+        this.content = slice.getContent();
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.hasNext = slice.hasNext();
+        this.hasPrevious = slice.hasPrevious();
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.toy.dto;
+
+import lombok.*;
+
+// 자동완성 항목 (태그 / 카테고리 / 게시글 제목)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+    private String type;     // TAG, CATEGORY, POST
+    private Long id;         // 태그/카테고리/게시글 ID
+    private String text;     // 표시 문자열 (카테고리는 전체 경로)
+    private long popularity; // 정렬 기준 (태그/카테고리는 게시글 수, 게시글은 조회수 + 좋아요/댓글 가중치)
+}
@@ -0,0 +1,17 @@
+package com.blog.toy.dto.tag;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagCloudDto {
+    
+    private Long id;
+    private String name;
+    private Long postCount;
+    private double weight; // 게시글 수를 최소~최대 기준으로 정규화한 값 (0.0 ~ 1.0)
+    private int level;     // 글자 크기 단계 (1 ~ 5)
+}
@@ -0,0 +1,22 @@
+package com.blog.toy.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// 같은 JVM 의 SimpleBroker 로만 전달 (app.websocket.relay=local, 기본값)
+@Component
+@ConditionalOnProperty(name = "app.websocket.relay", havingValue = "local", matchIfMissing = true)
+public class LocalUserMessageRelay implements UserMessageRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalUserMessageRelay(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+    }
+}
@@ -0,0 +1,245 @@
+package com.blog.toy.notification;
+
+import com.blog.toy.dto.NotificationResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 반응 알림 묶기 ("A님 외 12명이 회원님의 게시글에 좋아요를 눌렀습니다.")
+// 같은 수신자/같은 대상/같은 반응의 알림은 시간 창(app.notification.coalesce-window-ms) 안의 읽지 않은 알림 행 하나에
+// 행위자 수와 최근 행위자를 더해 UPDATE 하고, 새 행은 만들지 않는다 (읽은 뒤에 온 반응은 새 알림 - 모두 읽음 워터마크 포함)
+// - 같은 배치 안의 반응은 먼저 메모리에서 합친 뒤 한 번만 INSERT/UPDATE
+// - 묶인 알림의 WebSocket 전송은 알림별로 지연(app.notification.coalesce-push-delay-ms)시켜 마지막 내용만 한 번 보낸다
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    static final int MAX_LATEST_ACTORS = 3;
+    private static final String ACTOR_SEPARATOR = "\n";
+    private static final String UNKNOWN_ACTOR = "알 수 없는 사용자";
+
+    // 묶을 대상 행을 잠근다 (같은 행에 동시에 묶는 다른 인스턴스와 직렬화)
+    private static final String LOCK_SQL =
+            "SELECT id, recipient_id, group_key, actor_count, latest_actors, created_at FROM notification "
+                    + "WHERE recipient_id IN (:recipients) AND group_key IN (:keys) AND status = 'UNREAD' "
+                    + "AND id > COALESCE((SELECT s.read_watermark FROM notification_state s "
+                    + "WHERE s.user_id = notification.recipient_id), 0) "
+                    + "AND updated_at >= :since ORDER BY id FOR UPDATE";
+    private static final String MERGE_SQL =
+            "UPDATE notification SET actor_count = ?, latest_actors = ?, "
+                    + "sender_id = (SELECT id FROM users WHERE id = CAST(? AS BIGINT)), "
+                    + "title = ?, content = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserMessageRelay messageRelay;
+    private final long windowMs;
+    private final long pushDelayMs;
+
+    // 알림 id -> 지연 중인 전송 (같은 알림이 다시 묶이면 내용만 바꾸고 전송 시각은 유지)
+    private final Map<Long, PendingPush> debounced = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+    private final Counter pushedCounter;
+
+    record Result(List<NotificationDraft> inserts, List<NotificationDraft> merged) {
+    }
+
+    private record Existing(Long id, int actorCount, List<String> actors, LocalDateTime createdAt) {
+    }
+
+    private record PendingPush(Long recipientId, NotificationResponseDto notification, long dueAtMillis) {
+    }
+
+    public NotificationCoalescer(JdbcTemplate jdbcTemplate,
+                                 UserMessageRelay messageRelay,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.notification.coalesce-window-ms:600000}") long windowMs,
+                                 @Value("${app.notification.coalesce-push-delay-ms:2000}") long pushDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.messageRelay = messageRelay;
+        this.windowMs = windowMs;
+        this.pushDelayMs = pushDelayMs;
+
+        Gauge.builder("blog.notification.coalesce.pending", debounced, Map::size)
+                .description("전송 지연 중인 묶인 알림 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("blog.notification.coalesced")
+                .description("다른 알림에 묶여 새 행을 만들지 않은 알림")
+                .register(meterRegistry);
+        this.pushedCounter = Counter.builder("blog.notification.coalesce.pushed")
+                .description("지연 후 전송한 묶인 알림")
+                .register(meterRegistry);
+    }
+
+    // 묶을 수 있는 알림을 합쳐 새로 INSERT 할 것과 기존 행에 UPDATE 한 것으로 나눈다 (트랜잭션 안에서 호출)
+    Result coalesce(List<NotificationDraft> drafts) {
+        List<NotificationDraft> inserts = new ArrayList<>();
+        Map<String, List<NotificationDraft>> groups = new LinkedHashMap<>();
+        for (NotificationDraft draft : drafts) {
+            String groupKey = windowMs > 0 ? draft.event().groupKey() : null;
+            if (groupKey == null) {
+                inserts.add(draft);
+                continue;
+            }
+            draft.notification().setActorCount(1);
+            groups.computeIfAbsent(key(draft.recipientId(), groupKey), k -> new ArrayList<>()).add(draft);
+        }
+        if (groups.isEmpty()) {
+            return new Result(inserts, List.of());
+        }
+
+        Map<String, Existing> existing = lockExisting(groups.values());
+        List<NotificationDraft> merged = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, List<NotificationDraft>> group : groups.entrySet()) {
+            List<NotificationDraft> members = group.getValue();
+            Existing current = existing.get(group.getKey());
+
+            // 오래된 반응부터 최근 행위자 앞에 쌓는다 (이미 있는 사용자의 반응은 순서만 앞으로, 수는 그대로)
+            int actorCount = current != null ? current.actorCount() : 0;
+            List<String> actors = current != null ? new ArrayList<>(current.actors()) : new ArrayList<>();
+            for (NotificationDraft member : members) {
+                String name = member.senderName() != null ? member.senderName() : UNKNOWN_ACTOR;
+                if (!actors.remove(name)) {
+                    actorCount++;
+                }
+                actors.add(0, name);
+            }
+            actorCount = Math.max(actorCount, 1);
+            List<String> latestActors = List.copyOf(actors.subList(0, Math.min(actors.size(), MAX_LATEST_ACTORS)));
+
+            NotificationDraft latest = members.get(members.size() - 1);
+            String[] text = latest.event().describe(NotificationEvent.actors(latestActors.get(0), actorCount));
+            NotificationResponseDto notification = latest.notification();
+            notification.setTitle(text[0]);
+            notification.setContent(text[1]);
+            notification.setActorCount(actorCount);
+            notification.setLatestActors(latestActors);
+
+            coalescedCounter.increment(members.size() - (current != null ? 0 : 1));
+            if (current != null) {
+                notification.setId(current.id());
+                notification.setCreatedAt(current.createdAt());
+                notification.setUpdatedAt(now);
+                updates.add(new Object[]{actorCount, joinActors(latestActors), latest.senderId(),
+                        text[0], text[1], Timestamp.valueOf(now), current.id()});
+                merged.add(latest);
+            } else {
+                inserts.add(latest);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_SQL, updates);
+        }
+        return new Result(inserts, merged);
+    }
+
+    // 시간 창 안의 읽지 않은 같은 묶음 행 (수신자/기준별 가장 최근 행)
+    private Map<String, Existing> lockExisting(Iterable<List<NotificationDraft>> groups) {
+        Set<Long> recipients = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (List<NotificationDraft> members : groups) {
+            NotificationDraft first = members.get(0);
+            recipients.add(first.recipientId());
+            keys.add(first.event().groupKey());
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("recipients", recipients);
+        params.put("keys", keys);
+        params.put("since", Timestamp.valueOf(LocalDateTime.now().minusNanos(windowMs * 1_000_000L)));
+
+        Map<String, Existing> existing = new HashMap<>();
+        namedJdbcTemplate.query(LOCK_SQL, params, rs -> {
+            int actorCount = rs.getInt("actor_count");
+            if (rs.wasNull()) {
+                actorCount = 1;
+            }
+            existing.put(key(rs.getLong("recipient_id"), rs.getString("group_key")), new Existing(
+                    rs.getLong("id"),
+                    actorCount,
+                    splitActors(rs.getString("latest_actors")),
+                    rs.getTimestamp("created_at").toLocalDateTime()));
+        });
+        return existing;
+    }
+
+    private static String key(Long recipientId, String groupKey) {
+        return recipientId + "|" + groupKey;
+    }
+
+    public static List<String> splitActors(String latestActors) {
+        if (latestActors == null || latestActors.isEmpty()) {
+            return List.of();
+        }
+        return List.of(latestActors.split(ACTOR_SEPARATOR));
+    }
+
+    static String joinActors(List<String> actors) {
+        return actors == null || actors.isEmpty() ? null : String.join(ACTOR_SEPARATOR, actors);
+    }
+
+    // === 지연 전송 (커밋 이후) ===
+
+    // 묶인 알림 전송 예약 (지연 시간 안에 다시 묶이면 마지막 내용만 한 번 보낸다)
+    void pushLater(Long recipientId, NotificationResponseDto notification) {
+        if (pushDelayMs <= 0) {
+            send(new PendingPush(recipientId, notification, 0L));
+            return;
+        }
+        long dueAtMillis = System.currentTimeMillis() + pushDelayMs;
+        debounced.merge(notification.getId(), new PendingPush(recipientId, notification, dueAtMillis),
+                (current, next) -> new PendingPush(recipientId, notification, current.dueAtMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.coalesce-flush-interval-ms:250}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, PendingPush> entry : debounced.entrySet()) {
+            PendingPush pending = entry.getValue();
+            if (pending.dueAtMillis() <= now && debounced.remove(entry.getKey(), pending)) {
+                send(pending);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Long notificationId : List.copyOf(debounced.keySet())) {
+            PendingPush pending = debounced.remove(notificationId);
+            if (pending != null) {
+                send(pending);
+            }
+        }
+    }
+
+    private void send(PendingPush pending) {
+        try {
+            messageRelay.convertAndSendToUser(pending.recipientId().toString(), NotificationDispatcher.DESTINATION,
+                    pending.notification());
+            pushedCounter.increment();
+        } catch (Exception e) {
+            log.error("묶인 알림 전송 실패: 사용자 ID {}, 오류: {}", pending.recipientId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,704 @@
+package com.blog.toy.notification;
+
+import com.blog.toy.domain.NotificationStatus;
+import com.blog.toy.domain.NotificationType;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.dto.NotificationResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 알림 비동기 발송 (트랜잭션 아웃박스)
+// 요청 트랜잭션에서는 NotificationEvent 만 만들어 커밋 이후 크기 제한이 있는 메모리 큐에 넣고 바로 돌아간다 (롤백되면 큐에 들어가지 않음)
+// 발송 스레드가 큐를 배치로 꺼내 수신자/게시글/댓글을 한 번에 조회하고, notification 을 배치 INSERT 한 뒤 커밋되면 WebSocket 으로 전송한다
+// (전송은 UserMessageRelay - 여러 인스턴스일 때 세션을 가진 인스턴스로 전달)
+// - 저장 실패 배치는 지수 백오프로 재시도, 재시도를 다 쓰거나 큐가 가득 찼거나 종료 중이면 notification_outbox 테이블로 옮긴다
+// - 아웃박스는 주기적으로 SKIP LOCKED 로 가져가 같은 트랜잭션에서 알림으로 저장한다 (행 삭제와 알림 INSERT 가 함께 커밋/롤백)
+//   배치가 실패하면 한 건씩 다시 처리하고, 실패한 행은 시도 횟수(attempts)를 올려 재시도 횟수를 다 쓰면 격리(dead_at)한다
+//   (처리할 수 없는 행 하나가 뒤의 행을 계속 막지 않도록)
+// - 반응 알림은 NotificationCoalescer 가 읽지 않은 기존 알림에 묶는다 (묶인 알림은 지연 전송)
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    static final String DESTINATION = "/queue/notifications";
+    private static final long POLL_TIMEOUT_MS = 200;
+    private static final long MAX_BACKOFF_MS = 60_000;
+    private static final long SHUTDOWN_WAIT_MS = 5_000;
+
+    private static final String POSTS_SQL =
+            "SELECT p.id, p.title, COALESCE(p.author_id, u.id) AS author_id FROM post p LEFT JOIN users u ON u.username = p.author "
+                    + "WHERE p.id IN (:ids)";
+    private static final String COMMENTS_SQL =
+            "SELECT id, content, user_id, post_id FROM comment WHERE id IN (:ids)";
+    private static final String USERS_SQL =
+            "SELECT id, username, email FROM users WHERE id IN (:ids)";
+
+    // 배치 INSERT 전에 id 를 한 번에 할당 (응답 DTO 와 WebSocket 메시지에 id 가 필요)
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('notification', 'id')) FROM generate_series(1, ?)";
+
+    // 조회 이후 수신자/게시글/댓글이 삭제되어도 외래키 오류로 배치 전체가 실패하지 않도록 행마다 존재를 확인하고,
+    // 탈퇴한 발신자는 NULL 로 저장한다
+    private static final String INSERT_SQL =
+            "INSERT INTO notification (id, type, title, content, recipient_id, sender_id, post_id, comment_id, status, "
+                    + "created_at, updated_at, actor_count, latest_actors, group_key) "
+                    + "SELECT CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS TEXT), CAST(? AS BIGINT), "
+                    + "(SELECT id FROM users WHERE id = CAST(? AS BIGINT)), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+                    + "'" + NotificationStatus.UNREAD.name() + "', CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), "
+                    + "CAST(? AS INTEGER), CAST(? AS TEXT), CAST(? AS VARCHAR) "
+                    + "WHERE EXISTS (SELECT 1 FROM users WHERE id = CAST(? AS BIGINT)) "
+                    + "AND (CAST(? AS BIGINT) IS NULL OR EXISTS (SELECT 1 FROM post WHERE id = CAST(? AS BIGINT))) "
+                    + "AND (CAST(? AS BIGINT) IS NULL OR EXISTS (SELECT 1 FROM comment WHERE id = CAST(? AS BIGINT)))";
+
+    private static final String OUTBOX_INSERT_SQL =
+            "INSERT INTO notification_outbox (type, recipient, recipient_id, sender_id, post_id, comment_id, "
+                    + "reaction_type, title, content, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 다른 인스턴스와 겹치지 않게 잠긴 행은 건너뛰고 가져간다 (같은 트랜잭션에서 알림 저장까지 끝나야 삭제가 커밋됨)
+    // 격리된 행은 가져가지 않고, id 이후의 행만 (한 건씩 처리할 때 실패한 행 다음부터)
+    private static final String OUTBOX_CLAIM_SQL =
+            "DELETE FROM notification_outbox WHERE id IN ("
+                    + "SELECT id FROM notification_outbox WHERE dead_at IS NULL AND id > ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, type, recipient, recipient_id, sender_id, post_id, comment_id, reaction_type, title, content, created_at";
+
+    // 한 건씩 처리하다 실패한 행: 시도 횟수를 올리고 재시도 횟수를 다 쓰면 격리 (격리되었으면 true)
+    private static final String OUTBOX_FAILED_SQL =
+            "UPDATE notification_outbox SET attempts = attempts + 1, last_error = ?, "
+                    + "dead_at = CASE WHEN attempts + 1 >= ? THEN CURRENT_TIMESTAMP END "
+                    + "WHERE id = ? RETURNING dead_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserMessageRelay messageRelay;
+    private final UnreadCounter unreadCounter;
+    private final NotificationCoalescer coalescer;
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    // 커밋된 알림 이벤트 (가득 차면 아웃박스로)
+    private final BlockingQueue<Pending> queue;
+    // 저장에 실패해 재시도를 기다리는 이벤트 (재시도 시각 순)
+    private final DelayQueue<Pending> retries = new DelayQueue<>();
+    // 큐에 들어간 뒤 아직 저장/아웃박스 이동이 끝나지 않은 이벤트 수 (재시도 대기 포함)
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile Thread worker;
+    private volatile boolean stopped;
+
+    private final Counter publishedCounter;
+    private final Counter storedCounter;
+    private final Counter skippedCounter;
+    private final Counter pushedCounter;
+    private final Counter pushFailedCounter;
+    private final Counter retriedCounter;
+    private final Counter spilledOverflowCounter;
+    private final Counter spilledRetryCounter;
+    private final Counter spilledShutdownCounter;
+    private final Counter droppedCounter;
+    private final Counter outboxDrainedCounter;
+    private final Counter outboxDeadCounter;
+    private final Timer batchTimer;
+
+    private record Pending(NotificationEvent event, int attempts, long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private record PostRow(Long id, String title, Long authorId) {
+    }
+
+    private record CommentRow(Long id, String content, Long userId, Long postId) {
+    }
+
+    private record UserRow(Long id, String username, String email) {
+    }
+
+    private record Delivery(Long recipientId, NotificationResponseDto notification) {
+    }
+
+    // deliveries: 새로 저장한 알림, merged: 기존 알림에 묶은 알림 (지연 전송)
+    private record Stored(List<Delivery> deliveries, List<Delivery> merged, int skipped) {
+        static final Stored EMPTY = new Stored(List.of(), List.of(), 0);
+    }
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  UserMessageRelay messageRelay,
+                                  UnreadCounter unreadCounter,
+                                  NotificationCoalescer coalescer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notification.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.notification.batch-size:200}") int batchSize,
+                                  @Value("${app.notification.retry-max-attempts:5}") int maxAttempts,
+                                  @Value("${app.notification.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.messageRelay = messageRelay;
+        this.unreadCounter = unreadCounter;
+        this.coalescer = coalescer;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+
+        Gauge.builder("blog.notification.queue.size", queue, Collection::size)
+                .description("발송 대기 중인 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("blog.notification.queue.utilization", queue, q -> (double) q.size() / this.queueCapacity)
+                .description("알림 큐 사용률 (1 이면 새 알림은 아웃박스로)")
+                .register(meterRegistry);
+        Gauge.builder("blog.notification.retry.size", retries, Collection::size)
+                .description("재시도 대기 중인 알림 수")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("blog.notification.published")
+                .description("커밋 이후 발송하도록 등록된 알림")
+                .register(meterRegistry);
+        this.storedCounter = Counter.builder("blog.notification.stored")
+                .description("저장된 알림")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("blog.notification.skipped")
+                .description("수신자 없음/본인 알림/대상 삭제로 건너뛴 알림")
+                .register(meterRegistry);
+        this.pushedCounter = Counter.builder("blog.notification.pushed")
+                .description("WebSocket 으로 전송한 알림")
+                .register(meterRegistry);
+        this.pushFailedCounter = Counter.builder("blog.notification.push.failed")
+                .description("WebSocket 전송에 실패한 알림 (저장은 됨)")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("blog.notification.retried")
+                .description("저장 실패로 재시도를 예약한 알림")
+                .register(meterRegistry);
+        this.spilledOverflowCounter = spilledCounter(meterRegistry, "overflow");
+        this.spilledRetryCounter = spilledCounter(meterRegistry, "retry");
+        this.spilledShutdownCounter = spilledCounter(meterRegistry, "shutdown");
+        this.droppedCounter = Counter.builder("blog.notification.dropped")
+                .description("아웃박스에도 저장하지 못해 버린 알림")
+                .register(meterRegistry);
+        this.outboxDrainedCounter = Counter.builder("blog.notification.outbox.drained")
+                .description("아웃박스에서 가져가 처리한 알림")
+                .register(meterRegistry);
+        this.outboxDeadCounter = Counter.builder("blog.notification.outbox.dead")
+                .description("재시도를 다 써 아웃박스에 격리한 알림 (dead_at)")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("blog.notification.dispatch")
+                .description("알림 배치 저장 소요 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter spilledCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("blog.notification.spilled")
+                .tag("reason", reason)
+                .description("아웃박스 테이블로 옮긴 알림")
+                .register(meterRegistry);
+    }
+
+    // === 등록 (요청 스레드) ===
+
+    // 현재 트랜잭션이 커밋되면 큐에 넣는다 (트랜잭션이 없으면 바로)
+    public void publish(NotificationEvent event) {
+        publishedCounter.increment();
+        afterCommit(() -> enqueue(event));
+    }
+
+    private void enqueue(NotificationEvent event) {
+        // 큐가 가득 찼거나 종료 중이면 요청 스레드를 막지 않고 아웃박스 INSERT 한 번으로 넘긴다
+        inFlight.incrementAndGet();
+        if (stopped || !queue.offer(new Pending(event, 0, 0L))) {
+            inFlight.decrementAndGet();
+            spill(List.of(event), stopped ? spilledShutdownCounter : spilledOverflowCounter);
+        }
+    }
+
+    // 큐와 재시도 대기가 모두 처리될 때까지 대기 (테스트/점검용, 시간 안에 끝나면 true)
+    public boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // === 발송 스레드 ===
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null || stopped) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "notification-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+        log.info("알림 발송 스레드 시작 - 큐 {}개, 배치 {}개", queueCapacity, batchSize);
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!stopped) {
+            try {
+                // 재시도 시각이 된 이벤트부터, 없으면 새 이벤트를 기다린다
+                retries.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                retries.addAll(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("알림 발송 스레드 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        List<NotificationEvent> events = batch.stream().map(Pending::event).toList();
+        Stored stored;
+        try {
+            stored = batchTimer.recordCallable(() -> transactionTemplate.execute(status -> store(events)));
+        } catch (Exception e) {
+            retryLater(batch, e);
+            return;
+        }
+        inFlight.addAndGet(-batch.size());
+        record(stored);
+        push(stored);
+    }
+
+    // 지수 백오프로 재시도 예약, 재시도 횟수를 다 쓴 이벤트는 아웃박스로
+    private void retryLater(List<Pending> batch, Exception cause) {
+        List<NotificationEvent> exhausted = new ArrayList<>();
+        for (Pending pending : batch) {
+            int attempts = pending.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                exhausted.add(pending.event());
+                continue;
+            }
+            long backoffMs = Math.min(retryBackoffMs << Math.min(attempts - 1, 20), MAX_BACKOFF_MS);
+            retries.add(new Pending(pending.event(), attempts,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs)));
+            retriedCounter.increment();
+        }
+        log.warn("알림 {}건 저장 실패 - 재시도 예정 {}건, 아웃박스로 {}건: {}",
+                batch.size(), batch.size() - exhausted.size(), exhausted.size(), cause.getMessage());
+        if (!exhausted.isEmpty()) {
+            inFlight.addAndGet(-exhausted.size());
+            spill(exhausted, spilledRetryCounter);
+        }
+    }
+
+    // === 아웃박스 ===
+
+    @Scheduled(fixedDelayString = "${app.notification.outbox-poll-interval-ms:5000}")
+    public void drainOutbox() {
+        if (worker == null || stopped) {
+            return;
+        }
+        try {
+            int claimed;
+            do {
+                claimed = drainBatch();
+            } while (claimed == batchSize && !stopped);
+        } catch (Exception e) {
+            log.warn("알림 아웃박스 배치 처리 실패 - 한 건씩 다시 처리합니다: {}", e.getMessage());
+            drainOneByOne();
+        }
+    }
+
+    // 배치 하나를 가져가 저장하고 가져간 행 수 반환
+    private int drainBatch() {
+        int[] count = new int[1];
+        Stored stored = transactionTemplate.execute(status -> {
+            List<NotificationEvent> events = jdbcTemplate.query(OUTBOX_CLAIM_SQL,
+                    (rs, rowNum) -> toEvent(rs), 0L, batchSize);
+            count[0] = events.size();
+            return events.isEmpty() ? Stored.EMPTY : store(events);
+        });
+        drained(count[0], stored);
+        return count[0];
+    }
+
+    // 배치 크기만큼 한 건씩 별도 트랜잭션으로 저장 (실패한 행은 시도 횟수만 올리고 다음 행으로)
+    private void drainOneByOne() {
+        long lastId = 0L;
+        for (int i = 0; i < batchSize && !stopped; i++) {
+            long after = lastId;
+            long[] claimedId = {-1L};
+            try {
+                Stored stored = transactionTemplate.execute(status -> {
+                    List<NotificationEvent> events = jdbcTemplate.query(OUTBOX_CLAIM_SQL, (rs, rowNum) -> {
+                        claimedId[0] = rs.getLong("id");
+                        return toEvent(rs);
+                    }, after, 1);
+                    return events.isEmpty() ? null : store(events);
+                });
+                if (stored == null) {
+                    return;
+                }
+                drained(1, stored);
+            } catch (Exception e) {
+                if (claimedId[0] < 0) {
+                    // 행을 가져가기 전에 실패 (DB 장애 등) - 다음 주기에 다시
+                    log.warn("알림 아웃박스 처리 실패 - 다음 주기에 다시 시도합니다: {}", e.getMessage());
+                    return;
+                }
+                markFailed(claimedId[0], e);
+            }
+            lastId = claimedId[0];
+        }
+    }
+
+    private void drained(int claimed, Stored stored) {
+        if (claimed > 0) {
+            outboxDrainedCounter.increment(claimed);
+            record(stored);
+            push(stored);
+        }
+    }
+
+    // 처리하지 못한 행 기록 (트랜잭션이 롤백되어 행은 그대로 남아 있음)
+    private void markFailed(long id, Exception cause) {
+        try {
+            List<Boolean> dead = jdbcTemplate.query(OUTBOX_FAILED_SQL, (rs, rowNum) -> rs.getBoolean(1),
+                    cause.toString(), maxAttempts, id);
+            if (!dead.isEmpty() && dead.get(0)) {
+                outboxDeadCounter.increment();
+                log.error("알림 아웃박스 {}번 행을 {}번 처리하지 못해 격리합니다: {}", id, maxAttempts, cause.getMessage());
+            } else {
+                log.warn("알림 아웃박스 {}번 행 처리 실패 - 다음 주기에 다시 시도합니다: {}", id, cause.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("알림 아웃박스 {}번 행 실패 기록 실패: {}", id, e.getMessage());
+        }
+    }
+
+    private void spill(List<NotificationEvent> events, Counter reason) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(OUTBOX_INSERT_SQL, events, events.size(), (ps, event) -> {
+                        ps.setString(1, event.type().name());
+                        ps.setString(2, event.recipient().name());
+                        setLong(ps, 3, event.recipientId());
+                        setLong(ps, 4, event.senderId());
+                        setLong(ps, 5, event.postId());
+                        setLong(ps, 6, event.commentId());
+                        ps.setString(7, event.reactionType() != null ? event.reactionType().name() : null);
+                        ps.setString(8, event.title());
+                        ps.setString(9, event.content());
+                        ps.setTimestamp(10, Timestamp.valueOf(event.createdAt()));
+                    }));
+            reason.increment(events.size());
+        } catch (Exception e) {
+            droppedCounter.increment(events.size());
+            log.error("알림 {}건을 아웃박스에 저장하지 못해 버립니다.", events.size(), e);
+        }
+    }
+
+    private static NotificationEvent toEvent(ResultSet rs) throws SQLException {
+        String reactionType = rs.getString("reaction_type");
+        return new NotificationEvent(
+                NotificationType.valueOf(rs.getString("type")),
+                NotificationEvent.Recipient.valueOf(rs.getString("recipient")),
+                getLong(rs, "recipient_id"),
+                getLong(rs, "sender_id"),
+                getLong(rs, "post_id"),
+                getLong(rs, "comment_id"),
+                reactionType != null ? ReactionType.valueOf(reactionType) : null,
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    // === 저장 (트랜잭션 안에서 호출) ===
+
+    // 게시글/댓글/사용자를 종류별로 한 번씩 조회해 수신자와 문구를 정하고 배치 INSERT
+    private Stored store(List<NotificationEvent> events) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> commentIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (NotificationEvent event : events) {
+            addIfPresent(postIds, event.postId());
+            addIfPresent(commentIds, event.commentId());
+            addIfPresent(userIds, event.recipientId());
+            addIfPresent(userIds, event.senderId());
+        }
+
+        Map<Long, CommentRow> comments = new HashMap<>();
+        if (!commentIds.isEmpty()) {
+            namedJdbcTemplate.query(COMMENTS_SQL, Map.of("ids", commentIds), rs -> {
+                CommentRow row = new CommentRow(rs.getLong("id"), rs.getString("content"),
+                        getLong(rs, "user_id"), getLong(rs, "post_id"));
+                comments.put(row.id(), row);
+                addIfPresent(postIds, row.postId());
+                addIfPresent(userIds, row.userId());
+            });
+        }
+        Map<Long, PostRow> posts = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            namedJdbcTemplate.query(POSTS_SQL, Map.of("ids", postIds), rs -> {
+                PostRow row = new PostRow(rs.getLong("id"), rs.getString("title"), getLong(rs, "author_id"));
+                posts.put(row.id(), row);
+                addIfPresent(userIds, row.authorId());
+            });
+        }
+        Map<Long, UserRow> users = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            namedJdbcTemplate.query(USERS_SQL, Map.of("ids", userIds), rs -> {
+                UserRow row = new UserRow(rs.getLong("id"), rs.getString("username"), rs.getString("email"));
+                users.put(row.id(), row);
+            });
+        }
+
+        List<NotificationDraft> drafts = new ArrayList<>();
+        int skipped = 0;
+        for (NotificationEvent event : events) {
+            CommentRow comment = event.commentId() != null ? comments.get(event.commentId()) : null;
+            Long postId = event.postId() != null ? event.postId() : comment != null ? comment.postId() : null;
+            PostRow post = postId != null ? posts.get(postId) : null;
+            // 그사이 삭제된 게시글/댓글
+            if ((event.commentId() != null && comment == null) || (postId != null && post == null)) {
+                skipped++;
+                continue;
+            }
+
+            Long recipientId = switch (event.recipient()) {
+                case USER -> event.recipientId();
+                case POST_AUTHOR -> post != null ? post.authorId() : null;
+                case COMMENT_AUTHOR -> comment != null ? comment.userId() : null;
+            };
+            // 수신자를 찾을 수 없거나 자신의 글/댓글에 대한 알림이면 생성하지 않음
+            if (recipientId == null || !users.containsKey(recipientId) || recipientId.equals(event.senderId())) {
+                skipped++;
+                continue;
+            }
+
+            UserRow sender = event.senderId() != null ? users.get(event.senderId()) : null;
+            String senderName = sender != null ? sender.username() : null;
+            String[] text = event.describe(NotificationEvent.actors(senderName, 1));
+            drafts.add(new NotificationDraft(event, recipientId, sender != null ? sender.id() : null, senderName,
+                    NotificationResponseDto.builder()
+                            .type(event.type())
+                            .title(text[0])
+                            .content(text[1])
+                            .senderName(senderName)
+                            .senderEmail(sender != null ? sender.email() : null)
+                            .postId(post != null ? post.id() : null)
+                            .postTitle(post != null ? post.title() : null)
+                            .commentId(comment != null ? comment.id() : null)
+                            .commentContent(comment != null ? comment.content() : null)
+                            .status(NotificationStatus.UNREAD)
+                            .actorCount(1)
+                            .latestActors(senderName != null ? List.of(senderName) : List.of())
+                            .createdAt(event.createdAt())
+                            .updatedAt(event.createdAt())
+                            .build()));
+        }
+        if (drafts.isEmpty()) {
+            return new Stored(List.of(), List.of(), skipped);
+        }
+
+        // 수신자별 알림 상태 행을 먼저 잠근다 (모두 읽음 워터마크가 이 배치의 알림 id 중간에 걸리지 않도록)
+        unreadCounter.lock(drafts.stream().map(NotificationDraft::recipientId).collect(Collectors.toSet()));
+
+        // 같은 반응 알림은 읽지 않은 기존 알림에 묶고, 나머지만 새로 INSERT
+        NotificationCoalescer.Result coalesced = coalescer.coalesce(drafts);
+        List<NotificationDraft> inserts = coalesced.inserts();
+        List<Delivery> merged = coalesced.merged().stream()
+                .map(draft -> new Delivery(draft.recipientId(), draft.notification()))
+                .toList();
+        if (inserts.isEmpty()) {
+            return new Stored(List.of(), merged, skipped);
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).notification().setId(ids.get(i));
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NotificationDraft draft = inserts.get(i);
+                NotificationResponseDto notification = draft.notification();
+                Timestamp createdAt = Timestamp.valueOf(notification.getCreatedAt());
+                ps.setLong(1, notification.getId());
+                ps.setString(2, notification.getType().name());
+                ps.setString(3, notification.getTitle());
+                ps.setString(4, notification.getContent());
+                ps.setLong(5, draft.recipientId());
+                setLong(ps, 6, draft.senderId());
+                setLong(ps, 7, notification.getPostId());
+                setLong(ps, 8, notification.getCommentId());
+                ps.setTimestamp(9, createdAt);
+                ps.setTimestamp(10, createdAt);
+                ps.setInt(11, notification.getActorCount());
+                ps.setString(12, NotificationCoalescer.joinActors(notification.getLatestActors()));
+                ps.setString(13, draft.event().groupKey());
+                ps.setLong(14, draft.recipientId());
+                setLong(ps, 15, notification.getPostId());
+                setLong(ps, 16, notification.getPostId());
+                setLong(ps, 17, notification.getCommentId());
+                setLong(ps, 18, notification.getCommentId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return inserts.size();
+            }
+        });
+
+        List<Delivery> deliveries = new ArrayList<>(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            // 배치 결과를 알 수 없는 드라이버 설정(SUCCESS_NO_INFO)이면 저장된 것으로 본다
+            if (i >= inserted.length || inserted[i] != 0) {
+                deliveries.add(new Delivery(inserts.get(i).recipientId(), inserts.get(i).notification()));
+            } else {
+                skipped++;
+            }
+        }
+
+        // 수신자별 읽지 않은 알림 수 증가 (새 행만, 묶인 알림은 수가 그대로) - 커밋되면 전송
+        Map<Long, Integer> unreadDeltas = new HashMap<>();
+        deliveries.forEach(delivery -> unreadDeltas.merge(delivery.recipientId(), 1, Integer::sum));
+        unreadCounter.adjust(unreadDeltas);
+        return new Stored(deliveries, merged, skipped);
+    }
+
+    private void record(Stored stored) {
+        storedCounter.increment(stored.deliveries().size());
+        skippedCounter.increment(stored.skipped());
+    }
+
+    // === 전송 (커밋 이후) ===
+
+    private void push(Stored stored) {
+        stored.merged().forEach(delivery -> coalescer.pushLater(delivery.recipientId(), delivery.notification()));
+        for (Delivery delivery : stored.deliveries()) {
+            try {
+                messageRelay.convertAndSendToUser(delivery.recipientId().toString(), DESTINATION,
+                        delivery.notification());
+                pushedCounter.increment();
+            } catch (Exception e) {
+                pushFailedCounter.increment();
+                log.error("실시간 알림 전송 실패: 사용자 ID {}, 오류: {}", delivery.recipientId(), e.getMessage());
+            }
+        }
+    }
+
+    // === 종료 ===
+
+    // 처리 중인 배치를 마칠 때까지 기다린 뒤 남은 이벤트는 아웃박스로 (다음 기동 시 발송)
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            try {
+                thread.join(SHUTDOWN_WAIT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.addAll(retries);
+        retries.clear();
+        inFlight.addAndGet(-remaining.size());
+        if (!remaining.isEmpty()) {
+            spill(remaining.stream().map(Pending::event).toList(), spilledShutdownCounter);
+            log.info("종료 전 미발송 알림 {}건을 아웃박스로 옮겼습니다.", remaining.size());
+        }
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.blog.toy.notification;
+
+import com.blog.toy.dto.NotificationResponseDto;
+
+// 저장 직전의 알림 (수신자/발신자를 확인하고 문구까지 채운 상태, 저장 후 notification 이 그대로 전송된다)
+record NotificationDraft(NotificationEvent event,
+                         Long recipientId,
+                         Long senderId,
+                         String senderName,
+                         NotificationResponseDto notification) {
+}
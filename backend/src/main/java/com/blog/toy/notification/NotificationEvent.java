@@ -0,0 +1,91 @@
+package com.blog.toy.notification;
+
+import com.blog.toy.domain.NotificationType;
+import com.blog.toy.domain.ReactionType;
+
+import java.time.LocalDateTime;
+
+// 알림 생성 요청 (요청 트랜잭션에서는 id 만 담아 두고, 수신자/제목/내용은 NotificationDispatcher 가 일괄 조회해 채운다)
+// - recipient: 수신자를 정하는 규칙 (USER 면 recipientId, POST_AUTHOR/COMMENT_AUTHOR 면 게시글/댓글 작성자)
+// - title/content: 시스템 알림처럼 호출한 쪽이 문구를 정하는 경우에만 사용
+// - 반응 알림은 groupKey 가 같으면 NotificationCoalescer 가 한 행으로 묶는다 ("A님 외 12명이 ...")
+public record NotificationEvent(NotificationType type,
+                                Recipient recipient,
+                                Long recipientId,
+                                Long senderId,
+                                Long postId,
+                                Long commentId,
+                                ReactionType reactionType,
+                                String title,
+                                String content,
+                                LocalDateTime createdAt) {
+
+    public enum Recipient {
+        USER, POST_AUTHOR, COMMENT_AUTHOR
+    }
+
+    // 게시글에 댓글 -> 게시글 작성자
+    public static NotificationEvent comment(Long postId, Long commentId, Long senderId) {
+        return new NotificationEvent(NotificationType.COMMENT, Recipient.POST_AUTHOR, null, senderId,
+                postId, commentId, null, null, null, LocalDateTime.now());
+    }
+
+    // 댓글에 대댓글 -> 부모 댓글 작성자
+    public static NotificationEvent reply(Long parentAuthorId, Long postId, Long replyId, Long senderId) {
+        return new NotificationEvent(NotificationType.REPLY, Recipient.USER, parentAuthorId, senderId,
+                postId, replyId, null, null, null, LocalDateTime.now());
+    }
+
+    // 댓글 반응 -> 댓글 작성자 (게시글 id 는 댓글에서 조회)
+    public static NotificationEvent commentReaction(Long commentId, Long senderId, ReactionType type) {
+        return new NotificationEvent(NotificationType.LIKE, Recipient.COMMENT_AUTHOR, null, senderId,
+                null, commentId, type, null, null, LocalDateTime.now());
+    }
+
+    // 게시글 반응 -> 게시글 작성자
+    public static NotificationEvent postReaction(Long postId, Long senderId, ReactionType type) {
+        return new NotificationEvent(NotificationType.POST_LIKE, Recipient.POST_AUTHOR, null, senderId,
+                postId, null, type, null, null, LocalDateTime.now());
+    }
+
+    // 게시글 업데이트 -> 게시글 작성자 (본인 알림이므로 발신자 없음)
+    public static NotificationEvent postUpdate(Long postId) {
+        return new NotificationEvent(NotificationType.POST_UPDATE, Recipient.POST_AUTHOR, null, null,
+                postId, null, null, null, null, LocalDateTime.now());
+    }
+
+    public static NotificationEvent system(Long recipientId, String title, String content) {
+        return new NotificationEvent(NotificationType.SYSTEM, Recipient.USER, recipientId, null,
+                null, null, null, title, content, LocalDateTime.now());
+    }
+
+    // 묶을 수 있는 알림의 기준 (타입:반응:대상), 묶지 않는 알림은 null
+    public String groupKey() {
+        if (type != NotificationType.LIKE && type != NotificationType.POST_LIKE) {
+            return null;
+        }
+        String target = commentId != null ? "comment:" + commentId : "post:" + postId;
+        return type.name() + ":" + (reactionType != null ? reactionType.name() : ReactionType.LIKE.name()) + ":" + target;
+    }
+
+    // 알림 제목/내용 (actors: "A님이" 또는 "A님 외 12명이")
+    public String[] describe(String actors) {
+        String reactionText = reactionType == ReactionType.DISLIKE ? "싫어요" : "좋아요";
+        return switch (type) {
+            case COMMENT -> new String[]{"새로운 댓글", actors + " 회원님의 게시글에 댓글을 남겼습니다."};
+            case REPLY -> new String[]{"새로운 대댓글", actors + " 회원님의 댓글에 대댓글을 남겼습니다."};
+            case LIKE -> new String[]{"새로운 " + reactionText,
+                    actors + " 회원님의 댓글에 " + reactionText + "를 눌렀습니다."};
+            case POST_LIKE -> new String[]{"새로운 게시글 " + reactionText,
+                    actors + " 회원님의 게시글에 " + reactionText + "를 눌렀습니다."};
+            case POST_UPDATE -> new String[]{"게시글 업데이트", "회원님의 게시글이 업데이트되었습니다."};
+            case SYSTEM -> new String[]{title, content};
+        };
+    }
+
+    // 행위자 문구 (actorCount 가 2 이상이면 "A님 외 n명이")
+    public static String actors(String latestActor, int actorCount) {
+        String name = latestActor != null ? latestActor : "알 수 없는 사용자";
+        return actorCount > 1 ? name + "님 외 " + (actorCount - 1) + "명이" : name + "님이";
+    }
+}
@@ -0,0 +1,253 @@
+package com.blog.toy.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+// PostgreSQL LISTEN/NOTIFY 로 인스턴스 간 사용자 메시지 전달 (app.websocket.relay=postgres)
+// 보내는 인스턴스는 자기 세션에 바로 보내고 NOTIFY 로 다른 인스턴스에 알린다. 받은 인스턴스는 해당 사용자의 세션이 있을 때만 보낸다
+// - LISTEN 은 커넥션 풀과 별개인 전용 커넥션 하나로 받는다 (끊기면 다시 연결, 끊긴 동안의 메시지는 전달되지 않음 - 알림 자체는 DB 에 저장됨)
+// - NOTIFY 페이로드 한도(8000 바이트)를 넘는 메시지는 websocket_relay_message 테이블에 넣고 id 만 보낸다
+@Component
+@ConditionalOnProperty(name = "app.websocket.relay", havingValue = "postgres")
+@Slf4j
+public class PostgresUserMessageRelay implements UserMessageRelay {
+
+    // NOTIFY 페이로드 한도(8000 바이트)보다 여유 있게
+    private static final int MAX_NOTIFY_BYTES = 7_500;
+    private static final int LISTEN_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 2_000;
+    private static final long SHUTDOWN_WAIT_MS = 2_000;
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String STORE_SQL =
+            "INSERT INTO websocket_relay_message (body) VALUES (?) RETURNING id";
+    private static final String LOAD_SQL = "SELECT body FROM websocket_relay_message WHERE id = ?";
+    private static final String CLEANUP_SQL =
+            "DELETE FROM websocket_relay_message WHERE created_at < now() - interval '1 minute'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    // 자기 인스턴스가 보낸 NOTIFY 는 이미 전달했으므로 건너뛴다
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Thread listener;
+    private volatile boolean stopped;
+    private volatile boolean connected;
+
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter deliveredCounter;
+    private final Counter skippedCounter;
+    private final Counter oversizedCounter;
+    private final Counter failedCounter;
+
+    public PostgresUserMessageRelay(JdbcTemplate jdbcTemplate,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    SimpUserRegistry userRegistry,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.websocket.relay-channel:blog_user_messages}") String channel,
+                                    @Value("${spring.datasource.url}") String url,
+                                    @Value("${spring.datasource.username:}") String username,
+                                    @Value("${spring.datasource.password:}") String password) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("WebSocket 중계 채널 이름이 올바르지 않습니다: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+
+        Gauge.builder("blog.websocket.relay.connected", this, relay -> relay.connected ? 1 : 0)
+                .description("LISTEN 커넥션 연결 여부")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("blog.websocket.relay.published")
+                .description("다른 인스턴스로 보낸 메시지")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("blog.websocket.relay.received")
+                .description("다른 인스턴스에서 받은 메시지")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("blog.websocket.relay.delivered")
+                .description("이 인스턴스의 세션으로 보낸 메시지")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("blog.websocket.relay.skipped")
+                .description("이 인스턴스에 세션이 없어 건너뛴 메시지")
+                .register(meterRegistry);
+        this.oversizedCounter = Counter.builder("blog.websocket.relay.oversized")
+                .description("NOTIFY 한도를 넘어 테이블로 전달한 메시지")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("blog.websocket.relay.failed")
+                .description("전달/수신 처리에 실패한 메시지")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        deliverLocally(user, destination, payload);
+        try {
+            ObjectNode message = objectMapper.createObjectNode();
+            message.put("o", nodeId);
+            message.put("u", user);
+            message.put("d", destination);
+            message.set("p", objectMapper.valueToTree(payload));
+            String body = objectMapper.writeValueAsString(message);
+
+            if (body.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_BYTES) {
+                Long id = jdbcTemplate.queryForObject(STORE_SQL, Long.class, body);
+                ObjectNode reference = objectMapper.createObjectNode();
+                reference.put("o", nodeId);
+                reference.put("r", id);
+                body = objectMapper.writeValueAsString(reference);
+                oversizedCounter.increment();
+            }
+            jdbcTemplate.query(NOTIFY_SQL, rs -> null, channel, body);
+            publishedCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("WebSocket 메시지 중계 실패 (이 인스턴스 세션에만 전달됨): 사용자 {}, 오류: {}", user, e.getMessage());
+        }
+    }
+
+    // 이 인스턴스에 해당 사용자의 세션이 있을 때만 SimpleBroker 로 보낸다
+    private void deliverLocally(String user, String destination, Object payload) {
+        if (userRegistry.getUser(user) == null) {
+            skippedCounter.increment();
+            return;
+        }
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+        deliveredCounter.increment();
+    }
+
+    // === 수신 ===
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (listener != null || stopped) {
+            return;
+        }
+        Thread thread = new Thread(this::listen, "websocket-relay-listener");
+        thread.setDaemon(true);
+        thread.start();
+        listener = thread;
+    }
+
+    private void listen() {
+        while (!stopped) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connected = true;
+                log.info("WebSocket 중계 수신 시작 - 채널 {}, 인스턴스 {}", channel, nodeId);
+
+                while (!stopped) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!stopped) {
+                    log.warn("WebSocket 중계 LISTEN 커넥션 오류 - {}ms 후 다시 연결합니다: {}", RECONNECT_DELAY_MS, e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            if (!stopped) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String body) {
+        try {
+            JsonNode message = objectMapper.readTree(body);
+            if (nodeId.equals(message.path("o").asText())) {
+                return;
+            }
+            if (message.has("r")) {
+                List<String> stored = jdbcTemplate.queryForList(LOAD_SQL, String.class, message.get("r").asLong());
+                if (stored.isEmpty()) {
+                    failedCounter.increment();
+                    return;
+                }
+                message = objectMapper.readTree(stored.get(0));
+            }
+            receivedCounter.increment();
+            deliverLocally(message.path("u").asText(), message.path("d").asText(), message.get("p"));
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("WebSocket 중계 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    // 다른 인스턴스가 이미 읽어 갔을 큰 메시지 정리
+    @Scheduled(fixedDelayString = "${app.websocket.relay-cleanup-interval-ms:60000}")
+    public void cleanup() {
+        try {
+            jdbcTemplate.update(CLEANUP_SQL);
+        } catch (Exception e) {
+            log.warn("WebSocket 중계 메시지 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        Thread thread = listener;
+        if (thread != null) {
+            try {
+                thread.join(SHUTDOWN_WAIT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
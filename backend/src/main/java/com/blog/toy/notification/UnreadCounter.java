@@ -0,0 +1,220 @@
+package com.blog.toy.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 읽지 않은 알림 수
+// notification_state 행에 저장해 두고 알림 생성/읽음/삭제 시 같은 트랜잭션에서 증감한 뒤, 커밋되면 메모리 값을 갱신하고
+// /user/{id}/queue/unread-count 로 { "count": n } 을 보낸다 (클라이언트는 목록을 세거나 주기적으로 조회하지 않음)
+// - 행마다 version 을 올려 커밋 순서가 뒤바뀌어도 더 오래된 값으로 덮어쓰지 않는다
+// - 다른 인스턴스에서 바뀐 값은 메모리에 바로 반영되지 않으므로 조회용 캐시는 짧은 시간만 유지한다 (전송 값은 항상 DB 기준)
+// - 모두 읽음은 알림 행을 고치지 않고 read_watermark (읽은 마지막 알림 id) 만 올린다
+//   읽지 않은 알림 = status 가 UNREAD 이고 id 가 read_watermark 보다 큰 알림
+//   워터마크를 정할 때 아직 커밋되지 않은 알림이 끼지 않도록, 알림 저장/읽음/삭제는 lock() 으로 행을 먼저 잠근다
+@Component
+@Slf4j
+public class UnreadCounter {
+
+    private static final String DESTINATION = "/queue/unread-count";
+
+    // 행이 없으면 현재 읽지 않은 알림 수로 만들고 (같은 트랜잭션에서 바뀐 행까지 포함), 있으면 증감
+    private static final String ADJUST_SQL =
+            "INSERT INTO notification_state (user_id, unread_count, version) "
+                    + "SELECT ?, COUNT(*), 1 FROM notification WHERE recipient_id = ? AND status = 'UNREAD' "
+                    + "ON CONFLICT (user_id) DO UPDATE SET "
+                    + "unread_count = GREATEST(notification_state.unread_count + ?, 0), "
+                    + "version = notification_state.version + 1 "
+                    + "RETURNING unread_count, version";
+    private static final String INITIALIZE_SQL =
+            "INSERT INTO notification_state (user_id, unread_count, version) "
+                    + "SELECT ?, COUNT(*), 0 FROM notification WHERE recipient_id = ? AND status = 'UNREAD' "
+                    + "ON CONFLICT (user_id) DO NOTHING";
+    private static final String LOAD_SQL =
+            "SELECT unread_count, version FROM notification_state WHERE user_id = ?";
+    private static final String LOCK_SQL =
+            "SELECT user_id FROM notification_state WHERE user_id IN (:ids) ORDER BY user_id FOR UPDATE";
+    // 잠근 뒤 새 문장에서 MAX(id) 를 읽으므로 잠금을 기다리는 동안 커밋된 알림까지 포함된다
+    private static final String MARK_ALL_SQL =
+            "UPDATE notification_state SET unread_count = 0, version = version + 1, "
+                    + "read_watermark = GREATEST(read_watermark, "
+                    + "(SELECT COALESCE(MAX(id), 0) FROM notification WHERE recipient_id = ?)), "
+                    + "read_watermark_at = CURRENT_TIMESTAMP "
+                    + "WHERE user_id = ? RETURNING unread_count, version";
+    private static final String WATERMARK_SQL =
+            "SELECT read_watermark, read_watermark_at FROM notification_state WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserMessageRelay messageRelay;
+    private final long cacheTtlMs;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Counter loadedCounter;
+    private final Counter pushedCounter;
+
+    private record Snapshot(long count, long version, long loadedAtMillis) {
+    }
+
+    // 모두 읽음 워터마크 (id 이하의 알림은 읽음, at 은 모두 읽음을 누른 시각)
+    public record ReadWatermark(long id, LocalDateTime at) {
+        public static final ReadWatermark NONE = new ReadWatermark(0L, null);
+
+        public boolean covers(Long notificationId) {
+            return notificationId != null && notificationId <= id;
+        }
+    }
+
+    public UnreadCounter(JdbcTemplate jdbcTemplate,
+                         UserMessageRelay messageRelay,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.notification.unread-cache-ttl-ms:5000}") long cacheTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.messageRelay = messageRelay;
+        this.cacheTtlMs = cacheTtlMs;
+
+        Gauge.builder("blog.notification.unread.cache.size", snapshots, Map::size)
+                .description("메모리에 있는 읽지 않은 알림 수 항목")
+                .register(meterRegistry);
+        this.loadedCounter = Counter.builder("blog.notification.unread.loaded")
+                .description("DB 에서 다시 읽은 읽지 않은 알림 수")
+                .register(meterRegistry);
+        this.pushedCounter = Counter.builder("blog.notification.unread.pushed")
+                .description("WebSocket 으로 보낸 읽지 않은 알림 수 변경")
+                .register(meterRegistry);
+    }
+
+    // 읽지 않은 알림 수 (메모리, 오래됐으면 행 하나 조회)
+    public long get(Long userId) {
+        Snapshot snapshot = snapshots.get(userId);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAtMillis() < cacheTtlMs) {
+            return snapshot.count();
+        }
+        Snapshot loaded = load(userId);
+        if (loaded == null) {
+            // 처음 조회하는 사용자 - 현재 읽지 않은 알림 수로 행을 만든다
+            jdbcTemplate.update(INITIALIZE_SQL, userId, userId);
+            loaded = load(userId);
+        }
+        loadedCounter.increment();
+        return merge(userId, loaded).count();
+    }
+
+    private Snapshot load(Long userId) {
+        return jdbcTemplate.query(LOAD_SQL,
+                (rs, rowNum) -> new Snapshot(rs.getLong("unread_count"), rs.getLong("version"), System.currentTimeMillis()),
+                userId).stream().findFirst().orElse(null);
+    }
+
+    // 사용자별 행을 id 순서로 잠근다 (없으면 만든다) - 호출한 트랜잭션이 끝날 때까지 모두 읽음/다른 알림 저장과 직렬화
+    public void lock(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<Long> sorted = new TreeSet<>(userIds);
+        Set<Long> locked = new HashSet<>(namedJdbcTemplate.queryForList(LOCK_SQL, Map.of("ids", sorted), Long.class));
+        for (Long userId : sorted) {
+            if (!locked.contains(userId)) {
+                // 새로 만든 행은 INSERT 한 트랜잭션이 잠근 상태 (동시에 만든 쪽이 있으면 그 커밋을 기다린 뒤 다시 잠금)
+                if (jdbcTemplate.update(INITIALIZE_SQL, userId, userId) == 0) {
+                    namedJdbcTemplate.queryForList(LOCK_SQL, Map.of("ids", Set.of(userId)), Long.class);
+                }
+            }
+        }
+    }
+
+    public void lock(Long userId) {
+        lock(Set.of(userId));
+    }
+
+    // 워터마크 조회 (lock() 뒤에 호출하면 트랜잭션이 끝날 때까지 바뀌지 않음)
+    public ReadWatermark watermark(Long userId) {
+        return jdbcTemplate.query(WATERMARK_SQL, (rs, rowNum) -> {
+            Timestamp at = rs.getTimestamp("read_watermark_at");
+            return new ReadWatermark(rs.getLong("read_watermark"), at != null ? at.toLocalDateTime() : null);
+        }, userId).stream().findFirst().orElse(ReadWatermark.NONE);
+    }
+
+    // 모두 읽음 - 알림 행은 그대로 두고 워터마크를 현재 마지막 알림 id 로 올린 뒤 읽지 않은 알림 수를 0 으로 (커밋되면 전송)
+    public void markAllRead(Long userId) {
+        lock(userId);
+        Snapshot snapshot = jdbcTemplate.queryForObject(MARK_ALL_SQL,
+                (rs, rowNum) -> new Snapshot(rs.getLong("unread_count"), rs.getLong("version"), System.currentTimeMillis()),
+                userId, userId);
+        afterCommit(() -> publish(userId, snapshot));
+    }
+
+    public void adjust(Long userId, int delta) {
+        adjust(Map.of(userId, delta));
+    }
+
+    // 사용자별 증감 (호출한 트랜잭션에서 행을 갱신하고, 커밋되면 메모리 반영 + 전송)
+    // 여러 사용자의 행을 잠글 수 있으므로 교착을 피하도록 사용자 id 순서로 갱신한다
+    public void adjust(Map<Long, Integer> deltas) {
+        Map<Long, Snapshot> changed = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(deltas).entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            Long userId = entry.getKey();
+            Snapshot snapshot = jdbcTemplate.queryForObject(ADJUST_SQL,
+                    (rs, rowNum) -> new Snapshot(rs.getLong("unread_count"), rs.getLong("version"), System.currentTimeMillis()),
+                    userId, userId, entry.getValue());
+            changed.put(userId, snapshot);
+        }
+        if (!changed.isEmpty()) {
+            afterCommit(() -> changed.forEach(this::publish));
+        }
+    }
+
+    private void publish(Long userId, Snapshot snapshot) {
+        if (merge(userId, snapshot) != snapshot) {
+            // 더 새로운 값이 이미 반영되어 전송됨
+            return;
+        }
+        try {
+            messageRelay.convertAndSendToUser(userId.toString(), DESTINATION, Map.of("count", snapshot.count()));
+            pushedCounter.increment();
+        } catch (Exception e) {
+            log.error("읽지 않은 알림 수 전송 실패: 사용자 ID {}, 오류: {}", userId, e.getMessage());
+        }
+    }
+
+    // version 이 더 큰 값만 반영 (같으면 읽은 시각만 갱신)
+    private Snapshot merge(Long userId, Snapshot snapshot) {
+        return snapshots.merge(userId, snapshot,
+                (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
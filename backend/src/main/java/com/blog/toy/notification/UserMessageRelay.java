@@ -0,0 +1,10 @@
+package com.blog.toy.notification;
+
+// 사용자 대상 WebSocket 메시지 전달 (/user/{user}/queue/...)
+// SimpleBroker 는 같은 JVM 에 연결된 세션에만 보내므로, 여러 인스턴스로 띄울 때는 세션을 가진 인스턴스까지 메시지를 넘겨 주는 구현을 쓴다
+// - local: 같은 JVM 에만 전달 (단일 인스턴스/테스트)
+// - postgres: PostgreSQL LISTEN/NOTIFY 로 모든 인스턴스에 전달하고, 해당 사용자의 세션이 있는 인스턴스만 보낸다
+public interface UserMessageRelay {
+
+    void convertAndSendToUser(String user, String destination, Object payload);
+}
@@ -4,11 +4,16 @@ import com.blog.toy.domain.Comment;
 import com.blog.toy.domain.CommentReaction;
 import com.blog.toy.domain.ReactionType;
 import com.blog.toy.domain.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +38,36 @@ public interface CommentReactionRepository extends JpaRepository<CommentReaction
     
     // 특정 댓글의 반응 존재 여부 확인
     boolean existsByCommentAndUser(Comment comment, User user);
+    
+    // (댓글, 사용자) 반응이 없을 때만 추가 (추가되면 1, 이미 있으면 0)
+    @Modifying
+    @Query(value = "INSERT INTO comment_reactions (comment_id, user_id, type, created_at) "
+            + "VALUES (:commentId, :userId, :type, :createdAt) ON CONFLICT (comment_id, user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("commentId") Long commentId, @Param("userId") Long userId,
+                       @Param("type") String type, @Param("createdAt") LocalDateTime createdAt);
+    
+    // 기존 반응 행 잠금 조회 (같은 사용자의 동시 토글 직렬화)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT cr FROM CommentReaction cr WHERE cr.comment.id = :commentId AND cr.user.id = :userId")
+    Optional<CommentReaction> findForUpdate(@Param("commentId") Long commentId, @Param("userId") Long userId);
+    
+    // === 목록용 일괄 조회 ===
+    
+    // 여러 댓글의 반응 수를 한 번에 집계 (commentId, 좋아요 수, 싫어요 수) - 반응이 없는 댓글은 결과에 없음
+    @Query("SELECT cr.comment.id, COUNT(CASE WHEN cr.type = 'LIKE' THEN 1 END), "
+            + "COUNT(CASE WHEN cr.type = 'DISLIKE' THEN 1 END) "
+            + "FROM CommentReaction cr WHERE cr.comment.id IN :commentIds GROUP BY cr.comment.id")
+    List<Object[]> countByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+    
+    // 여러 댓글에 대한 한 사용자의 반응 (commentId, 반응 타입)
+    @Query("SELECT cr.comment.id, cr.type FROM CommentReaction cr "
+            + "WHERE cr.comment.id IN :commentIds AND cr.user.username = :username")
+    List<Object[]> findTypesByCommentIdsAndUsername(@Param("commentIds") Collection<Long> commentIds,
+                                                    @Param("username") String username);
+    
+    // 한 게시글의 댓글들에 대한 한 사용자의 반응 (commentId, 반응 타입) - 댓글 트리 조립용
+    @Query("SELECT cr.comment.id, cr.type FROM CommentReaction cr "
+            + "WHERE cr.comment.post.id = :postId AND cr.user.username = :username")
+    List<Object[]> findTypesByPostIdAndUsername(@Param("postId") Long postId, @Param("username") String username);
 }
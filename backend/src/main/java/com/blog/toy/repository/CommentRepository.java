@@ -4,11 +4,14 @@ import com.blog.toy.domain.Comment;
 import com.blog.toy.domain.CommentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -60,4 +63,47 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     
     // 신고된 댓글 조회 (페이징)
     Page<Comment> findByStatus(CommentStatus status, Pageable pageable);
+    
+    // === COUNT 쿼리 없는 Slice 조회 (withTotal=false) ===
+    
+    Slice<Comment> findSliceByPostIdAndParentIsNull(Long postId, Pageable pageable);
+    
+    Slice<Comment> findSliceByUserId(Long userId, Pageable pageable);
+    
+    Slice<Comment> findSliceByStatus(CommentStatus status, Pageable pageable);
+    
+    // === 좋아요/싫어요 수 원자적 증감 ===
+    // 엔티티를 읽어 고친 뒤 저장하면 동시 반응이 서로를 덮어쓰므로 한 번의 UPDATE 로 더한다
+    // 행 잠금 시간을 줄이도록 트랜잭션의 마지막 문장으로 호출한다 (영속성 컨텍스트는 비워짐)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.likeCount = COALESCE(c.likeCount, 0) + :likeDelta, "
+            + "c.dislikeCount = COALESCE(c.dislikeCount, 0) + :dislikeDelta WHERE c.id = :commentId")
+    int adjustReactionCounts(@Param("commentId") Long commentId, @Param("likeDelta") int likeDelta,
+                             @Param("dislikeDelta") int dislikeDelta);
+    
+    // === 댓글 트리 일괄 조회 (대댓글을 lazy 로 따라가지 않고 메모리에서 조립) ===
+    
+    // 게시글의 모든 댓글 (작성 순)
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findAllByPostIdForTree(@Param("postId") Long postId);
+    
+    // 여러 댓글의 직계 대댓글 (작성 순) - 댓글 목록/페이지의 하위 트리를 단계별로 조립할 때 사용
+    @Query("SELECT c FROM Comment c WHERE c.parent.id IN :parentIds ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+    
+    // === 구체화 경로 기반 스레드 조회 (post_id, path 인덱스 범위 스캔) ===
+    
+    // 최상위 댓글 커서 페이지 (경로 순 = 작성 순)
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.depth = 1 AND c.path > :after ORDER BY c.path ASC")
+    List<Comment> findRootsAfterPath(@Param("postId") Long postId, @Param("after") String after, Pageable pageable);
+    
+    // 하위 트리 커서 페이지 (경로 순 = 스레드 표시 순서, after 와 upper 사이)
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.path > :after AND c.path < :upper ORDER BY c.path ASC")
+    List<Comment> findSubtreeAfterPath(@Param("postId") Long postId, @Param("after") String after,
+                                       @Param("upper") String upper, Pageable pageable);
+    
+    // 대댓글 작성 시 조상 댓글들의 하위 댓글 수 +1 (조상 id 는 경로에서 바로 구함)
+    @Modifying
+    @Query("UPDATE Comment c SET c.descendantCount = COALESCE(c.descendantCount, 0) + 1 WHERE c.id IN :ids")
+    int incrementDescendantCounts(@Param("ids") List<Long> ids);
 }
@@ -1,11 +1,10 @@
 package com.blog.toy.repository;
 
 import com.blog.toy.domain.Notification;
-import com.blog.toy.domain.NotificationStatus;
-import com.blog.toy.domain.NotificationType;
 import com.blog.toy.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,17 +14,25 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// 읽음 상태는 status 와 사용자별 모두 읽음 워터마크(notification_state.read_watermark)로 정한다
+// 읽지 않은 알림 = status 가 UNREAD 이고 id 가 워터마크보다 큰 알림 (워터마크는 UnreadCounter.watermark 로 조회해 넘긴다)
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+// 타입/읽음 필터 조회는 NotificationSearchRepository.search / searchSlice (NotificationSpecifications 조합) 사용
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationSearchRepository {
     
     // 사용자의 알림 조회 (페이징)
     Page<Notification> findByRecipientOrderByCreatedAtDesc(User recipient, Pageable pageable);
     
     // 사용자의 읽지 않은 알림 조회
-    List<Notification> findByRecipientAndStatusOrderByCreatedAtDesc(User recipient, NotificationStatus status);
+    @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient " +
+           "AND n.status = 'UNREAD' AND n.id > :watermark " +
+           "ORDER BY n.createdAt DESC")
+    List<Notification> findUnread(@Param("recipient") User recipient, @Param("watermark") long watermark);
     
     // 사용자의 읽지 않은 알림 개수
-    long countByRecipientAndStatus(User recipient, NotificationStatus status);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient " +
+           "AND n.status = 'UNREAD' AND n.id > :watermark")
+    long countUnread(@Param("recipient") User recipient, @Param("watermark") long watermark);
     
     // 특정 게시글의 알림 조회
     List<Notification> findByPostId(Long postId);
@@ -33,45 +40,57 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // 특정 댓글의 알림 조회
     List<Notification> findByCommentId(Long commentId);
     
-    // 알림을 읽음 상태로 변경
+    // 자신의 읽지 않은 알림을 읽음 상태로 변경 (바뀐 행 수 반환 - 읽지 않은 알림 수 감소분)
+    // 워터마크 이하의 알림은 이미 읽은 알림이므로 바꾸지 않는다
+    // (모두 읽음은 행을 고치지 않고 UnreadCounter.markAllRead 가 워터마크만 올린다)
     @Modifying
-    @Query("UPDATE Notification n SET n.status = 'READ', n.readAt = CURRENT_TIMESTAMP WHERE n.id = :notificationId")
-    void markAsRead(@Param("notificationId") Long notificationId);
+    @Query("UPDATE Notification n SET n.status = 'READ', n.readAt = CURRENT_TIMESTAMP " +
+           "WHERE n.id = :notificationId AND n.recipient.id = :userId AND n.status = 'UNREAD' " +
+           "AND n.id > :watermark")
+    int markAsRead(@Param("notificationId") Long notificationId, @Param("userId") Long userId,
+                   @Param("watermark") long watermark);
     
-    // 사용자의 모든 알림을 읽음 상태로 변경
-    @Modifying
-    @Query("UPDATE Notification n SET n.status = 'READ', n.readAt = CURRENT_TIMESTAMP WHERE n.recipient.id = :userId")
-    void markAllAsRead(@Param("userId") Long userId);
+    // 오래된 알림 중 읽지 않은 알림 수 (수신자 id, 개수) - 정리 전 읽지 않은 알림 수 감소분 계산용
+    // 수신자마다 워터마크가 다르므로 notification_state 와 조인
+    @Query(value = "SELECT n.recipient_id, COUNT(*) FROM notification n " +
+           "LEFT JOIN notification_state s ON s.user_id = n.recipient_id " +
+           "WHERE n.created_at < :date AND n.status = 'UNREAD' AND n.id > COALESCE(s.read_watermark, 0) " +
+           "GROUP BY n.recipient_id", nativeQuery = true)
+    List<Object[]> countUnreadOlderThan(@Param("date") LocalDateTime date);
     
     // 오래된 알림 삭제 (30일 이상)
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.createdAt < :date")
     void deleteOldNotifications(@Param("date") LocalDateTime date);
 
-    // 필터링된 알림 조회 (타입과 상태만)
+    // 날짜 범위로 필터링된 알림 조회
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient " +
-           "AND (:type IS NULL OR n.type = :type) " +
-           "AND (:status IS NULL OR n.status = :status) " +
+           "AND n.createdAt >= :startDate " +
+           "AND n.createdAt <= :endDate " +
            "ORDER BY n.createdAt DESC")
-    Page<Notification> findByFilter(
+    Page<Notification> findByDateRange(
             @Param("recipient") User recipient,
-            @Param("type") NotificationType type,
-            @Param("status") NotificationStatus status,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
 
-    // 날짜 범위로 필터링된 알림 조회
+    // 읽은 알림 일괄 삭제 (개별로 읽은 알림 + 워터마크 이하 알림)
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :userId " +
+           "AND (n.status = 'READ' OR n.id <= :watermark)")
+    int deleteReadNotifications(@Param("userId") Long userId, @Param("watermark") long watermark);
+    
+    // === COUNT 쿼리 없는 Slice 조회 (withTotal=false) ===
+    
+    Slice<Notification> findSliceByRecipientOrderByCreatedAtDesc(User recipient, Pageable pageable);
+    
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient " +
            "AND n.createdAt >= :startDate " +
            "AND n.createdAt <= :endDate " +
            "ORDER BY n.createdAt DESC")
-    Page<Notification> findByDateRange(
+    Slice<Notification> findSliceByDateRange(
             @Param("recipient") User recipient,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
-
-    // 읽은 알림 일괄 삭제
-    @Modifying
-    @Query("DELETE FROM Notification n WHERE n.recipient.id = :userId AND n.status = 'READ'")
-    void deleteReadNotifications(@Param("userId") Long userId);
 }
@@ -0,0 +1,17 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Notification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// 조건(Specification) 조합 알림 조회 (NotificationRepository 에 합쳐지는 커스텀 리포지토리)
+public interface NotificationSearchRepository {
+
+    // 조회 + 전체 개수 (결과가 첫 페이지에 모두 들어오면 COUNT 생략)
+    Page<Notification> search(Specification<Notification> spec, Pageable pageable);
+
+    // 조회 (COUNT 없이 size + 1 개 조회로 다음 페이지 여부 판단)
+    Slice<Notification> searchSlice(Specification<Notification> spec, Pageable pageable);
+}
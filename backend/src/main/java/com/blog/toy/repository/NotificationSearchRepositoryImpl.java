@@ -0,0 +1,10 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Notification;
+
+public class NotificationSearchRepositoryImpl extends SpecificationSliceSupport<Notification> implements NotificationSearchRepository {
+
+    public NotificationSearchRepositoryImpl() {
+        super(Notification.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Notification;
+import com.blog.toy.domain.NotificationStatus;
+import com.blog.toy.domain.NotificationType;
+import com.blog.toy.domain.User;
+import org.springframework.data.jpa.domain.Specification;
+
+// 알림 조회 조건 모음 (NotificationRepository.search / searchSlice 에서 사용)
+// 읽지 않은 알림 = status 가 UNREAD 이고 id 가 모두 읽음 워터마크보다 큰 알림
+public final class NotificationSpecifications {
+
+    private NotificationSpecifications() {
+    }
+
+    // 타입/읽음 필터 조합 (전달된 조건만 AND 로 연결해 "IS NULL OR" 분기가 SQL 에 남지 않게 함)
+    public static Specification<Notification> forFilter(User recipient, NotificationType type, Boolean unread,
+                                                        long watermark) {
+        Specification<Notification> spec = receivedBy(recipient);
+        if (type != null) {
+            spec = spec.and(hasType(type));
+        }
+        if (unread != null) {
+            spec = spec.and(unread ? unread(watermark) : read(watermark));
+        }
+        return spec;
+    }
+
+    public static Specification<Notification> receivedBy(User recipient) {
+        return (root, query, cb) -> cb.equal(root.get("recipient"), recipient);
+    }
+
+    public static Specification<Notification> hasType(NotificationType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Notification> unread(long watermark) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), NotificationStatus.UNREAD),
+                cb.greaterThan(root.get("id"), watermark));
+    }
+
+    // 개별로 읽었거나 워터마크 이하 (모두 읽음)
+    public static Specification<Notification> read(long watermark) {
+        return (root, query, cb) -> cb.or(
+                cb.notEqual(root.get("status"), NotificationStatus.UNREAD),
+                cb.lessThanOrEqualTo(root.get("id"), watermark));
+    }
+}
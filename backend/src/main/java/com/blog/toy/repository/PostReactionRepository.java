@@ -4,11 +4,16 @@ import com.blog.toy.domain.Post;
 import com.blog.toy.domain.PostReaction;
 import com.blog.toy.domain.ReactionType;
 import com.blog.toy.domain.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,4 +53,31 @@ public interface PostReactionRepository extends JpaRepository<PostReaction, Long
     // 사용자의 특정 게시글 반응 타입 조회
     @Query("SELECT pr.type FROM PostReaction pr WHERE pr.post = :post AND pr.user = :user")
     Optional<ReactionType> findUserReactionType(@Param("post") Post post, @Param("user") User user);
+
+    // (게시글, 사용자) 반응이 없을 때만 추가 - 동시 요청이 몰려도 한 건만 생성된다 (추가되면 1, 이미 있으면 0)
+    @Modifying
+    @Query(value = "INSERT INTO post_reactions (post_id, user_id, type, created_at) "
+            + "VALUES (:postId, :userId, :type, :createdAt) ON CONFLICT (post_id, user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId,
+                       @Param("type") String type, @Param("createdAt") LocalDateTime createdAt);
+
+    // 기존 반응 행 잠금 조회 (같은 사용자의 동시 토글만 직렬화, 다른 사용자와는 경합하지 않음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pr FROM PostReaction pr WHERE pr.post.id = :postId AND pr.user.id = :userId")
+    Optional<PostReaction> findForUpdate(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // === 목록용 일괄 조회 ===
+
+    // 여러 게시글의 반응 수를 한 번에 집계 (postId, 좋아요 수, 싫어요 수) - 반응이 없는 게시글은 결과에 없음
+    @Query("SELECT pr.post.id, " + "COUNT(CASE WHEN pr.type = 'LIKE' THEN 1 END), "
+            + "COUNT(CASE WHEN pr.type = 'DISLIKE' THEN 1 END) "
+            + "FROM PostReaction pr WHERE pr.post.id IN :postIds GROUP BY pr.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 여러 게시글에 대한 한 사용자의 반응 (postId, 반응 타입)
+    @Query("SELECT pr.post.id, pr.type FROM PostReaction pr "
+            + "WHERE pr.post.id IN :postIds AND pr.user.username = :username")
+    List<Object[]> findTypesByPostIdsAndUsername(@Param("postIds") Collection<Long> postIds,
+                                                 @Param("username") String username);
 }
@@ -1,18 +1,21 @@
 package com.blog.toy.repository;
 
-import com.blog.toy.domain.Category;
 import com.blog.toy.domain.Post;
 import com.blog.toy.domain.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 // DB와 상호작용하는 Repository 인터페이스(DB와 직접 통신하는 역할만함)
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>, PostSearchRepository {
     List<Post> findByTitleContainingOrContentContaining(String title, String content);
     
     // 페이징을 위한 메서드들
@@ -20,10 +23,12 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByTitleContainingOrContentContaining(String title, String content, Pageable pageable);
     
     // 카테고리 관련 메소드들
-    long countByCategory(Category category);
-    Page<Post> findByCategory(Category category, Pageable pageable);
-    Page<Post> findByCategoryIn(List<Category> categories, Pageable pageable);
-    Page<Post> findByCategoryAndStatus(Category category, Post.PostStatus status, Pageable pageable);
+    // 카테고리 id 목록 (하위 카테고리 포함으로 펼친 목록) 으로 조회 - category_id IN (...) 한 번, idx_post_category_created_at_id 사용
+    Page<Post> findByCategoryIdIn(Collection<Long> categoryIds, Pageable pageable);
+    
+    // 카테고리별 게시글 수 (카테고리 트리 스냅샷용, 카테고리 없는 게시글 제외)
+    @Query("SELECT p.category.id, COUNT(p) FROM Post p WHERE p.category IS NOT NULL GROUP BY p.category.id")
+    List<Object[]> countGroupedByCategory();
     
     // 태그 관련 메소드들
     @Query("SELECT p FROM Post p JOIN p.tags t WHERE t IN :tags")
@@ -36,46 +41,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findAllByOrderByViewCountDesc(Pageable pageable);
     
     // === 고급 검색 기능 ===
-    
-    // 키워드 검색 (제목 또는 내용)
-    @Query("SELECT p FROM Post p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Post> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
-    
-    // 키워드 + 카테고리 검색
-    @Query("SELECT p FROM Post p WHERE p.category.id = :categoryId AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Post> findByKeywordAndCategory(@Param("keyword") String keyword, @Param("categoryId") Long categoryId, Pageable pageable);
-    
-    // 키워드 + 태그 검색
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.tags t WHERE t.name IN :tagNames AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Post> findByKeywordAndTags(@Param("keyword") String keyword, @Param("tagNames") List<String> tagNames, Pageable pageable);
-    
-    // 키워드 + 상태 검색
-    @Query("SELECT p FROM Post p WHERE p.status = :status AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Post> findByKeywordAndStatus(@Param("keyword") String keyword, @Param("status") Post.PostStatus status, Pageable pageable);
-    
-    // 복합 검색 (키워드 + 카테고리 + 태그 + 상태)
-    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN p.tags t WHERE " +
-           "(:keyword IS NULL OR (LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))) AND " +
-           "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-           "(:tagNames IS NULL OR t.name IN :tagNames) AND " +
-           "(:status IS NULL OR p.status = :status)")
-    Page<Post> findByAdvancedSearch(
-            @Param("keyword") String keyword,
-            @Param("categoryId") Long categoryId,
-            @Param("tagNames") List<String> tagNames,
-            @Param("status") Post.PostStatus status,
-            Pageable pageable);
-    
-    // 태그 이름으로 검색
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.tags t WHERE t.name IN :tagNames")
-    Page<Post> findByTagNames(@Param("tagNames") List<String> tagNames, Pageable pageable);
-    
-    // 카테고리 ID로 검색
-    Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
-    
-    // 댓글 수로 정렬 (댓글 수가 많은 순)
-    @Query("SELECT p FROM Post p LEFT JOIN p.comments c GROUP BY p ORDER BY COUNT(c) DESC")
-    Page<Post> findAllOrderByCommentCountDesc(Pageable pageable);
+    // 조건 조합 검색은 PostSearchRepository.search / searchSlice (PostSpecifications 조합) 사용
     
     // 최근 게시글 (최근 7일)
     @Query("SELECT p FROM Post p WHERE p.createdAt >= :sevenDaysAgo")
@@ -84,4 +50,71 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // 인기 게시글 (조회수 높은 순, 최근 30일)
     @Query("SELECT p FROM Post p WHERE p.createdAt >= :thirtyDaysAgo ORDER BY p.viewCount DESC")
     Page<Post> findPopularPosts(@Param("thirtyDaysAgo") java.time.LocalDateTime thirtyDaysAgo, Pageable pageable);
+    
+    // === 목록 조회용 연관 엔티티 일괄 로딩 (N+1 방지) ===
+    
+    // 게시글 id 목록의 태그를 한 번에 로딩
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 게시글 id 목록의 첨부 파일을 한 번에 로딩
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.files WHERE p.id IN :ids")
+    List<Post> findWithFilesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // === 검색 색인 연동 ===
+    
+    // 색인 재구성 시 변경 여부 판단용 (id, 수정일시)
+    @Query("SELECT p.id, p.updatedAt FROM Post p")
+    List<Object[]> findIndexStamps();
+    
+    // 색인 검색 결과 id 목록을 DB 정렬 기준(조회수, 댓글 수 등)으로 페이징
+    Page<Post> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    // === 인기 게시글 랭킹 연동 ===
+
+    // 랭킹 기동 시 카테고리 등록 / 초기 점수 계산용 (id, 카테고리 id, 작성일시, 조회수, 좋아요 수, 댓글 수)
+    @Query("SELECT p.id, c.id, p.createdAt, p.viewCount, p.likeCount, p.commentCount FROM Post p LEFT JOIN p.category c")
+    List<Object[]> findTrendingSeeds();
+
+    // === 자동완성 색인 연동 ===
+    
+    // 기동 시 게시글 제목 색인용 (id, 제목, 조회수, 좋아요 수, 댓글 수)
+    @Query("SELECT p.id, p.title, p.viewCount, p.likeCount, p.commentCount FROM Post p WHERE p.status = :status")
+    List<Object[]> findSuggestionSeeds(@Param("status") Post.PostStatus status);
+
+    // === COUNT 쿼리 없는 Slice 조회 (withTotal=false) ===
+    // size+1 개를 조회해 다음 페이지 존재 여부만 판단한다
+    
+    Slice<Post> findSliceBy(Pageable pageable);
+    Slice<Post> findSliceByTitleContainingOrContentContaining(String title, String content, Pageable pageable);
+    Slice<Post> findSliceByCategoryIdIn(Collection<Long> categoryIds, Pageable pageable);
+    Slice<Post> findSliceByStatus(Post.PostStatus status, Pageable pageable);
+    
+    @Query("SELECT p FROM Post p JOIN p.tags t WHERE t IN :tags")
+    Slice<Post> findSliceByTags(@Param("tags") List<Tag> tags, Pageable pageable);
+    
+    
+    @Query("SELECT p FROM Post p WHERE p.createdAt >= :sevenDaysAgo")
+    Slice<Post> findSliceRecentPosts(@Param("sevenDaysAgo") java.time.LocalDateTime sevenDaysAgo, Pageable pageable);
+    
+    @Query("SELECT p FROM Post p WHERE p.createdAt >= :thirtyDaysAgo ORDER BY p.viewCount DESC")
+    Slice<Post> findSlicePopularPosts(@Param("thirtyDaysAgo") java.time.LocalDateTime thirtyDaysAgo, Pageable pageable);
+    
+    // === 좋아요/싫어요 수 원자적 증감 ===
+    // 엔티티를 읽어 고친 뒤 저장하면 동시 반응이 서로를 덮어쓰므로 한 번의 UPDATE 로 더한다
+    // 행 잠금 시간을 줄이도록 트랜잭션의 마지막 문장으로 호출한다 (영속성 컨텍스트는 비워짐)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.likeCount = COALESCE(p.likeCount, 0) + :likeDelta, "
+            + "p.dislikeCount = COALESCE(p.dislikeCount, 0) + :dislikeDelta WHERE p.id = :postId")
+    int adjustReactionCounts(@Param("postId") Long postId, @Param("likeDelta") int likeDelta,
+                             @Param("dislikeDelta") int dislikeDelta);
+    
+    // === 댓글 수 (comment_count, top_level_comment_count, total_comment_count) 원자적 증감 ===
+    // 댓글 작성/삭제/신고 처리 시 CommentService 에서 호출 (엔티티는 @DynamicUpdate 라 덮어쓰지 않음)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Post p SET p.commentCount = COALESCE(p.commentCount, 0) + :activeDelta, "
+            + "p.topLevelCommentCount = COALESCE(p.topLevelCommentCount, 0) + :topLevelDelta, "
+            + "p.totalCommentCount = COALESCE(p.totalCommentCount, 0) + :totalDelta WHERE p.id = :postId")
+    int adjustCommentCounts(@Param("postId") Long postId, @Param("activeDelta") int activeDelta,
+                            @Param("topLevelDelta") int topLevelDelta, @Param("totalDelta") int totalDelta);
 }
@@ -0,0 +1,17 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// 조건(Specification) 조합 게시글 검색 (PostRepository 에 합쳐지는 커스텀 리포지토리)
+public interface PostSearchRepository {
+
+    // 검색 + 전체 개수 (결과가 첫 페이지에 모두 들어오면 COUNT 생략)
+    Page<Post> search(Specification<Post> spec, Pageable pageable);
+
+    // 검색 (COUNT 없이 size + 1 개 조회로 다음 페이지 여부 판단)
+    Slice<Post> searchSlice(Specification<Post> spec, Pageable pageable);
+}
@@ -0,0 +1,10 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Post;
+
+public class PostSearchRepositoryImpl extends SpecificationSliceSupport<Post> implements PostSearchRepository {
+
+    public PostSearchRepositoryImpl() {
+        super(Post.class);
+    }
+}
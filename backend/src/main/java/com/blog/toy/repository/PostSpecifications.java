@@ -0,0 +1,141 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.Tag;
+import com.blog.toy.dto.SearchRequestDto;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// 게시글 조회 조건 모음 (PostRepository.findBy(Specification, ...), PostRepository.search 에서 사용)
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    // 고급 검색 조건 조합 (전달된 조건만 AND 로 연결해 불필요한 "IS NULL OR" 분기가 SQL 에 남지 않게 함)
+    // tagIds 는 태그명을 활성 태그 id 로 바꾼 목록 (검색 색인과 같은 목록을 쓴다, null 이면 태그 조건 없음)
+    public static Specification<Post> forSearch(SearchRequestDto searchRequestDto, Collection<Long> tagIds) {
+        List<Specification<Post>> specs = new ArrayList<>();
+
+        if (StringUtils.hasText(searchRequestDto.getKeyword())) {
+            specs.add(containsKeyword(searchRequestDto.getKeyword()));
+        }
+
+        List<Long> categoryIds = searchRequestDto.allCategoryIds();
+        if (categoryIds != null) {
+            specs.add(categoryIds.size() == 1 ? inCategory(categoryIds.get(0)) : inCategories(categoryIds));
+        }
+
+        if (tagIds != null) {
+            specs.add(searchRequestDto.matchAllTags() ? hasAllTagIds(tagIds) : hasAnyTagId(tagIds));
+        }
+
+        if (searchRequestDto.getStatus() != null) {
+            specs.add(hasStatus(searchRequestDto.getStatus()));
+        }
+
+        if (StringUtils.hasText(searchRequestDto.getAuthor())) {
+            specs.add(writtenBy(searchRequestDto.getAuthor()));
+        }
+
+        if (searchRequestDto.getCreatedFrom() != null) {
+            specs.add(createdFrom(searchRequestDto.getCreatedFrom()));
+        }
+
+        if (searchRequestDto.getCreatedTo() != null) {
+            specs.add(createdTo(searchRequestDto.getCreatedTo()));
+        }
+
+        return specs.stream()
+                .reduce(Specification::and)
+                .orElseGet(PostSpecifications::all);
+    }
+
+    // 조건 없음 (전체)
+    public static Specification<Post> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    // 카테고리 일치
+    public static Specification<Post> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    // 카테고리 중 하나에 속함
+    public static Specification<Post> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    // 태그 중 하나라도 일치 (DISTINCT 조인 대신 EXISTS 서브쿼리)
+    public static Specification<Post> hasAnyTag(List<String> tagNames) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Post> correlated = subquery.correlate(root);
+            Join<Post, Tag> tag = correlated.join("tags");
+            subquery.select(tag.<Long>get("id"))
+                    .where(tag.get("name").in(tagNames), cb.isTrue(tag.get("active")));
+            return cb.exists(subquery);
+        };
+    }
+
+    // 태그 id 중 하나라도 일치 (활성 여부는 id 로 바꿀 때 이미 걸렀으므로 post_tags 만 본다)
+    public static Specification<Post> hasAnyTagId(Collection<Long> tagIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Post> correlated = subquery.correlate(root);
+            Join<Post, Tag> tag = correlated.join("tags");
+            subquery.select(tag.<Long>get("id"))
+                    .where(tag.get("id").in(tagIds));
+            return cb.exists(subquery);
+        };
+    }
+
+    // 태그 id 모두 일치 (태그마다 EXISTS 서브쿼리 하나씩)
+    public static Specification<Post> hasAllTagIds(Collection<Long> tagIds) {
+        Specification<Post> spec = null;
+        for (Long tagId : new LinkedHashSet<>(tagIds)) {
+            Specification<Post> hasTag = hasAnyTagId(List.of(tagId));
+            spec = spec == null ? hasTag : spec.and(hasTag);
+        }
+        return spec != null ? spec : all();
+    }
+
+    // 제목 또는 내용에 키워드 포함 (대소문자 무시)
+    public static Specification<Post> containsKeyword(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = "%" + keyword.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("content")), pattern));
+        };
+    }
+
+    // 상태 일치
+    public static Specification<Post> hasStatus(Post.PostStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // 작성자 일치
+    public static Specification<Post> writtenBy(String author) {
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    // 작성일 시작 (이상)
+    public static Specification<Post> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    // 작성일 끝 (이하)
+    public static Specification<Post> createdTo(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), to);
+    }
+}
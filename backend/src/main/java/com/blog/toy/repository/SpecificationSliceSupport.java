@@ -0,0 +1,87 @@
+package com.blog.toy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 조건(Specification) 조합 조회 공통 구현 (PostSearchRepositoryImpl / NotificationSearchRepositoryImpl)
+// 정렬 마지막에 id 내림차순을 붙여 순서를 고정하고, Slice 는 COUNT 없이 size + 1 개 조회로 다음 페이지 여부를 판단한다
+public abstract class SpecificationSliceSupport<T> {
+
+    private final Class<T> domainClass;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    protected SpecificationSliceSupport(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    public Page<T> search(Specification<T> spec, Pageable pageable) {
+        List<T> content = fetch(spec, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    public Slice<T> searchSlice(Specification<T> spec, Pageable pageable) {
+        List<T> content = fetch(spec, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<T> fetch(Specification<T> spec, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(toOrders(pageable.getSort(), root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // 정렬 변환 (마지막에 id 로 순서 고정)
+    private List<Order> toOrders(Sort sort, Root<T> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> expression = root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+        }
+        orders.add(cb.desc(root.get("id")));
+        return orders;
+    }
+}
@@ -3,8 +3,12 @@ package com.blog.toy.repository;
 import com.blog.toy.domain.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +26,26 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     
     @Query("SELECT t FROM Tag t WHERE t.name IN :names AND t.active = true")
     List<Tag> findByNamesIn(List<String> names);
+    
+    // 게시글 태그 지정용 (비활성 태그 포함)
+    List<Tag> findByNameIn(Collection<String> names);
+    
+    // 없는 태그를 한 번에 생성하고 새로 만든 태그 id 반환
+    // 동시에 같은 이름이 생성되면 충돌한 행은 건너뛰므로(ON CONFLICT DO NOTHING) 호출한 쪽에서 이름으로 다시 조회한다
+    // 여러 트랜잭션이 겹치는 이름을 넣을 때 교착 상태가 생기지 않도록 항상 이름순으로 넣는다
+    // 트랜잭션 밖에서 호출되어도 읽기 전용 트랜잭션으로 실행되지 않도록 @Transactional 지정
+    @Transactional
+    @Query(value = "INSERT INTO tags (name, is_active, created_at, updated_at) "
+            + "SELECT n, true, :now, :now FROM unnest(CAST(ARRAY[:names] AS varchar[])) AS n ORDER BY n "
+            + "ON CONFLICT (name) DO NOTHING RETURNING id", nativeQuery = true)
+    List<Long> insertMissing(@Param("names") Collection<String> names, @Param("now") LocalDateTime now);
+    
+    // === 태그별 게시글 수 (post_tags 만 집계, 게시글 본문은 읽지 않음) ===
+    
+    // 태그 목록/태그 클라우드용 (tag_id, 게시글 수)
+    @Query(value = "SELECT tag_id, COUNT(*) FROM post_tags GROUP BY tag_id", nativeQuery = true)
+    List<Object[]> countPostsGroupedByTag();
+    
+    @Query(value = "SELECT COUNT(*) FROM post_tags WHERE tag_id = :tagId", nativeQuery = true)
+    long countPostsByTagId(@Param("tagId") Long tagId);
 }
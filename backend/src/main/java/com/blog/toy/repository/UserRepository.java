@@ -2,8 +2,14 @@ package com.blog.toy.repository;
 
 import com.blog.toy.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +22,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    // === JWT 무효화 상태 ===
+    
+    // 토큰 검증 캐시용 (id, 토큰 버전, 활성 여부, 역할)
+    @Query("SELECT u.id, u.tokenVersion, u.enabled, u.role FROM User u WHERE u.id IN :ids")
+    List<Object[]> findTokenStates(@Param("ids") Collection<Long> ids);
+    
+    // 발급된 토큰 전체 무효화 (버전 증가)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
@@ -0,0 +1,86 @@
+package com.blog.toy.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 문자 바이그램 토크나이저
+// 띄어쓰기 없이 붙여 쓴 한글도 부분 문자열로 찾을 수 있도록
+// 글자/숫자가 연속된 구간을 2글자씩 겹쳐 잘라 색인한다 (한 글자짜리 구간은 그 글자 자체가 토큰)
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    // 색인과 질의에 공통으로 적용하는 정규화 (전각/반각 통일, 소문자 변환)
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // 텍스트를 토큰 -> 출현 위치 목록으로 변환 (위치는 정규화된 문자열 기준 시작 인덱스)
+    public static Map<String, List<Integer>> tokenize(String text) {
+        String normalized = normalize(text);
+        Map<String, List<Integer>> tokens = new HashMap<>();
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            if (!Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            if (end - start == 1) {
+                tokens.computeIfAbsent(normalized.substring(start, end), key -> new ArrayList<>()).add(start);
+            } else {
+                for (int i = start; i < end - 1; i++) {
+                    tokens.computeIfAbsent(normalized.substring(i, i + 2), key -> new ArrayList<>()).add(i);
+                }
+            }
+            start = end;
+        }
+        return tokens;
+    }
+
+    // 질의어를 글자/숫자 연속 구간 단위로 분리
+    public static List<String> runs(String text) {
+        String normalized = normalize(text);
+        List<String> runs = new ArrayList<>();
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            if (!Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            runs.add(normalized.substring(start, end));
+            start = end;
+        }
+        return runs;
+    }
+
+    // 구간을 순서대로 바이그램 목록으로 변환 (한 글자 구간은 그대로)
+    public static List<String> grams(String run) {
+        List<String> grams = new ArrayList<>();
+        if (run.length() == 1) {
+            grams.add(run);
+            return grams;
+        }
+        for (int i = 0; i < run.length() - 1; i++) {
+            grams.add(run.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,85 @@
+package com.blog.toy.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+// 한글 자모 분해 (자동완성 접두어 비교용)
+// 입력 중인 글자도 접두어로 맞도록 음절을 초성/중성/종성 호환 자모로 풀고, 겹모음/겹받침도 낱자로 나눈다
+// 예: "한글" -> "ㅎㅏㄴㄱㅡㄹ" 이므로 "하", "한ㄱ", "한그" 모두 접두어가 된다
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String[] CHOSEONG = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 따로 입력된 겹모음/겹받침 호환 자모 (ㄳ ~ ㅢ)
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private HangulJamo() {
+    }
+
+    // 정규화 (NFC, 소문자) - NFKC 는 호환 자모(ㄱ)를 첫가끝 자모로 바꾸므로 쓰지 않는다
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 정규화 후 한글 음절/겹자모를 낱자 자모로 분해 (그 밖의 문자는 그대로)
+    public static String decompose(String text) {
+        String normalized = normalize(text);
+        StringBuilder out = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int code = c - SYLLABLE_BASE;
+                out.append(CHOSEONG[code / 588])
+                        .append(JUNGSEONG[(code % 588) / 28])
+                        .append(JONGSEONG[code % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) {
+                    out.append(COMPOUND_SPLIT[compound]);
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    // 초성만 추린 문자열 (한글 음절이 없으면 null), 예: "스프링 부트" -> "ㅅㅍㄹ ㅂㅌ"
+    public static String initials(String text) {
+        String normalized = normalize(text);
+        StringBuilder out = new StringBuilder(normalized.length());
+        boolean hasSyllable = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                out.append(CHOSEONG[(c - SYLLABLE_BASE) / 588]);
+                hasSyllable = true;
+            } else {
+                out.append(c);
+            }
+        }
+        return hasSyllable ? out.toString() : null;
+    }
+}
@@ -0,0 +1,682 @@
+package com.blog.toy.search;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.Tag;
+import com.blog.toy.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 게시글 제목/내용 인메모리 전문 검색 색인
+// - 문자 바이그램 역색인 + 위치 정보로 LIKE '%키워드%' 와 같은 부분 문자열 일치를 판단
+// - BM25 점수로 관련도 정렬, 카테고리/태그/상태/작성자 필터는 게시글 id 집합 교집합으로 처리
+// - 게시글 생성/수정/삭제 시 커밋 이후 증분 반영, 주기적으로 로컬 디렉터리에 스냅샷 저장
+// - 기동 시 스냅샷을 읽은 뒤 DB 의 (id, 수정일시)와 비교해 바뀐 게시글만 다시 색인
+// 단일 노드 전제: 증분 반영은 이 인스턴스에서 커밋된 변경만 받는다
+// 여러 인스턴스로 띄우면 다른 인스턴스에서 바뀐 게시글은 재기동 시 동기화 전까지 검색 결과에 반영되지 않으므로
+// 그 경우 app.search.index-dir 를 인스턴스마다 따로 두고 키워드 검색은 SQL 검색 경로로 돌려야 한다
+@Component
+@Slf4j
+public class PostSearchIndex {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String SNAPSHOT_FILE = "posts.idx";
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 제목 일치는 본문 일치보다 가중치를 높게 준다
+    private static final int TITLE_WEIGHT = 3;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${app.search.index-dir:./search-index}")
+    private String indexDir;
+
+    private final Object lock = new Object();
+
+    // 토큰 -> (게시글 id -> 제목/본문 출현 위치)
+    private Map<String, Map<Long, Occurrences>> postings = new HashMap<>();
+    private Map<Long, IndexedPost> documents = new HashMap<>();
+    private Map<Long, Set<Long>> postsByCategory = new HashMap<>();
+    private Map<Long, Set<Long>> postsByTag = new HashMap<>();
+    private Map<Post.PostStatus, Set<Long>> postsByStatus = new EnumMap<>(Post.PostStatus.class);
+    private Map<String, Set<Long>> postsByAuthor = new HashMap<>();
+    private long totalLength;
+
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    // 검색 결과 정렬 순서
+    public enum Order {
+        RELEVANCE,  // BM25 점수 높은 순
+        LATEST,     // 작성일 최신순
+        OLDEST      // 작성일 오래된 순
+    }
+
+    // 검색 필터 (null 이면 해당 조건 없음)
+    // tagIds 가 비어 있으면 일치하는 게시글 없음, allTags 면 모든 태그를 가진 게시글만
+    public record Filter(Collection<Long> categoryIds, Collection<Long> tagIds, boolean allTags,
+                         Post.PostStatus status, String author,
+                         LocalDateTime createdFrom, LocalDateTime createdTo) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // === 색인 갱신 ===
+
+    // 게시글 색인 (트랜잭션 안에서 호출되면 커밋 이후에 반영)
+    public void index(Post post) {
+        PendingDocument document = analyze(post);
+        afterCommit(() -> apply(document.stampedAt(post.getUpdatedAt()), false));
+    }
+
+    // 게시글 색인 제거 (트랜잭션 안에서 호출되면 커밋 이후에 반영)
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            synchronized (lock) {
+                removeDocument(postId);
+                dirty = true;
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 게시글을 토큰화해 색인에 넣을 형태로 변환 (락 밖에서 수행)
+    private PendingDocument analyze(Post post) {
+        Map<String, List<Integer>> titleTokens = BigramTokenizer.tokenize(post.getTitle());
+        Map<String, List<Integer>> contentTokens = BigramTokenizer.tokenize(post.getContent());
+
+        Set<String> terms = new HashSet<>(titleTokens.keySet());
+        terms.addAll(contentTokens.keySet());
+
+        Map<String, Occurrences> occurrences = new HashMap<>();
+        int titleLength = 0;
+        int contentLength = 0;
+        for (String term : terms) {
+            int[] title = toArray(titleTokens.get(term));
+            int[] content = toArray(contentTokens.get(term));
+            titleLength += title.length;
+            contentLength += content.length;
+            occurrences.put(term, new Occurrences(title, content));
+        }
+
+        long[] tagIds = post.getTags() == null ? new long[0] : post.getTags().stream()
+                .map(Tag::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray();
+        Long categoryId = post.getCategory() != null ? post.getCategory().getId() : null;
+
+        IndexedPost indexedPost = new IndexedPost(post.getId(), categoryId, post.getStatus(), post.getAuthor(), tagIds,
+                post.getCreatedAt(), post.getUpdatedAt(), titleLength * TITLE_WEIGHT + contentLength, terms);
+        return new PendingDocument(indexedPost, occurrences);
+    }
+
+    // onlyIfNewer: 재구성 중 읽은 게시글이 이미 반영된 최신 수정보다 오래됐으면 건너뜀
+    private void apply(PendingDocument document, boolean onlyIfNewer) {
+        IndexedPost post = document.post();
+        synchronized (lock) {
+            IndexedPost existing = documents.get(post.id());
+            if (onlyIfNewer && existing != null && existing.updatedAt() != null && post.updatedAt() != null
+                    && existing.updatedAt().isAfter(post.updatedAt())) {
+                return;
+            }
+            removeDocument(post.id());
+
+            document.occurrences().forEach((term, occurrences) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(post.id(), occurrences));
+            documents.put(post.id(), post);
+            addFilters(post);
+            totalLength += post.length();
+            dirty = true;
+        }
+    }
+
+    // 락을 잡은 상태에서 호출
+    private void removeDocument(Long postId) {
+        IndexedPost post = documents.remove(postId);
+        if (post == null) {
+            return;
+        }
+        for (String term : post.terms()) {
+            Map<Long, Occurrences> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(postId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        if (post.categoryId() != null) {
+            removeFrom(postsByCategory, post.categoryId(), postId);
+        }
+        for (long tagId : post.tagIds()) {
+            removeFrom(postsByTag, tagId, postId);
+        }
+        if (post.status() != null) {
+            removeFrom(postsByStatus, post.status(), postId);
+        }
+        if (post.author() != null) {
+            removeFrom(postsByAuthor, post.author(), postId);
+        }
+        totalLength -= post.length();
+    }
+
+    private void addFilters(IndexedPost post) {
+        if (post.categoryId() != null) {
+            postsByCategory.computeIfAbsent(post.categoryId(), key -> new HashSet<>()).add(post.id());
+        }
+        for (long tagId : post.tagIds()) {
+            postsByTag.computeIfAbsent(tagId, key -> new HashSet<>()).add(post.id());
+        }
+        if (post.status() != null) {
+            postsByStatus.computeIfAbsent(post.status(), key -> new HashSet<>()).add(post.id());
+        }
+        if (post.author() != null) {
+            postsByAuthor.computeIfAbsent(post.author(), key -> new HashSet<>()).add(post.id());
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> filter, K key, Long postId) {
+        Set<Long> ids = filter.get(key);
+        if (ids != null) {
+            ids.remove(postId);
+            if (ids.isEmpty()) {
+                filter.remove(key);
+            }
+        }
+    }
+
+    // === 검색 ===
+
+    // 키워드 검색 후 필터/정렬이 적용된 게시글 id 목록 반환
+    // 색인이 준비되지 않았거나 키워드에 색인 가능한 글자가 없으면 empty (호출 측에서 SQL 검색으로 대체)
+    public Optional<List<Long>> search(String keyword, Filter filter, Order order) {
+        List<String> runs = BigramTokenizer.runs(keyword);
+        if (!ready || runs.isEmpty()) {
+            return Optional.empty();
+        }
+
+        synchronized (lock) {
+            Set<Long> allowed = allowedPosts(filter);
+            if (allowed != null && allowed.isEmpty()) {
+                return Optional.of(List.of());
+            }
+
+            double averageLength = documents.isEmpty() ? 1.0 : Math.max(1.0, (double) totalLength / documents.size());
+            Map<Long, Double> scores = null;
+
+            // 키워드의 모든 구간이 제목 또는 본문에 포함된 게시글만 남긴다 (AND)
+            for (String run : runs) {
+                Map<Long, Integer> frequencies = matchRun(run, scores != null ? scores.keySet() : allowed);
+                if (frequencies.isEmpty()) {
+                    return Optional.of(List.of());
+                }
+
+                double idf = Math.log(1 + (documents.size() - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+                Map<Long, Double> next = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : frequencies.entrySet()) {
+                    Long postId = entry.getKey();
+                    double previous = scores != null ? scores.get(postId) : 0.0;
+                    double tf = entry.getValue();
+                    double norm = K1 * (1 - B + B * documents.get(postId).length() / averageLength);
+                    next.put(postId, previous + idf * tf * (K1 + 1) / (tf + norm));
+                }
+                scores = next;
+            }
+
+            Map<Long, Double> finalScores = scores;
+            Comparator<Long> byCreatedAt = Comparator.comparing(
+                    (Long postId) -> documents.get(postId).createdAt(),
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Comparator.naturalOrder());
+            Comparator<Long> comparator = switch (order) {
+                case RELEVANCE -> Comparator.comparing((Long postId) -> finalScores.get(postId)).reversed()
+                        .thenComparing(byCreatedAt.reversed());
+                case LATEST -> byCreatedAt.reversed();
+                case OLDEST -> byCreatedAt;
+            };
+
+            List<Long> ids = new ArrayList<>(finalScores.keySet());
+            if (filter.createdFrom() != null || filter.createdTo() != null) {
+                ids.removeIf(postId -> !createdWithin(documents.get(postId).createdAt(), filter));
+            }
+            ids.sort(comparator);
+            return Optional.of(ids);
+        }
+    }
+
+    // 정렬된 검색 결과 id 중 현재 페이지 부분 (범위를 넘으면 빈 목록)
+    public static List<Long> page(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return ids.subList(from, to);
+    }
+
+    // 작성일 범위 조건 (시작 이상, 끝 이하)
+    private static boolean createdWithin(LocalDateTime createdAt, Filter filter) {
+        if (createdAt == null) {
+            return false;
+        }
+        return (filter.createdFrom() == null || !createdAt.isBefore(filter.createdFrom()))
+                && (filter.createdTo() == null || !createdAt.isAfter(filter.createdTo()));
+    }
+
+    // 필터 조건을 만족하는 게시글 id 집합 (집합으로 표현되는 조건이 없으면 null)
+    private Set<Long> allowedPosts(Filter filter) {
+        List<Set<Long>> filters = new ArrayList<>();
+        if (filter.categoryIds() != null) {
+            // 카테고리는 하나라도 일치하면 포함 (OR)
+            filters.add(union(postsByCategory, filter.categoryIds()));
+        }
+        if (filter.tagIds() != null) {
+            if (filter.tagIds().isEmpty()) {
+                return Set.of();
+            }
+            if (filter.allTags()) {
+                // 모든 태그를 가진 게시글 (태그별 집합을 각각 교집합 대상으로 추가)
+                for (Long tagId : filter.tagIds()) {
+                    filters.add(postsByTag.getOrDefault(tagId, Set.of()));
+                }
+            } else {
+                filters.add(union(postsByTag, filter.tagIds()));
+            }
+        }
+        if (filter.status() != null) {
+            filters.add(postsByStatus.getOrDefault(filter.status(), Set.of()));
+        }
+        if (filter.author() != null) {
+            filters.add(postsByAuthor.getOrDefault(filter.author(), Set.of()));
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+
+        // 가장 작은 집합부터 교집합
+        filters.sort(Comparator.comparingInt(Set::size));
+        Set<Long> allowed = new HashSet<>(filters.get(0));
+        for (int i = 1; i < filters.size() && !allowed.isEmpty(); i++) {
+            allowed.retainAll(filters.get(i));
+        }
+        return allowed;
+    }
+
+    private static <K> Set<Long> union(Map<K, Set<Long>> filter, Collection<K> keys) {
+        Set<Long> ids = new HashSet<>();
+        for (K key : keys) {
+            ids.addAll(filter.getOrDefault(key, Set.of()));
+        }
+        return ids;
+    }
+
+    // 구간이 연속으로 나타나는 게시글별 가중 출현 횟수 (제목 * TITLE_WEIGHT + 본문)
+    private Map<Long, Integer> matchRun(String run, Set<Long> candidates) {
+        Map<Long, Integer> frequencies = new HashMap<>();
+
+        if (run.length() == 1) {
+            // 한 글자 질의는 해당 글자를 포함하는 모든 토큰을 합친다
+            char c = run.charAt(0);
+            for (Map.Entry<String, Map<Long, Occurrences>> entry : postings.entrySet()) {
+                if (entry.getKey().indexOf(c) < 0) {
+                    continue;
+                }
+                entry.getValue().forEach((postId, occurrences) -> {
+                    if (candidates == null || candidates.contains(postId)) {
+                        int tf = occurrences.title().length * TITLE_WEIGHT + occurrences.content().length;
+                        frequencies.merge(postId, tf, Integer::sum);
+                    }
+                });
+            }
+            return frequencies;
+        }
+
+        List<String> grams = BigramTokenizer.grams(run);
+        List<Map<Long, Occurrences>> lists = new ArrayList<>(grams.size());
+        Map<Long, Occurrences> rarest = null;
+        for (String gram : grams) {
+            Map<Long, Occurrences> docs = postings.get(gram);
+            if (docs == null) {
+                return frequencies;
+            }
+            lists.add(docs);
+            if (rarest == null || docs.size() < rarest.size()) {
+                rarest = docs;
+            }
+        }
+
+        for (Long postId : rarest.keySet()) {
+            if (candidates != null && !candidates.contains(postId)) {
+                continue;
+            }
+            Occurrences[] perGram = new Occurrences[lists.size()];
+            boolean present = true;
+            for (int i = 0; i < lists.size() && present; i++) {
+                perGram[i] = lists.get(i).get(postId);
+                present = perGram[i] != null;
+            }
+            if (!present) {
+                continue;
+            }
+            int tf = countPhrase(perGram, true) * TITLE_WEIGHT + countPhrase(perGram, false);
+            if (tf > 0) {
+                frequencies.put(postId, tf);
+            }
+        }
+        return frequencies;
+    }
+
+    // 첫 바이그램 위치 p 에서 i 번째 바이그램이 p + i 에 있으면 구간 전체가 연속으로 출현
+    private static int countPhrase(Occurrences[] perGram, boolean title) {
+        int[] first = title ? perGram[0].title() : perGram[0].content();
+        int count = 0;
+        for (int position : first) {
+            boolean matched = true;
+            for (int i = 1; i < perGram.length && matched; i++) {
+                int[] positions = title ? perGram[i].title() : perGram[i].content();
+                matched = Arrays.binarySearch(positions, position + i) >= 0;
+            }
+            if (matched) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // === 기동 시 로딩 및 스냅샷 ===
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(() -> {
+            try {
+                loadSnapshot();
+                reconcile();
+                ready = true;
+                log.info("게시글 검색 색인 준비 완료 - 게시글 {}개, 토큰 {}개", documents.size(), postings.size());
+            } catch (Exception e) {
+                log.error("게시글 검색 색인 초기화 실패 (SQL 검색으로 대체)", e);
+            }
+        }, "post-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // DB 의 (id, 수정일시)와 비교해 추가/변경된 게시글은 다시 색인하고 삭제된 게시글은 제거
+    private void reconcile() {
+        Map<Long, LocalDateTime> stamps = new HashMap<>();
+        for (Object[] row : postRepository.findIndexStamps()) {
+            stamps.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        List<Long> stale = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        synchronized (lock) {
+            stamps.forEach((postId, updatedAt) -> {
+                IndexedPost indexed = documents.get(postId);
+                if (indexed == null || !Objects.equals(indexed.updatedAt(), updatedAt)) {
+                    stale.add(postId);
+                }
+            });
+            for (Long postId : documents.keySet()) {
+                if (!stamps.containsKey(postId)) {
+                    deleted.add(postId);
+                }
+            }
+            deleted.forEach(this::removeDocument);
+            if (!deleted.isEmpty()) {
+                dirty = true;
+            }
+        }
+
+        for (int from = 0; from < stale.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> batch = stale.subList(from, Math.min(from + REBUILD_BATCH_SIZE, stale.size()));
+            for (Post post : postRepository.findWithTagsByIdIn(batch)) {
+                apply(analyze(post), true);
+            }
+        }
+        log.info("게시글 검색 색인 동기화 - 재색인 {}개, 제거 {}개", stale.size(), deleted.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (ready && dirty) {
+            saveSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready && dirty) {
+            saveSnapshot();
+        }
+    }
+
+    private void saveSnapshot() {
+        Path directory = Paths.get(indexDir);
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            synchronized (lock) {
+                dirty = false;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                    writeIndex(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("게시글 검색 색인 스냅샷 저장: {}", target.toAbsolutePath());
+        } catch (IOException e) {
+            dirty = true;
+            log.error("게시글 검색 색인 스냅샷 저장 실패: {}", target.toAbsolutePath(), e);
+        }
+    }
+
+    private void writeIndex(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+
+        out.writeInt(documents.size());
+        for (IndexedPost post : documents.values()) {
+            out.writeLong(post.id());
+            out.writeLong(post.categoryId() != null ? post.categoryId() : -1L);
+            out.writeByte(post.status() != null ? post.status().ordinal() : -1);
+            out.writeUTF(post.author() != null ? post.author() : "");
+            out.writeInt(post.tagIds().length);
+            for (long tagId : post.tagIds()) {
+                out.writeLong(tagId);
+            }
+            writeDateTime(out, post.createdAt());
+            writeDateTime(out, post.updatedAt());
+            out.writeInt(post.length());
+        }
+
+        out.writeInt(postings.size());
+        for (Map.Entry<String, Map<Long, Occurrences>> entry : postings.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Map.Entry<Long, Occurrences> doc : entry.getValue().entrySet()) {
+                out.writeLong(doc.getKey());
+                writePositions(out, doc.getValue().title());
+                writePositions(out, doc.getValue().content());
+            }
+        }
+    }
+
+    private void loadSnapshot() {
+        Path target = Paths.get(indexDir).resolve(SNAPSHOT_FILE);
+        if (!Files.exists(target)) {
+            log.info("게시글 검색 색인 스냅샷 없음 - 전체 색인을 새로 만듭니다.");
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(target))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                log.info("게시글 검색 색인 스냅샷 형식이 달라 전체 색인을 새로 만듭니다.");
+                return;
+            }
+            readIndex(in);
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 스냅샷을 읽지 못해 전체 색인을 새로 만듭니다: {}", e.getMessage());
+        }
+    }
+
+    private void readIndex(DataInputStream in) throws IOException {
+        Post.PostStatus[] statuses = Post.PostStatus.values();
+
+        int documentCount = in.readInt();
+        List<IndexedPost> headers = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            long id = in.readLong();
+            long categoryId = in.readLong();
+            byte status = in.readByte();
+            String author = in.readUTF();
+            long[] tagIds = new long[in.readInt()];
+            for (int t = 0; t < tagIds.length; t++) {
+                tagIds[t] = in.readLong();
+            }
+            LocalDateTime createdAt = readDateTime(in);
+            LocalDateTime updatedAt = readDateTime(in);
+            int length = in.readInt();
+            headers.add(new IndexedPost(id, categoryId >= 0 ? categoryId : null,
+                    status >= 0 ? statuses[status] : null, author.isEmpty() ? null : author,
+                    tagIds, createdAt, updatedAt, length, null));
+        }
+
+        int termCount = in.readInt();
+        Map<String, Map<Long, Occurrences>> loadedPostings = new HashMap<>(termCount * 2);
+        Map<Long, Set<String>> termsByPost = new HashMap<>(documentCount * 2);
+        for (int i = 0; i < termCount; i++) {
+            String term = in.readUTF();
+            int docCount = in.readInt();
+            Map<Long, Occurrences> docs = new HashMap<>(docCount * 2);
+            for (int d = 0; d < docCount; d++) {
+                long postId = in.readLong();
+                docs.put(postId, new Occurrences(readPositions(in), readPositions(in)));
+                termsByPost.computeIfAbsent(postId, key -> new HashSet<>()).add(term);
+            }
+            loadedPostings.put(term, docs);
+        }
+
+        synchronized (lock) {
+            postings = loadedPostings;
+            documents = new HashMap<>();
+            postsByCategory = new HashMap<>();
+            postsByTag = new HashMap<>();
+            postsByStatus = new EnumMap<>(Post.PostStatus.class);
+            postsByAuthor = new HashMap<>();
+            totalLength = 0;
+            for (IndexedPost header : headers) {
+                IndexedPost post = header.withTerms(termsByPost.getOrDefault(header.id(), Set.of()));
+                documents.put(post.id(), post);
+                addFilters(post);
+                totalLength += post.length();
+            }
+        }
+        log.info("게시글 검색 색인 스냅샷 로딩 - 게시글 {}개, 토큰 {}개", documentCount, termCount);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeUTF(dateTime != null ? dateTime.toString() : "");
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        String value = in.readUTF();
+        return value.isEmpty() ? null : LocalDateTime.parse(value);
+    }
+
+    private static void writePositions(DataOutputStream out, int[] positions) throws IOException {
+        out.writeInt(positions.length);
+        for (int position : positions) {
+            out.writeInt(position);
+        }
+    }
+
+    private static int[] readPositions(DataInputStream in) throws IOException {
+        int[] positions = new int[in.readInt()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = in.readInt();
+        }
+        return positions;
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions == null ? new int[0] : positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // 한 게시글 안에서 토큰의 제목/본문 출현 위치 (오름차순)
+    private record Occurrences(int[] title, int[] content) {
+    }
+
+    // 색인된 게시글 메타데이터 (필터, 정렬, 문서 길이, 제거 시 필요한 토큰 목록)
+    private record IndexedPost(long id, Long categoryId, Post.PostStatus status, String author, long[] tagIds,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, int length, Set<String> terms) {
+
+        IndexedPost withTerms(Set<String> terms) {
+            return new IndexedPost(id, categoryId, status, author, tagIds, createdAt, updatedAt, length, terms);
+        }
+
+        IndexedPost withUpdatedAt(LocalDateTime updatedAt) {
+            return new IndexedPost(id, categoryId, status, author, tagIds, createdAt, updatedAt, length, terms);
+        }
+    }
+
+    // 색인 반영 대기 중인 게시글
+    private record PendingDocument(IndexedPost post, Map<String, Occurrences> occurrences) {
+
+        // 수정일시는 flush 시점(@PreUpdate)에 바뀌므로 커밋 이후 값으로 갱신
+        PendingDocument stampedAt(LocalDateTime updatedAt) {
+            return new PendingDocument(post.withUpdatedAt(updatedAt), occurrences);
+        }
+    }
+}
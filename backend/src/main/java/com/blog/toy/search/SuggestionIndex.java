@@ -0,0 +1,313 @@
+package com.blog.toy.search;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.dto.SuggestionDto;
+import com.blog.toy.dto.tag.TagResponseDto;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.service.CategoryTree;
+import com.blog.toy.service.TagService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// 자동완성(타입어헤드) 접두어 색인
+// 태그명, 카테고리 전체 경로, 발행된 게시글 제목을 자모 분해한 키로 정렬 맵(ConcurrentSkipListMap)에 넣어 두고
+// 입력한 접두어 범위만 훑어 종류별로 인기 순 상위 N 개를 돌려준다 (읽기는 잠금 없음)
+// - 키: 전체 문자열, 각 단어 시작 위치부터의 문자열, 초성 문자열 ("ㅅㅍㄹ" 로 "스프링" 검색)
+// - 게시글은 PostService 쓰기 시 커밋 이후 바로 반영, 태그/카테고리는 TagService/CategoryTree 변경 버전을 보고 주기적으로 다시 읽는다
+@Component
+@Slf4j
+public class SuggestionIndex {
+
+    // 항목당 단어 시작 키 최대 개수 (긴 제목으로 키가 늘어나는 것 방지)
+    private static final int MAX_WORD_KEYS = 8;
+    // 한 번의 조회에서 훑을 최대 키 수 (짧은 접두어에서도 응답 시간 상한 유지)
+    private static final int MAX_SCAN = 20_000;
+    public static final int MAX_LIMIT = 20;
+
+    // 게시글 인기도 가중치 (인기 게시글 랭킹 기본 가중치와 같은 비율)
+    private static final int LIKE_WEIGHT = 4;
+    private static final int COMMENT_WEIGHT = 6;
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::popularity).reversed()
+            .thenComparingInt(entry -> entry.text().length())
+            .thenComparing(Entry::text);
+
+    public enum Type {
+        TAG, CATEGORY, POST
+    }
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CategoryTree categoryTree;
+
+    private final Object lock = new Object();
+
+    // 자모 키 + '\0' + 항목 참조 -> 항목 (같은 키를 가진 항목이 여럿일 수 있어 참조를 붙여 유일하게 만든다)
+    private final ConcurrentSkipListMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private long seenTagVersion = -1;
+    private CategoryTree.Snapshot seenCategories;
+
+    private record Entry(Type type, Long id, String text, long popularity, List<String> keys) {
+
+        String ref() {
+            return ref(type, id);
+        }
+
+        static String ref(Type type, Long id) {
+            return type.name() + ":" + id;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // === 조회 ===
+
+    // 접두어 자동완성 (종류 순서 TAG, CATEGORY, POST 로 각각 인기 순 최대 limit 개)
+    public List<SuggestionDto> suggest(String query, Collection<Type> types, int limit) {
+        String prefix = HangulJamo.decompose(query).strip();
+        if (prefix.isEmpty() || !ready) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Map<Type, PriorityQueue<Entry>> topByType = new EnumMap<>(Type.class);
+        Map<Type, Set<Long>> seen = new EnumMap<>(Type.class);
+        for (Type type : types) {
+            topByType.put(type, new PriorityQueue<>(RANKING.reversed()));
+            seen.put(type, new HashSet<>());
+        }
+
+        NavigableMap<String, Entry> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        int scanned = 0;
+        for (Entry entry : range.values()) {
+            if (++scanned > MAX_SCAN) {
+                break;
+            }
+            PriorityQueue<Entry> top = topByType.get(entry.type());
+            if (top == null || !seen.get(entry.type()).add(entry.id())) {
+                continue;
+            }
+            top.offer(entry);
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+
+        List<SuggestionDto> suggestions = new ArrayList<>();
+        for (Map.Entry<Type, PriorityQueue<Entry>> group : topByType.entrySet()) {
+            group.getValue().stream()
+                    .sorted(RANKING)
+                    .map(entry -> SuggestionDto.builder()
+                            .type(entry.type().name())
+                            .id(entry.id())
+                            .text(entry.text())
+                            .popularity(entry.popularity())
+                            .build())
+                    .forEach(suggestions::add);
+        }
+        return suggestions;
+    }
+
+    // === 게시글 (PostService 에서 호출, 커밋 이후 반영) ===
+
+    // 발행된 게시글만 제목을 색인 (발행 취소/비공개 전환 시 제거)
+    public void indexPost(Post post) {
+        Long postId = post.getId();
+        boolean published = post.getStatus() == Post.PostStatus.PUBLISHED;
+        String title = post.getTitle();
+        long popularity = postPopularity(post.getViewCount(), post.getLikeCount(), post.getCommentCount());
+        afterCommit(() -> {
+            if (published && title != null && !title.isBlank()) {
+                put(new Entry(Type.POST, postId, title, popularity, keysOf(title)));
+            } else {
+                remove(Type.POST, postId);
+            }
+        });
+    }
+
+    public void removePost(Long postId) {
+        afterCommit(() -> remove(Type.POST, postId));
+    }
+
+    private static long postPopularity(Number views, Number likes, Number comments) {
+        return count(views) + count(likes) * LIKE_WEIGHT + count(comments) * COMMENT_WEIGHT;
+    }
+
+    private static long count(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+
+    // === 태그 / 카테고리 (변경 버전이 바뀌었을 때만 다시 읽음) ===
+
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            refreshTags();
+            refreshCategories();
+        } catch (Exception e) {
+            log.warn("자동완성 색인 태그/카테고리 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private void refreshTags() {
+        // 목록을 읽기 전에 버전을 읽어 두므로, 읽는 중에 바뀐 내용은 다음 주기에 다시 반영된다
+        long version = tagService.countsVersion();
+        if (version == seenTagVersion) {
+            return;
+        }
+        List<Entry> tags = new ArrayList<>();
+        for (TagResponseDto tag : tagService.getAllTags()) {
+            tags.add(new Entry(Type.TAG, tag.getId(), tag.getName(), count(tag.getPostCount()), keysOf(tag.getName())));
+        }
+        replaceAll(Type.TAG, tags);
+        seenTagVersion = version;
+    }
+
+    private void refreshCategories() {
+        CategoryTree.Snapshot tree = categoryTree.current();
+        if (tree == seenCategories) {
+            return;
+        }
+        List<Entry> categories = new ArrayList<>();
+        for (CategoryTree.Node node : tree.active()) {
+            categories.add(new Entry(Type.CATEGORY, node.id(), node.fullPath(), node.postCount(), keysOf(node.fullPath())));
+        }
+        replaceAll(Type.CATEGORY, categories);
+        seenCategories = tree;
+    }
+
+    // === 색인 변경 ===
+
+    private void put(Entry entry) {
+        synchronized (lock) {
+            Entry previous = entries.put(entry.ref(), entry);
+            if (previous != null) {
+                previous.keys().forEach(key -> keys.remove(key + '\0' + previous.ref()));
+            }
+            entry.keys().forEach(key -> keys.put(key + '\0' + entry.ref(), entry));
+        }
+    }
+
+    private void remove(Type type, Long id) {
+        synchronized (lock) {
+            Entry previous = entries.remove(Entry.ref(type, id));
+            if (previous != null) {
+                previous.keys().forEach(key -> keys.remove(key + '\0' + previous.ref()));
+            }
+        }
+    }
+
+    // 한 종류 전체 교체 (새 목록에 없는 항목은 제거)
+    private void replaceAll(Type type, List<Entry> replacements) {
+        Map<Long, Entry> byId = new HashMap<>();
+        replacements.forEach(entry -> byId.put(entry.id(), entry));
+        synchronized (lock) {
+            List<Long> stale = entries.values().stream()
+                    .filter(entry -> entry.type() == type && !byId.containsKey(entry.id()))
+                    .map(Entry::id)
+                    .toList();
+            stale.forEach(id -> remove(type, id));
+            replacements.forEach(entry -> {
+                Entry current = entries.get(entry.ref());
+                if (current == null || !current.equals(entry)) {
+                    put(entry);
+                }
+            });
+        }
+    }
+
+    // 색인 키: 전체 문자열, 단어 시작 위치부터의 문자열(최대 MAX_WORD_KEYS 개), 초성 문자열
+    private static List<String> keysOf(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        String normalized = HangulJamo.normalize(text).strip();
+        int wordKeys = 0;
+        for (int i = 0; i < normalized.length() && wordKeys <= MAX_WORD_KEYS; i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                String suffix = normalized.substring(i);
+                result.add(HangulJamo.decompose(suffix));
+                String initials = HangulJamo.initials(suffix);
+                if (initials != null) {
+                    result.add(initials);
+                }
+                wordKeys++;
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // === 기동 시 로딩 ===
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(() -> {
+            try {
+                List<Entry> posts = new ArrayList<>();
+                for (Object[] row : postRepository.findSuggestionSeeds(Post.PostStatus.PUBLISHED)) {
+                    String title = (String) row[1];
+                    if (title != null && !title.isBlank()) {
+                        posts.add(new Entry(Type.POST, (Long) row[0], title,
+                                postPopularity((Number) row[2], (Number) row[3], (Number) row[4]), keysOf(title)));
+                    }
+                }
+                replaceAll(Type.POST, posts);
+                refreshTags();
+                refreshCategories();
+                ready = true;
+                log.info("자동완성 색인 준비 완료 - 항목 {}개, 키 {}개", entries.size(), keys.size());
+            } catch (Exception e) {
+                log.error("자동완성 색인 초기화 실패", e);
+            }
+        }, "suggestion-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+}
@@ -0,0 +1,22 @@
+package com.blog.toy.security;
+
+import com.blog.toy.domain.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+// JWT 클레임만으로 만든 인증 사용자 (요청마다 users 테이블을 조회하지 않음)
+// Authentication.getName() 이 사용자명을 돌려주도록 Principal 구현
+public record AuthenticatedUser(Long id, String username, User.Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.blog.toy.security;
+
+import com.blog.toy.domain.User;
+import com.blog.toy.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+// 현재 요청의 로그인 사용자 (서비스 공용)
+// id/사용자명/역할은 JWT 필터가 SecurityContext 에 넣어 둔 AuthenticatedUser 에서 바로 읽고 (조회 없음)
+// 엔티티가 꼭 필요할 때만 조회하되, 요청 속성에 보관해 한 요청 안에서는 한 번만 조회한다
+// - 연관관계 설정/조회 조건에만 쓸 때는 reference() (프록시, 조회 없음)
+@Component
+public class CurrentUser {
+
+    private static final String ENTITY_ATTRIBUTE = CurrentUser.class.getName() + ".entity";
+    // 비로그인 요청의 대체 사용자 (기존 동작 유지, 테스트용)
+    private static final String FALLBACK_USERNAME = "admin";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 로그인 사용자 (비로그인이면 empty)
+    public Optional<AuthenticatedUser> find() {
+        Authentication authentication = authentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        // 사용자명만 담긴 인증 (테스트 등) - 엔티티로 확인
+        return findEntity(null, authentication.getName()).map(CurrentUser::toAuthenticatedUser);
+    }
+
+    // 로그인 사용자명 (비로그인이면 empty, 사용자명만 담긴 인증도 조회 없이 그대로 사용)
+    public Optional<String> username() {
+        Authentication authentication = authentication();
+        return authentication == null ? Optional.empty() : Optional.of(authentication.getName());
+    }
+
+    // 로그인 사용자 (비로그인이면 임시로 admin 사용자, 테스트용)
+    public AuthenticatedUser require() {
+        return find().orElseGet(() -> toAuthenticatedUser(fallbackEntity()));
+    }
+
+    public boolean isAdmin() {
+        return find().map(user -> user.role() == User.Role.ADMIN).orElse(false);
+    }
+
+    // 연관관계 설정/조회 조건용 엔티티 참조 (프록시, 필드에 접근하기 전까지 조회 없음)
+    public User reference() {
+        return userRepository.getReferenceById(require().id());
+    }
+
+    // 사용자 엔티티 (한 요청 안에서는 한 번만 조회, 비로그인이면 임시로 admin 사용자)
+    public User entity() {
+        Authentication authentication = authentication();
+        if (authentication == null) {
+            return fallbackEntity();
+        }
+        Long id = authentication.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+        return findEntity(id, authentication.getName())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    }
+
+    private User fallbackEntity() {
+        return findEntity(null, FALLBACK_USERNAME)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    }
+
+    private Optional<User> findEntity(Long id, String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(ENTITY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && cached.getUsername().equals(username)) {
+            return Optional.of(cached);
+        }
+
+        Optional<User> user = id != null ? userRepository.findById(id) : userRepository.findByUsername(username);
+        if (attributes != null) {
+            user.ifPresent(found -> attributes.setAttribute(ENTITY_ATTRIBUTE, found, RequestAttributes.SCOPE_REQUEST));
+        }
+        return user;
+    }
+
+    private static Authentication authentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || "anonymousUser".equals(authentication.getName())) {
+            return null;
+        }
+        return authentication;
+    }
+
+    private static AuthenticatedUser toAuthenticatedUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+}
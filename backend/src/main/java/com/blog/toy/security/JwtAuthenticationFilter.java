@@ -1,5 +1,7 @@
 package com.blog.toy.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,8 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -16,6 +16,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+// 토큰 클레임(사용자 id, 사용자명, 역할)만으로 인증 객체를 만든다 (요청마다 사용자 조회 없음)
+// 로그아웃/비활성화/역할 변경된 사용자의 토큰은 TokenRevocationRegistry 의 캐시된 토큰 버전으로 거부
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -23,34 +25,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String requestURI = request.getRequestURI();
-        System.out.println("🔐 JWT 필터 - 요청 URI: " + requestURI);
-        
         try {
             String jwt = getJwtFromRequest(request);
-            System.out.println("🔐 JWT 필터 - JWT 토큰: " + (jwt != null ? "존재함" : "없음"));
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                System.out.println("🔐 JWT 필터 - 사용자명: " + username);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (StringUtils.hasText(jwt)) {
+                Claims claims = tokenProvider.parseClaims(jwt);
+                AuthenticatedUser user = tokenProvider.toAuthenticatedUser(claims);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                System.out.println("🔐 JWT 필터 - 인증 성공");
-            } else {
-                System.out.println("🔐 JWT 필터 - 인증 실패 (토큰 없음 또는 유효하지 않음)");
+                if (user != null && revocationRegistry.isActive(user.id(), tokenProvider.getTokenVersion(claims), user.role())) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            user, null, user.authorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    logger.debug("JWT 인증 거부 - 이전 형식이거나 무효화된 토큰: " + request.getRequestURI());
+                }
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.debug("JWT 인증 실패 - 유효하지 않은 토큰: " + ex.getMessage());
         } catch (Exception ex) {
-            System.out.println("🔐 JWT 필터 - 에러: " + ex.getMessage());
             logger.error("Could not set user authentication in security context", ex);
         }
 
@@ -59,14 +58,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        System.out.println("🔐 JWT 필터 - Authorization 헤더: " + bearerToken);
-        
+
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            String token = bearerToken.substring(7);
-            System.out.println("🔐 JWT 필터 - 추출된 토큰: " + (token.length() > 20 ? token.substring(0, 20) + "..." : token));
-            return token;
+            return bearerToken.substring(7);
         }
-        System.out.println("🔐 JWT 필터 - 유효한 토큰이 없음");
         return null;
     }
 }
@@ -1,63 +1,173 @@
 package com.blog.toy.security;
 
+import com.blog.toy.domain.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+// JWT 발급/검증
+// 서명 키와 파서는 한 번만 만들어 재사용하고 (둘 다 스레드 안전), 검증한 토큰의 클레임은
+// 토큰 해시(SHA-256) 를 키로 하는 LRU 캐시에 만료 시각까지 보관해 같은 토큰의 재검증(Base64/JSON 파싱, 서명 계산)을 건너뛴다
+// - 토큰 원문은 캐시에 두지 않는다 (해시만 보관)
+// - 무효화(로그아웃/비활성화/역할 변경) 판단은 캐시와 별개로 매 요청 TokenRevocationRegistry 에서 한다
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret:defaultSecretKeyForDevelopmentOnly}")
-    private String jwtSecret;
+    // 인증에 필요한 사용자 정보 클레임 (요청마다 사용자 조회 없이 인증 객체 생성)
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${app.jwt.expiration:86400000}")
-    private int jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // 토큰 해시 -> 검증된 클레임 (접근 순서 LRU, 최대 크기를 넘으면 가장 오래 안 쓴 항목 제거)
+    private final Map<String, VerifiedToken> verifiedTokens;
+
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+
+    public JwtTokenProvider(@Value("${app.jwt.secret:defaultSecretKeyForDevelopmentOnly}") String jwtSecret,
+                            @Value("${app.jwt.expiration:86400000}") int jwtExpirationMs,
+                            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize,
+                            MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        });
+
+        this.cacheHitCounter = Counter.builder("blog.jwt.verified.cache")
+                .tag("result", "hit")
+                .description("검증된 토큰 캐시 적중")
+                .register(meterRegistry);
+        this.cacheMissCounter = Counter.builder("blog.jwt.verified.cache")
+                .tag("result", "miss")
+                .description("검증된 토큰 캐시 미스 (서명 검증 수행)")
+                .register(meterRegistry);
+        Gauge.builder("blog.jwt.verified.cache.size", verifiedTokens, Map::size)
+                .description("검증된 토큰 캐시 크기")
+                .register(meterRegistry);
+        Gauge.builder("blog.jwt.verified.cache.hit.ratio", this, JwtTokenProvider::cacheHitRatio)
+                .description("검증된 토큰 캐시 적중률")
+                .register(meterRegistry);
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+        User user = (User) authentication.getPrincipal();
+        return generateToken(user);
     }
 
-    public String generateTokenFromUsername(String username) {
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion() != null ? user.getTokenVersion() : 0)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // 서명/만료 검증 후 클레임 반환 (유효하지 않으면 JwtException)
+    // 이미 검증한 토큰이면 만료 전까지 캐시된 클레임을 그대로 돌려준다
+    public Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("토큰이 비어 있습니다.");
+        }
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                cacheHitCounter.increment();
+                return cached.claims();
+            }
+            // 만료됨 - 캐시에서 빼고 파서가 만료 예외를 던지도록 다시 검증
+            verifiedTokens.remove(key);
+        }
+
+        cacheMissCounter.increment();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        // 만료 시각이 없는 토큰은 발급하지 않으므로 캐시하지 않는다
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    // 클레임으로 인증 사용자 생성 (사용자 정보 클레임이 없는 이전 형식 토큰은 null - 다시 로그인 필요)
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        try {
+            return new AuthenticatedUser(userId.longValue(), claims.getSubject(), User.Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public int getTokenVersion(Claims claims) {
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.intValue() : 0;
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
+
+    private double cacheHitRatio() {
+        double hits = cacheHitCounter.count();
+        double total = hits + cacheMissCounter.count();
+        return total > 0 ? hits / total : 0.0;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
 }
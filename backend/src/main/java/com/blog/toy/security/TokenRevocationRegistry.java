@@ -0,0 +1,106 @@
+package com.blog.toy.security;
+
+import com.blog.toy.domain.User;
+import com.blog.toy.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// JWT 무효화 상태 캐시 (사용자별 토큰 버전, 활성 여부, 역할)
+// JWT 필터는 토큰 클레임만으로 인증을 만들고, 여기서 캐시된 상태와 비교해 로그아웃/비활성화/역할 변경된 사용자의 토큰을 거부한다
+// - 처음 보는 사용자만 한 번 조회해 캐시하고, 이후 요청은 DB 조회 없음
+// - 이 서버에서 바꾼 상태는 커밋 이후 바로 반영, DB 를 직접 고친 경우 등은 주기적 재조회로 반영
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+    // 없는(삭제된) 사용자 표시
+    private static final TokenState MISSING = new TokenState(-1, false, null);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, TokenState> states = new ConcurrentHashMap<>();
+
+    private record TokenState(int version, boolean enabled, User.Role role) {
+    }
+
+    // 토큰의 버전/역할이 현재 사용자 상태와 같고 활성 사용자이면 true
+    public boolean isActive(Long userId, int tokenVersion, User.Role role) {
+        TokenState state = states.get(userId);
+        if (state == null) {
+            state = load(userId);
+        }
+        return state.enabled() && state.version() == tokenVersion && state.role() == role;
+    }
+
+    // 사용자의 발급된 토큰 전체 무효화 (토큰 버전 증가)
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        invalidate(userId);
+    }
+
+    // 사용자 상태(버전, 활성 여부, 역할) 변경 알림 - 캐시를 비워 다음 요청에서 다시 읽는다
+    // 커밋 전 값이 다시 캐시되지 않도록 커밋 이후에도 한 번 더 비운다
+    public void invalidate(Long userId) {
+        states.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    states.remove(userId);
+                }
+            });
+        }
+    }
+
+    private TokenState load(Long userId) {
+        Map<Long, TokenState> loaded = query(List.of(userId));
+        TokenState state = loaded.getOrDefault(userId, MISSING);
+        states.put(userId, state);
+        return state;
+    }
+
+    // 캐시된 사용자 상태 주기적 재조회
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        if (states.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = new ArrayList<>(states.keySet());
+            for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+                Map<Long, TokenState> loaded = query(batch);
+                Set<Long> missing = new HashSet<>(batch);
+                missing.removeAll(loaded.keySet());
+                // 갱신 중 invalidate 로 비워진 항목은 다시 채우지 않는다 (다음 요청이 최신 값으로 읽음)
+                loaded.forEach((id, state) -> states.computeIfPresent(id, (key, previous) -> state));
+                missing.forEach(id -> states.computeIfPresent(id, (key, previous) -> MISSING));
+            }
+        } catch (Exception e) {
+            log.warn("토큰 무효화 상태 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private Map<Long, TokenState> query(List<Long> ids) {
+        Map<Long, TokenState> result = new HashMap<>();
+        for (Object[] row : userRepository.findTokenStates(ids)) {
+            Integer version = (Integer) row[1];
+            result.put((Long) row[0], new TokenState(version != null ? version : 0, (Boolean) row[2], (User.Role) row[3]));
+        }
+        return result;
+    }
+}
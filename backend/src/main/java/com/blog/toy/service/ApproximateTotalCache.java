@@ -0,0 +1,56 @@
+package com.blog.toy.service;
+
+import com.blog.toy.dto.PageResponseDto;
+import com.blog.toy.dto.SliceResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 페이징 응답 생성 및 대략적인 전체 개수 캐시
+// withTotal=true 로 조회한 결과의 전체 개수를 조회 조건별로 기억해두었다가,
+// withTotal=false(Slice) 응답에 approximateTotal 로 채워준다 (추가 COUNT 쿼리 없음)
+@Component
+public class ApproximateTotalCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Value("${app.paging.approximate-total-ttl-ms:300000}")
+    private long ttlMs;
+
+    private final Map<String, CachedTotal> totals = new ConcurrentHashMap<>();
+
+    // Page 이면 전체 개수를 기록하고 PageResponseDto, Slice 이면 캐시된 개수를 채운 SliceResponseDto 반환
+    public <T> SliceResponseDto<T> toResponse(Slice<T> slice, String key) {
+        long now = System.currentTimeMillis();
+
+        if (slice instanceof Page<T> page) {
+            remember(key, page.getTotalElements(), now);
+            return new PageResponseDto<>(page);
+        }
+
+        SliceResponseDto<T> response = new SliceResponseDto<>(slice);
+        CachedTotal cached = totals.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            response.setApproximateTotal(cached.total());
+        }
+        return response;
+    }
+
+    private void remember(String key, long total, long now) {
+        if (totals.size() >= MAX_ENTRIES) {
+            // 검색어 등으로 키가 계속 늘어나는 것을 막기 위해 만료된 항목 정리, 그래도 가득 차면 비움
+            totals.values().removeIf(cached -> cached.expiresAt() <= now);
+            if (totals.size() >= MAX_ENTRIES) {
+                totals.clear();
+            }
+        }
+        totals.put(key, new CachedTotal(total, now + ttlMs));
+    }
+
+    private record CachedTotal(long total, long expiresAt) {
+    }
+}
@@ -5,7 +5,9 @@ import com.blog.toy.dto.auth.AuthResponseDto;
 import com.blog.toy.dto.auth.LoginRequestDto;
 import com.blog.toy.dto.auth.SignupRequestDto;
 import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.AuthenticatedUser;
 import com.blog.toy.security.JwtTokenProvider;
+import com.blog.toy.security.TokenRevocationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -31,14 +34,18 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
     public AuthResponseDto login(LoginRequestDto loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        // 인증 과정에서 읽은 사용자를 그대로 사용 (다시 조회하지 않음)
+        User user = (User) authentication.getPrincipal();
+        String jwt = tokenProvider.generateToken(user);
 
-        User user = userRepository.findByUsername(loginRequest.getUsername()).orElseThrow();
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
 
@@ -77,7 +84,7 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
-        String jwt = tokenProvider.generateTokenFromUsername(savedUser.getUsername());
+        String jwt = tokenProvider.generateToken(savedUser);
 
         return AuthResponseDto.builder()
                 .token(jwt)
@@ -88,4 +95,46 @@ public class AuthService {
                 .role(savedUser.getRole().name())
                 .build();
     }
+
+    // === 토큰 무효화 (토큰 버전 증가, 이미 발급된 토큰은 다음 요청부터 거부) ===
+
+    // 현재 사용자의 모든 토큰 무효화 (모든 기기 로그아웃)
+    public void revokeMyTokens() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new RuntimeException("로그인이 필요합니다.");
+        }
+        revocationRegistry.revokeAll(user.id());
+    }
+
+    // 관리자: 사용자의 모든 토큰 무효화
+    public void revokeTokens(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
+        revocationRegistry.revokeAll(userId);
+    }
+
+    // 관리자: 사용자 활성/비활성 전환 (비활성화 시 기존 토큰 즉시 거부)
+    @Transactional
+    public void updateEnabled(Long userId, boolean enabled) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        user.setEnabled(enabled);
+        bumpTokenVersion(user);
+    }
+
+    // 관리자: 사용자 역할 변경 (기존 토큰의 역할 클레임은 더 이상 유효하지 않으므로 무효화)
+    @Transactional
+    public void updateRole(Long userId, User.Role role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        user.setRole(role);
+        bumpTokenVersion(user);
+    }
+
+    private void bumpTokenVersion(User user) {
+        user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1);
+        revocationRegistry.invalidate(user.getId());
+    }
 }
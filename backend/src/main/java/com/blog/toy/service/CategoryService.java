@@ -4,7 +4,6 @@ import com.blog.toy.domain.Category;
 import com.blog.toy.dto.category.CategoryRequestDto;
 import com.blog.toy.dto.category.CategoryResponseDto;
 import com.blog.toy.repository.CategoryRepository;
-import com.blog.toy.repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,7 +19,7 @@ public class CategoryService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private PostRepository postRepository;
+    private CategoryTree categoryTree;
 
     public CategoryResponseDto createCategory(CategoryRequestDto requestDto) {
         if (categoryRepository.existsByName(requestDto.getName())) {
@@ -50,12 +49,14 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        categoryTree.invalidate();
         return convertToResponseDto(savedCategory);
     }
 
+    // 목록 조회는 카테고리 트리 스냅샷에서 바로 응답 (변경이 없으면 쿼리 없음)
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> getAllCategories() {
-        return categoryRepository.findAllActiveOrdered()
+        return categoryTree.current().active()
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
@@ -63,7 +64,7 @@ public class CategoryService {
 
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> getHierarchicalCategories() {
-        return categoryRepository.findAllActiveOrdered()
+        return categoryTree.current().active()
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
@@ -71,7 +72,7 @@ public class CategoryService {
 
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> getMainCategories() {
-        return categoryRepository.findByParentIsNullAndActiveTrueOrderByDisplayOrder()
+        return categoryTree.current().activeRoots()
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
@@ -79,10 +80,12 @@ public class CategoryService {
 
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> getSubCategories(Long mainCategoryId) {
-        Category mainCategory = categoryRepository.findById(mainCategoryId)
-                .orElseThrow(() -> new RuntimeException("대분류 카테고리를 찾을 수 없습니다: " + mainCategoryId));
+        CategoryTree.Snapshot tree = categoryTree.currentContaining(List.of(mainCategoryId));
+        if (tree.find(mainCategoryId).isEmpty()) {
+            throw new RuntimeException("대분류 카테고리를 찾을 수 없습니다: " + mainCategoryId);
+        }
         
-        return categoryRepository.findByParentAndActiveTrueOrderByDisplayOrder(mainCategory)
+        return tree.activeChildren(mainCategoryId)
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
@@ -90,9 +93,9 @@ public class CategoryService {
 
     @Transactional(readOnly = true)
     public CategoryResponseDto getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
+        CategoryTree.Node node = categoryTree.currentContaining(List.of(id)).find(id)
                 .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + id));
-        return convertToResponseDto(category);
+        return convertToResponseDto(node);
     }
 
     public CategoryResponseDto updateCategory(Long id, CategoryRequestDto requestDto) {
@@ -105,6 +108,13 @@ public class CategoryService {
             throw new RuntimeException("이미 존재하는 카테고리명입니다: " + requestDto.getName());
         }
 
+        // 자기 자신이나 하위 카테고리 아래로는 이동 불가 (트리 순환 방지, 변경 전에 스냅샷으로 확인)
+        if (requestDto.getParentId() != null
+                && categoryTree.currentContaining(List.of(id, requestDto.getParentId()))
+                        .subtreeIds(id).contains(requestDto.getParentId())) {
+            throw new RuntimeException("자기 자신이나 하위 카테고리를 부모로 지정할 수 없습니다.");
+        }
+
         category.setName(requestDto.getName());
         category.setDescription(requestDto.getDescription());
         category.setDisplayOrder(requestDto.getDisplayOrder());
@@ -120,6 +130,7 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        categoryTree.invalidate();
         return convertToResponseDto(updatedCategory);
     }
 
@@ -138,6 +149,7 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        categoryTree.invalidate();
     }
 
     public CategoryResponseDto reorderCategory(Long id, Integer newDisplayOrder) {
@@ -146,23 +158,17 @@ public class CategoryService {
 
         category.setDisplayOrder(newDisplayOrder);
         Category updatedCategory = categoryRepository.save(category);
+        categoryTree.invalidate();
         return convertToResponseDto(updatedCategory);
     }
 
+    // 쓰기 직후 응답용 (게시글 수는 마지막 스냅샷 값, 커밋 전 데이터로 스냅샷을 만들지 않도록 다시 만들지 않음)
+    // 대분류/소분류 모두 자신과 하위 카테고리의 게시글 수 합계
     private CategoryResponseDto convertToResponseDto(Category category) {
-        // 게시글 수 계산
-        Long postCount;
-        
-        if (category.getParent() == null) {
-            // 대분류인 경우: 자신의 게시글 + 모든 하위 카테고리의 게시글
-            postCount = postRepository.countByCategory(category);
-            for (Category child : category.getChildren()) {
-                postCount += postRepository.countByCategory(child);
-            }
-        } else {
-            // 소분류인 경우: 자신의 게시글만
-            postCount = postRepository.countByCategory(category);
-        }
+        Long postCount = categoryTree.peek()
+                .flatMap(tree -> tree.find(category.getId()))
+                .map(CategoryTree.Node::postCount)
+                .orElse(0L);
 
         return CategoryResponseDto.builder()
                 .id(category.getId())
@@ -178,4 +184,20 @@ public class CategoryService {
                 .updatedAt(category.getUpdatedAt())
                 .build();
     }
+
+    private CategoryResponseDto convertToResponseDto(CategoryTree.Node node) {
+        return CategoryResponseDto.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .displayOrder(node.displayOrder())
+                .active(node.active())
+                .parentId(node.parentId())
+                .parentName(node.parentName())
+                .fullPath(node.fullPath())
+                .postCount(node.postCount())
+                .createdAt(node.createdAt())
+                .updatedAt(node.updatedAt())
+                .build();
+    }
 }
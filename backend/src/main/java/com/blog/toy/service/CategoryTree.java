@@ -0,0 +1,273 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Category;
+import com.blog.toy.repository.CategoryRepository;
+import com.blog.toy.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 카테고리 트리 스냅샷 (사이드바 등 카테고리 목록 조회용)
+// 카테고리 전체 조회 1번 + 카테고리별 게시글 수 집계 1번으로 경로/깊이/하위 포함 게시글 수까지 계산한 불변 스냅샷을 만들고
+// 읽는 쪽은 잠금 없이 volatile 참조만 읽는다
+// 카테고리별 "자신 + 모든 하위 카테고리" id 목록도 미리 계산해 두어 하위 포함 게시글 필터를 IN 조건 한 번으로 처리한다
+// 카테고리 또는 게시글의 카테고리가 바뀌면 커밋 이후 버전을 올리고, 다음 조회가 새 스냅샷으로 통째로 교체한다
+// 버전은 인스턴스마다 따로라 다른 인스턴스의 변경은 유지 시간(app.category.snapshot-max-age-ms)이 지나면 반영되고,
+// 스냅샷에 없는 카테고리를 찾을 때는 DB 에 있는지 확인해 있으면 바로 다시 만든다
+@Component
+public class CategoryTree {
+
+    // 정렬: 표시 순서(없으면 마지막), 이름
+    private static final Comparator<Node> DISPLAY_ORDER = Comparator
+            .comparing(Node::displayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Node::name);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    // 스냅샷 유지 시간 (다른 인스턴스에서 바뀐 카테고리/게시글 수는 이 시간 안에 반영)
+    @Value("${app.category.snapshot-max-age-ms:30000}")
+    private long maxAgeMs;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private volatile long builtAtMillis;
+
+    // 카테고리 한 건 (경로, 깊이, 게시글 수 포함)
+    // postCount 는 자신과 모든 하위 카테고리의 게시글 수 합계, directPostCount 는 자신에 직접 달린 게시글 수
+    // (이 인스턴스의 게시글 변경은 커밋 즉시, 다른 인스턴스의 변경은 스냅샷 유지 시간 안에 반영)
+    public record Node(Long id, String name, String description, Integer displayOrder, boolean active,
+                       Long parentId, String parentName, String fullPath, int depth,
+                       long directPostCount, long postCount,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    // 불변 스냅샷 (모든 목록은 표시 순서로 정렬)
+    public record Snapshot(long version, Map<Long, Node> byId, List<Node> ordered,
+                           Map<Long, List<Node>> childrenById, List<Node> roots,
+                           Map<Long, List<Long>> subtreeIdsById) {
+
+        public Optional<Node> find(Long id) {
+            return Optional.ofNullable(byId.get(id));
+        }
+
+        // 이름으로 찾기 (카테고리명은 중복 불가)
+        public Optional<Node> findByName(String name) {
+            return ordered.stream().filter(node -> node.name().equals(name)).findFirst();
+        }
+
+        // 자신과 모든 하위 카테고리 id (깊이 제한 없음, 없는 카테고리면 빈 목록)
+        public List<Long> subtreeIds(Long id) {
+            return subtreeIdsById.getOrDefault(id, List.of());
+        }
+
+        // 여러 카테고리의 하위 포함 id 합집합 (요청 순서 유지, 중복 제거)
+        public List<Long> subtreeIds(Collection<Long> ids) {
+            Set<Long> union = new LinkedHashSet<>();
+            for (Long id : ids) {
+                union.addAll(subtreeIds(id));
+            }
+            return List.copyOf(union);
+        }
+
+        // 활성 카테고리 전체
+        public List<Node> active() {
+            return ordered.stream().filter(Node::active).toList();
+        }
+
+        // 활성 대분류
+        public List<Node> activeRoots() {
+            return roots.stream().filter(Node::active).toList();
+        }
+
+        // 활성 직계 하위 카테고리
+        public List<Node> activeChildren(Long id) {
+            return childrenById.getOrDefault(id, List.of()).stream().filter(Node::active).toList();
+        }
+    }
+
+    // 시각 기준 교체 (Clock 빈이 있으면 그것을 사용)
+    @Autowired(required = false)
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // 최신 스냅샷 (변경이 있었거나 유지 시간이 지났으면 여기서 다시 만든다)
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    // 요청한 카테고리가 모두 들어 있는 스냅샷 (없는 id 가 DB 에 있으면 유지 시간을 기다리지 않고 다시 만든다)
+    // DB 에도 없는 id 는 그대로 없는 채로 반환하므로 호출하는 쪽에서 확인한다
+    public Snapshot currentContaining(Collection<Long> ids) {
+        Snapshot current = current();
+        List<Long> missing = ids.stream().filter(id -> current.find(id).isEmpty()).toList();
+        if (missing.isEmpty() || categoryRepository.findAllById(missing).isEmpty()) {
+            return current;
+        }
+        return refresh(current);
+    }
+
+    // 이름으로 찾는 카테고리가 들어 있는 스냅샷 (currentContaining 과 같은 방식)
+    public Snapshot currentContainingName(String name) {
+        Snapshot current = current();
+        if (current.findByName(name).isPresent() || !categoryRepository.existsByName(name)) {
+            return current;
+        }
+        return refresh(current);
+    }
+
+    // 다시 만들지 않고 마지막 스냅샷만 반환 (쓰기 트랜잭션 안에서 커밋 전 데이터가 스냅샷에 들어가지 않도록)
+    public Optional<Snapshot> peek() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    // 카테고리/게시글 변경 알림 (커밋 이후 버전 증가, 롤백되면 그대로)
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    // 본 스냅샷이 아직 최신이면 버전을 올려 다시 만든다 (동시에 여러 요청이 와도 한 번만)
+    private Snapshot refresh(Snapshot stale) {
+        version.compareAndSet(stale.version(), stale.version() + 1);
+        return current();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.version() == version.get()
+                && clock.millis() - builtAtMillis < maxAgeMs;
+    }
+
+    private synchronized Snapshot rebuild() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        // 조회 전에 버전을 읽어 두므로, 조회 중에 커밋된 변경은 다음 조회에서 다시 반영된다
+        long building = version.get();
+        long startedAt = clock.millis();
+
+        List<Category> categories = categoryRepository.findAll();
+        Map<Long, Long> directCounts = new HashMap<>();
+        for (Object[] row : postRepository.countGroupedByCategory()) {
+            directCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        Map<Long, Category> categoriesById = new HashMap<>();
+        Map<Long, Long> parentIds = new HashMap<>();
+        for (Category category : categories) {
+            categoriesById.put(category.getId(), category);
+            if (category.getParent() != null) {
+                parentIds.put(category.getId(), category.getParent().getId());
+            }
+        }
+
+        // 하위 포함 게시글 수와 하위 카테고리 id: 각 카테고리를 자신과 모든 조상에 더한다
+        Map<Long, Long> subtreeCounts = new HashMap<>();
+        Map<Long, List<Long>> subtreeIds = new HashMap<>();
+        for (Category category : categories) {
+            long count = directCounts.getOrDefault(category.getId(), 0L);
+            for (Long id : ancestorsAndSelf(category.getId(), parentIds)) {
+                subtreeCounts.merge(id, count, Long::sum);
+                subtreeIds.computeIfAbsent(id, key -> new ArrayList<>()).add(category.getId());
+            }
+        }
+        Map<Long, List<Long>> frozenSubtreeIds = new HashMap<>();
+        subtreeIds.forEach((id, list) -> frozenSubtreeIds.put(id, List.copyOf(list)));
+
+        Map<Long, Node> byId = new LinkedHashMap<>();
+        for (Category category : categories) {
+            List<Long> chain = ancestorsAndSelf(category.getId(), parentIds);
+            StringBuilder fullPath = new StringBuilder();
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                if (fullPath.length() > 0) {
+                    fullPath.append(" > ");
+                }
+                fullPath.append(categoriesById.get(chain.get(i)).getName());
+            }
+            Category parent = category.getParent() != null ? categoriesById.get(category.getParent().getId()) : null;
+            byId.put(category.getId(), new Node(
+                    category.getId(),
+                    category.getName(),
+                    category.getDescription(),
+                    category.getDisplayOrder(),
+                    category.isActive(),
+                    parent != null ? parent.getId() : null,
+                    parent != null ? parent.getName() : null,
+                    fullPath.toString(),
+                    chain.size() - 1,
+                    directCounts.getOrDefault(category.getId(), 0L),
+                    subtreeCounts.getOrDefault(category.getId(), 0L),
+                    category.getCreatedAt(),
+                    category.getUpdatedAt()));
+        }
+
+        List<Node> ordered = new ArrayList<>(byId.values());
+        ordered.sort(DISPLAY_ORDER);
+        Map<Long, List<Node>> children = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+        for (Node node : ordered) {
+            if (node.parentId() == null) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.parentId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+        Map<Long, List<Node>> frozenChildren = new HashMap<>();
+        children.forEach((id, list) -> frozenChildren.put(id, List.copyOf(list)));
+
+        Snapshot rebuilt = new Snapshot(building, Collections.unmodifiableMap(byId), List.copyOf(ordered),
+                Collections.unmodifiableMap(frozenChildren), List.copyOf(roots),
+                Collections.unmodifiableMap(frozenSubtreeIds));
+        // 유지 시간은 조회 시작 시각부터 (조회 중에 다른 인스턴스에서 바뀐 값도 유지 시간 안에 반영)
+        builtAtMillis = startedAt;
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    // 자신부터 최상위까지의 id (부모 관계가 순환하면 순환 지점에서 멈춘다)
+    private static List<Long> ancestorsAndSelf(Long id, Map<Long, Long> parentIds) {
+        List<Long> chain = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long current = id; current != null && seen.add(current); current = parentIds.get(current)) {
+            chain.add(current);
+        }
+        return chain;
+    }
+}
@@ -0,0 +1,66 @@
+package com.blog.toy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 게시글 댓글 수(comment_count, top_level_comment_count, total_comment_count) 보정
+// 평소에는 CommentService 가 원자적 UPDATE 로 유지하고, 여기서는 comment 테이블 집계와 다른 게시글만 고친다
+// 집계 시점과 UPDATE 사이에 커밋된 댓글로 잠시 어긋날 수 있지만 다음 주기에 다시 맞춰진다
+@Component
+@Slf4j
+public class CommentCountReconciler {
+
+    private static final String RECONCILE_SQL = """
+            UPDATE post p
+            SET comment_count = s.active_count,
+                top_level_comment_count = s.top_level_count,
+                total_comment_count = s.total_count
+            FROM (
+                SELECT p2.id AS post_id,
+                       COUNT(c.id) FILTER (WHERE c.status = 'ACTIVE') AS active_count,
+                       COUNT(c.id) FILTER (WHERE c.status = 'ACTIVE' AND c.parent_id IS NULL) AS top_level_count,
+                       COUNT(c.id) AS total_count
+                FROM post p2
+                LEFT JOIN comment c ON c.post_id = p2.id
+                GROUP BY p2.id
+            ) s
+            WHERE p.id = s.post_id
+              AND (p.comment_count IS DISTINCT FROM s.active_count
+                   OR p.top_level_comment_count IS DISTINCT FROM s.top_level_count
+                   OR p.total_comment_count IS DISTINCT FROM s.total_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter repairedCounter;
+
+    public CommentCountReconciler(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repairedCounter = Counter.builder("blog.post.comment-count.repaired")
+                .description("보정된 게시글 댓글 수 행")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.comment-count.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.comment-count.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("게시글 댓글 수 보정 실패", e);
+        }
+    }
+
+    // 어긋난 게시글의 댓글 수를 다시 계산해 반영하고 고친 게시글 수를 반환
+    public synchronized int reconcile() {
+        int repaired = jdbcTemplate.update(RECONCILE_SQL);
+        repairedCounter.increment(repaired);
+        if (repaired > 0) {
+            log.warn("게시글 댓글 수 보정 - {}개 게시글", repaired);
+        }
+        return repaired;
+    }
+}
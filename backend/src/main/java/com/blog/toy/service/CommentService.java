@@ -8,19 +8,31 @@ import com.blog.toy.repository.CommentReactionRepository;
 import com.blog.toy.repository.CommentReportRepository;
 import com.blog.toy.repository.PostRepository;
 import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.AuthenticatedUser;
+import com.blog.toy.security.CurrentUser;
 import com.blog.toy.service.NotificationService;
+import com.blog.toy.trending.TrendingPosts;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,22 +46,38 @@ public class CommentService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApproximateTotalCache approximateTotalCache;
+    private final TrendingPosts trendingPosts;
+    private final CurrentUser currentUser;
+
+    // 댓글 트리 최대 깊이 (더 깊은 대댓글은 이 단계에 평평하게 표시)
+    @Value("${app.comments.max-depth:5}")
+    private int maxDepth;
+
+    // 스레드 커서 페이지 최대 크기
+    private static final int MAX_THREAD_PAGE_SIZE = 100;
 
     // 댓글 조회 (대댓글 포함)
+    // 댓글, 작성자, 현재 사용자의 반응을 각각 한 번씩 조회해 메모리에서 트리로 조립한다
+    @Transactional(readOnly = true)
     public List<CommentResponseDto> getCommentsByPostId(Long postId) {
-        List<Comment> comments = commentRepository.findByPostIdAndStatusAndParentIsNull(postId, CommentStatus.ACTIVE);
-        return comments.stream()
-                .map(this::convertToDto)
+        List<Comment> comments = commentRepository.findAllByPostIdForTree(postId);
+        List<Comment> roots = comments.stream()
+                .filter(comment -> comment.getParent() == null && comment.getStatus() == CommentStatus.ACTIVE)
                 .collect(Collectors.toList());
+        return buildTree(postId, roots, comments);
     }
 
     // 댓글 조회 (페이징)
-    public PageResponseDto<CommentResponseDto> getCommentsByPostIdWithPaging(Long postId, PageRequestDto pageRequestDto) {
-        Page<Comment> commentPage = commentRepository.findByPostIdAndParentIsNull(postId, pageRequestDto.toPageable());
+    @Transactional(readOnly = true)
+    public SliceResponseDto<CommentResponseDto> getCommentsByPostIdWithPaging(Long postId, PageRequestDto pageRequestDto) {
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Comment> commentPage = pageRequestDto.isWithTotal()
+                ? commentRepository.findByPostIdAndParentIsNull(postId, pageable)
+                : commentRepository.findSliceByPostIdAndParentIsNull(postId, pageable);
         
-        Page<CommentResponseDto> commentResponseDtoPage = commentPage.map(this::convertToDto);
-        
-        return new PageResponseDto<>(commentResponseDtoPage);
+        // 페이지의 최상위 댓글 아래 트리만 단계별로 조회 (게시글의 다른 페이지 대댓글은 읽지 않는다)
+        return approximateTotalCache.toResponse(toForestPage(commentPage), "comments:post:" + postId);
     }
 
     // 댓글 생성
@@ -57,7 +85,9 @@ public class CommentService {
         Post post = postRepository.findById(requestDto.getPostId())
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
+        // 작성자는 FK 참조와 사용자명만 필요하므로 사용자 조회 없이 설정
+        User author = this.currentUser.reference();
+        String authorName = this.currentUser.require().username();
         
         // 멘션 처리
         String content = requestDto.getContent();
@@ -68,30 +98,39 @@ public class CommentService {
         Comment comment = Comment.builder()
                 .content(content)
                 .post(post)
-                .user(currentUser)
-                .author(currentUser.getUsername())
+                .user(author)
+                .author(authorName)
                 .status(CommentStatus.ACTIVE)
                 .likeCount(0)
                 .dislikeCount(0)
                 .build();
 
-        // 대댓글인 경우
+        // 대댓글인 경우 (부모 댓글은 알림에도 쓰므로 한 번만 조회)
+        Comment parentComment = null;
         if (requestDto.getParentId() != null) {
-            Comment parentComment = commentRepository.findById(requestDto.getParentId())
+            parentComment = commentRepository.findById(requestDto.getParentId())
                     .orElseThrow(() -> new RuntimeException("부모 댓글을 찾을 수 없습니다."));
             comment.setParent(parentComment);
         }
 
         Comment savedComment = commentRepository.save(comment);
+
+        // 구체화 경로 설정 후 조상 댓글들의 하위 댓글 수 증가 (조상 id 는 경로에서 바로 구함)
+        ensurePath(savedComment);
+        List<Long> ancestorIds = savedComment.ancestorIds();
+        if (!ancestorIds.isEmpty()) {
+            commentRepository.incrementDescendantCounts(ancestorIds);
+        }
+
+        // 게시글 댓글 수 증가
+        postRepository.adjustCommentCounts(post.getId(), 1, savedComment.getParent() == null ? 1 : 0, 1);
+        trendingPosts.recordComment(post.getId());
         
         // 알림 생성
-        if (requestDto.getParentId() != null) {
+        if (parentComment != null) {
             // 대댓글인 경우
-            Comment parentComment = commentRepository.findById(requestDto.getParentId()).orElse(null);
-            if (parentComment != null) {
-                System.out.println("🔔 대댓글 알림 생성 시도: 댓글 ID=" + savedComment.getId() + ", 부모 댓글 작성자=" + parentComment.getAuthor());
-                notificationService.createReplyNotification(savedComment, parentComment);
-            }
+            System.out.println("🔔 대댓글 알림 생성 시도: 댓글 ID=" + savedComment.getId() + ", 부모 댓글 작성자=" + parentComment.getAuthor());
+            notificationService.createReplyNotification(savedComment, parentComment);
         } else {
             // 일반 댓글인 경우
             System.out.println("🔔 댓글 알림 생성 시도: 댓글 ID=" + savedComment.getId() + ", 게시글 작성자=" + post.getAuthor());
@@ -106,8 +145,8 @@ public class CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
-        if (!comment.getUser().getId().equals(currentUser.getId()) && !currentUser.getRole().equals(Role.ADMIN)) {
+        AuthenticatedUser currentUser = this.currentUser.require();
+        if (!comment.getUser().getId().equals(currentUser.id()) && !currentUser.role().equals(Role.ADMIN)) {
             throw new RuntimeException("댓글을 수정할 권한이 없습니다.");
         }
 
@@ -123,90 +162,94 @@ public class CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
-        if (!comment.getUser().getId().equals(currentUser.getId()) && !currentUser.getRole().equals(Role.ADMIN)) {
+        AuthenticatedUser currentUser = this.currentUser.require();
+        if (!comment.getUser().getId().equals(currentUser.id()) && !currentUser.role().equals(Role.ADMIN)) {
             throw new RuntimeException("댓글을 삭제할 권한이 없습니다.");
         }
 
+        CommentStatus before = comment.getStatus();
         comment.markAsDeleted();
         commentRepository.save(comment);
+        adjustActiveCommentCounts(comment, before);
     }
 
     // 댓글 좋아요/싫어요
     public CommentResponseDto reactToComment(CommentReactionDto reactionDto) {
-        Comment comment = commentRepository.findById(reactionDto.getCommentId())
-                .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
+        Long commentId = reactionDto.getCommentId();
+        if (!commentRepository.existsById(commentId)) {
+            throw new RuntimeException("댓글을 찾을 수 없습니다.");
+        }
 
-        User currentUser = getCurrentUser();
+        ReactionType type = reactionDto.getType();
+        if (type == null) {
+            throw new RuntimeException("잘못된 반응 타입입니다.");
+        }
 
-        // 기존 반응 확인
-        Optional<CommentReaction> existingReaction = commentReactionRepository.findByCommentAndUser(comment, currentUser);
+        Long userId = currentUser.require().id();
 
-        if (existingReaction.isPresent()) {
-            CommentReaction reaction = existingReaction.get();
-            
-            // 같은 반응이면 취소
-            if (reaction.getType() == reactionDto.getType()) {
-                if (reactionDto.getType() == ReactionType.LIKE) {
-                    comment.decrementLikeCount();
-                } else {
-                    comment.decrementDislikeCount();
-                }
-                commentReactionRepository.delete(reaction);
-            } else {
-                // 다른 반응이면 변경
-                if (reaction.getType() == ReactionType.LIKE) {
-                    comment.decrementLikeCount();
-                } else {
-                    comment.decrementDislikeCount();
-                }
-                
-                if (reactionDto.getType() == ReactionType.LIKE) {
-                    comment.incrementLikeCount();
-                } else {
-                    comment.incrementDislikeCount();
-                }
-                
-                reaction.setType(reactionDto.getType());
-                commentReactionRepository.save(reaction);
-            }
-        } else {
-            // 새로운 반응 추가
-            System.out.println("🔍 CommentService - 새로운 반응 추가");
-            System.out.println("🔍 CommentService - reactionDto.getType(): " + reactionDto.getType());
-            System.out.println("🔍 CommentService - reactionDto: " + reactionDto);
-            
-            CommentReaction newReaction = CommentReaction.builder()
-                    .comment(comment)
-                    .user(currentUser)
-                    .type(reactionDto.getType())
-                    .build();
-            
-            System.out.println("🔍 CommentService - 생성된 newReaction.getType(): " + newReaction.getType());
-            
-            if (reactionDto.getType() == ReactionType.LIKE) {
-                comment.incrementLikeCount();
-            } else {
-                comment.incrementDislikeCount();
-            }
-            
-            System.out.println("🔍 CommentService - 저장 전 newReaction: " + newReaction);
-            commentReactionRepository.save(newReaction);
-            
-            // 새로운 반응에 대한 알림 생성
-            notificationService.createLikeNotification(newReaction);
+        ReactionChange change = toggleReaction(commentId, userId, type);
+
+        // 새로운 반응에 대한 알림 생성
+        if (change.isAdded()) {
+            notificationService.createLikeNotification(commentId, userId, type);
         }
 
-        commentRepository.save(comment);
+        // 좋아요/싫어요 수는 마지막에 원자적 UPDATE 로 반영 (카운터 행 잠금 최소화)
+        if (change.hasDelta()) {
+            commentRepository.adjustReactionCounts(commentId, change.likeDelta(), change.dislikeDelta());
+        }
+
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
         return convertToDto(comment);
     }
 
+    // (댓글, 사용자) 반응 토글 - 같은 타입이면 취소, 다른 타입이면 변경, 없으면 추가
+    // 반응 행은 INSERT ... ON CONFLICT DO NOTHING 으로 한 건만 만들고, 기존 행은 해당 행만 잠가 변경한다
+    private ReactionChange toggleReaction(Long commentId, Long userId, ReactionType type) {
+        LocalDateTime now = LocalDateTime.now();
+        if (commentReactionRepository.insertIfAbsent(commentId, userId, type.name(), now) == 1) {
+            return new ReactionChange(null, type);
+        }
+
+        Optional<CommentReaction> existing = commentReactionRepository.findForUpdate(commentId, userId);
+        if (existing.isEmpty()) {
+            // 잠그기 전에 다른 요청이 취소한 경우 다시 추가 시도
+            boolean inserted = commentReactionRepository.insertIfAbsent(commentId, userId, type.name(), now) == 1;
+            return inserted ? new ReactionChange(null, type) : new ReactionChange(type, type);
+        }
+
+        CommentReaction reaction = existing.get();
+        ReactionType previous = reaction.getType();
+        if (previous == type) {
+            commentReactionRepository.delete(reaction);
+            return new ReactionChange(previous, null);
+        }
+
+        reaction.setType(type);
+        return new ReactionChange(previous, type);
+    }
+
+    // 여러 댓글의 반응 수와 현재 사용자의 반응을 한 번에 조회 (댓글 수와 무관하게 쿼리 2번)
+    @Transactional(readOnly = true)
+    public List<ReactionSummaryDto> getReactionSummaries(List<Long> commentIds) {
+        List<Long> ids = ReactionSummaries.normalizeIds(commentIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String username = currentUser.username().orElse(null);
+        return ReactionSummaries.assemble(ids,
+                commentReactionRepository.countByCommentIds(ids),
+                username != null ? commentReactionRepository.findTypesByCommentIdsAndUsername(ids, username) : List.of());
+    }
+
     // 댓글 신고
     public void reportComment(CommentReportDto reportDto) {
         Comment comment = commentRepository.findById(reportDto.getCommentId())
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
+        // 신고자는 연관관계/조회 조건에만 쓰므로 참조로 충분 (사용자 조회 없음)
+        User currentUser = this.currentUser.reference();
 
         // 이미 신고했는지 확인
         List<CommentReport> existingReports = commentReportRepository.findByCommentAndReporter(comment, currentUser);
@@ -225,26 +268,56 @@ public class CommentService {
         commentReportRepository.save(report);
     }
 
-    // 대댓글 조회
+    // 대댓글 조회 (하위 트리 포함, 단계마다 한 번씩 조회해 메모리에서 조립)
+    @Transactional(readOnly = true)
     public List<CommentResponseDto> getRepliesByCommentId(Long commentId) {
-        List<Comment> replies = commentRepository.findByParentId(commentId);
-        return replies.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return buildForest(commentRepository.findByParentId(commentId));
+    }
+
+    // 최상위 댓글 커서 페이지 (각 댓글의 하위 댓글 수 포함, 대댓글은 스레드별로 따로 조회)
+    @Transactional(readOnly = true)
+    public CursorResponseDto<CommentResponseDto> getThreads(Long postId, String after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE));
+        List<Comment> rows = commentRepository.findRootsAfterPath(postId, CommentCursor.decode(after),
+                PageRequest.of(0, limit + 1));
+        return toCursorPage(rows, limit);
+    }
+
+    // 스레드의 하위 댓글 "더 보기" 커서 페이지 (경로 순 = 표시 순서, depth 로 들여쓰기)
+    @Transactional(readOnly = true)
+    public CursorResponseDto<CommentResponseDto> getThreadReplies(Long commentId, String after, int size) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
+        if (comment.getPath() == null) {
+            throw new RuntimeException("경로 정보가 없는 댓글입니다. 마이그레이션(add_comment_path.sql)을 실행해 주세요.");
+        }
+
+        int limit = Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE));
+        String cursor = CommentCursor.decode(after);
+        String from = cursor.compareTo(comment.getPath()) > 0 ? cursor : comment.getPath();
+        List<Comment> rows = commentRepository.findSubtreeAfterPath(comment.getPost().getId(), from,
+                Comment.subtreeUpperBound(comment.getPath()), PageRequest.of(0, limit + 1));
+        return toCursorPage(rows, limit);
     }
 
     // 사용자의 댓글 조회
-    public PageResponseDto<CommentResponseDto> getUserComments(Long userId, PageRequestDto pageRequestDto) {
-        Page<Comment> commentPage = commentRepository.findByUserId(userId, pageRequestDto.toPageable());
-        Page<CommentResponseDto> commentResponseDtoPage = commentPage.map(this::convertToDto);
-        return new PageResponseDto<>(commentResponseDtoPage);
+    @Transactional(readOnly = true)
+    public SliceResponseDto<CommentResponseDto> getUserComments(Long userId, PageRequestDto pageRequestDto) {
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Comment> commentPage = pageRequestDto.isWithTotal()
+                ? commentRepository.findByUserId(userId, pageable)
+                : commentRepository.findSliceByUserId(userId, pageable);
+        return approximateTotalCache.toResponse(toForestPage(commentPage), "comments:user:" + userId);
     }
 
     // 신고된 댓글 조회 (관리자용)
-    public PageResponseDto<CommentResponseDto> getReportedComments(PageRequestDto pageRequestDto) {
-        Page<Comment> commentPage = commentRepository.findByStatus(CommentStatus.REPORTED, pageRequestDto.toPageable());
-        Page<CommentResponseDto> commentResponseDtoPage = commentPage.map(this::convertToDto);
-        return new PageResponseDto<>(commentResponseDtoPage);
+    @Transactional(readOnly = true)
+    public SliceResponseDto<CommentResponseDto> getReportedComments(PageRequestDto pageRequestDto) {
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Comment> commentPage = pageRequestDto.isWithTotal()
+                ? commentRepository.findByStatus(CommentStatus.REPORTED, pageable)
+                : commentRepository.findSliceByStatus(CommentStatus.REPORTED, pageable);
+        return approximateTotalCache.toResponse(toForestPage(commentPage), "comments:reported");
     }
 
     // 신고 처리 (관리자용)
@@ -257,42 +330,198 @@ public class CommentService {
 
         if (status == ReportStatus.RESOLVED) {
             Comment comment = report.getComment();
+            CommentStatus before = comment.getStatus();
             comment.markAsReported();
             commentRepository.save(comment);
+            adjustActiveCommentCounts(comment, before);
+        }
+    }
+
+    // 댓글 상태 변경에 따른 게시글의 활성 댓글 수 증감 (전체 댓글 수는 그대로)
+    private void adjustActiveCommentCounts(Comment comment, CommentStatus before) {
+        int delta = (comment.getStatus() == CommentStatus.ACTIVE ? 1 : 0) - (before == CommentStatus.ACTIVE ? 1 : 0);
+        if (delta != 0 && comment.getPost() != null) {
+            postRepository.adjustCommentCounts(comment.getPost().getId(), delta,
+                    comment.getParent() == null ? delta : 0, 0);
         }
     }
 
 
 
     // DTO 변환 메서드
-    private CommentResponseDto convertToDto(Comment comment) {
-        User currentUser = getCurrentUser();
-        
-        // 현재 사용자의 반응 확인
-        Boolean isLiked = null;
-        Boolean isDisliked = null;
-        
-        if (currentUser != null) {
-            try {
-                Optional<CommentReaction> reaction = commentReactionRepository.findByCommentAndUser(comment, currentUser);
-                if (reaction.isPresent()) {
-                    isLiked = reaction.get().getType() == ReactionType.LIKE;
-                    isDisliked = reaction.get().getType() == ReactionType.DISLIKE;
+    // 최상위 댓글 목록 아래로 대댓글 트리 조립
+    // - comments: 같은 게시글의 댓글 (작성 순), 부모가 comments 에 없는 댓글은 제외
+    // - maxDepth 보다 깊은 대댓글은 maxDepth 단계 댓글의 replies 에 작성 순으로 평평하게 붙인다
+    private List<CommentResponseDto> buildTree(Long postId, List<Comment> roots, List<Comment> comments) {
+        if (roots.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ReactionType> myReactions = new HashMap<>();
+        String username = currentUser.username().orElse(null);
+        if (username != null) {
+            for (Object[] row : commentReactionRepository.findTypesByPostIdAndUsername(postId, username)) {
+                myReactions.put((Long) row[0], (ReactionType) row[1]);
+            }
+        }
+        return assemble(roots, comments, myReactions);
+    }
+
+    // 댓글 목록 아래로 대댓글 트리 조립 (게시글 댓글 페이지, 사용자 댓글, 신고 댓글, 대댓글, 단건 응답)
+    // 게시글 단위로 모든 대댓글을 읽는 대신 직계 대댓글을 단계마다 한 번씩 조회하고 (조회 수 = 트리 높이)
+    // 작성자와 현재 사용자의 반응은 트리 전체 댓글 id 로 한 번씩 조회한다
+    private List<CommentResponseDto> buildForest(List<Comment> roots) {
+        if (roots.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Comment> descendants = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Long> frontier = new ArrayList<>();
+        for (Comment root : roots) {
+            if (seen.add(root.getId())) {
+                frontier.add(root.getId());
+            }
+        }
+        while (!frontier.isEmpty()) {
+            List<Long> next = new ArrayList<>();
+            for (Comment child : commentRepository.findRepliesByParentIds(frontier)) {
+                if (seen.add(child.getId())) {
+                    descendants.add(child);
+                    next.add(child.getId());
+                }
+            }
+            frontier = next;
+        }
+
+        Map<Long, ReactionType> myReactions = new HashMap<>();
+        String username = currentUser.username().orElse(null);
+        if (username != null) {
+            for (Object[] row : commentReactionRepository.findTypesByCommentIdsAndUsername(List.copyOf(seen), username)) {
+                myReactions.put((Long) row[0], (ReactionType) row[1]);
+            }
+        }
+        return assemble(roots, descendants, myReactions);
+    }
+
+    // 페이지의 댓글을 트리로 변환해 같은 페이지 정보로 감싼다
+    private Slice<CommentResponseDto> toForestPage(Slice<Comment> commentPage) {
+        List<CommentResponseDto> content = buildForest(commentPage.getContent());
+        return commentPage instanceof Page<Comment> page
+                ? new PageImpl<>(content, page.getPageable(), page.getTotalElements())
+                : new SliceImpl<>(content, commentPage.getPageable(), commentPage.hasNext());
+    }
+
+    // 최상위로 보여줄 댓글과 그 아래 댓글로 트리 조립 (작성자는 한 번에 조회, 반응은 미리 조회한 값 사용)
+    private List<CommentResponseDto> assemble(List<Comment> roots, List<Comment> comments,
+                                              Map<Long, ReactionType> myReactions) {
+        Map<Long, List<Comment>> childrenByParentId = new HashMap<>();
+        for (Comment comment : comments) {
+            if (comment.getParent() != null) {
+                childrenByParentId.computeIfAbsent(comment.getParent().getId(), id -> new ArrayList<>()).add(comment);
+            }
+        }
+
+        List<Comment> all = new ArrayList<>(roots);
+        all.addAll(comments);
+        Map<Long, User> usersById = loadUsers(all);
+
+        TreeContext context = new TreeContext(childrenByParentId, usersById, myReactions, new HashSet<>());
+        List<CommentResponseDto> result = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            result.add(toTreeNode(root, 1, context));
+        }
+        return result;
+    }
+
+    private record TreeContext(Map<Long, List<Comment>> childrenByParentId, Map<Long, User> usersById,
+                               Map<Long, ReactionType> myReactions, Set<Long> visited) {
+    }
+
+    private CommentResponseDto toTreeNode(Comment comment, int depth, TreeContext context) {
+        context.visited().add(comment.getId());
+        List<CommentResponseDto> replies = new ArrayList<>();
+        List<Comment> children = context.childrenByParentId().getOrDefault(comment.getId(), List.of());
+        if (depth < maxDepth) {
+            for (Comment child : children) {
+                if (!context.visited().contains(child.getId())) {
+                    replies.add(toTreeNode(child, depth + 1, context));
+                }
+            }
+        } else {
+            // 깊이 제한 이하의 후손은 재귀 없이 스택으로 순회해 한 단계에 모음 (작성 순 유지)
+            Deque<Comment> stack = new ArrayDeque<>();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+            while (!stack.isEmpty()) {
+                Comment descendant = stack.pop();
+                if (!context.visited().add(descendant.getId())) {
+                    continue;
+                }
+                replies.add(toDto(descendant, new ArrayList<>(), context.usersById(), context.myReactions()));
+                List<Comment> grandChildren = context.childrenByParentId().getOrDefault(descendant.getId(), List.of());
+                for (int i = grandChildren.size() - 1; i >= 0; i--) {
+                    stack.push(grandChildren.get(i));
                 }
-            } catch (Exception e) {
-                // 반응 조회 중 오류가 발생하면 무시
-                isLiked = null;
-                isDisliked = null;
             }
         }
+        return toDto(comment, replies, context.usersById(), context.myReactions());
+    }
 
-        // 대댓글 변환
-        List<CommentResponseDto> replies = comment.getReplies() != null ? 
-                comment.getReplies().stream()
-                        .map(this::convertToDto)
-                        .collect(Collectors.toList()) : 
-                new ArrayList<>();
+    // 댓글 작성자를 한 번에 조회
+    private Map<Long, User> loadUsers(List<Comment> comments) {
+        Set<Long> userIds = new HashSet<>();
+        for (Comment comment : comments) {
+            if (comment.getUser() != null) {
+                userIds.add(comment.getUser().getId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
 
+    // 경로가 없는 기존 댓글은 조상부터 경로를 채움 (마이그레이션 전 데이터 대비)
+    private void ensurePath(Comment comment) {
+        if (comment.getPath() != null) {
+            return;
+        }
+        if (comment.getParent() != null) {
+            ensurePath(comment.getParent());
+        }
+        comment.assignPath();
+    }
+
+    // 커서 페이지 조립 (size+1 건을 조회해 다음 페이지 여부 판단, 작성자/내 반응은 한 번씩 조회)
+    private CursorResponseDto<CommentResponseDto> toCursorPage(List<Comment> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<Comment> comments = hasNext ? rows.subList(0, size) : rows;
+
+        Map<Long, User> usersById = loadUsers(comments);
+        Map<Long, ReactionType> myReactions = new HashMap<>();
+        String username = currentUser.username().orElse(null);
+        if (username != null && !comments.isEmpty()) {
+            List<Long> ids = comments.stream().map(Comment::getId).collect(Collectors.toList());
+            for (Object[] row : commentReactionRepository.findTypesByCommentIdsAndUsername(ids, username)) {
+                myReactions.put((Long) row[0], (ReactionType) row[1]);
+            }
+        }
+
+        List<CommentResponseDto> content = comments.stream()
+                .map(comment -> toDto(comment, new ArrayList<>(), usersById, myReactions))
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? CommentCursor.encode(comments.get(comments.size() - 1).getPath()) : null;
+        return new CursorResponseDto<>(content, nextCursor, null);
+    }
+
+    // 미리 조회한 작성자/반응으로 DTO 생성 (추가 쿼리 없음)
+    private CommentResponseDto toDto(Comment comment, List<CommentResponseDto> replies, Map<Long, User> usersById,
+                                     Map<Long, ReactionType> myReactions) {
+        User user = comment.getUser() != null ? usersById.get(comment.getUser().getId()) : null;
+        ReactionType myReaction = myReactions.get(comment.getId());
         return CommentResponseDto.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
@@ -304,24 +533,17 @@ public class CommentService {
                 .dislikeCount(comment.getDislikeCount())
                 .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
                 .replies(replies)
-                .isLiked(isLiked)
-                .isDisliked(isDisliked)
-                .authorName(comment.getUser() != null ? comment.getUser().getName() : null)
-                .authorEmail(comment.getUser() != null ? comment.getUser().getEmail() : null)
+                .depth(comment.getDepth())
+                .descendantCount(comment.getDescendantCount())
+                .isLiked(myReaction != null ? myReaction == ReactionType.LIKE : null)
+                .isDisliked(myReaction != null ? myReaction == ReactionType.DISLIKE : null)
+                .authorName(user != null ? user.getName() : null)
+                .authorEmail(user != null ? user.getEmail() : null)
                 .build();
     }
 
-    // 현재 사용자 조회
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getName())) {
-            // 임시로 admin 사용자 반환 (테스트용)
-            return userRepository.findByUsername("admin")
-                    .orElse(null);
-        }
-        
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElse(null);
+    // 단건 응답 (하위 트리 포함, buildForest 와 같은 일괄 조회)
+    private CommentResponseDto convertToDto(Comment comment) {
+        return buildForest(List.of(comment)).get(0);
     }
 }
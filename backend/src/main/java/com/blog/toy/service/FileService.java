@@ -7,6 +7,7 @@ import com.blog.toy.dto.file.FileResponseDto;
 import com.blog.toy.repository.FileRepository;
 import com.blog.toy.repository.PostRepository;
 import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.AuthenticatedUser;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,7 +48,7 @@ public class FileService {
     @Value("${app.file.allowed-extensions}")
     private String allowedExtensions;
 
-    public FileResponseDto uploadFile(MultipartFile multipartFile, Long postId, String username) throws IOException {
+    public FileResponseDto uploadFile(MultipartFile multipartFile, Long postId, AuthenticatedUser uploader) throws IOException {
         // 파일 유효성 검사
         validateFile(multipartFile);
 
@@ -73,8 +74,8 @@ public class FileService {
                     .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다: " + postId));
         }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + username));
+        // 업로더는 연관관계로만 쓰므로 참조로 충분 (사용자 조회 없음)
+        User user = userRepository.getReferenceById(uploader.id());
 
         File file = File.builder()
                 .originalFileName(originalFileName)
@@ -91,11 +92,11 @@ public class FileService {
         return convertToResponseDto(savedFile);
     }
 
-    public List<FileResponseDto> uploadMultipleFiles(List<MultipartFile> files, Long postId, String username) throws IOException {
+    public List<FileResponseDto> uploadMultipleFiles(List<MultipartFile> files, Long postId, AuthenticatedUser uploader) throws IOException {
         return files.stream()
                 .map(file -> {
                     try {
-                        return uploadFile(file, postId, username);
+                        return uploadFile(file, postId, uploader);
                     } catch (IOException e) {
                         throw new RuntimeException("파일 업로드 실패: " + file.getOriginalFilename(), e);
                     }
@@ -134,28 +135,43 @@ public class FileService {
                 .collect(Collectors.toList());
     }
 
-    public List<FileResponseDto> getFilesByUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + username));
-
-        return fileRepository.findByUser(user)
+    public List<FileResponseDto> getFilesByUser(AuthenticatedUser owner) {
+        return fileRepository.findByUser(userRepository.getReferenceById(owner.id()))
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
     }
 
-    public void deleteFile(Long fileId, String username) throws IOException {
+    public void deleteFile(Long fileId, AuthenticatedUser user) throws IOException {
         File file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다: " + fileId));
 
         // 권한 확인 (파일 소유자 또는 ADMIN만 삭제 가능)
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + username));
+        if (!file.getUser().getId().equals(user.id()) && !user.role().equals(User.Role.ADMIN)) {
+            throw new RuntimeException("파일 삭제 권한이 없습니다.");
+        }
 
-        if (!file.getUser().getId().equals(user.getId()) && !user.getRole().equals(User.Role.ADMIN)) {
+        removeFile(file);
+    }
+
+    public void deleteFilesByPost(Long postId, AuthenticatedUser user) throws IOException {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다: " + postId));
+
+        // 권한 확인 (게시글 작성자 또는 ADMIN만 삭제 가능)
+        if (!post.getAuthorId().equals(user.id()) && !user.role().equals(User.Role.ADMIN)) {
             throw new RuntimeException("파일 삭제 권한이 없습니다.");
         }
 
+        // 게시글 단위로 권한을 확인했으므로 파일별 권한 확인 없이 삭제
+        List<File> files = fileRepository.findByPost(post);
+        for (File file : files) {
+            removeFile(file);
+        }
+    }
+
+    // 저장된 파일과 파일 정보 삭제 (권한 확인은 호출하는 쪽에서)
+    private void removeFile(File file) throws IOException {
         // 물리적 파일 삭제
         Path filePath = Paths.get(file.getFilePath());
         if (Files.exists(filePath)) {
@@ -166,16 +182,6 @@ public class FileService {
         fileRepository.delete(file);
     }
 
-    public void deleteFilesByPost(Long postId) throws IOException {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다: " + postId));
-
-        List<File> files = fileRepository.findByPost(post);
-        for (File file : files) {
-            deleteFile(file.getId(), file.getUser().getUsername());
-        }
-    }
-
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new RuntimeException("빈 파일은 업로드할 수 없습니다.");
@@ -3,21 +3,26 @@ package com.blog.toy.service;
 import com.blog.toy.domain.*;
 import com.blog.toy.dto.NotificationResponseDto;
 import com.blog.toy.dto.PageRequestDto;
-import com.blog.toy.dto.PageResponseDto;
+import com.blog.toy.dto.SliceResponseDto;
+import com.blog.toy.notification.NotificationCoalescer;
+import com.blog.toy.notification.NotificationDispatcher;
+import com.blog.toy.notification.NotificationEvent;
+import com.blog.toy.notification.UnreadCounter;
 import com.blog.toy.repository.NotificationRepository;
-import com.blog.toy.repository.UserRepository;
+import com.blog.toy.repository.NotificationSpecifications;
+import com.blog.toy.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,232 +33,109 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadCounter unreadCounter;
+    private final ApproximateTotalCache approximateTotalCache;
+    private final CurrentUser currentUser;
 
-    // 댓글 알림 생성
-    public void createCommentNotification(Comment comment, Post post) {
-        User commentAuthor = comment.getUser();
-        
-        // 게시글 작성자 정보를 author 필드로 조회
-        User postAuthor = userRepository.findByUsername(post.getAuthor())
-                .orElse(null);
-        
-        // 게시글 작성자를 찾을 수 없거나 자신의 게시글에 댓글을 달면 알림 생성하지 않음
-        if (postAuthor == null || commentAuthor.getId().equals(postAuthor.getId())) {
-            return;
-        }
-
-        Notification notification = Notification.builder()
-                .type(NotificationType.COMMENT)
-                .title("새로운 댓글")
-                .content(commentAuthor.getUsername() + "님이 회원님의 게시글에 댓글을 남겼습니다.")
-                .recipient(postAuthor)
-                .sender(commentAuthor)
-                .post(post)
-                .comment(comment)
-                .status(NotificationStatus.UNREAD)
-                .build();
+    // === 알림 생성 ===
+    // 요청 트랜잭션에서는 이벤트만 등록하고 (조회/INSERT/WebSocket 전송 없음),
+    // 커밋된 뒤 NotificationDispatcher 가 수신자 확인/본인 알림 제외/저장/전송을 배치로 처리한다
 
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(postAuthor.getId(), convertToDto(savedNotification));
+    // 댓글 알림 생성 (게시글 작성자에게)
+    public void createCommentNotification(Comment comment, Post post) {
+        notificationDispatcher.publish(NotificationEvent.comment(post.getId(), comment.getId(), comment.getUser().getId()));
     }
 
-    // 대댓글 알림 생성
+    // 대댓글 알림 생성 (부모 댓글 작성자에게)
     public void createReplyNotification(Comment reply, Comment parentComment) {
-        User replyAuthor = reply.getUser();
-        User parentAuthor = parentComment.getUser();
-        
+        Long replyAuthorId = reply.getUser().getId();
+        Long parentAuthorId = parentComment.getUser().getId();
+
         // 자신의 댓글에 대댓글을 달면 알림 생성하지 않음
-        if (replyAuthor.getId().equals(parentAuthor.getId())) {
+        if (replyAuthorId.equals(parentAuthorId)) {
             return;
         }
-
-        Notification notification = Notification.builder()
-                .type(NotificationType.REPLY)
-                .title("새로운 대댓글")
-                .content(replyAuthor.getUsername() + "님이 회원님의 댓글에 대댓글을 남겼습니다.")
-                .recipient(parentAuthor)
-                .sender(replyAuthor)
-                .post(reply.getPost())
-                .comment(reply)
-                .status(NotificationStatus.UNREAD)
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(parentAuthor.getId(), convertToDto(savedNotification));
+        notificationDispatcher.publish(NotificationEvent.reply(parentAuthorId, reply.getPost().getId(), reply.getId(), replyAuthorId));
     }
 
-    // 좋아요 알림 생성
-    public void createLikeNotification(CommentReaction reaction) {
-        User reactionUser = reaction.getUser();
-        User commentAuthor = reaction.getComment().getUser();
-        
-        // 자신의 댓글에 좋아요를 누르면 알림 생성하지 않음
-        if (reactionUser.getId().equals(commentAuthor.getId())) {
-            return;
-        }
-
-        String reactionText = reaction.getType() == ReactionType.LIKE ? "좋아요" : "싫어요";
-
-        Notification notification = Notification.builder()
-                .type(NotificationType.LIKE)
-                .title("새로운 " + reactionText)
-                .content(reactionUser.getUsername() + "님이 회원님의 댓글에 " + reactionText + "를 눌렀습니다.")
-                .recipient(commentAuthor)
-                .sender(reactionUser)
-                .post(reaction.getComment().getPost())
-                .comment(reaction.getComment())
-                .status(NotificationStatus.UNREAD)
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(commentAuthor.getId(), convertToDto(savedNotification));
+    // 댓글 좋아요/싫어요 알림 생성 (댓글 작성자에게)
+    public void createLikeNotification(Long commentId, Long senderId, ReactionType type) {
+        notificationDispatcher.publish(NotificationEvent.commentReaction(commentId, senderId, type));
     }
 
-    // 게시글 좋아요 알림 생성
-    public void createPostLikeNotification(PostReaction reaction) {
-        User reactionUser = reaction.getUser();
-        
-        // 게시글 작성자 정보를 author 필드로 조회
-        User postAuthor = userRepository.findByUsername(reaction.getPost().getAuthor())
-                .orElse(null);
-        
-        // 게시글 작성자를 찾을 수 없거나 자신의 게시글에 좋아요를 누르면 알림 생성하지 않음
-        if (postAuthor == null || reactionUser.getId().equals(postAuthor.getId())) {
-            log.info("게시글 좋아요 알림 생성 건너뜀: postAuthor={}, reactionUser={}", 
-                    reaction.getPost().getAuthor(), reactionUser.getUsername());
-            return;
-        }
-
-        String reactionText = reaction.getType() == ReactionType.LIKE ? "좋아요" : "싫어요";
-
-        Notification notification = Notification.builder()
-                .type(NotificationType.POST_LIKE)
-                .title("새로운 게시글 " + reactionText)
-                .content(reactionUser.getUsername() + "님이 회원님의 게시글에 " + reactionText + "를 눌렀습니다.")
-                .recipient(postAuthor)
-                .sender(reactionUser)
-                .post(reaction.getPost())
-                .comment(null)
-                .status(NotificationStatus.UNREAD)
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(postAuthor.getId(), convertToDto(savedNotification));
-        
-        log.info("게시글 좋아요 알림 생성 완료: 알림 ID={}, 수신자={}, 발신자={}", 
-                savedNotification.getId(), postAuthor.getUsername(), reactionUser.getUsername());
+    // 게시글 좋아요/싫어요 알림 생성 (게시글 작성자에게)
+    public void createPostLikeNotification(Long postId, Long senderId, ReactionType type) {
+        notificationDispatcher.publish(NotificationEvent.postReaction(postId, senderId, type));
     }
 
     // 게시글 업데이트 알림 생성
     public void createPostUpdateNotification(Post post) {
-        // 게시글 작성자 정보를 author 필드로 조회
-        User postAuthor = userRepository.findByUsername(post.getAuthor())
-                .orElse(null);
-        
-        // 게시글 작성자를 찾을 수 없으면 알림 생성하지 않음
-        if (postAuthor == null) {
-            return;
-        }
-        
-        // 게시글 작성자에게 업데이트 알림
-        Notification notification = Notification.builder()
-                .type(NotificationType.POST_UPDATE)
-                .title("게시글 업데이트")
-                .content("회원님의 게시글이 업데이트되었습니다.")
-                .recipient(postAuthor)
-                .post(post)
-                .status(NotificationStatus.UNREAD)
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(postAuthor.getId(), convertToDto(savedNotification));
+        notificationDispatcher.publish(NotificationEvent.postUpdate(post.getId()));
     }
 
     // 시스템 알림 생성
     public void createSystemNotification(User recipient, String title, String content) {
-        Notification notification = Notification.builder()
-                .type(NotificationType.SYSTEM)
-                .title(title)
-                .content(content)
-                .recipient(recipient)
-                .status(NotificationStatus.UNREAD)
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        
-        // 실시간 알림 전송
-        sendRealTimeNotification(recipient.getId(), convertToDto(savedNotification));
+        notificationDispatcher.publish(NotificationEvent.system(recipient.getId(), title, content));
     }
 
     // 사용자의 알림 조회 (페이징)
-    public PageResponseDto<NotificationResponseDto> getUserNotifications(PageRequestDto pageRequestDto) {
-        User currentUser = getCurrentUser();
-        Page<Notification> notificationPage = notificationRepository.findByRecipientOrderByCreatedAtDesc(
-                currentUser, pageRequestDto.toPageable());
+    public SliceResponseDto<NotificationResponseDto> getUserNotifications(PageRequestDto pageRequestDto) {
+        User currentUser = this.currentUser.reference();
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Notification> notificationPage = pageRequestDto.isWithTotal()
+                ? notificationRepository.findByRecipientOrderByCreatedAtDesc(currentUser, pageable)
+                : notificationRepository.findSliceByRecipientOrderByCreatedAtDesc(currentUser, pageable);
         
-        Page<NotificationResponseDto> responsePage = notificationPage.map(this::convertToDto);
-        return new PageResponseDto<>(responsePage);
+        UnreadCounter.ReadWatermark watermark = unreadCounter.watermark(currentUser.getId());
+        Slice<NotificationResponseDto> responsePage = notificationPage.map(notification -> convertToDto(notification, watermark));
+        return approximateTotalCache.toResponse(responsePage, "notifications:user:" + currentUser.getId());
     }
 
     // 읽지 않은 알림 조회
     public List<NotificationResponseDto> getUnreadNotifications() {
-        User currentUser = getCurrentUser();
-        List<Notification> notifications = notificationRepository.findByRecipientAndStatusOrderByCreatedAtDesc(
-                currentUser, NotificationStatus.UNREAD);
+        User currentUser = this.currentUser.reference();
+        UnreadCounter.ReadWatermark watermark = unreadCounter.watermark(currentUser.getId());
+        List<Notification> notifications = notificationRepository.findUnread(currentUser, watermark.id());
         
         return notifications.stream()
-                .map(this::convertToDto)
+                .map(notification -> convertToDto(notification, watermark))
                 .collect(Collectors.toList());
     }
 
-    // 읽지 않은 알림 개수 조회
+    // 읽지 않은 알림 개수 조회 (COUNT 없이 사용자별 카운터에서)
     public long getUnreadNotificationCount() {
-        User currentUser = getCurrentUser();
-        return notificationRepository.countByRecipientAndStatus(currentUser, NotificationStatus.UNREAD);
+        return unreadCounter.get(currentUser.require().id());
     }
 
-    // 알림을 읽음 상태로 변경
+    // 알림을 읽음 상태로 변경 (자신의 읽지 않은 알림만)
     public void markAsRead(Long notificationId) {
-        User currentUser = getCurrentUser();
-        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
-        
-        if (notificationOpt.isPresent()) {
-            Notification notification = notificationOpt.get();
-            // 자신의 알림만 읽음 처리 가능
-            if (notification.getRecipient().getId().equals(currentUser.getId())) {
-                notificationRepository.markAsRead(notificationId);
-            }
-        }
+        Long userId = currentUser.require().id();
+        unreadCounter.lock(userId);
+        int changed = notificationRepository.markAsRead(notificationId, userId, unreadCounter.watermark(userId).id());
+        unreadCounter.adjust(userId, -changed);
     }
 
-    // 모든 알림을 읽음 상태로 변경
+    // 모든 알림을 읽음 상태로 변경 (알림 행은 그대로 두고 워터마크 한 행만 갱신)
     public void markAllAsRead() {
-        User currentUser = getCurrentUser();
-        notificationRepository.markAllAsRead(currentUser.getId());
+        unreadCounter.markAllRead(currentUser.require().id());
     }
 
     // 알림 삭제
     public void deleteNotification(Long notificationId) {
-        User currentUser = getCurrentUser();
+        User currentUser = this.currentUser.reference();
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         
         if (notificationOpt.isPresent()) {
             Notification notification = notificationOpt.get();
             // 자신의 알림만 삭제 가능
             if (notification.getRecipient().getId().equals(currentUser.getId())) {
+                unreadCounter.lock(currentUser.getId());
+                UnreadCounter.ReadWatermark watermark = unreadCounter.watermark(currentUser.getId());
                 notificationRepository.delete(notification);
+                if (notification.getStatus() == NotificationStatus.UNREAD && !watermark.covers(notification.getId())) {
+                    unreadCounter.adjust(currentUser.getId(), -1);
+                }
             }
         }
     }
@@ -261,59 +143,60 @@ public class NotificationService {
     // 오래된 알림 정리 (30일 이상)
     public void cleanupOldNotifications() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        Map<Long, Integer> unreadDeltas = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadOlderThan(thirtyDaysAgo)) {
+            unreadDeltas.put((Long) row[0], -((Number) row[1]).intValue());
+        }
         notificationRepository.deleteOldNotifications(thirtyDaysAgo);
+        unreadCounter.adjust(unreadDeltas);
         log.info("30일 이상 된 알림을 정리했습니다.");
     }
 
     // 필터링된 알림 조회
-    public PageResponseDto<NotificationResponseDto> getFilteredNotifications(
+    public SliceResponseDto<NotificationResponseDto> getFilteredNotifications(
             PageRequestDto pageRequestDto, 
             NotificationType type, 
             NotificationStatus status, 
             LocalDateTime startDate, 
             LocalDateTime endDate) {
-        User currentUser = getCurrentUser();
+        User currentUser = this.currentUser.reference();
         Pageable pageable = pageRequestDto.toPageable();
         
-        Page<Notification> notificationPage;
+        UnreadCounter.ReadWatermark watermark = unreadCounter.watermark(currentUser.getId());
+        Boolean unread = status != null ? status == NotificationStatus.UNREAD : null;
+        Slice<Notification> notificationPage;
+        String totalKey;
         
         // 날짜 범위가 지정된 경우
         if (startDate != null && endDate != null) {
-            notificationPage = notificationRepository.findByDateRange(
-                    currentUser, startDate, endDate, pageable);
+            notificationPage = pageRequestDto.isWithTotal()
+                    ? notificationRepository.findByDateRange(currentUser, startDate, endDate, pageable)
+                    : notificationRepository.findSliceByDateRange(currentUser, startDate, endDate, pageable);
+            totalKey = "notifications:user:" + currentUser.getId() + ":range:" + startDate + ":" + endDate;
         } else {
-            // 타입과 상태만으로 필터링
-            notificationPage = notificationRepository.findByFilter(
-                    currentUser, type, status, pageable);
+            // 타입과 상태만으로 필터링 (전달된 조건만 WHERE 에 넣는다)
+            Specification<Notification> spec = NotificationSpecifications.forFilter(currentUser, type, unread, watermark.id());
+            notificationPage = pageRequestDto.isWithTotal()
+                    ? notificationRepository.search(spec, pageable)
+                    : notificationRepository.searchSlice(spec, pageable);
+            totalKey = "notifications:user:" + currentUser.getId() + ":filter:" + type + ":" + status;
         }
         
-        Page<NotificationResponseDto> responsePage = notificationPage.map(this::convertToDto);
-        return new PageResponseDto<>(responsePage);
+        Slice<NotificationResponseDto> responsePage = notificationPage.map(notification -> convertToDto(notification, watermark));
+        return approximateTotalCache.toResponse(responsePage, totalKey);
     }
 
     // 읽은 알림 일괄 삭제
     public void deleteReadNotifications() {
-        User currentUser = getCurrentUser();
-        notificationRepository.deleteReadNotifications(currentUser.getId());
-        log.info("읽은 알림들을 일괄 삭제했습니다. 사용자 ID: {}", currentUser.getId());
+        User currentUser = this.currentUser.reference();
+        int deleted = notificationRepository.deleteReadNotifications(
+                currentUser.getId(), unreadCounter.watermark(currentUser.getId()).id());
+        log.info("읽은 알림 {}개를 일괄 삭제했습니다. 사용자 ID: {}", deleted, currentUser.getId());
     }
 
-    // 실시간 알림 전송
-    private void sendRealTimeNotification(Long userId, NotificationResponseDto notification) {
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    userId.toString(),
-                    "/queue/notifications",
-                    notification
-            );
-            log.info("실시간 알림 전송 완료: 사용자 ID {}, 알림 ID {}", userId, notification.getId());
-        } catch (Exception e) {
-            log.error("실시간 알림 전송 실패: 사용자 ID {}, 오류: {}", userId, e.getMessage());
-        }
-    }
-
-    // DTO 변환
-    private NotificationResponseDto convertToDto(Notification notification) {
+    // DTO 변환 (워터마크 이하의 알림은 모두 읽음을 누른 시각에 읽은 것으로)
+    private NotificationResponseDto convertToDto(Notification notification, UnreadCounter.ReadWatermark watermark) {
+        boolean readByWatermark = notification.getStatus() == NotificationStatus.UNREAD && watermark.covers(notification.getId());
         return NotificationResponseDto.builder()
                 .id(notification.getId())
                 .type(notification.getType())
@@ -325,23 +208,12 @@ public class NotificationService {
                 .postTitle(notification.getPost() != null ? notification.getPost().getTitle() : null)
                 .commentId(notification.getComment() != null ? notification.getComment().getId() : null)
                 .commentContent(notification.getComment() != null ? notification.getComment().getContent() : null)
-                .status(notification.getStatus())
-                .readAt(notification.getReadAt())
+                .status(readByWatermark ? NotificationStatus.READ : notification.getStatus())
+                .readAt(readByWatermark ? watermark.at() : notification.getReadAt())
                 .createdAt(notification.getCreatedAt())
+                .actorCount(notification.getActorCount() != null ? notification.getActorCount() : 1)
+                .latestActors(NotificationCoalescer.splitActors(notification.getLatestActors()))
+                .updatedAt(notification.getUpdatedAt() != null ? notification.getUpdatedAt() : notification.getCreatedAt())
                 .build();
     }
-
-    // 현재 사용자 조회
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getName())) {
-            // 임시로 admin 사용자 반환 (테스트용)
-            return userRepository.findByUsername("admin")
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-        }
-        
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-    }
 }
@@ -2,16 +2,19 @@ package com.blog.toy.service;
 
 import com.blog.toy.domain.*;
 import com.blog.toy.dto.PostReactionDto;
+import com.blog.toy.dto.ReactionSummaryDto;
 import com.blog.toy.repository.PostReactionRepository;
 import com.blog.toy.repository.PostRepository;
-import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.AuthenticatedUser;
+import com.blog.toy.security.CurrentUser;
+import com.blog.toy.trending.TrendingPosts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,101 +27,110 @@ public class PostReactionService {
 
     private final PostReactionRepository postReactionRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final TrendingPosts trendingPosts;
+    private final CurrentUser currentUser;
 
     // 게시글에 반응 추가/수정
     public PostReactionDto addReaction(Long postId, ReactionType type) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = this.currentUser.require();
 
-        // 기존 반응 확인
-        Optional<PostReaction> existingReaction = postReactionRepository.findByPostAndUser(post, currentUser);
+        ReactionChange change = toggleReaction(postId, currentUser.id(), type, null);
+        log.info("게시글 반응 {} -> {}: 게시글 ID {}, 사용자 {}", change.previous(), change.current(), postId,
+                currentUser.username());
 
-        PostReaction reaction;
-        if (existingReaction.isPresent()) {
-            // 기존 반응이 있으면 수정
-            reaction = existingReaction.get();
-            ReactionType oldType = reaction.getType();
-
-            if (oldType == type) {
-                // 같은 타입이면 반응 취소
-                postReactionRepository.delete(reaction);
-                updatePostReactionCounts(post, oldType, false);
-                log.info("게시글 반응 취소: 게시글 ID {}, 사용자 {}, 타입 {}", postId, currentUser.getUsername(), type);
-                return createReactionDto(post, currentUser, null, false);
-            } else {
-                // 다른 타입이면 변경
-                reaction.setType(type);
-                updatePostReactionCounts(post, oldType, false);
-                updatePostReactionCounts(post, type, true);
-                log.info("게시글 반응 변경: 게시글 ID {}, 사용자 {}, {} -> {}", postId, currentUser.getUsername(), oldType, type);
-            }
-        } else {
-            // 새로운 반응 추가
-            reaction = PostReaction.builder().post(post).user(currentUser).type(type).build();
-            updatePostReactionCounts(post, type, true);
-            log.info("새 게시글 반응 추가: 게시글 ID {}, 사용자 {}, 타입 {}", postId, currentUser.getUsername(), type);
+        PostReaction reaction = null;
+        if (change.current() != null) {
+            reaction = postReactionRepository.findByPostAndUser(post, this.currentUser.reference()).orElse(null);
         }
 
-        PostReaction savedReaction = postReactionRepository.save(reaction);
-
-        // 좋아요 알림 생성 (게시글 작성자에게)
-        // Post 엔티티의 author는 String이므로 User 엔티티로 조회
-        User postAuthor = userRepository.findByUsername(post.getAuthor()).orElse(null);
-        if (type == ReactionType.LIKE && postAuthor != null && !currentUser.getId().equals(postAuthor.getId())) {
-            System.out.println("🔔 게시글 좋아요 알림 생성 시도: 게시글 ID=" + postId + ", 게시글 작성자=" + post.getAuthor() + ", 반응 사용자=" + currentUser.getUsername());
-            notificationService.createPostLikeNotification(savedReaction);
+        // 새 좋아요 알림 생성 (게시글 작성자에게, 본인 글 제외는 커밋 이후 NotificationDispatcher 에서 처리)
+        if (change.isAdded() && type == ReactionType.LIKE) {
+            notificationService.createPostLikeNotification(postId, currentUser.id(), type);
         }
 
-        return createReactionDto(post, currentUser, savedReaction, true);
+        applyCounts(postId, change);
+
+        return createReactionDto(post, currentUser, reaction, reaction != null);
     }
 
     // 게시글 반응 취소
     public PostReactionDto removeReaction(Long postId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = this.currentUser.require();
 
-        Optional<PostReaction> existingReaction = postReactionRepository.findByPostAndUser(post, currentUser);
+        Optional<PostReaction> existingReaction = postReactionRepository.findForUpdate(postId, currentUser.id());
 
         if (existingReaction.isPresent()) {
             PostReaction reaction = existingReaction.get();
             ReactionType type = reaction.getType();
 
             postReactionRepository.delete(reaction);
-            updatePostReactionCounts(post, type, false);
+            applyCounts(postId, new ReactionChange(type, null));
 
-            log.info("게시글 반응 삭제: 게시글 ID {}, 사용자 {}, 타입 {}", postId, currentUser.getUsername(), type);
+            log.info("게시글 반응 삭제: 게시글 ID {}, 사용자 {}, 타입 {}", postId, currentUser.username(), type);
         }
 
         return createReactionDto(post, currentUser, null, false);
     }
 
+    // (게시글, 사용자) 반응 토글 - 같은 타입이면 취소, 다른 타입이면 변경, 없으면 추가
+    // 반응 행은 INSERT ... ON CONFLICT DO NOTHING 으로 한 건만 만들고, 기존 행은 해당 행만 잠가 변경한다
+    // 좋아요/싫어요 수는 반영하지 않으므로 호출한 쪽에서 알림 등을 마친 뒤 applyCounts 로 반영한다
+    public ReactionChange toggleReaction(Long postId, Long userId, ReactionType type, Duration cooldown) {
+        LocalDateTime now = LocalDateTime.now();
+        if (postReactionRepository.insertIfAbsent(postId, userId, type.name(), now) == 1) {
+            return new ReactionChange(null, type);
+        }
+
+        Optional<PostReaction> existing = postReactionRepository.findForUpdate(postId, userId);
+        if (existing.isEmpty()) {
+            // 잠그기 전에 다른 요청이 취소한 경우 다시 추가 시도
+            boolean inserted = postReactionRepository.insertIfAbsent(postId, userId, type.name(), now) == 1;
+            return inserted ? new ReactionChange(null, type) : new ReactionChange(type, type);
+        }
+
+        PostReaction reaction = existing.get();
+        if (cooldown != null && reaction.getCreatedAt() != null
+                && reaction.getCreatedAt().isAfter(now.minus(cooldown))) {
+            throw new RuntimeException("좋아요/싫어요 기능은 " + cooldown.toMinutes() + "분 뒤에 수정이 가능합니다.");
+        }
+
+        ReactionType previous = reaction.getType();
+        if (previous == type) {
+            postReactionRepository.delete(reaction);
+            return new ReactionChange(previous, null);
+        }
+
+        reaction.setType(type);
+        reaction.setCreatedAt(now); // 쿨다운은 마지막 변경 시각 기준
+        return new ReactionChange(previous, type);
+    }
+
+    // 토글 결과만큼 게시글 좋아요/싫어요 수를 원자적으로 증감
+    public void applyCounts(Long postId, ReactionChange change) {
+        if (change.hasDelta()) {
+            postRepository.adjustReactionCounts(postId, change.likeDelta(), change.dislikeDelta());
+        }
+        if (change.likeDelta() > 0) {
+            trendingPosts.recordLike(postId);
+        }
+    }
+
     // 게시글 반응 조회
     public PostReactionDto getReaction(Long postId) {
         try {
             Post post = postRepository.findById(postId).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
             log.info("게시글 조회 성공: ID {}", postId);
 
-            // PostReaction 테이블 존재 여부 테스트
             try {
-                long totalReactions = postReactionRepository.count();
-                log.info("PostReaction 테이블 접근 성공, 총 반응 수: {}", totalReactions);
-            } catch (Exception e) {
-                log.error("PostReaction 테이블 접근 실패: {}", e.getMessage(), e);
-                // 테이블이 없거나 접근할 수 없는 경우 기본 응답 반환
-                return PostReactionDto.builder().id(null).postId(post.getId()).postTitle(post.getTitle()).userId(null)
-                        .username("시스템").type(null).createdAt(null).likeCount(0L).dislikeCount(0L).userLiked(false)
-                        .userDisliked(false).build();
-            }
-
-            try {
-                User currentUser = getCurrentUser();
-                log.info("현재 사용자 조회 성공: {}", currentUser.getUsername());
+                AuthenticatedUser currentUser = this.currentUser.require();
+                log.info("현재 사용자 조회 성공: {}", currentUser.username());
 
-                Optional<PostReaction> reaction = postReactionRepository.findByPostAndUser(post, currentUser);
+                Optional<PostReaction> reaction = postReactionRepository.findByPostAndUser(post, this.currentUser.reference());
                 log.info("사용자 반응 조회 완료: {}", reaction.isPresent());
 
                 return createReactionDto(post, currentUser, reaction.orElse(null), reaction.isPresent());
@@ -149,8 +161,7 @@ public class PostReactionService {
 
     // 사용자의 모든 반응 조회
     public List<PostReactionDto> getUserReactions() {
-        User currentUser = getCurrentUser();
-        List<PostReaction> reactions = postReactionRepository.findByUser(currentUser);
+        List<PostReaction> reactions = postReactionRepository.findByUser(currentUser.reference());
 
         return reactions.stream()
                 .map(reaction -> PostReactionDto.builder().id(reaction.getId()).postId(reaction.getPost().getId())
@@ -164,63 +175,43 @@ public class PostReactionService {
     public PostReactionDto getReactionStats(Long postId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-        User currentUser = getCurrentUser();
-        Optional<PostReaction> userReaction = postReactionRepository.findByPostAndUser(post, currentUser);
+        AuthenticatedUser currentUser = this.currentUser.require();
+        Optional<PostReaction> userReaction = postReactionRepository.findByPostAndUser(post, this.currentUser.reference());
 
         return createReactionDto(post, currentUser, userReaction.orElse(null), userReaction.isPresent());
     }
 
-    // 게시글 반응 개수 업데이트
-    private void updatePostReactionCounts(Post post, ReactionType type, boolean increment) {
-        if (type == ReactionType.LIKE) {
-            if (increment) {
-                post.incrementLikeCount();
-            } else {
-                post.decrementLikeCount();
-            }
-        } else if (type == ReactionType.DISLIKE) {
-            if (increment) {
-                post.incrementDislikeCount();
-            } else {
-                post.decrementDislikeCount();
-            }
+    // 여러 게시글의 반응 수와 현재 사용자의 반응을 한 번에 조회 (게시글 수와 무관하게 쿼리 2번)
+    @Transactional(readOnly = true)
+    public List<ReactionSummaryDto> getReactionSummaries(List<Long> postIds) {
+        List<Long> ids = ReactionSummaries.normalizeIds(postIds);
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        postRepository.save(post);
+        return summarize(ids, currentUser.username().orElse(null));
+    }
+
+    private List<ReactionSummaryDto> summarize(List<Long> postIds, String username) {
+        return ReactionSummaries.assemble(postIds,
+                postReactionRepository.countByPostIds(postIds),
+                username != null ? postReactionRepository.findTypesByPostIdsAndUsername(postIds, username) : List.of());
     }
 
     // 반응 DTO 생성
-    private PostReactionDto createReactionDto(Post post, User user, PostReaction reaction, boolean hasReaction) {
+    private PostReactionDto createReactionDto(Post post, AuthenticatedUser user, PostReaction reaction, boolean hasReaction) {
         try {
-            log.info("반응 DTO 생성 시작: 게시글 ID {}, 사용자 {}", post.getId(), user.getUsername());
+            log.info("반응 DTO 생성 시작: 게시글 ID {}, 사용자 {}", post.getId(), user.username());
 
-            // 반응 통계 조회 (더 안전한 방법)
-            Long likeCount = 0L;
-            Long dislikeCount = 0L;
-            try {
-                Object[] stats = postReactionRepository.getReactionStats(post);
-                likeCount = stats != null ? (Long) stats[0] : 0L;
-                dislikeCount = stats != null ? (Long) stats[1] : 0L;
-                log.info("반응 통계 조회 완료: 좋아요 {}, 싫어요 {}", likeCount, dislikeCount);
-            } catch (Exception e) {
-                log.warn("반응 통계 조회 실패, 기본값 사용: {}", e.getMessage());
-                // 대안으로 개별 카운트 사용
-                likeCount = (long) postReactionRepository.countByPostAndType(post, ReactionType.LIKE);
-                dislikeCount = (long) postReactionRepository.countByPostAndType(post, ReactionType.DISLIKE);
-            }
-
-            // 사용자의 반응 상태 확인
-            boolean userLiked = false;
-            boolean userDisliked = false;
-            try {
-                userLiked = postReactionRepository.existsByPostAndUserAndType(post, user, ReactionType.LIKE);
-                userDisliked = postReactionRepository.existsByPostAndUserAndType(post, user, ReactionType.DISLIKE);
-                log.info("사용자 반응 상태: 좋아요 {}, 싫어요 {}", userLiked, userDisliked);
-            } catch (Exception e) {
-                log.warn("사용자 반응 상태 확인 실패: {}", e.getMessage());
-            }
+            // 반응 통계와 사용자의 반응 상태를 일괄 조회 경로로 함께 조회 (쿼리 2번)
+            ReactionSummaryDto summary = summarize(List.of(post.getId()), user.username()).get(0);
+            Long likeCount = summary.getLikeCount();
+            Long dislikeCount = summary.getDislikeCount();
+            boolean userLiked = summary.isUserLiked();
+            boolean userDisliked = summary.isUserDisliked();
+            log.info("반응 통계 조회 완료: 좋아요 {}, 싫어요 {}", likeCount, dislikeCount);
 
             PostReactionDto dto = PostReactionDto.builder().id(reaction != null ? reaction.getId() : null)
-                    .postId(post.getId()).postTitle(post.getTitle()).userId(user.getId()).username(user.getUsername())
+                    .postId(post.getId()).postTitle(post.getTitle()).userId(user.id()).username(user.username())
                     .type(reaction != null ? reaction.getType() : null)
                     .createdAt(reaction != null ? reaction.getCreatedAt() : null).likeCount(likeCount)
                     .dislikeCount(dislikeCount).userLiked(userLiked).userDisliked(userDisliked).build();
@@ -267,39 +258,4 @@ public class PostReactionService {
                     .userDisliked(false).build();
         }
     }
-
-    // 현재 사용자 조회
-    private User getCurrentUser() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            log.info("인증 정보: {}", authentication != null ? authentication.getName() : "null");
-
-            if (authentication == null || !authentication.isAuthenticated()
-                    || "anonymousUser".equals(authentication.getName())) {
-                // 임시로 admin 사용자 반환 (테스트용)
-                Optional<User> adminUser = userRepository.findByUsername("admin");
-                if (adminUser.isPresent()) {
-                    log.info("기존 admin 사용자 사용");
-                    return adminUser.get();
-                } else {
-                    // admin 사용자가 없으면 생성
-                    log.info("새로운 admin 사용자 생성");
-                    User newAdmin = User.builder().username("admin").email("admin@example.com")
-                            .password("$2a$10$dXJ3SW6G7P50lGmMkkmwe.20cQQubK3.HZWzG3YB1tlRy.fqvM/BG") // "password"
-                            .name("관리자").role(User.Role.ADMIN).build();
-                    User savedAdmin = userRepository.save(newAdmin);
-                    log.info("admin 사용자 생성 완료: ID {}", savedAdmin.getId());
-                    return savedAdmin;
-                }
-            }
-
-            String username = authentication.getName();
-            log.info("인증된 사용자 조회: {}", username);
-            return userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + username));
-        } catch (Exception e) {
-            log.error("현재 사용자 조회 중 오류 발생: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
 }
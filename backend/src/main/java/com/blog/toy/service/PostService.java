@@ -2,40 +2,56 @@ package com.blog.toy.service;
 
 import com.blog.toy.domain.Category;
 import com.blog.toy.domain.Post;
-import com.blog.toy.domain.PostReaction;
-import com.blog.toy.domain.ReactionType;
 import com.blog.toy.domain.Tag;
 import com.blog.toy.domain.User;
 import com.blog.toy.dto.CommentResponseDto;
+import com.blog.toy.dto.CursorRequestDto;
+import com.blog.toy.dto.CursorResponseDto;
 import com.blog.toy.dto.PageRequestDto;
-import com.blog.toy.dto.PageResponseDto;
 import com.blog.toy.dto.PostReactionDto;
 import com.blog.toy.dto.PostRequestDto;
+import com.blog.toy.dto.PostCursor;
 import com.blog.toy.dto.PostResponseDto;
 import com.blog.toy.dto.SearchRequestDto;
+import com.blog.toy.dto.SliceResponseDto;
 import com.blog.toy.dto.category.CategoryResponseDto;
 import com.blog.toy.dto.file.FileResponseDto;
 import com.blog.toy.dto.tag.TagResponseDto;
 import com.blog.toy.repository.CategoryRepository;
 import com.blog.toy.repository.FileRepository;
-import com.blog.toy.repository.PostReactionRepository;
 import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.PostSpecifications;
 import com.blog.toy.repository.TagRepository;
-import com.blog.toy.repository.UserRepository;
+import com.blog.toy.search.PostSearchIndex;
+import com.blog.toy.search.SuggestionIndex;
+import com.blog.toy.security.AuthenticatedUser;
+import com.blog.toy.security.CurrentUser;
+import com.blog.toy.trending.TrendingPosts;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -56,10 +72,7 @@ public class PostService {
     private TagService tagService;
 
     @Autowired
-    private PostReactionRepository postReactionRepository;
-
-    @Autowired
-    private UserRepository userRepository;
+    private PostReactionService postReactionService;
 
     @Autowired
     private NotificationService notificationService;
@@ -67,6 +80,36 @@ public class PostService {
     @Autowired
     private FileRepository fileRepository;
 
+    @Autowired
+    private ApproximateTotalCache approximateTotalCache;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private TrendingPosts trendingPosts;
+
+    @Autowired
+    private CategoryTree categoryTree;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    // 색인 검색 결과를 DB 정렬로 페이징할 때 IN 절에 넣을 최대 id 수 (초과 시 SQL 검색으로 대체)
+    private static final int MAX_INDEX_HITS_FOR_SQL_SORT = 1000;
+
+    // 좋아요/싫어요 변경 쿨다운
+    private static final Duration REACTION_COOLDOWN = Duration.ofMinutes(5);
+
+    // 커서 페이지 최대 크기 (댓글 스레드 커서와 같은 상한)
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     // 전체 게시글 조회
     public List<Post> findAll() {
         return postRepository.findAll();
@@ -80,13 +123,13 @@ public class PostService {
     // 게시글 생성
     public PostResponseDto createPost(PostRequestDto postRequestDto) {
         // 현재 사용자 정보 가져오기
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = this.currentUser.require();
         
         Post post = Post.builder()
                 .title(postRequestDto.getTitle())
                 .content(postRequestDto.getContent())
                 .author(postRequestDto.getAuthor())
-                .authorId(currentUser.getId())  // 작성자 ID 설정
+                .authorId(currentUser.id())  // 작성자 ID 설정
                 .status(postRequestDto.getStatus())
                 .viewCount(0)
                 .build();
@@ -102,6 +145,7 @@ public class PostService {
         if (postRequestDto.getTagNames() != null && !postRequestDto.getTagNames().isEmpty()) {
             List<Tag> tags = tagService.findOrCreateTags(postRequestDto.getTagNames());
             post.setTags(tags);
+            tagService.invalidateCounts();
         }
 
         Post savedPost = postRepository.save(post);
@@ -119,6 +163,12 @@ public class PostService {
             }
         }
 
+        postSearchIndex.index(savedPost);
+        trendingPosts.register(savedPost);
+        suggestionIndex.indexPost(savedPost);
+        if (savedPost.getCategory() != null) {
+            categoryTree.invalidate();
+        }
         return convertToResponseDto(savedPost);
     }
 
@@ -130,11 +180,11 @@ public class PostService {
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다: " + id));
 
         // 권한 확인 (작성자 또는 ADMIN만 수정 가능)
-        User currentUser = getCurrentUser();
-        System.out.println("🔧 현재 사용자: " + currentUser.getUsername() + " (ID: " + currentUser.getId() + ", Role: " + currentUser.getRole() + ")");
+        AuthenticatedUser currentUser = this.currentUser.require();
+        System.out.println("🔧 현재 사용자: " + currentUser.username() + " (ID: " + currentUser.id() + ", Role: " + currentUser.role() + ")");
         System.out.println("🔧 게시글 작성자: " + post.getAuthor() + " (ID: " + post.getAuthorId() + ")");
         
-        if (!post.getAuthor().equals(currentUser.getUsername()) && !User.Role.ADMIN.equals(currentUser.getRole())) {
+        if (!post.getAuthor().equals(currentUser.username()) && !User.Role.ADMIN.equals(currentUser.role())) {
             System.out.println("❌ 권한 없음 - 게시글 수정 실패");
             throw new RuntimeException("게시글 수정 권한이 없습니다.");
         }
@@ -147,6 +197,7 @@ public class PostService {
         post.setStatus(postRequestDto.getStatus());
 
         // 카테고리 설정
+        Long previousCategoryId = post.getCategory() != null ? post.getCategory().getId() : null;
         if (postRequestDto.getCategoryId() != null) {
             Category category = categoryRepository.findById(postRequestDto.getCategoryId())
                     .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + postRequestDto.getCategoryId()));
@@ -154,6 +205,9 @@ public class PostService {
         } else {
             post.setCategory(null);
         }
+        if (!Objects.equals(previousCategoryId, postRequestDto.getCategoryId())) {
+            categoryTree.invalidate();
+        }
 
         // 태그 설정
         if (postRequestDto.getTagNames() != null) {
@@ -162,15 +216,24 @@ public class PostService {
                 List<Tag> tags = tagService.findOrCreateTags(postRequestDto.getTagNames());
                 post.setTags(tags);
             }
+            tagService.invalidateCounts();
         }
 
         Post updatedPost = postRepository.save(post);
+        postSearchIndex.index(updatedPost);
+        trendingPosts.register(updatedPost);
+        suggestionIndex.indexPost(updatedPost);
         return convertToResponseDto(updatedPost);
     }
 
     // 게시글 삭제
     public void delete(Long id) {
         postRepository.deleteById(id);
+        postSearchIndex.remove(id);
+        trendingPosts.remove(id);
+        suggestionIndex.removePost(id);
+        categoryTree.invalidate();
+        tagService.invalidateCounts();
     }
 
     // 게시글 검색
@@ -179,106 +242,145 @@ public class PostService {
     }
     
     // 페이징을 통한 게시글 조회
-    public PageResponseDto<PostResponseDto> findAllWithPaging(PageRequestDto pageRequestDto) {
-        Page<Post> postPage = postRepository.findAll(pageRequestDto.toPageable());
+    public SliceResponseDto<PostResponseDto> findAllWithPaging(PageRequestDto pageRequestDto) {
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findAll(pageable)
+                : postRepository.findSliceBy(pageable);
         
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+        return toPageResponse(postPage, "posts");
     }
     
     // 페이징을 통한 게시글 검색
-    public PageResponseDto<PostResponseDto> searchWithPaging(String keyword, PageRequestDto pageRequestDto) {
-        Page<Post> postPage = postRepository.findByTitleContainingOrContentContaining(
-            keyword, keyword, pageRequestDto.toPageable());
-        
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
+    public SliceResponseDto<PostResponseDto> searchWithPaging(String keyword, PageRequestDto pageRequestDto) {
+        SearchRequestDto searchRequestDto = SearchRequestDto.builder()
+                .keyword(keyword)
+                .sortBy(pageRequestDto.getSortBy())
+                .sortDirection(pageRequestDto.getSortDirection())
+                .page(pageRequestDto.getPage())
+                .size(pageRequestDto.getSize())
+                .build();
+        // 태그 조건이 없으므로 태그 id 목록은 null
+        Optional<SliceResponseDto<PostResponseDto>> indexed = searchWithIndex(searchRequestDto, null);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findByTitleContainingOrContentContaining(keyword, keyword, pageable)
+                : postRepository.findSliceByTitleContainingOrContentContaining(keyword, keyword, pageable);
         
-        return new PageResponseDto<>(postResponseDtoPage);
+        return toPageResponse(postPage, "posts:search:" + keyword);
     }
 
-    // 카테고리별 게시글 조회
-    public PageResponseDto<PostResponseDto> findByCategory(Long categoryId, PageRequestDto pageRequestDto) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + categoryId));
-        
-        Page<Post> postPage = postRepository.findByCategory(category, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+    // 카테고리별 게시글 조회 (하위 카테고리 게시글 포함)
+    public SliceResponseDto<PostResponseDto> findByCategory(Long categoryId, PageRequestDto pageRequestDto) {
+        return findByCategories(List.of(categoryId), pageRequestDto);
     }
 
-    // 카테고리명으로 게시글 조회
-    public PageResponseDto<PostResponseDto> findByCategoryName(String categoryName, PageRequestDto pageRequestDto) {
-        Category category = categoryRepository.findByName(categoryName)
-                .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + categoryName));
-        
-        Page<Post> postPage = postRepository.findByCategory(category, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+    // 카테고리명으로 게시글 조회 (하위 카테고리 게시글 포함)
+    public SliceResponseDto<PostResponseDto> findByCategoryName(String categoryName, PageRequestDto pageRequestDto) {
+        return findByCategoryNames(new String[] { categoryName }, pageRequestDto);
     }
 
-    // 다중 카테고리명으로 게시글 조회
-    public PageResponseDto<PostResponseDto> findByCategoryNames(String[] categoryNames, PageRequestDto pageRequestDto) {
-        List<Category> categories = new ArrayList<>();
+    // 다중 카테고리명으로 게시글 조회 (하위 카테고리 게시글 포함)
+    public SliceResponseDto<PostResponseDto> findByCategoryNames(String[] categoryNames, PageRequestDto pageRequestDto) {
+        List<Long> categoryIds = new ArrayList<>();
         
         for (String categoryName : categoryNames) {
-            Category category = categoryRepository.findByName(categoryName.trim())
+            // 다른 인스턴스에서 만든 카테고리면 스냅샷을 다시 만든다
+            CategoryTree.Node category = categoryTree.currentContainingName(categoryName.trim())
+                    .findByName(categoryName.trim())
                     .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + categoryName));
-            categories.add(category);
+            categoryIds.add(category.id());
         }
         
-        Page<Post> postPage = postRepository.findByCategoryIn(categories, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+        return findByCategories(categoryIds, pageRequestDto);
     }
 
-    // 다중 카테고리 ID로 게시글 조회
-    public PageResponseDto<PostResponseDto> findByCategoryIds(List<Long> categoryIds, PageRequestDto pageRequestDto) {
-        List<Category> categories = new ArrayList<>();
+    // 다중 카테고리 ID로 게시글 조회 (하위 카테고리 게시글 포함)
+    public SliceResponseDto<PostResponseDto> findByCategoryIds(List<Long> categoryIds, PageRequestDto pageRequestDto) {
+        return findByCategories(categoryIds, pageRequestDto);
+    }
+
+    // 카테고리 목록으로 게시글 조회
+    // 카테고리 트리 스냅샷의 하위 카테고리 id 목록으로 펼쳐 category_id IN (...) 쿼리 한 번으로 조회 (깊이 제한 없음)
+    private SliceResponseDto<PostResponseDto> findByCategories(List<Long> categoryIds, PageRequestDto pageRequestDto) {
+        List<Long> subtreeIds = resolveCategorySubtrees(categoryIds);
+        Pageable pageable = pageRequestDto.toPageable();
+        String totalKey = "posts:category:" + categoryIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
         
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findByCategoryIdIn(subtreeIds, pageable)
+                : postRepository.findSliceByCategoryIdIn(subtreeIds, pageable);
+        return toPageResponse(postPage, totalKey);
+    }
+
+    // 카테고리 id 들을 하위 카테고리까지 펼친 목록 (스냅샷에 없으면 DB 에서 확인하고, DB 에도 없으면 예외)
+    private List<Long> resolveCategorySubtrees(List<Long> categoryIds) {
+        CategoryTree.Snapshot tree = categoryTree.currentContaining(categoryIds);
         for (Long categoryId : categoryIds) {
-            Category category = categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + categoryId));
-            categories.add(category);
+            if (tree.find(categoryId).isEmpty()) {
+                throw new RuntimeException("카테고리를 찾을 수 없습니다: " + categoryId);
+            }
         }
-        
-        Page<Post> postPage = postRepository.findByCategoryIn(categories, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+        return tree.subtreeIds(categoryIds);
     }
 
     // 태그별 게시글 조회
-    public PageResponseDto<PostResponseDto> findByTags(List<String> tagNames, PageRequestDto pageRequestDto) {
+    public SliceResponseDto<PostResponseDto> findByTags(List<String> tagNames, PageRequestDto pageRequestDto) {
         List<Tag> tags = tagRepository.findByNamesIn(tagNames);
+        Pageable pageable = pageRequestDto.toPageable();
+        String totalKey = "posts:tags:" + String.join(",", tagNames);
         if (tags.isEmpty()) {
-            return new PageResponseDto<>(Page.empty(pageRequestDto.toPageable()));
+            // 일치하는 태그가 없으면 조회 없이 빈 결과 (응답 형태는 withTotal 에 맞춘다)
+            Slice<Post> empty = pageRequestDto.isWithTotal()
+                    ? Page.empty(pageable)
+                    : new SliceImpl<>(List.of(), pageable, false);
+            return toPageResponse(empty, totalKey);
         }
         
-        Page<Post> postPage = postRepository.findByTags(tags, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findByTags(tags, pageable)
+                : postRepository.findSliceByTags(tags, pageable);
+        return toPageResponse(postPage, totalKey);
     }
 
     // 상태별 게시글 조회
-    public PageResponseDto<PostResponseDto> findByStatus(Post.PostStatus status, PageRequestDto pageRequestDto) {
-        Page<Post> postPage = postRepository.findByStatus(status, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        
-        return new PageResponseDto<>(postResponseDtoPage);
+    public SliceResponseDto<PostResponseDto> findByStatus(Post.PostStatus status, PageRequestDto pageRequestDto) {
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findByStatus(status, pageable)
+                : postRepository.findSliceByStatus(status, pageable);
+        return toPageResponse(postPage, "posts:status:" + status);
     }
 
-    // 조회수 증가
-    @Transactional
+    // === 커서(키셋) 기반 페이징 ===
+    // OFFSET 없이 마지막으로 본 (정렬 값, id) 이후부터 조회하므로 몇 번째 페이지든 비용이 같다
+
+    // 커서 기반 게시글 조회
+    public CursorResponseDto<PostResponseDto> findAllWithCursor(CursorRequestDto cursorRequestDto) {
+        return scrollPosts(PostSpecifications.all(), cursorRequestDto);
+    }
+
+    // 커서 기반 카테고리별 게시글 조회
+    public CursorResponseDto<PostResponseDto> findByCategoryWithCursor(Long categoryId, CursorRequestDto cursorRequestDto) {
+        List<Long> subtreeIds = resolveCategorySubtrees(List.of(categoryId));
+        return scrollPosts(PostSpecifications.inCategories(subtreeIds), cursorRequestDto);
+    }
+
+    // 커서 기반 태그별 게시글 조회
+    public CursorResponseDto<PostResponseDto> findByTagsWithCursor(List<String> tagNames, CursorRequestDto cursorRequestDto) {
+        return scrollPosts(PostSpecifications.hasAnyTag(tagNames), cursorRequestDto);
+    }
+
+    // 조회수 증가 (버퍼에 모아 두었다가 주기적으로 한 번에 DB 반영)
     public void incrementViewCount(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다: " + id));
-        post.incrementViewCount();
-        postRepository.save(post);
+        viewCountBuffer.increment(id);
+        trendingPosts.recordView(id);
     }
    
     // 게시글과 해당 게시글의 댓글을 포함한 DTO 반환
@@ -296,195 +398,218 @@ public class PostService {
 
         PostResponseDto responseDto = convertToResponseDto(post);
         responseDto.setComments(commentDtos);
+        // 아직 DB 에 반영되지 않은 조회수까지 포함
+        long pendingViews = viewCountBuffer.pendingCount(id);
+        if (pendingViews > 0) {
+            int storedViews = responseDto.getViewCount() != null ? responseDto.getViewCount() : 0;
+            responseDto.setViewCount((int) (storedViews + pendingViews));
+        }
         return responseDto;
     }
 
     // === 고급 검색 기능 ===
     
     // 고급 검색 (복합 조건)
-    public PageResponseDto<PostResponseDto> advancedSearch(SearchRequestDto searchRequestDto) {
-        // Pageable 생성
-        Pageable pageable = createPageable(searchRequestDto);
-        
-        // 검색 조건에 따른 분기 처리
-        Page<Post> postPage;
+    public SliceResponseDto<PostResponseDto> advancedSearch(SearchRequestDto searchRequestDto) {
+        // 태그 조건은 색인/SQL 검색 모두 같은 활성 태그 id 목록으로 거른다
+        List<Long> tagIds = resolveTagIds(searchRequestDto);
         
+        // 키워드 검색은 인메모리 색인으로 처리 (색인 준비 전이거나 색인할 수 없는 키워드면 아래 SQL 검색으로 대체)
         if (StringUtils.hasText(searchRequestDto.getKeyword())) {
-            // 키워드가 있는 경우
-            if (searchRequestDto.getCategoryId() != null && searchRequestDto.getTagNames() != null && !searchRequestDto.getTagNames().isEmpty()) {
-                // 키워드 + 카테고리 + 태그
-                postPage = postRepository.findByAdvancedSearch(
-                    searchRequestDto.getKeyword(),
-                    searchRequestDto.getCategoryId(),
-                    searchRequestDto.getTagNames(),
-                    searchRequestDto.getStatus(),
-                    pageable
-                );
-            } else if (searchRequestDto.getCategoryId() != null) {
-                // 키워드 + 카테고리
-                postPage = postRepository.findByKeywordAndCategory(
-                    searchRequestDto.getKeyword(),
-                    searchRequestDto.getCategoryId(),
-                    pageable
-                );
-            } else if (searchRequestDto.getTagNames() != null && !searchRequestDto.getTagNames().isEmpty()) {
-                // 키워드 + 태그
-                postPage = postRepository.findByKeywordAndTags(
-                    searchRequestDto.getKeyword(),
-                    searchRequestDto.getTagNames(),
-                    pageable
-                );
-            } else if (searchRequestDto.getStatus() != null) {
-                // 키워드 + 상태
-                postPage = postRepository.findByKeywordAndStatus(
-                    searchRequestDto.getKeyword(),
-                    searchRequestDto.getStatus(),
-                    pageable
-                );
-            } else {
-                // 키워드만
-                postPage = postRepository.findByKeyword(searchRequestDto.getKeyword(), pageable);
-            }
-        } else {
-            // 키워드가 없는 경우
-            if (searchRequestDto.getCategoryId() != null && searchRequestDto.getTagNames() != null && !searchRequestDto.getTagNames().isEmpty()) {
-                // 카테고리 + 태그 - 복합 검색 사용
-                postPage = postRepository.findByAdvancedSearch(
-                    null,
-                    searchRequestDto.getCategoryId(),
-                    searchRequestDto.getTagNames(),
-                    searchRequestDto.getStatus(),
-                    pageable
-                );
-            } else if (searchRequestDto.getCategoryId() != null) {
-                // 카테고리만
-                postPage = postRepository.findByCategoryId(searchRequestDto.getCategoryId(), pageable);
-            } else if (searchRequestDto.getTagNames() != null && !searchRequestDto.getTagNames().isEmpty()) {
-                // 태그만
-                postPage = postRepository.findByTagNames(searchRequestDto.getTagNames(), pageable);
-            } else if (searchRequestDto.getStatus() != null) {
-                // 상태만
-                postPage = postRepository.findByStatus(searchRequestDto.getStatus(), pageable);
-            } else {
-                // 조건 없음 - 전체 조회
-                postPage = postRepository.findAll(pageable);
+            Optional<SliceResponseDto<PostResponseDto>> indexed = searchWithIndex(searchRequestDto, tagIds);
+            if (indexed.isPresent()) {
+                return indexed.get();
             }
         }
         
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        return new PageResponseDto<>(postResponseDtoPage);
+        // 전달된 조건만 조합한 단일 쿼리로 검색
+        Pageable pageable = createPageable(searchRequestDto);
+        if (tagIds != null && tagIds.isEmpty()) {
+            return toPageResponse(Page.empty(pageable), "posts:advanced:" + searchKey(searchRequestDto));
+        }
+        Specification<Post> spec = PostSpecifications.forSearch(searchRequestDto, tagIds);
+        Slice<Post> postPage = searchRequestDto.isWithTotal()
+                ? postRepository.search(spec, pageable)
+                : postRepository.searchSlice(spec, pageable);
+        
+        return toPageResponse(postPage, "posts:advanced:" + searchKey(searchRequestDto));
     }
     
-    // 인기 게시글 조회 (조회수 높은 순)
-    public PageResponseDto<PostResponseDto> findPopularPosts(PageRequestDto pageRequestDto) {
+    // 인기 게시글 조회 (조회/좋아요/댓글에 시간 감쇠를 적용한 점수 순, categoryId 가 있으면 해당 카테고리와 하위 카테고리만)
+    // 순위는 메모리 랭킹(TrendingPosts)에서 바로 가져오고 현재 페이지 게시글만 조회한다
+    // 랭킹이 아직 준비되지 않았거나 비어 있으면 최근 30일 조회수 순 DB 조회로 대체
+    public SliceResponseDto<PostResponseDto> findPopularPosts(PageRequestDto pageRequestDto, Long categoryId) {
+        Pageable pageable = pageRequestDto.toPageable();
+        List<Long> ranked = trendingPosts.isReady() ? trendingPosts.top(categoryId) : List.of();
+        if (!ranked.isEmpty()) {
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = Math.min(from + pageable.getPageSize(), ranked.size());
+            List<Long> pageIds = ranked.subList(from, to);
+
+            // 태그까지 함께 조회 (toPageResponse 는 로딩된 태그를 다시 조회하지 않음)
+            Map<Long, Post> postsById = pageIds.isEmpty() ? Map.of() : postRepository.findWithTagsByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(Post::getId, post -> post));
+            List<Post> posts = pageIds.stream()
+                    .map(postsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+
+            // 랭킹 크기가 곧 전체 건수 (최대 top-K)
+            return toPageResponse(new PageImpl<>(posts, pageable, ranked.size()), "posts:popular:" + categoryId);
+        }
+
         java.time.LocalDateTime thirtyDaysAgo = java.time.LocalDateTime.now().minusDays(30);
-        Page<Post> postPage = postRepository.findPopularPosts(thirtyDaysAgo, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        return new PageResponseDto<>(postResponseDtoPage);
+        Slice<Post> postPage;
+        if (categoryId != null) {
+            // 랭킹과 같이 하위 카테고리 게시글 포함
+            List<Long> subtreeIds = resolveCategorySubtrees(List.of(categoryId));
+            Pageable byViews = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "viewCount"));
+            postPage = pageRequestDto.isWithTotal()
+                    ? postRepository.findByCategoryIdIn(subtreeIds, byViews)
+                    : postRepository.findSliceByCategoryIdIn(subtreeIds, byViews);
+        } else {
+            postPage = pageRequestDto.isWithTotal()
+                    ? postRepository.findPopularPosts(thirtyDaysAgo, pageable)
+                    : postRepository.findSlicePopularPosts(thirtyDaysAgo, pageable);
+        }
+        return toPageResponse(postPage, "posts:popular:" + categoryId);
     }
     
     // 최근 게시글 조회 (최근 7일)
-    public PageResponseDto<PostResponseDto> findRecentPosts(PageRequestDto pageRequestDto) {
+    public SliceResponseDto<PostResponseDto> findRecentPosts(PageRequestDto pageRequestDto) {
         java.time.LocalDateTime sevenDaysAgo = java.time.LocalDateTime.now().minusDays(7);
-        Page<Post> postPage = postRepository.findRecentPosts(sevenDaysAgo, pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        return new PageResponseDto<>(postResponseDtoPage);
+        Pageable pageable = pageRequestDto.toPageable();
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findRecentPosts(sevenDaysAgo, pageable)
+                : postRepository.findSliceRecentPosts(sevenDaysAgo, pageable);
+        return toPageResponse(postPage, "posts:recent");
     }
     
-    // 댓글 많은 순으로 정렬
-    public PageResponseDto<PostResponseDto> findPostsByCommentCount(PageRequestDto pageRequestDto) {
-        Page<Post> postPage = postRepository.findAllOrderByCommentCountDesc(pageRequestDto.toPageable());
-        Page<PostResponseDto> postResponseDtoPage = postPage.map(this::convertToResponseDto);
-        return new PageResponseDto<>(postResponseDtoPage);
+    // 댓글 많은 순으로 정렬 (유지되는 comment_count 컬럼 인덱스 사용, 같은 수는 최신 id 순)
+    public SliceResponseDto<PostResponseDto> findPostsByCommentCount(PageRequestDto pageRequestDto) {
+        Pageable pageable = PageRequest.of(pageRequestDto.getPage(), pageRequestDto.getSize(),
+                Sort.by(Sort.Direction.DESC, "commentCount").and(Sort.by(Sort.Direction.DESC, "id")));
+        Slice<Post> postPage = pageRequestDto.isWithTotal()
+                ? postRepository.findAll(pageable)
+                : postRepository.findSliceBy(pageable);
+        return toPageResponse(postPage, "posts:comment-count");
     }
 
     // 게시글 반응 (좋아요/싫어요)
+    // 반응 행은 (게시글, 사용자) 유니크 upsert, 좋아요/싫어요 수는 원자적 UPDATE 로 반영한다
     public PostResponseDto reactToPost(PostReactionDto reactionDto) {
-        Post post = postRepository.findById(reactionDto.getPostId())
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        Long postId = reactionDto.getPostId();
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다.");
+        }
+        if (reactionDto.getType() == null) {
+            throw new RuntimeException("잘못된 반응 타입입니다.");
+        }
 
-        User currentUser = getCurrentUser();
+        Long userId = currentUser.require().id();
 
-        // 기존 반응 확인
-        Optional<PostReaction> existingReaction = postReactionRepository.findByPostAndUser(post, currentUser);
+        // 기존 반응 변경/취소는 5분 쿨다운
+        ReactionChange change = postReactionService.toggleReaction(postId, userId,
+                reactionDto.getType(), REACTION_COOLDOWN);
 
-        if (existingReaction.isPresent()) {
-            PostReaction reaction = existingReaction.get();
-            
-                                  // 5분 쿨다운 체크
-                      LocalDateTime fiveMinutesAgo = LocalDateTime.now().minusMinutes(5);
-                      if (reaction.getCreatedAt().isAfter(fiveMinutesAgo)) {
-                          throw new RuntimeException("좋아요/싫어요 기능은 5분 뒤에 수정이 가능합니다.");
-                      }
-            
-            // 같은 반응이면 취소
-            if (reaction.getType() == reactionDto.getType()) {
-                if (reactionDto.getType() == ReactionType.LIKE) {
-                    post.decrementLikeCount();
-                } else {
-                    post.decrementDislikeCount();
-                }
-                postReactionRepository.delete(reaction);
-            } else {
-                // 다른 반응이면 변경
-                if (reaction.getType() == ReactionType.LIKE) {
-                    post.decrementLikeCount();
-                } else {
-                    post.decrementDislikeCount();
-                }
-                
-                if (reactionDto.getType() == ReactionType.LIKE) {
-                    post.incrementLikeCount();
-                } else {
-                    post.incrementDislikeCount();
-                }
-                
-                reaction.setType(reactionDto.getType());
-                reaction.setCreatedAt(LocalDateTime.now()); // 시간 업데이트
-                postReactionRepository.save(reaction);
-            }
-        } else {
-            // 새로운 반응 추가
-            PostReaction newReaction = PostReaction.builder()
-                    .post(post)
-                    .user(currentUser)
-                    .type(reactionDto.getType())
-                    .build();
-            
-            if (reactionDto.getType() == ReactionType.LIKE) {
-                post.incrementLikeCount();
-            } else {
-                post.incrementDislikeCount();
-            }
-            
-            postReactionRepository.save(newReaction);
-            
-            // 새로운 반응에 대한 알림 생성
-            notificationService.createPostLikeNotification(newReaction);
+        // 새로운 반응에 대한 알림 생성
+        if (change.isAdded()) {
+            notificationService.createPostLikeNotification(postId, userId, reactionDto.getType());
         }
 
-        postRepository.save(post);
+        // 카운터 행 잠금을 가장 짧게 잡도록 마지막에 반영
+        postReactionService.applyCounts(postId, change);
+
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
         return convertToResponseDto(post);
     }
 
-    // 현재 사용자 조회
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("🔍 Authentication: " + authentication);
-        System.out.println("🔍 Authentication name: " + (authentication != null ? authentication.getName() : "null"));
-        System.out.println("🔍 Is authenticated: " + (authentication != null ? authentication.isAuthenticated() : "null"));
-        
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getName())) {
-            System.out.println("⚠️ JWT 인증 실패 - admin 사용자로 대체");
-            // 임시로 admin 사용자 반환 (테스트용)
-            return userRepository.findByUsername("admin")
-                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    // 근사 전체 개수 캐시 키 (검색 조건 전체)
+    private String searchKey(SearchRequestDto searchRequestDto) {
+        return searchRequestDto.getKeyword()
+                + ":" + searchRequestDto.allCategoryIds()
+                + ":" + searchRequestDto.getTagNames()
+                + ":" + (searchRequestDto.matchAllTags() ? "all" : "any")
+                + ":" + searchRequestDto.getStatus()
+                + ":" + searchRequestDto.getAuthor()
+                + ":" + searchRequestDto.getCreatedFrom()
+                + ":" + searchRequestDto.getCreatedTo();
+    }
+    
+    // 검색 태그명을 활성 태그 id 로 변환 (태그 조건이 없으면 null, 일치하는 게시글이 있을 수 없으면 빈 목록)
+    private List<Long> resolveTagIds(SearchRequestDto searchRequestDto) {
+        if (searchRequestDto.getTagNames() == null || searchRequestDto.getTagNames().isEmpty()) {
+            return null;
         }
-        
-        String username = authentication.getName();
-        System.out.println("✅ JWT 인증 성공 - 사용자: " + username);
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        List<Tag> tags = tagRepository.findByNamesIn(searchRequestDto.getTagNames());
+        // 모든 태그 일치인데 없는 (또는 비활성) 태그가 섞여 있으면 결과 없음
+        if (searchRequestDto.matchAllTags() && tags.size() < new HashSet<>(searchRequestDto.getTagNames()).size()) {
+            return List.of();
+        }
+        return tags.stream()
+                .map(Tag::getId)
+                .collect(Collectors.toList());
+    }
+    
+    // 검색 색인으로 키워드 검색 (카테고리/태그/상태/작성자/기간 필터는 색인에서 처리)
+    private Optional<SliceResponseDto<PostResponseDto>> searchWithIndex(SearchRequestDto searchRequestDto, List<Long> tagIds) {
+        String sortBy = searchRequestDto.getSortBy() != null ? searchRequestDto.getSortBy().toLowerCase() : "createdat";
+        boolean desc = !"asc".equalsIgnoreCase(searchRequestDto.getSortDirection());
+        PostSearchIndex.Order order = switch (sortBy) {
+            case "relevance" -> PostSearchIndex.Order.RELEVANCE;
+            case "createdat" -> desc ? PostSearchIndex.Order.LATEST : PostSearchIndex.Order.OLDEST;
+            // 제목/조회수/댓글 수 정렬은 색인 결과 id 로 DB 에서 정렬
+            case "title", "viewcount", "commentcount" -> null;
+            default -> PostSearchIndex.Order.LATEST;
+        };
+
+        PostSearchIndex.Filter filter = new PostSearchIndex.Filter(
+                searchRequestDto.allCategoryIds(),
+                tagIds,
+                searchRequestDto.matchAllTags(),
+                searchRequestDto.getStatus(),
+                StringUtils.hasText(searchRequestDto.getAuthor()) ? searchRequestDto.getAuthor() : null,
+                searchRequestDto.getCreatedFrom(),
+                searchRequestDto.getCreatedTo());
+        Optional<List<Long>> hits = postSearchIndex.search(
+                searchRequestDto.getKeyword(),
+                filter,
+                order != null ? order : PostSearchIndex.Order.RELEVANCE);
+        if (hits.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Long> ids = hits.get();
+        String totalKey = "posts:index:" + searchKey(searchRequestDto);
+
+        if (order == null) {
+            if (ids.size() > MAX_INDEX_HITS_FOR_SQL_SORT) {
+                return Optional.empty();
+            }
+            Pageable pageable = createPageable(searchRequestDto);
+            Page<Post> postPage = ids.isEmpty()
+                    ? Page.empty(pageable)
+                    : postRepository.findByIdIn(ids, pageable);
+            return Optional.of(toPageResponse(postPage, totalKey));
+        }
+
+        // 색인에서 정렬된 id 를 잘라 현재 페이지의 게시글만 조회
+        Pageable pageable = PageRequest.of(
+                searchRequestDto.getPage() != null ? searchRequestDto.getPage() : 0,
+                searchRequestDto.getSize() != null ? searchRequestDto.getSize() : 10);
+        List<Long> pageIds = PostSearchIndex.page(ids, pageable);
+
+        Map<Long, Post> postsById = postRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Post::getId, post -> post));
+        List<Post> posts = pageIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        // 전체 건수는 색인에서 이미 알고 있으므로 withTotal 과 무관하게 Page 로 응답
+        return Optional.of(toPageResponse(new PageImpl<>(posts, pageable, ids.size()), totalKey));
     }
     
     // Pageable 생성 헬퍼 메서드
@@ -508,7 +633,7 @@ public class PostService {
                     sort = Sort.by(direction, "viewCount");
                     break;
                 case "commentcount":
-                    sort = Sort.by(direction, "comments.size");
+                    sort = Sort.by(direction, "commentCount");
                     break;
                 default:
                     sort = Sort.by(Sort.Direction.DESC, "createdAt");
@@ -520,6 +645,89 @@ public class PostService {
         return PageRequest.of(page, size, sort);
     }
 
+    // 목록 조회 결과를 DTO 페이지로 변환 (연관 엔티티 일괄 로딩 후 변환)
+    // withTotal=false 로 조회한 Slice 는 캐시된 근사 전체 개수를 함께 내려준다
+    private SliceResponseDto<PostResponseDto> toPageResponse(Slice<Post> postPage, String totalKey) {
+        prefetchAssociations(postPage.getContent());
+        return approximateTotalCache.toResponse(postPage.map(this::convertToResponseDto), totalKey);
+    }
+
+    // 키셋 스크롤 조회 후 커서 응답으로 변환
+    private CursorResponseDto<PostResponseDto> scrollPosts(Specification<Post> spec, CursorRequestDto cursorRequestDto) {
+        ScrollPosition position = cursorRequestDto.toScrollPosition();
+        int limit = Math.max(1, Math.min(cursorRequestDto.getSize(), MAX_CURSOR_PAGE_SIZE));
+        Window<Post> window = postRepository.findBy(spec, query -> query
+                .sortBy(cursorRequestDto.toSort())
+                .limit(limit)
+                .scroll(position));
+
+        List<Post> posts = window.getContent();
+        prefetchAssociations(posts);
+        List<PostResponseDto> content = posts.stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList());
+
+        if (posts.isEmpty()) {
+            return new CursorResponseDto<>(content, null, null);
+        }
+
+        String sortKey = cursorRequestDto.getSortKey();
+        String firstCursor = PostCursor.encode(sortKey, ((KeysetScrollPosition) window.positionAt(0)).getKeys());
+        String lastCursor = PostCursor.encode(sortKey, ((KeysetScrollPosition) window.positionAt(posts.size() - 1)).getKeys());
+
+        if (cursorRequestDto.isBackward()) {
+            // before 로 조회한 경우 window.hasNext()는 더 앞쪽 데이터가 있는지를 의미
+            return new CursorResponseDto<>(content, lastCursor, window.hasNext() ? firstCursor : null);
+        }
+        boolean hasPrevious = StringUtils.hasText(cursorRequestDto.getAfter());
+        return new CursorResponseDto<>(content, window.hasNext() ? lastCursor : null, hasPrevious ? firstCursor : null);
+    }
+
+    // 페이지에 포함된 게시글들의 태그, 파일, 카테고리(상위 경로 포함)를 한 번에 로딩
+    // convertToResponseDto가 게시글마다 지연 로딩을 일으키지 않도록 영속성 컨텍스트를 미리 채워둔다
+    // 쿼리 수: 태그 1 + 파일 1 + 카테고리 트리 깊이만큼 (페이지 크기와 무관, 이미 로딩된 컬렉션은 다시 조회하지 않음)
+    private void prefetchAssociations(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        // 태그와 파일은 모두 List(bag)이므로 한 쿼리에서 함께 fetch join 할 수 없어 나누어 조회
+        List<Long> withoutTags = posts.stream()
+                .filter(post -> !Hibernate.isInitialized(post.getTags()))
+                .map(Post::getId)
+                .collect(Collectors.toList());
+        if (!withoutTags.isEmpty()) {
+            postRepository.findWithTagsByIdIn(withoutTags);
+        }
+        List<Long> withoutFiles = posts.stream()
+                .filter(post -> !Hibernate.isInitialized(post.getFiles()))
+                .map(Post::getId)
+                .collect(Collectors.toList());
+        if (!withoutFiles.isEmpty()) {
+            postRepository.findWithFilesByIdIn(withoutFiles);
+        }
+
+        // 카테고리는 상위 카테고리가 없을 때까지 단계별로 id 묶음 조회
+        Set<Long> loadedCategoryIds = new HashSet<>();
+        Set<Long> categoryIds = posts.stream()
+                .map(Post::getCategory)
+                .filter(Objects::nonNull)
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+
+        while (!categoryIds.isEmpty()) {
+            List<Category> categories = categoryRepository.findAllById(categoryIds);
+            loadedCategoryIds.addAll(categoryIds);
+
+            categoryIds = categories.stream()
+                    .map(Category::getParent)
+                    .filter(Objects::nonNull)
+                    .map(Category::getId)
+                    .filter(id -> !loadedCategoryIds.contains(id))
+                    .collect(Collectors.toSet());
+        }
+    }
+
     // Post 엔티티를 PostResponseDto로 변환
     private PostResponseDto convertToResponseDto(Post post) {
         CategoryResponseDto categoryDto = null;
@@ -570,6 +778,9 @@ public class PostService {
                         .viewCount(post.getViewCount())
                         .likeCount(post.getLikeCount() != null ? post.getLikeCount() : 0)
                         .dislikeCount(post.getDislikeCount() != null ? post.getDislikeCount() : 0)
+                        .commentCount(post.getCommentCount() != null ? post.getCommentCount() : 0)
+                        .topLevelCommentCount(post.getTopLevelCommentCount() != null ? post.getTopLevelCommentCount() : 0)
+                        .totalCommentCount(post.getTotalCommentCount() != null ? post.getTotalCommentCount() : 0)
                         .category(categoryDto)
                         .tags(tagDtos)
                         .files(fileDtos)
@@ -0,0 +1,29 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.ReactionType;
+
+// 반응 토글 결과 (이전 반응 -> 현재 반응, 없으면 null)
+// 좋아요/싫어요 수는 엔티티를 읽어 고치지 않고 이 증감값으로 한 번에 UPDATE 한다
+public record ReactionChange(ReactionType previous, ReactionType current) {
+
+    // 새로 추가된 반응인지 (알림 대상)
+    public boolean isAdded() {
+        return previous == null && current != null;
+    }
+
+    public int likeDelta() {
+        return delta(ReactionType.LIKE);
+    }
+
+    public int dislikeDelta() {
+        return delta(ReactionType.DISLIKE);
+    }
+
+    public boolean hasDelta() {
+        return previous != current;
+    }
+
+    private int delta(ReactionType type) {
+        return (current == type ? 1 : 0) - (previous == type ? 1 : 0);
+    }
+}
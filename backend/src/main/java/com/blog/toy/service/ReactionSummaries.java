@@ -0,0 +1,61 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.dto.ReactionSummaryDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// 게시글/댓글 반응 일괄 조회 공통 처리
+// 집계 쿼리(대상별 좋아요/싫어요 수)와 내 반응 쿼리 결과를 요청한 id 순서대로 합친다
+final class ReactionSummaries {
+
+    // 한 번에 조회할 수 있는 최대 id 수 (IN 절 크기 제한)
+    static final int MAX_IDS = 100;
+
+    private ReactionSummaries() {
+    }
+
+    // null/중복 제거 (요청 순서 유지)
+    static List<Long> normalizeIds(List<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+        if (distinct.size() > MAX_IDS) {
+            throw new RuntimeException("한 번에 조회할 수 있는 ID는 최대 " + MAX_IDS + "개입니다.");
+        }
+        return distinct;
+    }
+
+    // counts: (id, 좋아요 수, 싫어요 수), mine: (id, 반응 타입)
+    static List<ReactionSummaryDto> assemble(List<Long> ids, List<Object[]> counts, List<Object[]> mine) {
+        Map<Long, Object[]> countsById = new HashMap<>();
+        for (Object[] row : counts) {
+            countsById.put((Long) row[0], row);
+        }
+        Map<Long, ReactionType> mineById = new HashMap<>();
+        for (Object[] row : mine) {
+            mineById.put((Long) row[0], (ReactionType) row[1]);
+        }
+
+        List<ReactionSummaryDto> summaries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Object[] row = countsById.get(id);
+            ReactionType myReaction = mineById.get(id);
+            summaries.add(ReactionSummaryDto.builder()
+                    .targetId(id)
+                    .likeCount(row != null ? (Long) row[1] : 0L)
+                    .dislikeCount(row != null ? (Long) row[2] : 0L)
+                    .myReaction(myReaction)
+                    .userLiked(myReaction == ReactionType.LIKE)
+                    .userDisliked(myReaction == ReactionType.DISLIKE)
+                    .build());
+        }
+        return summaries;
+    }
+}
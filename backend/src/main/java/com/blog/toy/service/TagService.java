@@ -1,46 +1,151 @@
 package com.blog.toy.service;
 
 import com.blog.toy.domain.Tag;
+import com.blog.toy.dto.tag.TagCloudDto;
 import com.blog.toy.dto.tag.TagRequestDto;
 import com.blog.toy.dto.tag.TagResponseDto;
 import com.blog.toy.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Slf4j
 public class TagService {
 
     @Autowired
     private TagRepository tagRepository;
 
+    // 태그명 최대 길이 (TagRequestDto 검증과 동일)
+    private static final int MAX_NAME_LENGTH = 50;
+
+    // 태그 클라우드 최대 태그 수
+    private static final int MAX_CLOUD_SIZE = 200;
+    private static final int CLOUD_LEVELS = 5;
+
+    // 활성 태그 목록 + 게시글 수 캐시 (태그 또는 게시글의 태그가 바뀌면 커밋 이후 버전을 올려 다음 조회 때 다시 만든다)
+    private final AtomicLong version = new AtomicLong();
+    private volatile CachedTags cachedTags;
+
+    private record TagEntry(Long id, String name, String description, boolean active,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, long postCount) {
+    }
+
+    private record CachedTags(long version, List<TagEntry> tags) {
+    }
+
     public TagResponseDto createTag(TagRequestDto requestDto) {
-        if (tagRepository.existsByName(requestDto.getName())) {
-            throw new RuntimeException("이미 존재하는 태그명입니다: " + requestDto.getName());
+        String name = normalizeName(requestDto.getName());
+        if (name.isEmpty()) {
+            throw new RuntimeException("태그명은 필수입니다.");
+        }
+        if (tagRepository.existsByName(name)) {
+            throw new RuntimeException("이미 존재하는 태그명입니다: " + name);
         }
 
         Tag tag = Tag.builder()
-                .name(requestDto.getName())
+                .name(name)
                 .description(requestDto.getDescription())
                 .active(requestDto.isActive())
                 .build();
 
         Tag savedTag = tagRepository.save(tag);
+        invalidateCounts();
         return convertToResponseDto(savedTag);
     }
 
+    // 활성 태그 목록 (태그 조회 1번 + post_tags 집계 1번, 이후 변경 전까지는 캐시에서 응답)
     @Transactional(readOnly = true)
     public List<TagResponseDto> getAllTags() {
-        return tagRepository.findAllActiveOrdered()
+        return activeTags()
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
     }
 
+    // 태그 클라우드 (게시글이 있는 태그 중 게시글 수 상위 limit 개, 이름순)
+    // weight 는 게시글 수를 최소~최대 기준으로 0~1 로 정규화한 값, level 은 이를 1~5 단계로 나눈 값
+    @Transactional(readOnly = true)
+    public List<TagCloudDto> getTagCloud(int limit) {
+        List<TagEntry> top = activeTags().stream()
+                .filter(tag -> tag.postCount() > 0)
+                .sorted(Comparator.comparingLong(TagEntry::postCount).reversed().thenComparing(TagEntry::name))
+                .limit(Math.max(1, Math.min(limit, MAX_CLOUD_SIZE)))
+                .toList();
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        long max = top.get(0).postCount();
+        long min = top.get(top.size() - 1).postCount();
+        return top.stream()
+                .sorted(Comparator.comparing(TagEntry::name))
+                .map(tag -> {
+                    double weight = max == min ? 1.0 : (double) (tag.postCount() - min) / (max - min);
+                    return TagCloudDto.builder()
+                            .id(tag.id())
+                            .name(tag.name())
+                            .postCount(tag.postCount())
+                            .weight(weight)
+                            .level(1 + (int) Math.round(weight * (CLOUD_LEVELS - 1)))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    // 태그 또는 게시글의 태그 연결이 바뀌었을 때 호출 (커밋 이후 캐시 무효화, 롤백되면 그대로)
+    public void invalidateCounts() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    // 태그 목록/게시글 수 변경 버전 (자동완성 색인이 변경 여부 확인용으로 사용)
+    public long countsVersion() {
+        return version.get();
+    }
+
+    private List<TagEntry> activeTags() {
+        long current = version.get();
+        CachedTags cached = cachedTags;
+        if (cached != null && cached.version() == current) {
+            return cached.tags();
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : tagRepository.countPostsGroupedByTag()) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        List<TagEntry> tags = tagRepository.findAllActiveOrdered().stream()
+                .map(tag -> new TagEntry(tag.getId(), tag.getName(), tag.getDescription(), tag.isActive(),
+                        tag.getCreatedAt(), tag.getUpdatedAt(), counts.getOrDefault(tag.getId(), 0L)))
+                .toList();
+        // 조회 전에 읽은 버전으로 저장하므로 조회 중에 커밋된 변경은 다음 조회에서 다시 반영된다
+        cachedTags = new CachedTags(current, tags);
+        return tags;
+    }
+
     @Transactional(readOnly = true)
     public TagResponseDto getTagById(Long id) {
         Tag tag = tagRepository.findById(id)
@@ -52,17 +157,23 @@ public class TagService {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("태그를 찾을 수 없습니다: " + id));
 
+        String name = normalizeName(requestDto.getName());
+        if (name.isEmpty()) {
+            throw new RuntimeException("태그명은 필수입니다.");
+        }
+
         // 이름이 변경된 경우 중복 체크
-        if (!tag.getName().equals(requestDto.getName()) && 
-            tagRepository.existsByName(requestDto.getName())) {
-            throw new RuntimeException("이미 존재하는 태그명입니다: " + requestDto.getName());
+        if (!tag.getName().equals(name) && 
+            tagRepository.existsByName(name)) {
+            throw new RuntimeException("이미 존재하는 태그명입니다: " + name);
         }
 
-        tag.setName(requestDto.getName());
+        tag.setName(name);
         tag.setDescription(requestDto.getDescription());
         tag.setActive(requestDto.isActive());
 
         Tag updatedTag = tagRepository.save(tag);
+        invalidateCounts();
         return convertToResponseDto(updatedTag);
     }
 
@@ -71,33 +182,71 @@ public class TagService {
                 .orElseThrow(() -> new RuntimeException("태그를 찾을 수 없습니다: " + id));
 
         // 해당 태그의 게시글 수 확인
-        long postCount = tag.getPosts().size();
+        long postCount = tagRepository.countPostsByTagId(id);
         if (postCount > 0) {
             throw new RuntimeException("게시글이 있는 태그는 삭제할 수 없습니다. 게시글 수: " + postCount);
         }
 
         tagRepository.delete(tag);
+        invalidateCounts();
     }
 
+    // 게시글 태그 이름 목록을 태그 엔티티로 변환 (없는 태그는 생성, 정규화 후 중복 제거, 요청 순서 유지)
+    // 태그 수와 무관하게 조회 1번 + (없는 태그가 있으면) INSERT ... ON CONFLICT DO NOTHING 1번 + 재조회 1번
+    // 다른 게시글이 같은 새 태그를 동시에 만들어도 유니크 제약 위반 없이 먼저 생성된 태그를 함께 쓴다
     public List<Tag> findOrCreateTags(List<String> tagNames) {
-        return tagNames.stream()
-                .map(this::findOrCreateTag)
-                .collect(Collectors.toList());
+        List<String> names = tagNames.stream()
+                .map(TagService::normalizeName)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Tag> tagsByName = new HashMap<>();
+        tagRepository.findByNameIn(names).forEach(tag -> tagsByName.put(tag.getName(), tag));
+
+        List<String> missing = names.stream()
+                .filter(name -> !tagsByName.containsKey(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            List<Long> created = tagRepository.insertMissing(missing, LocalDateTime.now());
+            tagRepository.findByNameIn(missing).forEach(tag -> tagsByName.put(tag.getName(), tag));
+            log.debug("태그 생성 {}개 (요청 {}개, 동시 생성으로 건너뜀 {}개)",
+                    created.size(), missing.size(), missing.size() - created.size());
+        }
+
+        List<Tag> tags = new ArrayList<>(names.size());
+        for (String name : names) {
+            Tag tag = tagsByName.get(name);
+            if (tag == null) {
+                throw new RuntimeException("태그를 생성하지 못했습니다: " + name);
+            }
+            tags.add(tag);
+        }
+        return tags;
     }
 
-    private Tag findOrCreateTag(String tagName) {
-        return tagRepository.findByName(tagName)
-                .orElseGet(() -> {
-                    Tag newTag = Tag.builder()
-                            .name(tagName)
-                            .active(true)
-                            .build();
-                    return tagRepository.save(newTag);
-                });
+    // 태그명 정규화: 유니코드 NFC, 앞의 '#' 제거, 앞뒤 공백 제거, 연속 공백/제어 문자는 공백 하나로
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFC)
+                .replaceAll("[\\s\\p{Cntrl}]+", " ")
+                .strip();
+        while (normalized.startsWith("#")) {
+            normalized = normalized.substring(1).strip();
+        }
+        if (normalized.length() > MAX_NAME_LENGTH) {
+            throw new RuntimeException("태그명은 " + MAX_NAME_LENGTH + "자 이하여야 합니다: " + normalized);
+        }
+        return normalized;
     }
 
     private TagResponseDto convertToResponseDto(Tag tag) {
-        long postCount = tag.getPosts().size();
+        long postCount = tagRepository.countPostsByTagId(tag.getId());
         
         return TagResponseDto.builder()
                 .id(tag.getId())
@@ -109,4 +258,16 @@ public class TagService {
                 .postCount(postCount)
                 .build();
     }
+
+    private TagResponseDto convertToResponseDto(TagEntry tag) {
+        return TagResponseDto.builder()
+                .id(tag.id())
+                .name(tag.name())
+                .description(tag.description())
+                .active(tag.active())
+                .createdAt(tag.createdAt())
+                .updatedAt(tag.updatedAt())
+                .postCount(tag.postCount())
+                .build();
+    }
 }
@@ -0,0 +1,122 @@
+package com.blog.toy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 조회수 쓰기 지연 버퍼
+// 조회마다 SELECT + UPDATE 하던 것을 게시글별 누적값에 모아 두었다가
+// 주기적으로(그리고 종료 시) 한 번의 배치 UPDATE view_count = view_count + ? 로 반영한다
+// 반영할 때 누적값을 꺼내면서 항목을 지우므로 버퍼에는 반영을 기다리는 게시글만 남는다
+// 배치는 한 트랜잭션으로 실행하므로 실패하면 전부 롤백되고, 그때만 버퍼로 되돌린다 (일부만 반영된 뒤 되돌려 두 번 세는 일 없음)
+@Component
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE post SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // 게시글 id -> 반영 대기 조회수 (증가와 꺼내기는 키 단위로 원자적)
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    // 아직 DB 에 반영되지 않은 조회수 합계
+    private final LongAdder buffered = new LongAdder();
+
+    private final Counter incrementedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("blog.post.views.buffered", buffered, LongAdder::sum)
+                .description("DB 반영 대기 중인 조회수")
+                .register(meterRegistry);
+        Gauge.builder("blog.post.views.buffered.posts", pending, Map::size)
+                .description("DB 반영 대기 중인 조회수가 있는 게시글 수")
+                .register(meterRegistry);
+        this.incrementedCounter = Counter.builder("blog.post.views.incremented")
+                .description("버퍼에 누적된 조회수")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("blog.post.views.flushed")
+                .description("DB 에 반영된 조회수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("blog.post.views.flush.failed")
+                .description("반영에 실패해 버퍼로 되돌린 조회수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("blog.post.views.flush")
+                .description("조회수 배치 반영 소요 시간")
+                .register(meterRegistry);
+    }
+
+    // 조회수 1 증가 (DB 반영은 다음 flush 때)
+    public void increment(Long postId) {
+        pending.merge(postId, 1L, Long::sum);
+        buffered.increment();
+        incrementedCounter.increment();
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수 (응답에 더해 바로 보이도록)
+    public long pendingCount(Long postId) {
+        return pending.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // 누적된 조회수를 한 트랜잭션의 배치 UPDATE 로 반영 (실패 시 롤백되므로 전부 버퍼로 되돌림)
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            // 누적값을 꺼내면서 항목을 지운다 (그 뒤 들어온 조회는 새 항목으로 다음 flush 에 반영)
+            Long delta = pending.remove(postId);
+            if (delta != null && delta > 0) {
+                batch.add(new Object[]{delta, postId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long total = batch.stream().mapToLong(row -> (Long) row[0]).sum();
+        buffered.add(-total);
+        try {
+            flushTimer.recordCallable(() ->
+                    transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch)));
+            flushedCounter.increment(total);
+            log.debug("조회수 반영 - 게시글 {}개, 조회수 {}", batch.size(), total);
+        } catch (Exception e) {
+            for (Object[] row : batch) {
+                pending.merge((Long) row[1], (Long) row[0], Long::sum);
+            }
+            buffered.add(total);
+            failedCounter.increment(total);
+            log.error("조회수 반영 실패 - 다음 주기에 다시 시도합니다. (조회수 {})", total, e);
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.blog.toy.trending;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.service.CategoryTree;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 인기(트렌딩) 게시글 인메모리 랭킹
+// - 조회/좋아요/댓글 이벤트마다 가중치를 더하고 반감기(half-life)로 지수 감쇠하는 점수를 게시글별로 유지
+// - 감쇠는 "기준 시각(epoch) 대비 가중치를 키워서 더하는" 방식(forward decay)이라 시간이 지나도 다른 게시글 점수를 다시 계산할 필요가 없고
+//   점수는 이벤트로만 올라가므로 전체/카테고리별 상위 K개 집합을 증분으로 유지할 수 있다
+// - 주기적으로 기준 시각을 옮겨(rebase) 값이 커지지 않게 하고, 충분히 식은 게시글은 정리한 뒤 스냅샷으로 저장
+// - 기동 시 스냅샷을 읽고, 없으면 DB 의 조회수/좋아요/댓글 수로 초기 점수를 만든다
+//   (로딩 중에 들어온 이벤트 점수는 스냅샷 점수에 더한다)
+// - 카테고리 랭킹은 하위 카테고리 랭킹까지 합친 결과 (CategoryTree 의 하위 카테고리 id 기준)
+@Component
+@Slf4j
+public class TrendingPosts {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String SNAPSHOT_FILE = "trending.dat";
+
+    // 전체 랭킹 키 (카테고리 id 는 1부터)
+    private static final long ALL = 0L;
+
+    // 기준 시각 이동 주기와, 이동 후 정리할 점수 하한 (현재 시각 기준 점수)
+    private static final Duration REBASE_INTERVAL = Duration.ofHours(6);
+    private static final double PRUNE_BELOW = 0.01;
+
+    // 점수 높은 순, 같으면 최신 id 순
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::postId).reversed());
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryTree categoryTree;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    @Value("${app.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${app.trending.top-k:100}")
+    private int topK;
+
+    @Value("${app.trending.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${app.trending.weight.like:4}")
+    private double likeWeight;
+
+    @Value("${app.trending.weight.comment:6}")
+    private double commentWeight;
+
+    // 스냅샷이 없을 때 DB 카운터로 초기 점수를 줄 최근 게시글 기간
+    @Value("${app.trending.seed-days:30}")
+    private int seedDays;
+
+    @Value("${app.trending.snapshot-dir:./trending}")
+    private String snapshotDir;
+
+    private final Object lock = new Object();
+
+    private long epochMillis = clock.millis();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Long> categoryByPost = new HashMap<>();
+    private final Map<Long, TreeSet<Entry>> topByKey = new HashMap<>();
+
+    // 조회용 상위 K개 id 목록 (변경된 키만 비우고 다음 조회 때 다시 만든다)
+    private final Map<Long, List<Long>> published = new ConcurrentHashMap<>();
+
+    // 하위 카테고리를 합친 카테고리 랭킹 (카테고리 랭킹이 바뀌거나 카테고리 트리 버전이 바뀌면 다시 만든다)
+    private final Map<Long, SubtreeTop> subtreePublished = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    // 게시글별 점수 (기준 시각 epochMillis 에서의 값)
+    private static final class Entry {
+        private final long postId;
+        private double score;
+
+        private Entry(long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        long postId() {
+            return postId;
+        }
+
+        double score() {
+            return score;
+        }
+    }
+
+    private record SubtreeTop(long treeVersion, List<Long> ids) {
+    }
+
+    // 시각 기준 교체 (Clock 빈이 있으면 그것을 사용)
+    @Autowired(required = false)
+    void setClock(Clock clock) {
+        this.clock = clock;
+        this.epochMillis = clock.millis();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // === 이벤트 ===
+
+    // 조회는 트랜잭션과 무관하게 바로 반영 (ViewCountBuffer 와 같은 시점)
+    public void recordView(Long postId) {
+        add(postId, viewWeight);
+    }
+
+    // 좋아요 (커밋 이후 반영)
+    public void recordLike(Long postId) {
+        afterCommit(() -> add(postId, likeWeight));
+    }
+
+    // 댓글 작성 (커밋 이후 반영)
+    public void recordComment(Long postId) {
+        afterCommit(() -> add(postId, commentWeight));
+    }
+
+    // 게시글 생성/수정 시 카테고리 등록 (카테고리가 바뀌면 카테고리별 랭킹 이동)
+    public void register(Post post) {
+        Long postId = post.getId();
+        Long categoryId = post.getCategory() != null ? post.getCategory().getId() : null;
+        afterCommit(() -> {
+            synchronized (lock) {
+                Long previous = categoryId != null ? categoryByPost.put(postId, categoryId) : categoryByPost.remove(postId);
+                Entry entry = entries.get(postId);
+                if (entry == null || Objects.equals(previous, categoryId)) {
+                    return;
+                }
+                if (previous != null && removeFromTop(previous, entry)) {
+                    rebuildTop(previous);
+                }
+                if (categoryId != null) {
+                    offer(categoryId, entry, false);
+                }
+            }
+        });
+    }
+
+    // 게시글 삭제 (커밋 이후 반영, 상위 K개에서 빠지면 해당 랭킹을 다시 채움)
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            synchronized (lock) {
+                Long categoryId = categoryByPost.remove(postId);
+                Entry entry = entries.remove(postId);
+                if (entry == null) {
+                    return;
+                }
+                if (removeFromTop(ALL, entry)) {
+                    rebuildTop(ALL);
+                }
+                if (categoryId != null && removeFromTop(categoryId, entry)) {
+                    rebuildTop(categoryId);
+                }
+                dirty = true;
+            }
+        });
+    }
+
+    private void add(Long postId, double weight) {
+        if (postId == null || weight <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        synchronized (lock) {
+            double boost = weight * Math.exp(lambdaPerMilli() * (now - epochMillis));
+            Entry entry = entries.get(postId);
+            Long categoryId = categoryByPost.get(postId);
+            if (entry == null) {
+                entry = new Entry(postId, 0);
+                entries.put(postId, entry);
+            }
+
+            // TreeSet 정렬 키(점수)를 바꾸기 전에 빼고 다시 넣는다
+            boolean inAll = removeFromTop(ALL, entry);
+            boolean inCategory = categoryId != null && removeFromTop(categoryId, entry);
+            entry.score += boost;
+            offer(ALL, entry, inAll);
+            if (categoryId != null) {
+                offer(categoryId, entry, inCategory);
+            }
+            dirty = true;
+        }
+    }
+
+    // 상위 K개 집합에 후보 추가 (원래 있었거나, 자리가 있거나, 최하위보다 높으면 들어감)
+    private void offer(Long key, Entry entry, boolean wasMember) {
+        TreeSet<Entry> top = topByKey.computeIfAbsent(key, k -> new TreeSet<>(RANKING));
+        if (wasMember || top.size() < topK) {
+            top.add(entry);
+        } else if (RANKING.compare(entry, top.last()) < 0) {
+            top.pollLast();
+            top.add(entry);
+        } else {
+            return;
+        }
+        unpublish(key);
+    }
+
+    private boolean removeFromTop(Long key, Entry entry) {
+        TreeSet<Entry> top = topByKey.get(key);
+        boolean removed = top != null && top.remove(entry);
+        if (removed) {
+            unpublish(key);
+        }
+        return removed;
+    }
+
+    // 조회용 목록 비우기 (카테고리 랭킹이 바뀌면 그 카테고리를 포함하는 상위 카테고리 합산 목록도 비운다)
+    private void unpublish(Long key) {
+        published.remove(key);
+        if (key != ALL) {
+            subtreePublished.clear();
+        }
+    }
+
+    // 랭킹 하나를 전체 점수에서 다시 만든다 (삭제/카테고리 이동처럼 드문 경우만)
+    private void rebuildTop(Long key) {
+        TreeSet<Entry> top = new TreeSet<>(RANKING);
+        for (Entry entry : entries.values()) {
+            if (key == ALL || key.equals(categoryByPost.get(entry.postId()))) {
+                top.add(entry);
+                if (top.size() > topK) {
+                    top.pollLast();
+                }
+            }
+        }
+        topByKey.put(key, top);
+        unpublish(key);
+    }
+
+    private void rebuildAll() {
+        topByKey.clear();
+        published.clear();
+        subtreePublished.clear();
+        for (Entry entry : entries.values()) {
+            offer(ALL, entry, false);
+            Long categoryId = categoryByPost.get(entry.postId());
+            if (categoryId != null) {
+                offer(categoryId, entry, false);
+            }
+        }
+    }
+
+    // === 조회 ===
+
+    // 인기 게시글 id 목록 (점수 높은 순, 최대 top-K 개), categoryId 가 null 이면 전체, 있으면 하위 카테고리 포함
+    public List<Long> top(Long categoryId) {
+        if (categoryId == null) {
+            return published(ALL);
+        }
+        CategoryTree.Snapshot tree = categoryTree.current();
+        List<Long> subtreeIds = tree.subtreeIds(categoryId);
+        if (subtreeIds.size() <= 1) {
+            return published(categoryId);
+        }
+        SubtreeTop cached = subtreePublished.get(categoryId);
+        if (cached != null && cached.treeVersion() == tree.version()) {
+            return cached.ids();
+        }
+        synchronized (lock) {
+            // 전체 상위 K개는 모두 어느 하위 카테고리의 상위 K개 안에 있으므로 카테고리별 상위 K개만 합친다
+            TreeSet<Entry> merged = new TreeSet<>(RANKING);
+            for (Long id : subtreeIds) {
+                TreeSet<Entry> top = topByKey.get(id);
+                if (top != null) {
+                    merged.addAll(top);
+                }
+            }
+            List<Long> ids = merged.stream().limit(topK).map(Entry::postId).toList();
+            subtreePublished.put(categoryId, new SubtreeTop(tree.version(), ids));
+            return ids;
+        }
+    }
+
+    private List<Long> published(long key) {
+        List<Long> ids = published.get(key);
+        if (ids != null) {
+            return ids;
+        }
+        synchronized (lock) {
+            TreeSet<Entry> top = topByKey.get(key);
+            ids = top == null ? List.of() : top.stream().map(Entry::postId).toList();
+            published.put(key, ids);
+            return ids;
+        }
+    }
+
+    // 현재 시각 기준으로 감쇠된 점수 (없으면 0)
+    public double currentScore(Long postId) {
+        synchronized (lock) {
+            Entry entry = entries.get(postId);
+            if (entry == null) {
+                return 0;
+            }
+            return entry.score() * Math.exp(-lambdaPerMilli() * (clock.millis() - epochMillis));
+        }
+    }
+
+    private double lambdaPerMilli() {
+        return Math.log(2) / (halfLifeHours * 3_600_000d);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // === 기동 시 로딩, 기준 시각 이동, 스냅샷 ===
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(() -> {
+            try {
+                boolean loaded = loadSnapshot();
+                synchronizeWithDatabase(!loaded);
+                ready = true;
+                log.info("인기 게시글 랭킹 준비 완료 - 점수 있는 게시글 {}개", entries.size());
+            } catch (Exception e) {
+                log.error("인기 게시글 랭킹 초기화 실패 (DB 조회수 정렬로 대체)", e);
+            }
+        }, "trending-posts-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // 카테고리 정보를 읽어 오고, 삭제된 게시글 점수를 지우고, 필요하면 DB 카운터로 초기 점수를 만든다
+    private void synchronizeWithDatabase(boolean seed) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime seedFrom = LocalDateTime.ofInstant(clock.instant(), zone).minusDays(seedDays);
+        List<Object[]> rows = postRepository.findTrendingSeeds();
+        synchronized (lock) {
+            Map<Long, Boolean> existing = new HashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                Long postId = (Long) row[0];
+                existing.put(postId, Boolean.TRUE);
+                if (row[1] != null) {
+                    categoryByPost.put(postId, (Long) row[1]);
+                }
+                LocalDateTime createdAt = (LocalDateTime) row[2];
+                if (seed && createdAt != null && createdAt.isAfter(seedFrom)) {
+                    double weight = count(row[3]) * viewWeight + count(row[4]) * likeWeight + count(row[5]) * commentWeight;
+                    if (weight > 0) {
+                        long createdMillis = createdAt.atZone(zone).toInstant().toEpochMilli();
+                        double score = weight * Math.exp(lambdaPerMilli() * (createdMillis - epochMillis));
+                        entries.computeIfAbsent(postId, id -> new Entry(id, 0)).score += score;
+                    }
+                }
+            }
+            entries.keySet().removeIf(postId -> !existing.containsKey(postId));
+            rebuildAll();
+            dirty = true;
+        }
+    }
+
+    private static long count(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval-ms:60000}")
+    public void maintain() {
+        if (!ready) {
+            return;
+        }
+        rebaseIfNeeded();
+        if (dirty) {
+            saveSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready && dirty) {
+            saveSnapshot();
+        }
+    }
+
+    // 기준 시각을 현재로 옮겨 점수를 현재 값으로 줄이고, 거의 0 이 된 게시글은 정리
+    private void rebaseIfNeeded() {
+        long now = clock.millis();
+        synchronized (lock) {
+            if (now - epochMillis < REBASE_INTERVAL.toMillis()) {
+                return;
+            }
+            double factor = Math.exp(-lambdaPerMilli() * (now - epochMillis));
+            int before = entries.size();
+            entries.values().forEach(entry -> entry.score *= factor);
+            entries.values().removeIf(entry -> entry.score() < PRUNE_BELOW);
+            epochMillis = now;
+            rebuildAll();
+            dirty = true;
+            log.debug("인기 게시글 랭킹 기준 시각 이동 - 정리 {}개, 남은 게시글 {}개", before - entries.size(), entries.size());
+        }
+    }
+
+    private void saveSnapshot() {
+        Path directory = Paths.get(snapshotDir);
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            synchronized (lock) {
+                dirty = false;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeLong(epochMillis);
+                    out.writeInt(entries.size());
+                    for (Entry entry : entries.values()) {
+                        out.writeLong(entry.postId());
+                        out.writeDouble(entry.score());
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.error("인기 게시글 랭킹 스냅샷 저장 실패: {}", target.toAbsolutePath(), e);
+        }
+    }
+
+    // 스냅샷을 읽었으면 true (없거나 형식이 다르면 DB 카운터로 새로 만든다)
+    private boolean loadSnapshot() {
+        Path target = Paths.get(snapshotDir).resolve(SNAPSHOT_FILE);
+        if (!Files.exists(target)) {
+            log.info("인기 게시글 랭킹 스냅샷 없음 - DB 카운터로 초기 점수를 만듭니다.");
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(target))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                log.info("인기 게시글 랭킹 스냅샷 형식이 달라 DB 카운터로 초기 점수를 만듭니다.");
+                return false;
+            }
+            long savedEpoch = in.readLong();
+            int count = in.readInt();
+            List<Entry> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                loaded.add(new Entry(in.readLong(), in.readDouble()));
+            }
+            synchronized (lock) {
+                // 로딩 중에 들어온 이벤트 점수를 스냅샷 기준 시각으로 옮겨 스냅샷 점수에 더한다 (덮어쓰지 않음)
+                double factor = Math.exp(lambdaPerMilli() * (epochMillis - savedEpoch));
+                entries.values().forEach(entry -> entry.score *= factor);
+                for (Entry entry : loaded) {
+                    entries.computeIfAbsent(entry.postId(), id -> new Entry(id, 0)).score += entry.score();
+                }
+                epochMillis = savedEpoch;
+                rebuildAll();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("인기 게시글 랭킹 스냅샷을 읽지 못해 DB 카운터로 초기 점수를 만듭니다: {}", e.getMessage());
+            return false;
+        }
+    }
+}
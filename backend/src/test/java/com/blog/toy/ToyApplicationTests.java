@@ -1,9 +1,9 @@
 package com.blog.toy;
 
+import com.blog.toy.support.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class ToyApplicationTests {
 
 	@Test
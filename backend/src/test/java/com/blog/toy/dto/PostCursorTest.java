@@ -0,0 +1,50 @@
+package com.blog.toy.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 게시글 커서 테스트 (DB 불필요)
+// 인코딩한 커서가 그대로 복원되고, 형식이 잘못되거나 정렬 기준이 다른 커서는 400 으로 거부되는지 확인한다
+class PostCursorTest {
+
+	@Test
+	void encodedCursorIsDecodedToSameKeys() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000);
+		String cursor = PostCursor.encode(PostCursor.CREATED_AT, Map.of(PostCursor.CREATED_AT, createdAt, "id", 42L));
+
+		Map<String, Object> keys = PostCursor.decode(cursor, PostCursor.CREATED_AT);
+
+		assertThat(keys).containsEntry(PostCursor.CREATED_AT, createdAt).containsEntry("id", 42L);
+	}
+
+	@Test
+	void malformedCursorIsBadRequest() {
+		assertBadRequest(() -> PostCursor.decode("!!not-base64!!", PostCursor.CREATED_AT));
+		assertBadRequest(() -> PostCursor.decode("Zm9v", PostCursor.CREATED_AT));
+
+		String viewCountCursor = PostCursor.encode(PostCursor.VIEW_COUNT, Map.of(PostCursor.VIEW_COUNT, 3, "id", 1L));
+		assertBadRequest(() -> PostCursor.decode(viewCountCursor, PostCursor.CREATED_AT));
+	}
+
+	@Test
+	void afterAndBeforeTogetherIsBadRequest() {
+		CursorRequestDto request = new CursorRequestDto();
+		request.setAfter("a");
+		request.setBefore("b");
+
+		assertBadRequest(request::toScrollPosition);
+	}
+
+	private void assertBadRequest(Runnable decode) {
+		assertThatThrownBy(decode::run)
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+}
@@ -0,0 +1,154 @@
+package com.blog.toy.notification;
+
+import com.blog.toy.BlogApplication;
+import com.blog.toy.support.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 인스턴스 WebSocket 전달 테스트
+// 같은 DB 를 쓰는 애플리케이션 컨텍스트 두 개를 띄우고, 한쪽에서 보낸 사용자 메시지가
+// 세션을 가진 다른 쪽 인스턴스의 브로커까지 LISTEN/NOTIFY 로 전달되는지 확인한다
+// 컨텍스트를 직접 띄우므로 @IntegrationTest 대신 같은 프로필(전용 테스트 DB)과 태그를 지정한다
+@Tag(IntegrationTest.TAG)
+class MultiNodeRelayTest {
+
+	private static final String DESTINATION = "/queue/notifications";
+	private static final long TIMEOUT_MS = 5_000;
+
+	@TempDir
+	static Path dataDir;
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+
+	@BeforeAll
+	static void startNodes() throws Exception {
+		nodeA = startNode("a");
+		nodeB = startNode("b");
+		awaitListening(nodeA);
+		awaitListening(nodeB);
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		if (nodeA != null) {
+			nodeA.close();
+		}
+		if (nodeB != null) {
+			nodeB.close();
+		}
+	}
+
+	@Test
+	void messageReachesOnlyTheNodeHoldingTheSession() throws Exception {
+		String user = "relay-" + UUID.randomUUID();
+		connect(nodeB, user);
+		BlockingQueue<Message<?>> onA = capture(nodeA, user);
+		BlockingQueue<Message<?>> onB = capture(nodeB, user);
+
+		nodeA.getBean(UserMessageRelay.class).convertAndSendToUser(user, DESTINATION, Map.of("text", "새로운 댓글"));
+
+		Message<?> received = onB.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		assertThat(received).isNotNull();
+		assertThat(new String((byte[]) received.getPayload(), StandardCharsets.UTF_8)).contains("새로운 댓글");
+		// 세션이 없는 인스턴스에는 보내지 않음
+		assertThat(onA.poll(500, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void sessionsOnBothNodesEachReceiveOnce() throws Exception {
+		String user = "relay-" + UUID.randomUUID();
+		connect(nodeA, user);
+		connect(nodeB, user);
+		BlockingQueue<Message<?>> onA = capture(nodeA, user);
+		BlockingQueue<Message<?>> onB = capture(nodeB, user);
+
+		nodeB.getBean(UserMessageRelay.class).convertAndSendToUser(user, DESTINATION, Map.of("text", "양쪽"));
+
+		assertThat(onA.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isNotNull();
+		assertThat(onB.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isNotNull();
+		// 보낸 인스턴스는 자기 NOTIFY 를 다시 전달하지 않음
+		assertThat(onB.poll(500, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(onA.poll(100, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void oversizedMessageIsRelayedThroughTable() throws Exception {
+		String user = "relay-" + UUID.randomUUID();
+		connect(nodeB, user);
+		BlockingQueue<Message<?>> onB = capture(nodeB, user);
+		String content = "가".repeat(5_000);
+
+		nodeA.getBean(UserMessageRelay.class).convertAndSendToUser(user, DESTINATION, Map.of("text", content));
+
+		Message<?> received = onB.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		assertThat(received).isNotNull();
+		assertThat(new String((byte[]) received.getPayload(), StandardCharsets.UTF_8)).contains(content);
+	}
+
+	private static ConfigurableApplicationContext startNode(String name) {
+		// 명령행 인자로 넘겨 테스트 프로필 설정보다 우선하게 한다 (노드마다 다른 색인/스냅샷 디렉터리)
+		return new SpringApplicationBuilder(BlogApplication.class)
+				.profiles(IntegrationTest.PROFILE)
+				.run(
+						"--server.port=0",
+						"--app.websocket.relay=postgres",
+						"--app.search.index-dir=" + dataDir.resolve(name).resolve("search-index"),
+						"--app.trending.snapshot-dir=" + dataDir.resolve(name).resolve("trending"));
+	}
+
+	private static void awaitListening(ConfigurableApplicationContext node) throws InterruptedException {
+		MeterRegistry meterRegistry = node.getBean(MeterRegistry.class);
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (meterRegistry.get("blog.websocket.relay.connected").gauge().value() < 1) {
+			assertThat(System.currentTimeMillis()).as("LISTEN 연결 대기").isLessThan(deadline);
+			Thread.sleep(20);
+		}
+	}
+
+	// STOMP CONNECT 가 끝난 것처럼 사용자 세션을 등록 (SimpUserRegistry 는 SessionConnectedEvent 로 세션을 추적)
+	private static void connect(ConfigurableApplicationContext node, String user) {
+		Principal principal = () -> user;
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+		accessor.setSessionId(UUID.randomUUID().toString());
+		accessor.setUser(principal);
+		Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+		node.publishEvent(new SessionConnectedEvent(MultiNodeRelayTest.class, message, principal));
+	}
+
+	// 해당 사용자 대상으로 브로커 채널에 들어온 메시지 수집
+	private static BlockingQueue<Message<?>> capture(ConfigurableApplicationContext node, String user) {
+		BlockingQueue<Message<?>> received = new LinkedBlockingQueue<>();
+		String destination = "/user/" + user + DESTINATION;
+		node.getBean("brokerChannel", SubscribableChannel.class).subscribe(message -> {
+			if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+				received.add(message);
+			}
+		});
+		return received;
+	}
+}
@@ -0,0 +1,105 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Notification;
+import com.blog.toy.domain.NotificationStatus;
+import com.blog.toy.domain.NotificationType;
+import com.blog.toy.domain.User;
+import com.blog.toy.support.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 알림 타입/읽음 필터 조회 테스트
+// 전달된 조건만 WHERE 에 들어가고 ("IS NULL OR" 분기 없음), 워터마크 이하 알림은 읽은 알림으로 걸러지는지 확인한다
+@IntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blog.toy.repository.SqlCaptureInspector")
+@Transactional
+class NotificationFilterTest {
+
+	private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private User recipient;
+	private long watermark;
+	private Notification coveredByWatermark;
+	private Notification unreadComment;
+	private Notification unreadLike;
+	private Notification readComment;
+
+	@BeforeEach
+	void setUp() {
+		String prefix = "nf-" + UUID.randomUUID().toString().substring(0, 8);
+		recipient = userRepository.save(User.builder()
+				.username(prefix)
+				.email(prefix + "@example.com")
+				.password("password")
+				.name("필터 테스트")
+				.role(User.Role.USER)
+				.enabled(true)
+				.build());
+
+		// 모두 읽음 이전에 받은 알림 (status 는 UNREAD 그대로)
+		coveredByWatermark = save(NotificationType.COMMENT, NotificationStatus.UNREAD);
+		watermark = coveredByWatermark.getId();
+		unreadComment = save(NotificationType.COMMENT, NotificationStatus.UNREAD);
+		unreadLike = save(NotificationType.LIKE, NotificationStatus.UNREAD);
+		readComment = save(NotificationType.COMMENT, NotificationStatus.READ);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void filtersByTypeAndReadState() {
+		assertThat(ids(NotificationType.COMMENT, true)).containsExactly(unreadComment.getId());
+		assertThat(ids(NotificationType.COMMENT, false))
+				.containsExactlyInAnyOrder(coveredByWatermark.getId(), readComment.getId());
+		assertThat(ids(null, true)).containsExactlyInAnyOrder(unreadComment.getId(), unreadLike.getId());
+		assertThat(ids(null, null)).hasSize(4);
+	}
+
+	@Test
+	void onlyGivenConditionsReachSql() {
+		SqlCaptureInspector.clear();
+		notificationRepository.searchSlice(NotificationSpecifications.forFilter(recipient, null, null, watermark), PAGE);
+		notificationRepository.search(NotificationSpecifications.forFilter(recipient, NotificationType.LIKE, true, watermark), PAGE);
+		List<String> statements = SqlCaptureInspector.captured();
+
+		assertThat(statements).isNotEmpty()
+				.allSatisfy(sql -> assertThat(sql.toLowerCase(Locale.ROOT)).doesNotContain("is null"));
+	}
+
+	private List<Long> ids(NotificationType type, Boolean unread) {
+		return notificationRepository.searchSlice(NotificationSpecifications.forFilter(recipient, type, unread, watermark), PAGE)
+				.map(Notification::getId)
+				.getContent();
+	}
+
+	private Notification save(NotificationType type, NotificationStatus status) {
+		return notificationRepository.save(Notification.builder()
+				.type(type)
+				.title("필터 테스트")
+				.content("필터 테스트")
+				.recipient(recipient)
+				.status(status)
+				.build());
+	}
+}
@@ -0,0 +1,127 @@
+package com.blog.toy.repository;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.dto.SearchRequestDto;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 고급 검색 조건 조합별로 생성되는 SQL 과 실행 계획(EXPLAIN) 확인
+// 파라미터 없이 계획을 보기 위해 EXPLAIN (GENERIC_PLAN) 사용 (PostgreSQL 16 이상)
+// 테스트 DB 는 데이터가 적어 순차 스캔이 항상 싸므로, 순차 스캔을 끄고 조건별로 기대한 인덱스를 쓸 수 있는지 본다
+@IntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blog.toy.repository.SqlCaptureInspector")
+@Transactional
+class PostSearchExplainTest {
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private static final String CREATED_AT = "idx_post_created_at_id";
+	private static final String CATEGORY = "idx_post_category_created_at_id";
+	private static final String STATUS = "idx_post_status_created_at_id";
+	private static final String AUTHOR = "idx_post_author_created_at_id";
+	private static final String TAGS_BY_POST = "idx_post_tags_post_id_tag_id";
+	private static final String TAGS_BY_TAG = "idx_post_tags_tag_id_post_id";
+
+	static Stream<Arguments> combinations() {
+		LocalDateTime now = LocalDateTime.now();
+		return Stream.of(
+				Arguments.of("조건 없음", SearchRequestDto.builder().build(), null, List.of(CREATED_AT)),
+				Arguments.of("키워드", SearchRequestDto.builder().keyword("spring").build(), null, List.of(CREATED_AT)),
+				Arguments.of("카테고리", SearchRequestDto.builder().categoryId(1L).build(), null, List.of(CATEGORY)),
+				Arguments.of("카테고리 여러 개", SearchRequestDto.builder().categoryIds(List.of(1L, 2L)).build(), null,
+						List.of(CATEGORY, CREATED_AT)),
+				Arguments.of("태그 ANY", SearchRequestDto.builder().tagNames(List.of("java", "spring")).build(), List.of(1L, 2L),
+						List.of(TAGS_BY_POST, TAGS_BY_TAG)),
+				Arguments.of("태그 ALL", SearchRequestDto.builder().tagNames(List.of("java", "spring")).tagMatch("all").build(), List.of(1L, 2L),
+						List.of(TAGS_BY_POST, TAGS_BY_TAG)),
+				Arguments.of("상태", SearchRequestDto.builder().status(Post.PostStatus.PUBLISHED).build(), null, List.of(STATUS)),
+				Arguments.of("작성자", SearchRequestDto.builder().author("admin").build(), null, List.of(AUTHOR)),
+				Arguments.of("작성일 범위", SearchRequestDto.builder().createdFrom(now.minusDays(30)).createdTo(now).build(), null,
+						List.of(CREATED_AT)),
+				Arguments.of("카테고리 + 태그 + 상태", SearchRequestDto.builder()
+						.categoryId(1L)
+						.tagNames(List.of("java"))
+						.status(Post.PostStatus.PUBLISHED)
+						.build(), List.of(1L), List.of(CATEGORY, STATUS, TAGS_BY_POST, TAGS_BY_TAG)),
+				Arguments.of("키워드 + 카테고리 여러 개 + 태그 ALL + 작성자 + 작성일 범위", SearchRequestDto.builder()
+						.keyword("spring")
+						.categoryIds(List.of(1L, 2L))
+						.tagNames(List.of("java", "spring"))
+						.tagMatch("all")
+						.author("admin")
+						.createdFrom(now.minusDays(30))
+						.createdTo(now)
+						.build(), List.of(1L, 2L), List.of(CATEGORY, AUTHOR, CREATED_AT, TAGS_BY_POST, TAGS_BY_TAG)));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("combinations")
+	void explainSearch(String name, SearchRequestDto searchRequestDto, List<Long> tagIds, List<String> expectedIndexes) {
+		SqlCaptureInspector.clear();
+		postRepository.search(PostSpecifications.forSearch(searchRequestDto, tagIds),
+				PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+		String sql = SqlCaptureInspector.captured().stream()
+				.filter(statement -> statement.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+				.findFirst()
+				.orElseThrow();
+		String lowerSql = sql.toLowerCase(Locale.ROOT);
+
+		// 전달하지 않은 조건은 SQL 에 남지 않고, 태그 조건은 DISTINCT 조인 대신 EXISTS 로 표현
+		assertThat(lowerSql).doesNotContain("distinct");
+		assertThat(lowerSql).doesNotContain("is null");
+		if (tagIds != null) {
+			assertThat(lowerSql).contains("exists");
+		}
+
+		// 트랜잭션 안에서만 순차 스캔을 끈다 (테스트 트랜잭션은 롤백)
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+		String plan = String.join("\n",
+				jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + toPositionalParameters(sql), String.class));
+
+		assertThat(expectedIndexes.stream().anyMatch(index -> scansIndex(plan, index)))
+				.as("%s: %s 중 하나를 쓰는 인덱스 스캔이 있어야 함%nSQL: %s%n계획:%n%s", name, expectedIndexes, sql, plan)
+				.isTrue();
+	}
+
+	// Index Scan / Index Only Scan / Bitmap Index Scan 으로 해당 인덱스를 읽는지
+	private static boolean scansIndex(String plan, String index) {
+		String quoted = Pattern.quote(index);
+		return Pattern.compile("(Index Scan|Index Only Scan)( Backward)? using " + quoted + "\\b"
+						+ "|Bitmap Index Scan on " + quoted + "\\b")
+				.matcher(plan)
+				.find();
+	}
+
+	// JDBC 의 ? 파라미터를 PostgreSQL 의 $1, $2 ... 로 변환
+	private static String toPositionalParameters(String sql) {
+		StringBuilder converted = new StringBuilder();
+		int index = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				converted.append('$').append(++index);
+			} else {
+				converted.append(c);
+			}
+		}
+		return converted.toString();
+	}
+}
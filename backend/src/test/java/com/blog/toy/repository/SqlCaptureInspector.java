@@ -0,0 +1,26 @@
+package com.blog.toy.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 테스트에서 Hibernate 가 실행하는 SQL 을 기록하는 StatementInspector
+public class SqlCaptureInspector implements StatementInspector {
+
+	private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		CAPTURED.add(sql);
+		return sql;
+	}
+
+	public static void clear() {
+		CAPTURED.clear();
+	}
+
+	public static List<String> captured() {
+		return List.copyOf(CAPTURED);
+	}
+}
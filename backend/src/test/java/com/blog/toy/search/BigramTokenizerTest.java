@@ -0,0 +1,45 @@
+package com.blog.toy.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 바이그램 토크나이저 테스트 (DB 불필요)
+// 띄어쓰기 없는 한글, 한글/영문/숫자 혼합, 한 글자 구간, 전각 문자가 색인과 질의에서 같은 토큰으로 나뉘는지 확인한다
+class BigramTokenizerTest {
+
+	@Test
+	void hangulWithoutSpacesIsSplitIntoOverlappingBigrams() {
+		Map<String, List<Integer>> tokens = BigramTokenizer.tokenize("스프링부트");
+
+		assertThat(tokens).containsOnlyKeys("스프", "프링", "링부", "부트");
+		assertThat(tokens.get("링부")).containsExactly(2);
+		assertThat(BigramTokenizer.grams("프링부")).containsExactly("프링", "링부");
+	}
+
+	@Test
+	void mixedScriptRunsAreNormalizedAndSplitOnNonLetters() {
+		assertThat(BigramTokenizer.runs("Spring부트 3.5 가이드")).containsExactly("spring부트", "3", "5", "가이드");
+
+		Map<String, List<Integer>> tokens = BigramTokenizer.tokenize("Spring부트 3.5");
+		assertThat(tokens).containsKeys("sp", "g부", "부트", "3", "5");
+		assertThat(tokens.get("5")).containsExactly(11);
+	}
+
+	@Test
+	void fullWidthAndUpperCaseAreNormalized() {
+		assertThat(BigramTokenizer.normalize("ＪＡＶＡ Java")).isEqualTo("java java");
+		assertThat(BigramTokenizer.tokenize("ＪＡＶＡ Java").get("ja")).containsExactly(0, 5);
+	}
+
+	@Test
+	void symbolsAreDroppedAndSingleCharacterRunIsItsOwnToken() {
+		assertThat(BigramTokenizer.runs("c++")).containsExactly("c");
+		assertThat(BigramTokenizer.grams("c")).containsExactly("c");
+		assertThat(BigramTokenizer.tokenize("c++ 와 c#")).containsOnlyKeys("c", "와");
+		assertThat(BigramTokenizer.runs("++ !!")).isEmpty();
+	}
+}
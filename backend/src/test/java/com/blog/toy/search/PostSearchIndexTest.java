@@ -0,0 +1,138 @@
+package com.blog.toy.search;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 게시글 검색 색인 테스트 (DB 불필요)
+// 트랜잭션 밖에서 색인/제거하면 바로 반영되므로 기동 시 로딩 없이 준비 상태로만 바꿔 검색한다
+class PostSearchIndexTest {
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private static final PostSearchIndex.Filter NO_FILTER = new PostSearchIndex.Filter(null, null, false, null, null, null, null);
+
+	private final Tag spring = tag(1L, "spring");
+	private final Tag java = tag(2L, "java");
+
+	private PostSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PostSearchIndex();
+		ReflectionTestUtils.setField(index, "ready", true);
+	}
+
+	@Test
+	void hangulSubstringMatchesOnlyContiguousRun() {
+		index.index(post(1L, "스프링부트 입문", "설정부터 배포까지", 1, spring));
+		index.index(post(2L, "스프 끓이는 법", "부트 캠프 후기", 2, java));
+
+		assertThat(search("프링부")).containsExactly(1L);
+		assertThat(search("스프")).containsExactlyInAnyOrder(1L, 2L);
+		// 두 구간이 모두 있어야 일치 (AND), 떨어져 있는 글자는 일치하지 않음
+		assertThat(search("스프 배포")).containsExactly(1L);
+		assertThat(search("스프부")).isEmpty();
+	}
+
+	@Test
+	void mixedScriptAndSingleCharacterQueries() {
+		index.index(post(1L, "Spring부트 3 가이드", "자바 설정", 1, spring));
+		index.index(post(2L, "C++ 와 Java 비교", "c++ 템플릿", 2, java));
+		index.index(post(3L, "파이썬", "리스트 컴프리헨션", 3));
+
+		assertThat(search("spring부트")).containsExactly(1L);
+		assertThat(search("SPRING")).containsExactly(1L);
+		// "c++" 는 기호를 빼면 한 글자 "c" -> c 를 포함하는 토큰 전체
+		assertThat(search("c++")).containsExactly(2L);
+		assertThat(index.search("++", NO_FILTER, PostSearchIndex.Order.LATEST)).isEmpty();
+	}
+
+	@Test
+	void updateReplacesTermsAndDeleteRemovesPost() {
+		index.index(post(1L, "처음 제목", "본문", 1, spring));
+		assertThat(search("처음")).containsExactly(1L);
+
+		index.index(post(1L, "바뀐 제목", "본문", 1, java));
+		assertThat(search("처음")).isEmpty();
+		assertThat(search("바뀐")).containsExactly(1L);
+		assertThat(search("제목", filter(List.of(spring.getId()), false))).isEmpty();
+		assertThat(search("제목", filter(List.of(java.getId()), false))).containsExactly(1L);
+
+		index.remove(1L);
+		assertThat(search("바뀐")).isEmpty();
+		assertThat(search("제목")).isEmpty();
+	}
+
+	@Test
+	void tagFilterMatchesAnyOrAllAndEmptyIdsMatchNothing() {
+		index.index(post(1L, "태그 테스트 하나", "본문", 1, spring));
+		index.index(post(2L, "태그 테스트 둘", "본문", 2, spring, java));
+		index.index(post(3L, "태그 테스트 셋", "본문", 3, java));
+
+		List<Long> both = List.of(spring.getId(), java.getId());
+		assertThat(search("테스트", filter(both, false))).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(search("테스트", filter(both, true))).containsExactly(2L);
+		// 활성 태그가 하나도 없으면 (id 목록이 비면) SQL 검색과 같이 결과 없음
+		assertThat(search("테스트", filter(List.of(), false))).isEmpty();
+	}
+
+	@Test
+	void pagesOfLatestOrderCoverAllHitsOnce() {
+		for (long id = 1; id <= 7; id++) {
+			index.index(post(id, "페이지 테스트 " + id, "본문", (int) id));
+		}
+		List<Long> hits = search("페이지");
+		assertThat(hits).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+
+		List<Long> paged = new ArrayList<>();
+		for (int page = 0; page < 3; page++) {
+			paged.addAll(PostSearchIndex.page(hits, PageRequest.of(page, 3)));
+		}
+		assertThat(paged).isEqualTo(hits);
+		assertThat(PostSearchIndex.page(hits, PageRequest.of(2, 3))).containsExactly(1L);
+		assertThat(PostSearchIndex.page(hits, PageRequest.of(5, 3))).isEmpty();
+	}
+
+	private List<Long> search(String keyword) {
+		return search(keyword, NO_FILTER);
+	}
+
+	private List<Long> search(String keyword, PostSearchIndex.Filter filter) {
+		return index.search(keyword, filter, PostSearchIndex.Order.LATEST).orElseThrow();
+	}
+
+	private static PostSearchIndex.Filter filter(List<Long> tagIds, boolean allTags) {
+		return new PostSearchIndex.Filter(null, tagIds, allTags, null, null, null, null);
+	}
+
+	private static Post post(Long id, String title, String content, int minutes, Tag... tags) {
+		LocalDateTime createdAt = BASE.plusMinutes(minutes);
+		return Post.builder()
+				.id(id)
+				.title(title)
+				.content(content)
+				.author("writer")
+				.status(Post.PostStatus.PUBLISHED)
+				.tags(new ArrayList<>(List.of(tags)))
+				.createdAt(createdAt)
+				.updatedAt(createdAt)
+				.build();
+	}
+
+	private static Tag tag(Long id, String name) {
+		return Tag.builder()
+				.id(id)
+				.name(name)
+				.active(true)
+				.build();
+	}
+}
@@ -0,0 +1,91 @@
+package com.blog.toy.security;
+
+import com.blog.toy.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 검증된 토큰 캐시 테스트 (DB 불필요)
+// 같은 토큰은 한 번만 서명 검증하고, 변조/만료된 토큰은 캐시를 거치지 않고 거부되는지 확인한다
+class JwtTokenProviderTest {
+
+	private static final String SECRET = "mySecretKeyForBlogApplicationJWTTokenGenerationAndValidation2024";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	void repeatedTokenIsVerifiedOnce() {
+		JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, meterRegistry);
+		String token = provider.generateToken(user(7L, User.Role.ADMIN));
+
+		Claims first = provider.parseClaims(token);
+		Claims second = provider.parseClaims(token);
+
+		assertThat(second).isSameAs(first);
+		AuthenticatedUser authenticated = provider.toAuthenticatedUser(second);
+		assertThat(authenticated.id()).isEqualTo(7L);
+		assertThat(authenticated.username()).isEqualTo("user-7");
+		assertThat(authenticated.role()).isEqualTo(User.Role.ADMIN);
+		assertThat(provider.getTokenVersion(second)).isEqualTo(3);
+		assertThat(count("hit")).isEqualTo(1.0);
+		assertThat(count("miss")).isEqualTo(1.0);
+	}
+
+	@Test
+	void tamperedTokenIsRejected() {
+		JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, meterRegistry);
+		String token = provider.generateToken(user(1L, User.Role.USER));
+		provider.parseClaims(token);
+
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertThatThrownBy(() -> provider.parseClaims(tampered)).isInstanceOf(JwtException.class);
+		assertThat(provider.validateToken(tampered)).isFalse();
+	}
+
+	@Test
+	void cachedTokenExpiresWithToken() throws InterruptedException {
+		JwtTokenProvider provider = new JwtTokenProvider(SECRET, 1_000, 100, meterRegistry);
+		String token = provider.generateToken(user(1L, User.Role.USER));
+		provider.parseClaims(token);
+
+		// exp 는 초 단위로 잘리므로 여유를 둔다
+		Thread.sleep(2_100);
+
+		assertThatThrownBy(() -> provider.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+	}
+
+	@Test
+	void cacheIsBounded() {
+		JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 10, meterRegistry);
+		for (long id = 1; id <= 50; id++) {
+			provider.parseClaims(provider.generateToken(user(id, User.Role.USER)));
+		}
+
+		assertThat(meterRegistry.get("blog.jwt.verified.cache.size").gauge().value()).isEqualTo(10.0);
+	}
+
+	private double count(String result) {
+		return meterRegistry.get("blog.jwt.verified.cache").tag("result", result).counter().count();
+	}
+
+	private static User user(Long id, User.Role role) {
+		return User.builder()
+				.id(id)
+				.username("user-" + id)
+				.role(role)
+				.tokenVersion(3)
+				.build();
+	}
+}
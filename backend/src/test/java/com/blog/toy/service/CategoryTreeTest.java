@@ -0,0 +1,133 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Category;
+import com.blog.toy.repository.CategoryRepository;
+import com.blog.toy.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 카테고리 트리 스냅샷 테스트 (DB 불필요)
+// 다른 인스턴스에서 바뀐 카테고리와 게시글 수는 invalidate 없이도 유지 시간이 지나면 반영되고,
+// 스냅샷에 없는 카테고리는 DB 에 있을 때만 바로 다시 만드는지 확인한다
+class CategoryTreeTest {
+
+	private static final long MAX_AGE_MS = 30_000;
+	private static final Clock BASE = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+	private final Category backend = category(1L, "backend", null);
+	private final Category spring = category(2L, "spring", backend);
+
+	private CategoryRepository categoryRepository;
+	private PostRepository postRepository;
+	private CategoryTree tree;
+
+	@BeforeEach
+	void setUp() {
+		categoryRepository = mock(CategoryRepository.class);
+		postRepository = mock(PostRepository.class);
+		when(postRepository.countGroupedByCategory()).thenReturn(List.of());
+
+		tree = new CategoryTree();
+		tree.setClock(BASE);
+		ReflectionTestUtils.setField(tree, "categoryRepository", categoryRepository);
+		ReflectionTestUtils.setField(tree, "postRepository", postRepository);
+		ReflectionTestUtils.setField(tree, "maxAgeMs", MAX_AGE_MS);
+	}
+
+	@Test
+	void snapshotIsReusedUntilMaxAge() {
+		when(categoryRepository.findAll()).thenReturn(List.of(backend)).thenReturn(List.of(backend, spring));
+
+		CategoryTree.Snapshot first = tree.current();
+		tree.setClock(Clock.offset(BASE, Duration.ofMillis(MAX_AGE_MS - 1)));
+		assertThat(tree.current()).isSameAs(first);
+		assertThat(first.find(2L)).isEmpty();
+
+		// 다른 인스턴스에서 만든 카테고리: invalidate 가 없어도 유지 시간이 지나면 반영
+		tree.setClock(Clock.offset(BASE, Duration.ofMillis(MAX_AGE_MS)));
+		CategoryTree.Snapshot rebuilt = tree.current();
+		assertThat(rebuilt).isNotSameAs(first);
+		assertThat(rebuilt.subtreeIds(1L)).containsExactly(1L, 2L);
+		verify(categoryRepository, times(2)).findAll();
+	}
+
+	@Test
+	void postCountsWrittenElsewhereAppearAfterMaxAge() {
+		when(categoryRepository.findAll()).thenReturn(List.of(backend, spring));
+		when(postRepository.countGroupedByCategory())
+				.thenReturn(List.<Object[]>of(new Object[]{1L, 1L}, new Object[]{2L, 2L}))
+				.thenReturn(List.<Object[]>of(new Object[]{1L, 1L}, new Object[]{2L, 5L}));
+
+		CategoryTree.Node before = tree.current().find(1L).orElseThrow();
+		assertThat(before.directPostCount()).isEqualTo(1L);
+		assertThat(before.postCount()).isEqualTo(3L);
+
+		// 다른 인스턴스에서 쓴 게시글은 이 인스턴스의 invalidate 를 거치지 않으므로 유지 시간 동안은 그대로
+		tree.setClock(Clock.offset(BASE, Duration.ofMillis(MAX_AGE_MS - 1)));
+		assertThat(tree.current().find(1L).orElseThrow().postCount()).isEqualTo(3L);
+
+		tree.setClock(Clock.offset(BASE, Duration.ofMillis(MAX_AGE_MS)));
+		assertThat(tree.current().find(1L).orElseThrow().postCount()).isEqualTo(6L);
+		assertThat(tree.current().find(2L).orElseThrow().postCount()).isEqualTo(5L);
+	}
+
+	@Test
+	void missingCategoryInDatabaseRebuildsImmediately() {
+		when(categoryRepository.findAll()).thenReturn(List.of(backend)).thenReturn(List.of(backend, spring));
+		when(categoryRepository.findAllById(List.of(2L))).thenReturn(List.of(spring));
+		tree.current();
+
+		assertThat(tree.currentContaining(List.of(1L, 2L)).find(2L)).isPresent();
+		verify(categoryRepository, times(2)).findAll();
+
+		// 이후 조회는 다시 만든 스냅샷을 그대로 사용
+		assertThat(tree.currentContaining(List.of(2L)).find(2L)).isPresent();
+		verify(categoryRepository, times(2)).findAll();
+	}
+
+	@Test
+	void missingCategoryByNameInDatabaseRebuildsImmediately() {
+		when(categoryRepository.findAll()).thenReturn(List.of(backend)).thenReturn(List.of(backend, spring));
+		when(categoryRepository.existsByName("spring")).thenReturn(true);
+		tree.current();
+
+		assertThat(tree.currentContainingName("spring").findByName("spring")).isPresent();
+		verify(categoryRepository, times(2)).findAll();
+	}
+
+	@Test
+	void unknownCategoryDoesNotRebuild() {
+		when(categoryRepository.findAll()).thenReturn(List.of(backend));
+		when(categoryRepository.findAllById(anyList())).thenReturn(List.of());
+		when(categoryRepository.existsByName(anyString())).thenReturn(false);
+		CategoryTree.Snapshot first = tree.current();
+
+		assertThat(tree.currentContaining(List.of(99L))).isSameAs(first);
+		assertThat(tree.currentContainingName("없는 카테고리")).isSameAs(first);
+		verify(categoryRepository, times(1)).findAll();
+	}
+
+	private static Category category(Long id, String name, Category parent) {
+		return Category.builder()
+				.id(id)
+				.name(name)
+				.active(true)
+				.parent(parent)
+				.build();
+	}
+}
@@ -0,0 +1,208 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Comment;
+import com.blog.toy.domain.CommentReaction;
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.domain.User;
+import com.blog.toy.dto.CommentResponseDto;
+import com.blog.toy.dto.PageRequestDto;
+import com.blog.toy.dto.SliceResponseDto;
+import com.blog.toy.repository.CommentReactionRepository;
+import com.blog.toy.repository.CommentRepository;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.SqlCaptureInspector;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.BlogFixture;
+import com.blog.toy.support.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 게시글 댓글 트리 조회 SQL 수 확인
+// 댓글 수와 무관하게 댓글 / 작성자 / 현재 사용자 반응 조회 3번으로 끝나야 한다
+@IntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blog.toy.repository.SqlCaptureInspector")
+@Transactional
+class CommentTreeQueryCountTest {
+
+	private static final int ROOTS = 50;
+	private static final int REPLIES_PER_ROOT = 3;
+	private static final int PAGE_SIZE = 5;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private CommentReactionRepository commentReactionRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Value("${app.comments.max-depth:5}")
+	private int maxDepth;
+
+	private BlogFixture fixture;
+	private Post post;
+	private User viewer;
+	private Comment firstRoot;
+	private int totalComments;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new BlogFixture("ct", userRepository, postRepository, commentRepository);
+		List<User> writers = fixture.users(5, "트리 테스트");
+		viewer = writers.get(0);
+		post = fixture.post(viewer, "댓글 트리 테스트");
+
+		for (int i = 0; i < ROOTS; i++) {
+			Comment root = saveComment(null, writers.get(i % writers.size()), "댓글 " + i);
+			if (firstRoot == null) {
+				firstRoot = root;
+			}
+			for (int j = 0; j < REPLIES_PER_ROOT; j++) {
+				Comment reply = saveComment(root, writers.get((i + j + 1) % writers.size()), "대댓글 " + i + "-" + j);
+				if (j == 0) {
+					commentReactionRepository.save(CommentReaction.builder()
+							.comment(reply)
+							.user(viewer)
+							.type(ReactionType.LIKE)
+							.build());
+				}
+			}
+		}
+
+		// 깊이 제한을 넘는 한 줄짜리 스레드
+		Comment parent = saveComment(null, viewer, "깊은 스레드");
+		for (int depth = 2; depth <= maxDepth + 3; depth++) {
+			parent = saveComment(parent, writers.get(depth % writers.size()), "깊이 " + depth);
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(viewer.getUsername(), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void commentTreeUsesConstantNumberOfStatements() {
+		SqlCaptureInspector.clear();
+		List<CommentResponseDto> tree = commentService.getCommentsByPostId(post.getId());
+		List<String> statements = SqlCaptureInspector.captured();
+
+		assertThat(statements).as("댓글 트리 조회 SQL: %s", statements).hasSize(3);
+		assertThat(tree).hasSize(ROOTS + 1);
+		assertThat(countNodes(tree)).isEqualTo(totalComments);
+
+		// 현재 사용자의 반응이 미리 조회한 값으로 채워졌는지
+		assertThat(tree.get(0).getReplies().get(0).getIsLiked()).isTrue();
+		assertThat(tree.get(0).getReplies().get(1).getIsLiked()).isNull();
+		assertThat(tree.get(0).getAuthorName()).isNotNull();
+	}
+
+	@Test
+	void repliesBeyondMaxDepthAreFlattened() {
+		List<CommentResponseDto> tree = commentService.getCommentsByPostId(post.getId());
+		CommentResponseDto deepThread = tree.get(tree.size() - 1);
+
+		assertThat(depthOf(deepThread)).isEqualTo(maxDepth);
+		assertThat(countNodes(List.of(deepThread))).isEqualTo(maxDepth + 3);
+	}
+
+	@Test
+	void repliesAreBatchedInsteadOfLoadedPerComment() {
+		SqlCaptureInspector.clear();
+		List<CommentResponseDto> replies = commentService.getRepliesByCommentId(firstRoot.getId());
+		List<String> statements = SqlCaptureInspector.captured();
+
+		// 직계 대댓글 / 그 아래 단계 (없음) / 작성자 / 내 반응
+		assertThat(statements).as("대댓글 조회 SQL: %s", statements).hasSize(4);
+		assertThat(replies).hasSize(REPLIES_PER_ROOT);
+		assertThat(replies).filteredOn(reply -> Boolean.TRUE.equals(reply.getIsLiked())).hasSize(1);
+		assertThat(replies).allSatisfy(reply -> assertThat(reply.getAuthorName()).isNotNull());
+	}
+
+	@Test
+	void commentPageLoadsOnlyRepliesOfItsRoots() {
+		PageRequestDto pageRequestDto = new PageRequestDto();
+		pageRequestDto.setSize(PAGE_SIZE);
+		pageRequestDto.setSortDirection("asc");
+		pageRequestDto.setWithTotal(false);
+
+		SliceResponseDto<CommentResponseDto> page = commentService.getCommentsByPostIdWithPaging(post.getId(), pageRequestDto);
+
+		assertThat(page.getContent()).hasSize(PAGE_SIZE);
+		assertThat(countNodes(page.getContent())).isEqualTo(PAGE_SIZE * (1 + REPLIES_PER_ROOT));
+		assertThat(page.getContent().get(0).getReplies().get(0).getIsLiked()).isTrue();
+
+		// 다른 페이지 최상위 댓글의 대댓글은 읽지 않는다 (영속성 컨텍스트에 올라온 댓글 = 이 페이지의 트리)
+		long loadedComments = entityManager.unwrap(Session.class).getStatistics().getEntityKeys().stream()
+				.map(EntityKey.class::cast)
+				.filter(key -> Comment.class.getName().equals(key.getEntityName()))
+				.count();
+		assertThat(loadedComments).isEqualTo(PAGE_SIZE * (1 + REPLIES_PER_ROOT));
+	}
+
+	@Test
+	void userCommentsDoNotQueryPerComment() {
+		PageRequestDto pageRequestDto = new PageRequestDto();
+		pageRequestDto.setSize(40);
+		pageRequestDto.setWithTotal(false);
+
+		SqlCaptureInspector.clear();
+		SliceResponseDto<CommentResponseDto> page = commentService.getUserComments(viewer.getId(), pageRequestDto);
+		List<String> statements = SqlCaptureInspector.captured();
+
+		// 목록 1번 + 트리 단계마다 1번 (가장 깊은 스레드 높이 + 빈 단계) + 작성자 1번 + 내 반응 1번
+		assertThat(page.getContent()).hasSize(40);
+		assertThat(statements).as("사용자 댓글 조회 SQL: %s", statements)
+				.hasSizeLessThanOrEqualTo(1 + (maxDepth + 4) + 2);
+	}
+
+	private Comment saveComment(Comment parent, User user, String content) {
+		totalComments++;
+		return fixture.comment(post, parent, user, content);
+	}
+
+	private int countNodes(List<CommentResponseDto> nodes) {
+		int count = 0;
+		for (CommentResponseDto node : nodes) {
+			count += 1 + countNodes(node.getReplies());
+		}
+		return count;
+	}
+
+	private int depthOf(CommentResponseDto node) {
+		int max = 0;
+		for (CommentResponseDto reply : node.getReplies()) {
+			max = Math.max(max, depthOf(reply));
+		}
+		return max + 1;
+	}
+}
@@ -0,0 +1,163 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Comment;
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.User;
+import com.blog.toy.repository.CommentRepository;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.SqlCaptureInspector;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.JwtTokenProvider;
+import com.blog.toy.security.TokenRevocationRegistry;
+import com.blog.toy.support.BlogFixture;
+import com.blog.toy.support.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 요청당 사용자 조회 수 확인 (댓글이 많은 엔드포인트)
+// 현재 사용자는 JWT 클레임으로 만든 인증 정보에서 읽으므로, 댓글 수와 무관하게
+// 사용자명으로 users 테이블을 조회하는 SQL 이 한 번도 나가지 않아야 한다
+@IntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blog.toy.repository.SqlCaptureInspector")
+@AutoConfigureMockMvc
+@Transactional
+class CurrentUserQueryCountTest {
+
+	private static final int ROOTS = 30;
+	private static final int REPLIES_PER_ROOT = 3;
+
+	// 사용자명 조건으로 users 를 직접 조회하는 SQL (findByUsername)
+	private static final Pattern USER_BY_USERNAME = Pattern.compile(
+			"(?is).*\\bfrom\\s+users\\b.*\\busername\\s*=.*");
+	private static final Pattern FROM_USERS = Pattern.compile("(?is).*\\bfrom\\s+users\\b.*");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Autowired
+	private TokenRevocationRegistry revocationRegistry;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private BlogFixture fixture;
+	private Post post;
+	private User viewer;
+	private Comment firstRoot;
+	private String bearer;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new BlogFixture("cu", userRepository, postRepository, commentRepository);
+		List<User> writers = fixture.users(4, "현재 사용자 테스트");
+		viewer = writers.get(0);
+		post = fixture.post(viewer, "현재 사용자 조회 테스트");
+
+		for (int i = 0; i < ROOTS; i++) {
+			// 최상위 댓글은 모두 viewer 가 작성 (내 댓글 목록이 길어지도록)
+			Comment root = saveComment(null, viewer, "댓글 " + i);
+			if (firstRoot == null) {
+				firstRoot = root;
+			}
+			for (int j = 0; j < REPLIES_PER_ROOT; j++) {
+				saveComment(root, writers.get(j + 1), "대댓글 " + i + "-" + j);
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		bearer = "Bearer " + tokenProvider.generateToken(viewer);
+		// 토큰 무효화 상태는 사용자별로 처음 한 번만 조회되므로 측정 전에 채워 둔다
+		revocationRegistry.isActive(viewer.getId(), 0, viewer.getRole());
+	}
+
+	@Test
+	void commentTreeDoesNotLookUpCurrentUser() throws Exception {
+		List<String> statements = capture(get("/api/comments/post/" + post.getId() + "/all"), status().isOk());
+
+		assertThat(byUsername(statements)).as("사용자명 조회 SQL: %s", statements).isEmpty();
+		// 댓글 작성자 일괄 조회 한 번만
+		assertThat(fromUsers(statements)).as("users 조회 SQL: %s", statements).hasSize(1);
+	}
+
+	@Test
+	void userCommentListDoesNotLookUpCurrentUserPerComment() throws Exception {
+		List<String> statements = capture(
+				get("/api/comments/user/" + viewer.getId()).param("size", String.valueOf(ROOTS)), status().isOk());
+
+		assertThat(byUsername(statements)).as("사용자명 조회 SQL: %s", statements).isEmpty();
+	}
+
+	@Test
+	void repliesDoNotLookUpCurrentUser() throws Exception {
+		List<String> statements = capture(get("/api/comments/" + firstRoot.getId() + "/replies"), status().isOk());
+
+		assertThat(byUsername(statements)).as("사용자명 조회 SQL: %s", statements).isEmpty();
+	}
+
+	@Test
+	void writesResolveCurrentUserWithoutUsernameLookup() throws Exception {
+		List<String> reply = capture(post("/api/comments")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"답글\",\"postId\":" + post.getId() + ",\"parentId\":" + firstRoot.getId() + "}"),
+				status().isCreated());
+		assertThat(byUsername(reply)).as("답글 작성 SQL: %s", reply).isEmpty();
+		// 작성자는 참조로 설정하므로 응답의 작성자 일괄 조회 한 번만
+		assertThat(fromUsers(reply)).as("답글 작성 users 조회 SQL: %s", reply).hasSize(1);
+
+		Long otherComment = commentRepository.findByParentId(firstRoot.getId()).get(0).getId();
+		List<String> reaction = capture(post("/api/comments/" + otherComment + "/reaction")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\":\"LIKE\"}"), status().isOk());
+		assertThat(byUsername(reaction)).as("댓글 반응 SQL: %s", reaction).isEmpty();
+	}
+
+	private List<String> capture(MockHttpServletRequestBuilder request, ResultMatcher expected) throws Exception {
+		SqlCaptureInspector.clear();
+		mockMvc.perform(request.header("Authorization", bearer)).andExpect(expected);
+		List<String> statements = SqlCaptureInspector.captured();
+		entityManager.flush();
+		entityManager.clear();
+		return statements;
+	}
+
+	private static List<String> byUsername(List<String> statements) {
+		return statements.stream().filter(sql -> USER_BY_USERNAME.matcher(sql).matches()).toList();
+	}
+
+	private static List<String> fromUsers(List<String> statements) {
+		return statements.stream().filter(sql -> FROM_USERS.matcher(sql).matches()).toList();
+	}
+
+	private Comment saveComment(Comment parent, User user, String content) {
+		return fixture.comment(post, parent, user, content);
+	}
+}
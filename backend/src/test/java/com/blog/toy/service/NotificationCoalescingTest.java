@@ -0,0 +1,139 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.domain.User;
+import com.blog.toy.notification.NotificationDispatcher;
+import com.blog.toy.notification.NotificationEvent;
+import com.blog.toy.notification.UnreadCounter;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 반응 알림 묶기 테스트
+// 같은 게시글/같은 반응의 읽지 않은 알림은 한 행에 행위자 수와 최근 행위자로 묶이고,
+// 다른 반응이나 읽은 뒤의 반응은 새 알림이 되는지 확인한다
+// 알림 저장이 커밋 이후 비동기로 일어나므로 @Transactional 없이 실행하고 끝나면 직접 정리한다 (전용 테스트 DB)
+@IntegrationTest(properties = {"app.notification.unread-cache-ttl-ms=0", "app.notification.coalesce-push-delay-ms=0"})
+class NotificationCoalescingTest {
+
+	private static final int SENDERS = 5;
+	private static final long IDLE_TIMEOUT_MS = 10_000;
+
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	@Autowired
+	private UnreadCounter unreadCounter;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<User> users = new ArrayList<>();
+	private User author;
+	private Post post;
+
+	@BeforeEach
+	void setUp() {
+		String prefix = "nc-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+		List<User> created = new ArrayList<>();
+		for (int i = 0; i <= SENDERS; i++) {
+			created.add(User.builder()
+					.username(prefix + i)
+					.email(prefix + i + "@example.com")
+					.password("password")
+					.name("묶기 테스트 " + i)
+					.role(User.Role.USER)
+					.enabled(true)
+					.build());
+		}
+		users.addAll(userRepository.saveAll(created));
+		author = users.get(0);
+
+		post = postRepository.save(Post.builder()
+				.title("묶기 테스트 게시글")
+				.content("묶기 테스트")
+				.author(author.getUsername())
+				.authorId(author.getId())
+				.status(Post.PostStatus.PUBLISHED)
+				.viewCount(0)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS);
+		jdbcTemplate.update("DELETE FROM notification WHERE post_id = ?", post.getId());
+		jdbcTemplate.update("DELETE FROM post WHERE id = ?", post.getId());
+		userRepository.deleteAllInBatch(users);
+	}
+
+	@Test
+	void likesAreMergedIntoOneUnreadNotification() throws Exception {
+		// 배치마다 나눠 들어와도 (기존 행 UPDATE) 같은 배치로 들어와도 (메모리에서 합침) 한 행
+		like(users.get(1));
+		like(users.get(2));
+		for (User sender : users.subList(3, users.size())) {
+			notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), sender.getId(), ReactionType.LIKE));
+		}
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+
+		List<Map<String, Object>> rows = notifications();
+		assertThat(rows).hasSize(1);
+		Map<String, Object> row = rows.get(0);
+		assertThat(row.get("actor_count")).isEqualTo(SENDERS);
+		assertThat(row.get("latest_actors")).isEqualTo(String.join("\n",
+				users.get(5).getUsername(), users.get(4).getUsername(), users.get(3).getUsername()));
+		assertThat((String) row.get("content")).startsWith(users.get(5).getUsername() + "님 외 " + (SENDERS - 1) + "명이");
+		assertThat(unreadCounter.get(author.getId())).isEqualTo(1);
+
+		// 같은 사용자의 반응이 다시 와도 행위자 수는 그대로 (순서만 앞으로)
+		like(users.get(1));
+		row = notifications().get(0);
+		assertThat(row.get("actor_count")).isEqualTo(SENDERS);
+		assertThat((String) row.get("latest_actors")).startsWith(users.get(1).getUsername() + "\n");
+	}
+
+	@Test
+	void readNotificationAndOtherReactionAreNotMerged() throws Exception {
+		like(users.get(1));
+		jdbcTemplate.update("UPDATE notification SET status = 'READ' WHERE post_id = ?", post.getId());
+
+		like(users.get(2));
+		notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), users.get(3).getId(), ReactionType.DISLIKE));
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+
+		assertThat(notifications()).hasSize(3)
+				.allSatisfy(row -> assertThat(row.get("actor_count")).isEqualTo(1));
+	}
+
+	private void like(User sender) throws InterruptedException {
+		notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), sender.getId(), ReactionType.LIKE));
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+	}
+
+	private List<Map<String, Object>> notifications() {
+		return jdbcTemplate.queryForList(
+				"SELECT actor_count, latest_actors, content FROM notification WHERE post_id = ? ORDER BY id", post.getId());
+	}
+}
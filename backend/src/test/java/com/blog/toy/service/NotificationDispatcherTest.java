@@ -0,0 +1,185 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.domain.User;
+import com.blog.toy.notification.NotificationDispatcher;
+import com.blog.toy.notification.NotificationEvent;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 알림 비동기 발송 테스트
+// 커밋된 트랜잭션의 알림만 저장되는지, 롤백/본인 알림은 건너뛰는지 확인한다
+// 커밋 이후 동작을 봐야 하므로 @Transactional 없이 실행하고 끝나면 직접 정리한다
+// 반응마다 한 행씩 저장되는지 보기 위해 묶기는 끈다 (묶기는 NotificationCoalescingTest)
+// 아웃박스는 테스트에서 직접 처리하므로 주기 처리는 사실상 끈다
+@IntegrationTest(properties = {"app.notification.coalesce-window-ms=0", "app.notification.outbox-poll-interval-ms=3600000"})
+class NotificationDispatcherTest {
+
+	private static final int SENDERS = 50;
+	private static final long IDLE_TIMEOUT_MS = 10_000;
+
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${app.notification.retry-max-attempts:5}")
+	private int maxAttempts;
+
+	private final List<User> users = new ArrayList<>();
+	private User author;
+	private Post post;
+
+	@BeforeEach
+	void setUp() {
+		String prefix = "nd-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+		List<User> created = new ArrayList<>();
+		for (int i = 0; i <= SENDERS; i++) {
+			created.add(User.builder()
+					.username(prefix + i)
+					.email(prefix + i + "@example.com")
+					.password("password")
+					.name("알림 테스트 " + i)
+					.role(User.Role.USER)
+					.enabled(true)
+					.build());
+		}
+		users.addAll(userRepository.saveAll(created));
+		author = users.get(0);
+
+		post = postRepository.save(Post.builder()
+				.title("알림 테스트 게시글")
+				.content("알림 테스트")
+				.author(author.getUsername())
+				.authorId(author.getId())
+				.status(Post.PostStatus.PUBLISHED)
+				.viewCount(0)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS);
+		jdbcTemplate.update("DELETE FROM notification_outbox WHERE post_id = ?", post.getId());
+		jdbcTemplate.update("DELETE FROM notification WHERE post_id = ?", post.getId());
+		jdbcTemplate.update("DELETE FROM post WHERE id = ?", post.getId());
+		userRepository.deleteAllInBatch(users);
+	}
+
+	@Test
+	void committedReactionsAreStoredForPostAuthor() throws Exception {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			for (User sender : users.subList(1, users.size())) {
+				notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), sender.getId(), ReactionType.LIKE));
+			}
+		});
+
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+		assertThat(countNotifications()).isEqualTo(SENDERS);
+		Long recipients = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM notification WHERE post_id = ? AND recipient_id <> ?",
+				Long.class, post.getId(), author.getId());
+		assertThat(recipients).isZero();
+	}
+
+	@Test
+	void rolledBackTransactionPublishesNothing() throws Exception {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), users.get(1).getId(), ReactionType.LIKE));
+			status.setRollbackOnly();
+		});
+
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+		assertThat(countNotifications()).isZero();
+	}
+
+	@Test
+	void selfNotificationIsSkipped() throws Exception {
+		notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), author.getId(), ReactionType.LIKE));
+
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+		assertThat(countNotifications()).isZero();
+	}
+
+	@Test
+	void badOutboxRowDoesNotBlockLaterRows() {
+		// 처리할 수 없는 행 (알 수 없는 알림 타입) 뒤에 정상 행
+		Long bad = insertOutbox("UNKNOWN", users.get(1));
+		for (User sender : users.subList(2, 5)) {
+			insertOutbox("POST_LIKE", sender);
+		}
+
+		notificationDispatcher.drainOutbox();
+
+		assertThat(countNotifications()).isEqualTo(3);
+		List<Map<String, Object>> remaining = outboxRows();
+		assertThat(remaining).hasSize(1);
+		assertThat(remaining.get(0).get("id")).isEqualTo(bad);
+		assertThat(remaining.get(0).get("attempts")).isEqualTo(1);
+		assertThat(remaining.get(0).get("last_error")).isNotNull();
+		assertThat(remaining.get(0).get("dead_at")).isNull();
+
+		// 재시도 횟수를 다 쓰면 격리되고, 이후에는 배치가 다시 한 번에 처리된다
+		for (int i = 1; i < maxAttempts; i++) {
+			notificationDispatcher.drainOutbox();
+		}
+		assertThat(outboxRows()).singleElement().satisfies(row -> {
+			assertThat(row.get("attempts")).isEqualTo(maxAttempts);
+			assertThat(row.get("dead_at")).isNotNull();
+		});
+
+		insertOutbox("POST_LIKE", users.get(5));
+		notificationDispatcher.drainOutbox();
+		assertThat(countNotifications()).isEqualTo(4);
+		assertThat(outboxRows()).singleElement().satisfies(row -> assertThat(row.get("attempts")).isEqualTo(maxAttempts));
+	}
+
+	private Long insertOutbox(String type, User sender) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO notification_outbox (type, recipient, sender_id, post_id, reaction_type, created_at) "
+						+ "VALUES (?, 'POST_AUTHOR', ?, ?, 'LIKE', ?) RETURNING id",
+				Long.class, type, sender.getId(), post.getId(), Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	private List<Map<String, Object>> outboxRows() {
+		return jdbcTemplate.queryForList(
+				"SELECT id, attempts, last_error, dead_at FROM notification_outbox WHERE post_id = ? ORDER BY id", post.getId());
+	}
+
+	private long countNotifications() {
+		Long count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM notification WHERE post_id = ?", Long.class, post.getId());
+		return count != null ? count : 0L;
+	}
+}
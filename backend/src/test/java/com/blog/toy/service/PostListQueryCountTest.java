@@ -0,0 +1,170 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Category;
+import com.blog.toy.domain.File;
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.Tag;
+import com.blog.toy.domain.User;
+import com.blog.toy.dto.CursorRequestDto;
+import com.blog.toy.dto.PageRequestDto;
+import com.blog.toy.dto.PostResponseDto;
+import com.blog.toy.dto.SearchRequestDto;
+import com.blog.toy.repository.CategoryRepository;
+import com.blog.toy.repository.CommentRepository;
+import com.blog.toy.repository.FileRepository;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.SqlCaptureInspector;
+import com.blog.toy.repository.TagRepository;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.BlogFixture;
+import com.blog.toy.support.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 게시글 목록 조회 SQL 수 확인
+// 목록 / 태그 / 첨부파일을 게시글 id 묶음으로 한 번씩 조회하므로 페이지 크기가 커져도 SQL 수는 같아야 한다
+@IntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.blog.toy.repository.SqlCaptureInspector")
+@Transactional
+class PostListQueryCountTest {
+
+	private static final int POSTS = 30;
+	private static final int SMALL_PAGE = 5;
+	private static final int LARGE_PAGE = 25;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private FileRepository fileRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private User writer;
+
+	@BeforeEach
+	void setUp() {
+		BlogFixture fixture = new BlogFixture("pl", userRepository, postRepository, commentRepository);
+		String prefix = fixture.prefix();
+		writer = fixture.users(1, "목록 테스트").get(0);
+
+		Category category = categoryRepository.save(Category.builder()
+				.name(prefix + "category")
+				.active(true)
+				.build());
+
+		List<Tag> tags = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Tag tag = new Tag();
+			tag.setName(prefix + "tag-" + i);
+			tag.setActive(true);
+			tags.add(tagRepository.save(tag));
+		}
+
+		for (int i = 0; i < POSTS; i++) {
+			Post post = postRepository.save(Post.builder()
+					.title("목록 테스트 " + i)
+					.content("목록 테스트 " + i)
+					.author(writer.getUsername())
+					.authorId(writer.getId())
+					.category(category)
+					.tags(new ArrayList<>(List.of(tags.get(i % tags.size()), tags.get((i + 1) % tags.size()))))
+					.status(Post.PostStatus.PUBLISHED)
+					.viewCount(0)
+					.likeCount(0)
+					.dislikeCount(0)
+					.build());
+			fileRepository.save(File.builder()
+					.originalFileName("file-" + i + ".txt")
+					.storedFileName(prefix + "file-" + i + ".txt")
+					.filePath("/tmp/" + prefix + "file-" + i + ".txt")
+					.fileType("text/plain")
+					.fileSize(1L)
+					.post(post)
+					.user(writer)
+					.build());
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void pagedListUsesSameNumberOfStatementsForAnyPageSize() {
+		assertConstantStatements(size -> postService.findAllWithPaging(pageRequest(size)).getContent());
+	}
+
+	@Test
+	void advancedSearchUsesSameNumberOfStatementsForAnyPageSize() {
+		assertConstantStatements(size -> postService.advancedSearch(SearchRequestDto.builder()
+				.author(writer.getUsername())
+				.page(0)
+				.size(size)
+				.withTotal(false)
+				.build()).getContent());
+	}
+
+	@Test
+	void cursorListUsesSameNumberOfStatementsForAnyPageSize() {
+		assertConstantStatements(size -> {
+			CursorRequestDto request = new CursorRequestDto();
+			request.setSize(size);
+			return postService.findAllWithCursor(request).getContent();
+		});
+	}
+
+	// 작은 페이지와 큰 페이지의 SQL 수가 같고, 태그 / 첨부파일까지 채워졌는지 확인
+	private void assertConstantStatements(IntFunction<List<PostResponseDto>> list) {
+		List<String> small = capture(list, SMALL_PAGE);
+		List<String> large = capture(list, LARGE_PAGE);
+
+		assertThat(large).as("페이지 크기 %d SQL: %s / 페이지 크기 %d SQL: %s", SMALL_PAGE, small, LARGE_PAGE, large)
+				.hasSameSizeAs(small);
+	}
+
+	private List<String> capture(IntFunction<List<PostResponseDto>> list, int size) {
+		entityManager.clear();
+		SqlCaptureInspector.clear();
+		List<PostResponseDto> posts = list.apply(size);
+		List<String> statements = SqlCaptureInspector.captured();
+
+		assertThat(posts).hasSize(size);
+		assertThat(posts).filteredOn(post -> writer.getId().equals(post.getAuthorId())).isNotEmpty().allSatisfy(post -> {
+			assertThat(post.getTags()).isNotEmpty();
+			assertThat(post.getFiles()).isNotEmpty();
+		});
+		return statements;
+	}
+
+	private PageRequestDto pageRequest(int size) {
+		PageRequestDto request = new PageRequestDto();
+		request.setPage(0);
+		request.setSize(size);
+		request.setWithTotal(false);
+		return request;
+	}
+}
@@ -0,0 +1,162 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Comment;
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.domain.User;
+import com.blog.toy.dto.CommentReactionDto;
+import com.blog.toy.dto.PostReactionDto;
+import com.blog.toy.notification.NotificationDispatcher;
+import com.blog.toy.repository.CommentRepository;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static com.blog.toy.support.ConcurrentTasks.asUser;
+import static com.blog.toy.support.ConcurrentTasks.runAll;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 좋아요/싫어요 동시성 테스트
+// 수천 건의 반응을 병렬로 보내 최종 카운터가 반응 테이블과 정확히 일치하는지, 처리량은 얼마인지 확인한다
+// 각 스레드가 별도 트랜잭션으로 커밋해야 하므로 @Transactional 없이 실행하고 끝나면 직접 정리한다 (전용 테스트 DB)
+@IntegrationTest
+class ReactionConcurrencyTest {
+
+	private static final int USERS = 1000;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	private final List<User> users = new ArrayList<>();
+	private Post post;
+	private Comment comment;
+
+	@BeforeEach
+	void setUp() {
+		String prefix = "rc-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+		List<User> created = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			created.add(User.builder()
+					.username(prefix + i)
+					.email(prefix + i + "@example.com")
+					.password("password")
+					.name("동시성 테스트 " + i)
+					.role(User.Role.USER)
+					.enabled(true)
+					.build());
+		}
+		users.addAll(userRepository.saveAll(created));
+
+		post = postRepository.save(Post.builder()
+				.title("동시성 테스트 게시글")
+				.content("동시성 테스트")
+				.author(users.get(0).getUsername())
+				.authorId(users.get(0).getId())
+				.status(Post.PostStatus.PUBLISHED)
+				.viewCount(0)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+
+		comment = commentRepository.save(Comment.builder()
+				.content("동시성 테스트 댓글")
+				.post(post)
+				.user(users.get(0))
+				.author(users.get(0).getUsername())
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		// 반응 알림은 커밋 이후 비동기로 저장되므로 발송이 끝난 뒤 정리
+		notificationDispatcher.awaitIdle(10_000);
+		jdbcTemplate.update("DELETE FROM notification WHERE post_id = ? OR comment_id = ?", post.getId(), comment.getId());
+		jdbcTemplate.update("DELETE FROM comment_reactions WHERE comment_id = ?", comment.getId());
+		jdbcTemplate.update("DELETE FROM post_reactions WHERE post_id = ?", post.getId());
+		jdbcTemplate.update("DELETE FROM comment WHERE id = ?", comment.getId());
+		jdbcTemplate.update("DELETE FROM post WHERE id = ?", post.getId());
+		userRepository.deleteAllInBatch(users);
+	}
+
+	@Test
+	void parallelPostReactionsKeepExactCounts() throws Exception {
+		// 사용자마다 한 번씩, 절반은 좋아요 절반은 싫어요
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			User user = users.get(i);
+			ReactionType type = i % 2 == 0 ? ReactionType.LIKE : ReactionType.DISLIKE;
+			tasks.add(asUser(user.getUsername(), () -> postService.reactToPost(
+					PostReactionDto.builder().postId(post.getId()).type(type).build())));
+		}
+
+		runAll("게시글 반응", THREADS, tasks);
+
+		Post reloaded = postRepository.findById(post.getId()).orElseThrow();
+		assertThat(reloaded.getLikeCount()).isEqualTo(USERS / 2);
+		assertThat(reloaded.getDislikeCount()).isEqualTo(USERS - USERS / 2);
+		assertThat(countRows("post_reactions", "post_id", post.getId(), "LIKE")).isEqualTo(USERS / 2);
+		assertThat(countRows("post_reactions", "post_id", post.getId(), "DISLIKE")).isEqualTo(USERS - USERS / 2);
+	}
+
+	@Test
+	void parallelCommentTogglesFromSameUserStayConsistent() throws Exception {
+		// 같은 사용자가 좋아요를 3번 연달아(동시에) 보내면 추가 -> 취소 -> 추가 로 직렬화되어 반응 1건만 남아야 한다
+		int repeats = 3;
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (User user : users) {
+			for (int r = 0; r < repeats; r++) {
+				tasks.add(asUser(user.getUsername(), () -> {
+					CommentReactionDto dto = new CommentReactionDto();
+					dto.setCommentId(comment.getId());
+					dto.setType(ReactionType.LIKE);
+					return commentService.reactToComment(dto);
+				}));
+			}
+		}
+		Collections.shuffle(tasks);
+
+		runAll("댓글 반응 토글", THREADS, tasks);
+
+		Comment reloaded = commentRepository.findById(comment.getId()).orElseThrow();
+		long likeRows = countRows("comment_reactions", "comment_id", comment.getId(), "LIKE");
+		assertThat(likeRows).isEqualTo(USERS);
+		assertThat(reloaded.getLikeCount()).isEqualTo((int) likeRows);
+		assertThat(reloaded.getDislikeCount()).isZero();
+	}
+
+	private long countRows(String table, String column, Long id, String type) {
+		Long count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ? AND type = ?", Long.class, id, type);
+		return count != null ? count : 0L;
+	}
+}
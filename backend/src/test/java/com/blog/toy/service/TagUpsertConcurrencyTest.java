@@ -0,0 +1,117 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.User;
+import com.blog.toy.dto.PostRequestDto;
+import com.blog.toy.dto.PostResponseDto;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static com.blog.toy.support.ConcurrentTasks.asUser;
+import static com.blog.toy.support.ConcurrentTasks.runAll;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 태그 일괄 생성 동시성 테스트
+// 겹치는 새 태그를 가진 게시글을 병렬로 작성해도 유니크 제약 위반 없이 태그가 이름별로 한 건만 생기는지 확인한다
+// 각 스레드가 별도 트랜잭션으로 커밋해야 하므로 @Transactional 없이 실행하고 끝나면 직접 정리한다 (전용 테스트 DB)
+// 정리도 서비스로 해서 검색 색인 / 자동완성 / 태그 목록 캐시에 지운 게시글과 태그가 남지 않게 한다
+@IntegrationTest
+class TagUpsertConcurrencyTest {
+
+	private static final int POSTS = 200;
+	private static final int THREADS = 32;
+	private static final int TAG_POOL = 20;
+	private static final int TAGS_PER_POST = 5;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private TagService tagService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Long> postIds = Collections.synchronizedList(new ArrayList<>());
+	private String prefix;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		prefix = "tu-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+		user = userRepository.save(User.builder()
+				.username(prefix + "writer")
+				.email(prefix + "writer@example.com")
+				.password("password")
+				.name("태그 동시성 테스트")
+				.role(User.Role.USER)
+				.enabled(true)
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (Long postId : postIds) {
+			postService.delete(postId);
+		}
+		for (Long tagId : jdbcTemplate.queryForList("SELECT id FROM tags WHERE name LIKE ?", Long.class, prefix + "%")) {
+			tagService.deleteTag(tagId);
+		}
+		userRepository.delete(user);
+	}
+
+	@Test
+	void parallelPostsWithOverlappingNewTagsShareOneTagPerName() throws Exception {
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			List<String> tagNames = new ArrayList<>();
+			for (int j = 0; j < TAGS_PER_POST; j++) {
+				// 공백/'#' 이 섞인 이름도 정규화되어 같은 태그가 되어야 한다
+				String name = prefix + "tag" + ((i + j) % TAG_POOL);
+				tagNames.add(j % 2 == 0 ? name : "  #" + name + " ");
+			}
+			int index = i;
+			tasks.add(asUser(user.getUsername(), () -> {
+				PostResponseDto created = postService.createPost(PostRequestDto.builder()
+						.title("태그 동시성 테스트 " + index)
+						.content("태그 동시성 테스트")
+						.author(user.getUsername())
+						.tagNames(tagNames)
+						.status(Post.PostStatus.PUBLISHED)
+						.build());
+				postIds.add(created.getId());
+				return created;
+			}));
+		}
+
+		runAll("태그 포함 게시글 작성", THREADS, tasks);
+
+		Long tagCount = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tags WHERE name LIKE ?", Long.class, prefix + "%");
+		Long distinctNames = jdbcTemplate.queryForObject(
+				"SELECT COUNT(DISTINCT name) FROM tags WHERE name LIKE ?", Long.class, prefix + "%");
+		assertThat(tagCount).isEqualTo(TAG_POOL);
+		assertThat(distinctNames).isEqualTo(TAG_POOL);
+
+		assertThat(postIds).hasSize(POSTS);
+		for (Long postId : postIds) {
+			Long links = jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM post_tags WHERE post_id = ?", Long.class, postId);
+			assertThat(links).isEqualTo(TAGS_PER_POST);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.blog.toy.service;
+
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.ReactionType;
+import com.blog.toy.domain.User;
+import com.blog.toy.notification.NotificationDispatcher;
+import com.blog.toy.notification.NotificationEvent;
+import com.blog.toy.notification.UnreadCounter;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.UserRepository;
+import com.blog.toy.security.AuthenticatedUser;
+import com.blog.toy.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 읽지 않은 알림 수 카운터 테스트
+// 알림 생성/읽음/전체 읽음/삭제를 거치는 동안 카운터가 실제 읽지 않은 알림 COUNT 와 계속 같은지 확인한다
+// 알림 저장이 커밋 이후 비동기로 일어나므로 @Transactional 없이 실행하고 끝나면 직접 정리한다 (전용 테스트 DB)
+// 알림 하나씩 읽음/삭제해 보기 위해 묶기는 끈다
+@IntegrationTest(properties = {"app.notification.unread-cache-ttl-ms=0", "app.notification.coalesce-window-ms=0"})
+class UnreadCounterTest {
+
+	private static final int SENDERS = 5;
+	private static final long IDLE_TIMEOUT_MS = 10_000;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	@Autowired
+	private UnreadCounter unreadCounter;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<User> users = new ArrayList<>();
+	private User author;
+	private Post post;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		String prefix = "uc-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+		List<User> created = new ArrayList<>();
+		for (int i = 0; i <= SENDERS; i++) {
+			created.add(User.builder()
+					.username(prefix + i)
+					.email(prefix + i + "@example.com")
+					.password("password")
+					.name("카운터 테스트 " + i)
+					.role(User.Role.USER)
+					.enabled(true)
+					.build());
+		}
+		users.addAll(userRepository.saveAll(created));
+		author = users.get(0);
+
+		post = postRepository.save(Post.builder()
+				.title("카운터 테스트 게시글")
+				.content("카운터 테스트")
+				.author(author.getUsername())
+				.authorId(author.getId())
+				.status(Post.PostStatus.PUBLISHED)
+				.viewCount(0)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+
+		for (User sender : users.subList(1, users.size())) {
+			notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), sender.getId(), ReactionType.LIKE));
+		}
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(author.getId(), author.getUsername(), author.getRole()), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		SecurityContextHolder.clearContext();
+		notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS);
+		jdbcTemplate.update("DELETE FROM notification WHERE post_id = ?", post.getId());
+		jdbcTemplate.update("DELETE FROM post WHERE id = ?", post.getId());
+		userRepository.deleteAllInBatch(users);
+	}
+
+	@Test
+	void counterFollowsCreateReadAndDelete() {
+		assertThat(notificationService.getUnreadNotificationCount()).isEqualTo(SENDERS).isEqualTo(countUnread());
+
+		List<Long> ids = jdbcTemplate.queryForList(
+				"SELECT id FROM notification WHERE recipient_id = ? ORDER BY id", Long.class, author.getId());
+
+		notificationService.markAsRead(ids.get(0));
+		// 이미 읽은 알림을 다시 읽어도 줄지 않음
+		notificationService.markAsRead(ids.get(0));
+		assertThat(notificationService.getUnreadNotificationCount()).isEqualTo(SENDERS - 1).isEqualTo(countUnread());
+
+		// 읽은 알림 삭제는 그대로, 읽지 않은 알림 삭제는 1 감소
+		notificationService.deleteNotification(ids.get(0));
+		notificationService.deleteNotification(ids.get(1));
+		assertThat(notificationService.getUnreadNotificationCount()).isEqualTo(SENDERS - 2).isEqualTo(countUnread());
+
+		notificationService.markAllAsRead();
+		assertThat(notificationService.getUnreadNotificationCount()).isZero().isEqualTo(countUnread());
+	}
+
+	@Test
+	void otherUsersNotificationIsNotMarked() {
+		Long othersNotification = jdbcTemplate.queryForObject(
+				"SELECT MIN(id) FROM notification WHERE recipient_id = ?", Long.class, author.getId());
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(users.get(1).getId(), users.get(1).getUsername(), users.get(1).getRole()), null, List.of()));
+		notificationService.markAsRead(othersNotification);
+
+		assertThat(unreadCounter.get(author.getId())).isEqualTo(SENDERS).isEqualTo(countUnread());
+	}
+
+	@Test
+	void markAllAsReadMovesWatermarkWithoutTouchingRows() throws Exception {
+		notificationService.markAllAsRead();
+
+		// 알림 행은 그대로 UNREAD, 워터마크로 읽음
+		Long unreadRows = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM notification WHERE recipient_id = ? AND status = 'UNREAD'", Long.class, author.getId());
+		assertThat(unreadRows).isEqualTo(SENDERS);
+		assertThat(notificationService.getUnreadNotificationCount()).isZero().isEqualTo(countUnread());
+		assertThat(notificationService.getUnreadNotifications()).isEmpty();
+
+		// 워터마크 이후에 온 알림만 읽지 않은 알림
+		notificationDispatcher.publish(NotificationEvent.postReaction(post.getId(), users.get(1).getId(), ReactionType.DISLIKE));
+		assertThat(notificationDispatcher.awaitIdle(IDLE_TIMEOUT_MS)).isTrue();
+		assertThat(notificationService.getUnreadNotificationCount()).isEqualTo(1).isEqualTo(countUnread());
+		assertThat(notificationService.getUnreadNotifications()).hasSize(1);
+
+		// 워터마크 이하 알림은 다시 읽어도/삭제해도 줄지 않음
+		Long coveredId = jdbcTemplate.queryForObject(
+				"SELECT MIN(id) FROM notification WHERE recipient_id = ?", Long.class, author.getId());
+		notificationService.markAsRead(coveredId);
+		notificationService.deleteNotification(coveredId);
+		assertThat(notificationService.getUnreadNotificationCount()).isEqualTo(1).isEqualTo(countUnread());
+
+		notificationService.deleteReadNotifications();
+		Long remaining = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM notification WHERE recipient_id = ?", Long.class, author.getId());
+		assertThat(remaining).isEqualTo(1);
+	}
+
+	// 읽지 않은 알림 = UNREAD 이고 모두 읽음 워터마크보다 큰 알림
+	private long countUnread() {
+		Long count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM notification n LEFT JOIN notification_state s ON s.user_id = n.recipient_id "
+						+ "WHERE n.recipient_id = ? AND n.status = 'UNREAD' AND n.id > COALESCE(s.read_watermark, 0)",
+				Long.class, author.getId());
+		return count != null ? count : 0L;
+	}
+}
@@ -0,0 +1,168 @@
+package com.blog.toy.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 조회수 버퍼 테스트 (DB 불필요)
+// 모은 조회수가 한 번의 배치로 반영되고, 반영이 실패하면 롤백 후 버퍼로 그대로 되돌아가 다음 flush 에서 한 번만 반영되는지 확인한다
+class ViewCountBufferTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private PlatformTransactionManager transactionManager;
+	private SimpleMeterRegistry meterRegistry;
+	private ViewCountBuffer buffer;
+
+	// 마지막으로 반영된 게시글 id -> 조회수 증가분
+	private final Map<Long, Long> applied = new HashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		meterRegistry = new SimpleMeterRegistry();
+		buffer = new ViewCountBuffer(jdbcTemplate, transactionManager, meterRegistry);
+	}
+
+	@Test
+	void flushAppliesBufferedViewsOnce() {
+		succeedExcept();
+		view(1L, 3);
+		view(2L, 1);
+
+		buffer.flush();
+
+		assertThat(applied).containsOnly(Map.entry(1L, 3L), Map.entry(2L, 1L));
+		assertThat(buffer.pendingCount(1L)).isZero();
+		assertThat(gauge("blog.post.views.buffered")).isZero();
+		// 반영한 게시글은 버퍼에 남지 않는다
+		assertThat(gauge("blog.post.views.buffered.posts")).isZero();
+		assertThat(meterRegistry.get("blog.post.views.flushed").counter().count()).isEqualTo(4);
+		verify(transactionManager).commit(any());
+
+		// 새 조회가 없으면 다시 반영하지 않는다
+		buffer.flush();
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+	}
+
+	@Test
+	void failedFlushIsRolledBackAndRetriedWithSameViews() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+				.thenThrow(new DataAccessResourceFailureException("연결 끊김"));
+		view(1L, 3);
+
+		buffer.flush();
+
+		verify(transactionManager).rollback(any());
+		verify(transactionManager, never()).commit(any());
+		assertThat(buffer.pendingCount(1L)).isEqualTo(3);
+		assertThat(gauge("blog.post.views.buffered")).isEqualTo(3);
+		assertThat(gauge("blog.post.views.buffered.posts")).isEqualTo(1);
+		assertThat(meterRegistry.get("blog.post.views.flush.failed").counter().count()).isEqualTo(3);
+
+		// 실패 이후 들어온 조회와 합쳐 한 번만 반영
+		succeedExcept();
+		view(1L, 2);
+		buffer.flush();
+
+		assertThat(applied).containsOnly(Map.entry(1L, 5L));
+		assertThat(buffer.pendingCount(1L)).isZero();
+	}
+
+	@Test
+	void deletedPostIsDroppedFromBuffer() {
+		succeedExcept(2L);
+		view(1L, 1);
+		view(2L, 1);
+
+		buffer.flush();
+
+		assertThat(gauge("blog.post.views.buffered.posts")).isZero();
+		assertThat(buffer.pendingCount(2L)).isZero();
+	}
+
+	@Test
+	void viewsDuringFlushAreNotLost() throws Exception {
+		AtomicLong flushed = new AtomicLong();
+		doAnswer(invocation -> {
+			List<Object[]> batch = invocation.getArgument(1);
+			for (Object[] row : batch) {
+				flushed.addAndGet((Long) row[0]);
+			}
+			return new int[batch.size()];
+		}).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+		int threads = 4;
+		int viewsPerThread = 20_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> views = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				views.add(executor.submit(() -> view(1L, viewsPerThread)));
+			}
+			// 조회가 들어오는 동안 계속 반영해 항목이 지워지고 다시 생기게 한다
+			while (!views.stream().allMatch(Future::isDone)) {
+				buffer.flush();
+			}
+			for (Future<?> future : views) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		buffer.flush();
+
+		assertThat(flushed.get()).isEqualTo((long) threads * viewsPerThread);
+		assertThat(gauge("blog.post.views.buffered.posts")).isZero();
+	}
+
+	private void view(Long postId, int times) {
+		for (int i = 0; i < times; i++) {
+			buffer.increment(postId);
+		}
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).gauge().value();
+	}
+
+	// 배치 UPDATE 를 기록하고 행별 결과를 돌려준다 (deleted 에 있는 게시글은 0건 갱신)
+	@SuppressWarnings("unchecked")
+	private void succeedExcept(Long... deleted) {
+		List<Long> missing = List.of(deleted);
+		doAnswer(invocation -> {
+			List<Object[]> batch = invocation.getArgument(1);
+			applied.clear();
+			int[] updated = new int[batch.size()];
+			for (int i = 0; i < batch.size(); i++) {
+				Long postId = (Long) batch.get(i)[1];
+				applied.put(postId, (Long) batch.get(i)[0]);
+				updated[i] = missing.contains(postId) ? 0 : 1;
+			}
+			return updated;
+		}).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+	}
+}
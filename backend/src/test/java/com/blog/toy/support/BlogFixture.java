@@ -0,0 +1,80 @@
+package com.blog.toy.support;
+
+import com.blog.toy.domain.Comment;
+import com.blog.toy.domain.CommentStatus;
+import com.blog.toy.domain.Post;
+import com.blog.toy.domain.User;
+import com.blog.toy.repository.CommentRepository;
+import com.blog.toy.repository.PostRepository;
+import com.blog.toy.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 통합 테스트 공용 데이터 (사용자 / 게시글 / 댓글)
+// 테스트마다 무작위 접두어를 붙여 같은 테스트 DB 에 남은 데이터와 사용자명/이메일이 겹치지 않게 한다
+public class BlogFixture {
+
+	private final UserRepository userRepository;
+	private final PostRepository postRepository;
+	private final CommentRepository commentRepository;
+	private final String prefix;
+
+	public BlogFixture(String tag, UserRepository userRepository, PostRepository postRepository,
+			CommentRepository commentRepository) {
+		this.userRepository = userRepository;
+		this.postRepository = postRepository;
+		this.commentRepository = commentRepository;
+		this.prefix = tag + "-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+	}
+
+	// 이 테스트의 이름 접두어 (카테고리/태그 등 다른 데이터 이름에도 사용)
+	public String prefix() {
+		return prefix;
+	}
+
+	// 일반 사용자 count 명 (사용자명: 접두어 + 번호)
+	public List<User> users(int count, String name) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			users.add(userRepository.save(User.builder()
+					.username(prefix + i)
+					.email(prefix + i + "@example.com")
+					.password("password")
+					.name(name + " " + i)
+					.role(User.Role.USER)
+					.enabled(true)
+					.build()));
+		}
+		return users;
+	}
+
+	// 발행된 게시글
+	public Post post(User author, String title) {
+		return postRepository.save(Post.builder()
+				.title(title)
+				.content(title)
+				.author(author.getUsername())
+				.authorId(author.getId())
+				.status(Post.PostStatus.PUBLISHED)
+				.viewCount(0)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+	}
+
+	// 댓글 (parent 가 있으면 대댓글)
+	public Comment comment(Post post, Comment parent, User user, String content) {
+		return commentRepository.save(Comment.builder()
+				.content(content)
+				.post(post)
+				.user(user)
+				.author(user.getUsername())
+				.parent(parent)
+				.status(CommentStatus.ACTIVE)
+				.likeCount(0)
+				.dislikeCount(0)
+				.build());
+	}
+}
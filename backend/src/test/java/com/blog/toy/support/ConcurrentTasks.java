@@ -0,0 +1,51 @@
+package com.blog.toy.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 동시성 테스트 공용 도구
+// 작업을 로그인한 사용자로 실행하도록 감싸고, 고정 크기 스레드 풀로 한꺼번에 실행해 처리량을 로그로 남긴다
+public final class ConcurrentTasks {
+
+	private static final Logger log = LoggerFactory.getLogger(ConcurrentTasks.class);
+
+	private ConcurrentTasks() {
+	}
+
+	// 작업 스레드의 SecurityContext 에 사용자를 넣고 실행 (끝나면 비움)
+	public static Callable<Object> asUser(String username, Callable<Object> action) {
+		return () -> {
+			SecurityContextHolder.getContext().setAuthentication(
+					new UsernamePasswordAuthenticationToken(username, null, List.of()));
+			try {
+				return action.call();
+			} finally {
+				SecurityContextHolder.clearContext();
+			}
+		};
+	}
+
+	// 모든 작업을 실행하고 하나라도 실패하면 그 예외를 그대로 던진다
+	public static void runAll(String name, int threads, List<Callable<Object>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long started = System.nanoTime();
+		try {
+			for (Future<Object> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+		log.info("{} {}건 / {}초 ({}건/초, 스레드 {})",
+				name, tasks.size(), String.format("%.2f", seconds), Math.round(tasks.size() / seconds), threads);
+	}
+}
@@ -0,0 +1,30 @@
+package com.blog.toy.support;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// DB 통합 테스트
+// application-test.properties 의 전용 테스트 DB 를 사용하고 (공유 DB 에 쓰지 않음),
+// "integration" 태그로 ./gradlew test 에서는 제외된다 (실행: ./gradlew integrationTest)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@ActiveProfiles(IntegrationTest.PROFILE)
+@Tag(IntegrationTest.TAG)
+public @interface IntegrationTest {
+
+	String PROFILE = "test";
+	String TAG = "integration";
+
+	@AliasFor(annotation = SpringBootTest.class, attribute = "properties")
+	String[] properties() default {};
+}
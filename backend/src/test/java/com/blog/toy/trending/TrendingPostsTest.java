@@ -0,0 +1,197 @@
+package com.blog.toy.trending;
+
+import com.blog.toy.domain.Category;
+import com.blog.toy.domain.Post;
+import com.blog.toy.service.CategoryTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 인기 게시글 랭킹 테스트 (DB 불필요)
+// 시각을 직접 옮기는 Clock 으로 감쇠, 기준 시각 이동, 상위 K개, 스냅샷 로딩을 확인한다
+class TrendingPostsTest {
+
+	private static final double HALF_LIFE_HOURS = 24;
+	private static final int TOP_K = 3;
+
+	@TempDir
+	Path snapshotDir;
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+	private final CategoryTree categoryTree = mock(CategoryTree.class);
+
+	private TrendingPosts trending;
+
+	@BeforeEach
+	void setUp() {
+		// 10 > 11 (하위), 20 은 별도 카테고리
+		when(categoryTree.current()).thenReturn(new CategoryTree.Snapshot(1L, Map.of(), List.of(), Map.of(), List.of(),
+				Map.of(10L, List.of(10L, 11L), 11L, List.of(11L), 20L, List.of(20L))));
+		trending = newTrendingPosts();
+	}
+
+	@Test
+	void scoreHalvesEveryHalfLife() {
+		trending.recordView(1L);
+		assertThat(trending.currentScore(1L)).isCloseTo(1.0, within(1e-9));
+
+		clock.advance(Duration.ofHours(24));
+		assertThat(trending.currentScore(1L)).isCloseTo(0.5, within(1e-9));
+
+		clock.advance(Duration.ofHours(24));
+		assertThat(trending.currentScore(1L)).isCloseTo(0.25, within(1e-9));
+	}
+
+	@Test
+	void recentEventOutranksOlderEventsThatHaveDecayed() {
+		views(1L, 3);
+		clock.advance(Duration.ofHours(48));
+		views(2L, 1);
+
+		// 게시글 1: 3 * 1/4 = 0.75, 게시글 2: 1
+		assertThat(trending.top(null)).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void topKeepsOnlyTopKInRankingOrder() {
+		views(1L, 1);
+		views(2L, 4);
+		views(3L, 3);
+		views(4L, 2);
+		assertThat(trending.top(null)).containsExactly(2L, 3L, 4L);
+
+		// 밖에 있던 게시글이 점수가 오르면 최하위를 밀어낸다
+		trending.recordLike(1L);
+		assertThat(trending.top(null)).containsExactly(1L, 2L, 3L);
+
+		// 점수가 같으면 최신 id 순
+		views(5L, 5);
+		assertThat(trending.top(null)).containsExactly(5L, 1L, 2L);
+	}
+
+	@Test
+	void rebaseKeepsCurrentScoresAndPrunesColdPosts() {
+		for (int i = 0; i < 10; i++) {
+			trending.recordLike(1L);
+		}
+		views(2L, 1);
+
+		// 7일 후: 게시글 1 은 40 / 128, 게시글 2 는 1 / 128 (정리 하한 0.01 미만)
+		clock.advance(Duration.ofDays(7));
+		double before = trending.currentScore(1L);
+		trending.maintain();
+
+		assertThat(ReflectionTestUtils.getField(trending, "epochMillis")).isEqualTo(clock.millis());
+		assertThat(trending.currentScore(1L)).isCloseTo(before, within(1e-9)).isCloseTo(40.0 / 128, within(1e-9));
+		assertThat(trending.currentScore(2L)).isZero();
+		assertThat(trending.top(null)).containsExactly(1L);
+	}
+
+	@Test
+	void snapshotLoadKeepsEventsRecordedWhileLoading() {
+		views(1L, 4);
+		trending.maintain();
+
+		// 새로 기동한 인스턴스: 스냅샷을 읽기 전에 들어온 이벤트도 남아야 한다
+		clock.advance(Duration.ofHours(24));
+		TrendingPosts restarted = newTrendingPosts();
+		restarted.recordView(1L);
+		restarted.recordView(2L);
+		Boolean loaded = ReflectionTestUtils.invokeMethod(restarted, "loadSnapshot");
+
+		assertThat(loaded).isTrue();
+		assertThat(restarted.currentScore(1L)).isCloseTo(4 * 0.5 + 1, within(1e-9));
+		assertThat(restarted.currentScore(2L)).isCloseTo(1.0, within(1e-9));
+		assertThat(restarted.top(null)).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void categoryTopIncludesSubcategories() {
+		trending.register(post(1L, 10L));
+		trending.register(post(2L, 11L));
+		trending.register(post(3L, 20L));
+		views(1L, 1);
+		views(2L, 2);
+		views(3L, 3);
+
+		assertThat(trending.top(10L)).containsExactly(2L, 1L);
+		assertThat(trending.top(11L)).containsExactly(2L);
+		assertThat(trending.top(null)).containsExactly(3L, 2L, 1L);
+
+		// 자신의 랭킹이 바뀌어도, 하위 카테고리 랭킹이 바뀌어도 합친 목록을 다시 만든다
+		views(1L, 2);
+		assertThat(trending.top(10L)).containsExactly(1L, 2L);
+		views(2L, 2);
+		assertThat(trending.top(10L)).containsExactly(2L, 1L);
+	}
+
+	private TrendingPosts newTrendingPosts() {
+		TrendingPosts posts = new TrendingPosts();
+		posts.setClock(clock);
+		ReflectionTestUtils.setField(posts, "categoryTree", categoryTree);
+		ReflectionTestUtils.setField(posts, "halfLifeHours", HALF_LIFE_HOURS);
+		ReflectionTestUtils.setField(posts, "topK", TOP_K);
+		ReflectionTestUtils.setField(posts, "viewWeight", 1d);
+		ReflectionTestUtils.setField(posts, "likeWeight", 4d);
+		ReflectionTestUtils.setField(posts, "commentWeight", 6d);
+		ReflectionTestUtils.setField(posts, "snapshotDir", snapshotDir.toString());
+		ReflectionTestUtils.setField(posts, "ready", true);
+		return posts;
+	}
+
+	private void views(Long postId, int count) {
+		for (int i = 0; i < count; i++) {
+			trending.recordView(postId);
+		}
+	}
+
+	private static Post post(Long id, Long categoryId) {
+		return Post.builder()
+				.id(id)
+				.category(Category.builder().id(categoryId).build())
+				.build();
+	}
+
+	// 테스트에서 시각을 옮길 수 있는 Clock
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		private MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
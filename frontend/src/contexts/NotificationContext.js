@@ -58,9 +58,8 @@ export const NotificationProvider = ({ children }) => {
               : notification
           )
         );
-        // unreadCount 재계산
-        const newUnreadCount = notifications.filter(n => n.id !== notificationId && n.status === 'UNREAD').length;
-        setUnreadCount(newUnreadCount);
+        // 읽지 않은 알림 수는 서버 카운터 값으로 갱신
+        fetchUnreadCount();
       }
     } catch (error) {
       console.error('알림 읽음 처리 실패:', error);
@@ -91,24 +90,38 @@ export const NotificationProvider = ({ children }) => {
       if (response.status === 200) {
         const data = response.data;
         setNotifications(data.content || []);
-        setUnreadCount(data.content?.filter(n => n.status === 'UNREAD').length || 0);
       }
     } catch (error) {
       console.error('알림 조회 실패:', error);
     }
   };
 
+  // 읽지 않은 알림 수 조회 (서버가 사용자별 카운터로 유지, 변경 시 /user/queue/unread-count 로도 전송됨)
+  const fetchUnreadCount = async () => {
+    try {
+      const response = await api.get('/notifications/unread/count');
+      if (response.status === 200) {
+        setUnreadCount(Number(response.data) || 0);
+      }
+    } catch (error) {
+      console.error('읽지 않은 알림 수 조회 실패:', error);
+    }
+  };
+
   // 초기 알림 로드
   useEffect(() => {
     if (user) {
       fetchNotifications();
+      fetchUnreadCount();
     }
   }, [user]);
 
   const value = {
     notifications,
     unreadCount,
+    setUnreadCount,
     fetchNotifications,
+    fetchUnreadCount,
     markAsRead,
     markAllAsRead,
   };